@@ -0,0 +1,72 @@
+package com.project.whalestream.login.security;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+//토큰 발급/검증과 요청마다 도는 인증 필터 비용
+//filter 가 실제 폴링 요청 경로 (캐시 적중), 처음 보는 토큰 비용은 parseClaims (서명 검증 + 파싱) 를 본다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtVerificationCache jwtVerificationCache;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider(Keys.hmacShaKeyFor(
+                "benchmark-secret-key-benchmark-secret-key".getBytes(StandardCharsets.UTF_8)));
+        jwtVerificationCache = new JwtVerificationCache(jwtTokenProvider, 100_000);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtVerificationCache, LatencyRecorder.NONE);
+        accessToken = jwtTokenProvider.generateAccessToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtTokenProvider.generateRefreshToken("benchmark-user");
+    }
+
+    @Benchmark
+    public Object parseClaims() {
+        return jwtTokenProvider.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public String verificationCacheHit() {
+        return jwtVerificationCache.getUserId(accessToken);
+    }
+
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/market-data");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.whalestream.common.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.dto.quote.StockPriceDto;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+import com.project.whalestream.trade.dto.order.OrderResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//프론트 StockPrice / Order 모양 응답 직렬화 (ApiResponse 로 감싼 그대로)
+//stockList 는 /api/market-data 목록 한 번, orderList 는 /api/orders 한 번
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<StockPriceDto>> stockList;
+    private ApiResponse<List<OrderResponseDto>> orderList;
+    private ApiResponse<StockPriceDto> stockPrice;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        long now = System.currentTimeMillis();
+        List<StockPriceDto> stocks = new ArrayList<>(size);
+        List<OrderResponseDto> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String stockCode = String.format("%06d", i);
+            Quote quote = Quote.first(new MarketTick(stockCode, "종목" + i, 70_000 + i, 100, now))
+                    .apply(new MarketTick(stockCode, "종목" + i, 70_500 + i, 250, now + 1_000));
+            stocks.add(StockPriceDto.from(quote));
+
+            Order order = new Order(i, "benchmark-user", stockCode, "종목" + i,
+                    i % 2 == 0 ? OrderType.BUY : OrderType.SELL, OrderMethod.LIMIT, 10, 70_000 + i, now);
+            order.fill(4, 70_000 + i, now + 10);
+            orders.add(OrderResponseDto.from(order));
+        }
+        stockList = ApiResponse.of(stocks);
+        orderList = ApiResponse.of(orders);
+        stockPrice = ApiResponse.of(stocks.get(0));
+    }
+
+    @Benchmark
+    public byte[] stockList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stockList);
+    }
+
+    @Benchmark
+    public byte[] orderList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderList);
+    }
+
+    @Benchmark
+    public byte[] stockPrice() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stockPrice);
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.whalestream.market.engine.barstore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//봉 파일 전체 훑기 (분봉 10만 개) - 압축 블록 풀기 비용 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BarFileBenchmark {
+
+    private static final int BARS = 100_000;
+    private static final long MINUTE = 60_000;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    private Path directory;
+    private BarFile barFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("bar-benchmark");
+        barFile = BarFile.open("005930", directory.resolve("005930.bars"), 1024, compressed, 100);
+        Random random = new Random(42);
+        double price = 70_000;
+        for (int i = 0; i < BARS; i++) {
+            double next = Math.max(1_000, Math.round(price * (1 + random.nextGaussian() * 0.001)));
+            barFile.append(i * MINUTE, price, Math.max(price, next), Math.min(price, next), next, 1_000 + random.nextInt(1_000));
+            price = next;
+        }
+        barFile.flush();
+    }
+
+    @Benchmark
+    public long scanAll() {
+        long[] volume = new long[1];
+        barFile.scan(0, BARS * MINUTE, (timestamp, open, high, low, close, v) -> volume[0] += v);
+        return volume[0];
+    }
+
+    @Benchmark
+    public long scanLastDay() {
+        long[] volume = new long[1];
+        barFile.scan((BARS - 390) * MINUTE, BARS * MINUTE, (timestamp, open, high, low, close, v) -> volume[0] += v);
+        return volume[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        barFile.close();
+        Files.deleteIfExists(directory.resolve("005930.bars"));
+        Files.deleteIfExists(directory);
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//유저 수별 순위 트리 연산 비용
+//reposition 은 시세가 바뀌어서 한 유저 점수가 바뀔 때 (삭제 + 추가), page 는 /api/rankings 한 페이지
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RankingIndexBenchmark {
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    private RankingIndex index;
+    private String[] ids;
+    private double[] scores;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        index = new RankingIndex();
+        ids = new String[users];
+        scores = new double[users];
+        for (int i = 0; i < users; i++) {
+            ids[i] = "user-" + i;
+            scores[i] = random.nextGaussian() * 20;
+            index.insert(ids[i], scores[i]);
+        }
+    }
+
+    @Benchmark
+    public int reposition() {
+        int i = random.nextInt(users);
+        index.remove(ids[i], scores[i]);
+        scores[i] += random.nextGaussian();
+        index.insert(ids[i], scores[i]);
+        return index.size();
+    }
+
+    @Benchmark
+    public int rankOf() {
+        int i = random.nextInt(users);
+        return index.rankOf(ids[i], scores[i]);
+    }
+
+    @Benchmark
+    public void page(Blackhole blackhole) {
+        int offset = random.nextInt(users - 50);
+        index.page(offset, 50, (rank, id, score) -> blackhole.consume(score));
+    }
+}
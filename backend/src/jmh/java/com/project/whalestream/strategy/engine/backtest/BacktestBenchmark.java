@@ -0,0 +1,53 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//백테스트 1회 (10년치 일봉, RSI + 이동평균 조건) - 파라미터 스윕 한 칸의 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BacktestBenchmark {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int LENGTH = 2500;
+
+    private final BacktestEngine engine = new BacktestEngine();
+    private PriceSeries series;
+    private StrategySpec spec;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        PriceSeries.Builder builder = PriceSeries.builder("005930", LENGTH);
+        double price = 70_000;
+        for (int i = 0; i < LENGTH; i++) {
+            double next = Math.max(1_000, price * (1 + random.nextGaussian() * 0.02));
+            builder.add(i * DAY, price, Math.max(price, next), Math.min(price, next), next, 1_000_000);
+            price = next;
+        }
+        series = builder.build();
+        spec = new StrategySpec(
+                Map.of(IndicatorType.RSI, Map.of("period", 14.0), IndicatorType.MA, Map.of("period", 20.0)),
+                List.of(new SignalCondition("RSI", ComparisonOperator.LT, 30, false)),
+                List.of(new SignalCondition("RSI", ComparisonOperator.GT, 70, false),
+                        new SignalCondition("MA", ComparisonOperator.LT, 50_000, true)));
+    }
+
+    @Benchmark
+    public BacktestReport run() {
+        return engine.run(series, spec, 10_000_000);
+    }
+}
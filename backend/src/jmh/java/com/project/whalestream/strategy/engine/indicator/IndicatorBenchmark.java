@@ -0,0 +1,78 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//10년치 일봉 (2500개) 전체 지표 계산: 배치 (Indicators) vs 하나씩 이어서 (RollingIndicator)
+//rolling 쪽이 배치와 크게 벌어지면 캐시 채우는 경로가 느려진 것
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndicatorBenchmark {
+
+    private static final int LENGTH = 2500;
+
+    private double[] close;
+    private double[] out;
+    private double[] signal;
+    private double[] histogram;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        close = new double[LENGTH];
+        double price = 70_000;
+        for (int i = 0; i < LENGTH; i++) {
+            price = Math.max(1_000, price * (1 + random.nextGaussian() * 0.02));
+            close[i] = price;
+        }
+        out = new double[LENGTH];
+        signal = new double[LENGTH];
+        histogram = new double[LENGTH];
+    }
+
+    @Benchmark
+    public double[] rsiBatch() {
+        Indicators.rsi(close, LENGTH, 14, out);
+        return out;
+    }
+
+    @Benchmark
+    public double rsiRolling() {
+        return roll(RollingIndicators.create(IndicatorType.RSI, Map.of("period", 14.0)));
+    }
+
+    @Benchmark
+    public double[] macdBatch() {
+        Indicators.macd(close, LENGTH, 12, 26, 9, out, signal, histogram);
+        return out;
+    }
+
+    @Benchmark
+    public double macdRolling() {
+        return roll(RollingIndicators.create(IndicatorType.MACD, Map.of()));
+    }
+
+    @Benchmark
+    public double[] smaBatch() {
+        Indicators.sma(close, LENGTH, 20, out);
+        return out;
+    }
+
+    private double roll(RollingIndicator indicator) {
+        double last = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            last = indicator.next(close[i]);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//원장 스레드가 체결 묶음 하나를 저널에 쓰는 비용 (fsync 없이, 이벤트 1건 기준)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LedgerJournalBenchmark {
+
+    private static final int BATCH = 100;
+
+    private Path directory;
+    private LedgerJournal journal;
+    private List<LedgerEvent> template;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("ledger-benchmark");
+        journal = new LedgerJournal(directory, 64L * 1024 * 1024, 0);
+        template = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            template.add(LedgerEvent.fill("user-" + (i % 10), i, "005930", "삼성전자",
+                    i % 2 == 0, 10, 70_000, 105, System.currentTimeMillis()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long append() throws IOException {
+        List<LedgerEvent> batch = new ArrayList<>(BATCH);
+        for (LedgerEvent event : template) {
+            batch.add(event.withSequence(++sequence));
+        }
+        journal.append(batch, false);
+        return journal.getLastSequence();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
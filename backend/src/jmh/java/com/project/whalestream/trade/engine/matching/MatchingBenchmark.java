@@ -0,0 +1,56 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+//호가창 한 개에서 주문 하나 처리하는 비용 (매칭 스레드 하나가 초당 몇 건을 받는지)
+//호가 depth 개 가격대에 매도 잔량을 깔아두고, 매 연산마다 매도 지정가 1건을 올리고 시장가 매수 1건으로 최우선 호가를 치운다
+//-> 호가창 크기는 그대로 유지된다
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchingBenchmark {
+
+    private static final long BASE_PRICE = 70_000;
+
+    @Param({"10", "1000"})
+    public int depth;
+
+    private OrderBook orderBook;
+    private long nextId;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        orderBook = new OrderBook("005930", 64, 1024);
+        for (int i = 0; i < depth; i++) {
+            orderBook.match(order(OrderType.SELL, OrderMethod.LIMIT, BASE_PRICE + i), (taker, maker, price, quantity) -> { }, 0);
+        }
+    }
+
+    @Benchmark
+    public Order restAndMatch(Blackhole blackhole) {
+        FillListener listener = (taker, maker, price, quantity) -> blackhole.consume(price);
+        long now = ++tick;
+        orderBook.match(order(OrderType.SELL, OrderMethod.LIMIT, BASE_PRICE + (now % depth)), listener, now);
+        Order buy = order(OrderType.BUY, OrderMethod.MARKET, 0);
+        orderBook.match(buy, listener, now);
+        return buy;
+    }
+
+    private Order order(OrderType orderType, OrderMethod orderMethod, long price) {
+        return new Order(++nextId, "benchmark-user", "005930", "삼성전자", orderType, orderMethod, 10, price, tick);
+    }
+}
@@ -1,8 +1,18 @@
 package com.project.whalestream.login.config;
 
+import com.project.whalestream.common.metrics.LatencyTimers;
+import com.project.whalestream.login.repository.user.UserSessionRepository;
 import com.project.whalestream.login.security.JwtAuthenticationFilter;
 import com.project.whalestream.login.security.JwtTokenProvider;
+import com.project.whalestream.login.security.JwtVerificationCache;
+import com.project.whalestream.login.security.PasswordHashingPool;
+import com.project.whalestream.login.security.RefreshTokenStore;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,33 +25,80 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 
+import static com.project.whalestream.login.constant.Constant.REFRESH_TOKEN_TIME;
+
 @Configuration
 public class SecurityConfig {
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    //검증 끝난 토큰을 몇 개까지 기억할지
+    @Value("${jwt.verification-cache.max-size:100000}")
+    private int verificationCacheMaxSize;
+
+    //Refresh 토큰 변경을 몽고에 모아서 쓰는 주기
+    @Value("${jwt.refresh-session.flush-interval-ms:1000}")
+    private long refreshSessionFlushIntervalMillis;
+
+    //재발급 직후 바로 전 Refresh 토큰을 동시 재발급으로 받아주는 시간 (지나면 재사용으로 보고 세션을 끊는다)
+    @Value("${jwt.refresh-session.reuse-grace-ms:10000}")
+    private long refreshSessionReuseGraceMillis;
+
+    //bcrypt 비용 (2^strength 번 반복, 해시마다 들어있어서 바꿔도 기존 비밀번호는 그대로 검증된다)
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    //bcrypt 전용 스레드 수 (0 이면 코어 수)
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue-capacity:256}")
+    private int hashQueueCapacity;
+
+    //대기열에서 이보다 오래 기다린 요청은 해시하지 않고 503
+    @Value("${security.password.max-queue-wait-ms:3000}")
+    private long hashMaxQueueWaitMillis;
+
+    @Value("${security.password.retry-after-seconds:2}")
+    private int hashRetryAfterSeconds;
+
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingPool passwordHashingPool() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingPool(threads, hashQueueCapacity, hashMaxQueueWaitMillis, hashRetryAfterSeconds);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtTokenProvider jwtTokenProvider) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtVerificationCache jwtVerificationCache,
+                                           MeterRegistry meterRegistry) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        //CompletableFuture 를 반환하는 컨트롤러의 결과 전달용 재디스패치 (원래 요청에서 이미 인가됨)
+                        //JWT 필터는 재디스패치 때 다시 돌지 않으므로 여기서 막으면 인증된 요청도 403 이 된다
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         //requestMatchers() -> 특정 URL 경로를 지정
                         //.permitAll() -> 해당 경로는 인증 불필요
                         .requestMatchers(HttpMethod.POST, "/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/reissue").permitAll()
+                        //시세 WebSocket 핸드셰이크 (브라우저 WebSocket 은 Authorization 헤더를 못 붙인다)
+                        .requestMatchers("/ws/market").permitAll()
+                        //지표 수집 (management.server.port 로 분리된 내부 포트)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // 다른 요청들은 .authenticated()로 전부 인증이 필요하다
                         .anyRequest().authenticated()
                 )
                 // 이 아래 부분은 내가 만든 커스텀 필터를 기존 필터 체인에 끼워 넣는 부분이다.
                 .addFilterBefore(
-                        new JwtAuthenticationFilter(jwtTokenProvider),
+                        new JwtAuthenticationFilter(jwtVerificationCache, LatencyTimers.register(meterRegistry,
+                                "whalestream.auth.filter", "JWT 인증 필터 처리 시간")),
                         UsernamePasswordAuthenticationFilter.class
                 );
         return http.build();
@@ -57,4 +114,47 @@ public class SecurityConfig {
     public JwtTokenProvider jwtTokenProvider(SecretKey secretKey) {
         return new JwtTokenProvider(secretKey);
     }
+
+    @Bean
+    public JwtVerificationCache jwtVerificationCache(JwtTokenProvider jwtTokenProvider, MeterRegistry meterRegistry) {
+        return new JwtVerificationCache(jwtTokenProvider, verificationCacheMaxSize,
+                LatencyTimers.register(meterRegistry, "whalestream.auth.token.parse", "Access 토큰 서명 검증 + 파싱 시간 (캐시 미스)"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RefreshTokenStore refreshTokenStore(UserSessionRepository userSessionRepository) {
+        RefreshTokenStore refreshTokenStore = new RefreshTokenStore(userSessionRepository, REFRESH_TOKEN_TIME,
+                refreshSessionFlushIntervalMillis, refreshSessionReuseGraceMillis);
+        refreshTokenStore.start();
+        return refreshTokenStore;
+    }
+
+    //이미 세고 있던 카운터들을 지표로 내보낸다
+    @Bean
+    public MeterBinder authMetrics(JwtVerificationCache jwtVerificationCache, PasswordHashingPool passwordHashingPool,
+                                   RefreshTokenStore refreshTokenStore) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.auth.token.cache.hits", jwtVerificationCache, JwtVerificationCache::getHitCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.token.cache.misses", jwtVerificationCache, JwtVerificationCache::getMissCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.token.cache.evictions", jwtVerificationCache, JwtVerificationCache::getEvictionCount).register(registry);
+            Gauge.builder("whalestream.auth.token.cache.size", jwtVerificationCache, JwtVerificationCache::size).register(registry);
+
+            Gauge.builder("whalestream.auth.hash.queue", passwordHashingPool, PasswordHashingPool::getQueueDepth).register(registry);
+            Gauge.builder("whalestream.auth.hash.active", passwordHashingPool, PasswordHashingPool::getActiveCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.hash.completed", passwordHashingPool, PasswordHashingPool::getCompletedCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.hash.rejected", passwordHashingPool, PasswordHashingPool::getRejectedCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.hash.expired", passwordHashingPool, PasswordHashingPool::getExpiredCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.hash.wait", passwordHashingPool, pool -> pool.getQueueWaitNanos() / 1e9)
+                    .baseUnit("seconds").register(registry);
+            FunctionCounter.builder("whalestream.auth.hash.time", passwordHashingPool, pool -> pool.getHashNanos() / 1e9)
+                    .baseUnit("seconds").register(registry);
+
+            Gauge.builder("whalestream.auth.refresh.sessions", refreshTokenStore, RefreshTokenStore::size).register(registry);
+            Gauge.builder("whalestream.auth.refresh.pending", refreshTokenStore, RefreshTokenStore::getPendingCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.refresh.loads", refreshTokenStore, RefreshTokenStore::getLoadCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.refresh.writes", refreshTokenStore, RefreshTokenStore::getWriteCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.refresh.reuse", refreshTokenStore, RefreshTokenStore::getReuseDetectedCount).register(registry);
+            FunctionCounter.builder("whalestream.auth.refresh.grace", refreshTokenStore, RefreshTokenStore::getGraceReissueCount).register(registry);
+        };
+    }
 }
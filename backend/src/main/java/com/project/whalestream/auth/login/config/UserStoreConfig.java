@@ -0,0 +1,108 @@
+package com.project.whalestream.login.config;
+
+import com.project.whalestream.common.cache.CacheTier;
+import com.project.whalestream.common.cache.InProcessCacheTier;
+import com.project.whalestream.common.cache.NearCache;
+import com.project.whalestream.common.persistence.MongoWriteBehindRepository;
+import com.project.whalestream.common.persistence.WriteBehindBuffer;
+import com.project.whalestream.login.domain.user.User;
+import com.project.whalestream.login.domain.userinfo.UserInfo;
+import com.project.whalestream.login.repository.user.UserRepository;
+import com.project.whalestream.login.repository.userinfo.UserInfoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+//유저 문서 수정은 write-behind 로 (요청은 메모리에만 넣고 바로 반환, 종료 시 남은 것까지 쓴다)
+//조회는 캐시를 거친다 (랭킹 닉네임 등)
+@Configuration
+public class UserStoreConfig {
+
+    @Value("${whalestream.profile-cache.max-size:50000}")
+    private int cacheMaxSize;
+
+    @Value("${whalestream.profile-cache.ttl-ms:60000}")
+    private long cacheTtlMillis;
+
+    //none: 1차(프로세스 안)만, in-process: 2차 자리에 프로세스 안 맵 (공유 캐시를 붙이기 전 대역)
+    @Value("${whalestream.profile-cache.second-tier:none}")
+    private String secondTier;
+
+    @Value("${whalestream.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    //대기 문서가 이만큼 쌓이면 주기를 기다리지 않고 쓴다
+    @Value("${whalestream.write-behind.max-pending:5000}")
+    private int maxPending;
+
+    @Bean
+    public NearCache<String, User> userCache() {
+        return new NearCache<>("users", cacheMaxSize, cacheTtlMillis, secondTier());
+    }
+
+    @Bean
+    public NearCache<String, UserInfo> userInfoCache() {
+        return new NearCache<>("user_info", cacheMaxSize, cacheTtlMillis, secondTier());
+    }
+
+    //가입은 바로 save 하므로 여기서는 있는 문서만 고친다
+    @Bean(destroyMethod = "shutdown")
+    public MongoWriteBehindRepository<User> userWrites(MongoTemplate mongoTemplate, UserRepository userRepository,
+                                                       NearCache<String, User> userCache) {
+        return new MongoWriteBehindRepository<>("users", mongoTemplate, User.class,
+                userRepository::findByUserId, null, userCache, flushIntervalMillis, maxPending);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public MongoWriteBehindRepository<UserInfo> userInfoWrites(MongoTemplate mongoTemplate, UserInfoRepository userInfoRepository,
+                                                               NearCache<String, UserInfo> userInfoCache) {
+        return new MongoWriteBehindRepository<>("user_info", mongoTemplate, UserInfo.class,
+                userInfoRepository::findByUserId, UserInfo::new, userInfoCache, flushIntervalMillis, maxPending);
+    }
+
+    private <V> CacheTier<String, V> secondTier() {
+        return switch (secondTier) {
+            case "none" -> null;
+            case "in-process" -> new InProcessCacheTier<>(cacheTtlMillis * 5);
+            default -> throw new IllegalArgumentException("지원하지 않는 2차 캐시입니다: " + secondTier);
+        };
+    }
+
+    @Bean
+    public MeterBinder profileCacheMetrics(List<NearCache<?, ?>> caches) {
+        return registry -> {
+            for (NearCache<?, ?> cache : caches) {
+                Tags tags = Tags.of("cache", cache.getName());
+                FunctionCounter.builder("whalestream.cache.hits", cache, NearCache::getHitCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.cache.second.tier.hits", cache, NearCache::getSecondTierHitCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.cache.misses", cache, NearCache::getMissCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.cache.evictions", cache, NearCache::getEvictionCount).tags(tags).register(registry);
+                Gauge.builder("whalestream.cache.size", cache, NearCache::size).tags(tags).register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder writeBehindMetrics(List<MongoWriteBehindRepository<?>> repositories) {
+        return registry -> {
+            for (MongoWriteBehindRepository<?> repository : repositories) {
+                WriteBehindBuffer buffer = repository.getBuffer();
+                Tags tags = Tags.of("collection", buffer.getName());
+                Gauge.builder("whalestream.write.behind.pending", buffer, WriteBehindBuffer::getPendingCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.updates", buffer, WriteBehindBuffer::getUpdateCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.documents", buffer, WriteBehindBuffer::getWrittenDocumentCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.batches", buffer, WriteBehindBuffer::getBatchCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.failures", buffer, WriteBehindBuffer::getFailureCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.dropped", buffer, WriteBehindBuffer::getDroppedCount).tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.write.behind.rejected", buffer, WriteBehindBuffer::getRejectedCount).tags(tags).register(registry);
+            }
+        };
+    }
+}
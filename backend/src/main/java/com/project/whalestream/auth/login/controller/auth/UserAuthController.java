@@ -1,8 +1,10 @@
 package com.project.whalestream.login.controller.auth;
 
+import com.project.whalestream.common.execution.Endpoints;
+import com.project.whalestream.common.execution.RequestExecutor;
 import com.project.whalestream.login.dto.auth.ReissuedTokenDto;
 import com.project.whalestream.login.dto.auth.UserLoginRequestDto;
-import com.project.whalestream.login.dto.auth.UserLoginResponseDto;
+import com.project.whalestream.login.security.RefreshTokenCookie;
 import com.project.whalestream.login.service.auth.AccessTokenReissueService;
 import com.project.whalestream.login.service.auth.UserLogOutServiceInterface;
 import com.project.whalestream.login.service.auth.UserLoginServiceInterface;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController // HTTP 요청을 처리하는 컨트롤러를 의미
@@ -25,36 +28,39 @@ public class UserAuthController {
     private final UserLoginServiceInterface loginService;
     private final UserLogOutServiceInterface userLogOutService;
     private final AccessTokenReissueService accessTokenReissueService;
+    private final RequestExecutor requestExecutor;
 
 
     @PostMapping("/login")
-    public ResponseEntity userLogIn(@RequestBody UserLoginRequestDto userLoginRequestDto) {
+    public CompletableFuture<ResponseEntity> userLogIn(@RequestBody UserLoginRequestDto userLoginRequestDto) {
         // loginservice 실행해가지고!! 이제 일치하면~~ login 그리고 토큰을 지급한다.
 
         //사실 return은 LoginResponseDto를 해줘야한다. -> 토큰 발급해줘야지
         //맞으면 service에서 토큰을 발급하여 LoginResponseDto에 넣고 그걸 반환
 
-        return loginService.login(userLoginRequestDto);
+        //비밀번호 조회(몽고)는 I/O 풀에서, bcrypt 비교는 해시 풀에서
+        return requestExecutor.submit(Endpoints.LOGIN, () -> loginService.login(userLoginRequestDto))
+                .thenCompose(login -> login);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity userLogOut(){
-        return userLogOutService.logout();
+    public CompletableFuture<ResponseEntity> userLogOut(){
+        return requestExecutor.submit(Endpoints.LOGOUT, userLogOutService::logout);
     };
 
 
     //Access 토큰 만료시 프론트에서 /reissue 로 넘겨줘야함
     @PostMapping("/reissue")
-    public ReissuedTokenDto reissueAccessToken(HttpServletRequest request) {
-        String refreshToken = Arrays.stream(request.getCookies())
-                .filter(c -> c.getName().equals("refreshToken"))
+    public CompletableFuture<ResponseEntity<ReissuedTokenDto>> reissueAccessToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies() == null ? new Cookie[0] : request.getCookies();
+        String refreshToken = Arrays.stream(cookies)
+                .filter(c -> c.getName().equals(RefreshTokenCookie.NAME))
                 .findFirst()
                 .map(Cookie::getValue)
                 .orElseThrow(() -> new IllegalArgumentException("쿠키에 Refresh Token이 없습니다."));
 
-        return new ReissuedTokenDto(
-                accessTokenReissueService
-                        .reissueAccessToken(refreshToken)
-        );
+        //응답 본문은 그대로 Access 토큰, 교체된 Refresh 토큰은 Set-Cookie 로
+        //세션이 메모리에 없으면 몽고에서 읽어오므로 I/O 풀에서
+        return requestExecutor.submit(Endpoints.REISSUE, () -> accessTokenReissueService.reissueAccessToken(refreshToken));
     }
 }
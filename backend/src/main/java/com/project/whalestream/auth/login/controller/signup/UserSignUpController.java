@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/users")
@@ -17,10 +19,10 @@ public class UserSignUpController {
     private final UserSignUpServiceInterface userSignUpService;
 
     @PostMapping
-    public ResponseEntity userSignUp(@RequestBody UserSignUpRequestDto signupRequestDtoUser) {
-        //회원가입 로직 처리
-        userSignUpService.newUser(signupRequestDtoUser);
-        return ResponseEntity.ok("회원 가입 완료");
+    public CompletableFuture<ResponseEntity> userSignUp(@RequestBody UserSignUpRequestDto signupRequestDtoUser) {
+        //회원가입 로직 처리 (비밀번호 해싱이 끝나면 응답)
+        return userSignUpService.newUser(signupRequestDtoUser)
+                .thenApply(done -> ResponseEntity.ok("회원 가입 완료"));
     }
 
 }
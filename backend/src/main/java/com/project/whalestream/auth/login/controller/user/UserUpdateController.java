@@ -1,23 +1,30 @@
 package com.project.whalestream.login.controller.user;
 
+import com.project.whalestream.common.execution.Endpoints;
+import com.project.whalestream.common.execution.RequestExecutor;
 import com.project.whalestream.login.dto.user.UserUpdateRequestDto;
 import com.project.whalestream.login.service.user.UserUpdateServiceInterface;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/users")
 public class UserUpdateController {
 
     private final UserUpdateServiceInterface userUpdateService;
+    private final RequestExecutor requestExecutor;
 
     @PutMapping
-    public ResponseEntity changeUser(@RequestBody UserUpdateRequestDto userUpdateDto) {
+    public CompletableFuture<ResponseEntity> changeUser(@RequestBody UserUpdateRequestDto userUpdateDto) {
         //일단 검증하고나서, 이후 로직
-        userUpdateService.updateUser(userUpdateDto);
-        return ResponseEntity.ok("사용자 개인정보 변경이 완료되었습니다.");
+        return requestExecutor.submit(Endpoints.USER_UPDATE, () -> {
+            userUpdateService.updateUser(userUpdateDto);
+            return ResponseEntity.ok("사용자 개인정보 변경이 완료되었습니다.");
+        });
     }
 
 }
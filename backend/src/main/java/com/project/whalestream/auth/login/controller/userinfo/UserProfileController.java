@@ -1,5 +1,7 @@
 package com.project.whalestream.login.controller.userinfo;
 
+import com.project.whalestream.common.execution.Endpoints;
+import com.project.whalestream.common.execution.RequestExecutor;
 import com.project.whalestream.login.dto.userinfo.UserInfoRequestDto;
 import com.project.whalestream.login.dto.userinfo.UserInfoUpdateRequestDto;
 import com.project.whalestream.login.service.userinfo.UserInfoServiceInterface;
@@ -7,22 +9,29 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("users")
 public class UserProfileController {
 
     private final UserInfoServiceInterface userInfoService;
+    private final RequestExecutor requestExecutor;
 
     @PostMapping("/info")
-    public ResponseEntity registerUserInfo(@RequestBody UserInfoRequestDto userInfoRequestDto) {
-        userInfoService.saveUserInfo(userInfoRequestDto);
-        return ResponseEntity.ok("사용자 프로필 등록 완료");
+    public CompletableFuture<ResponseEntity> registerUserInfo(@RequestBody UserInfoRequestDto userInfoRequestDto) {
+        return requestExecutor.submit(Endpoints.PROFILE, () -> {
+            userInfoService.saveUserInfo(userInfoRequestDto);
+            return ResponseEntity.ok("사용자 프로필 등록 완료");
+        });
     }
 
     @PutMapping("/info")
-    public ResponseEntity changeUserInfo(@RequestBody UserInfoUpdateRequestDto userInfoUpdateRequestDto) {
-        userInfoService.updateUserInfo(userInfoUpdateRequestDto);
-        return ResponseEntity.ok("사용자 프로필 수정 완료");
+    public CompletableFuture<ResponseEntity> changeUserInfo(@RequestBody UserInfoUpdateRequestDto userInfoUpdateRequestDto) {
+        return requestExecutor.submit(Endpoints.PROFILE, () -> {
+            userInfoService.updateUserInfo(userInfoUpdateRequestDto);
+            return ResponseEntity.ok("사용자 프로필 수정 완료");
+        });
     }
 }
@@ -0,0 +1,8 @@
+package com.project.whalestream.login.dto.auth;
+
+import lombok.Getter;
+
+@Getter
+public class RepositoryRefreshTokenReturnDto {
+    private String jwtRefreshToken;
+}
@@ -2,6 +2,7 @@ package com.project.whalestream.login.repository.user;
 
 import com.project.whalestream.login.domain.user.User;
 import com.project.whalestream.login.dto.auth.RepositoryPasswordReturnDto;
+import com.project.whalestream.login.dto.auth.RepositoryRefreshTokenReturnDto;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,6 +13,10 @@ public interface UserRepository extends MongoRepository<User, String>{
     @Query(value = "{'_id' : ?0}", fields = "{'password' : 1, '_id' : 0}")
     RepositoryPasswordReturnDto findOnlyPasswordById(String userId);
 
+    //Refresh 토큰 필드만 (세션 저장소가 메모리에 없는 유저를 올릴 때)
+    @Query(value = "{'_id' : ?0}", fields = "{'jwtRefreshToken' : 1, '_id' : 0}")
+    RepositoryRefreshTokenReturnDto findOnlyRefreshTokenById(String userId);
+
     User findByUserId(String userId);
 
 }
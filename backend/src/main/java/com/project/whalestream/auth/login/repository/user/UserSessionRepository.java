@@ -0,0 +1,42 @@
+package com.project.whalestream.login.repository.user;
+
+import com.project.whalestream.login.domain.user.User;
+import com.project.whalestream.login.dto.auth.RepositoryRefreshTokenReturnDto;
+import com.project.whalestream.login.security.RefreshTokenStore;
+import com.project.whalestream.common.persistence.MongoBulkFieldWriter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+//User 문서의 jwtRefreshToken 필드만 읽고 쓴다 (문서 전체를 읽고 save 하지 않는다)
+@Repository
+public class UserSessionRepository implements RefreshTokenStore.Persistence {
+
+    private final UserRepository userRepository;
+    private final MongoBulkFieldWriter writer;
+
+    public UserSessionRepository(UserRepository userRepository, MongoTemplate mongoTemplate) {
+        this.userRepository = userRepository;
+        this.writer = new MongoBulkFieldWriter(mongoTemplate, User.class, false);
+    }
+
+    @Override
+    public String load(String userId) {
+        RepositoryRefreshTokenReturnDto dto = userRepository.findOnlyRefreshTokenById(userId);
+        return dto == null ? null : dto.getJwtRefreshToken();
+    }
+
+    //여러 유저의 $set / $unset 을 한 번의 bulkWrite 로
+    @Override
+    public void write(Map<String, String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Object>> updates = new HashMap<>(tokens.size() * 2);
+        tokens.forEach((userId, token) -> updates.put(userId, Collections.singletonMap("jwtRefreshToken", token)));
+        writer.write(updates);
+    }
+}
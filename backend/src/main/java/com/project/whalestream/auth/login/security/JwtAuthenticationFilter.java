@@ -1,5 +1,6 @@
 package com.project.whalestream.login.security;
 
+import com.project.whalestream.common.metrics.LatencyRecorder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,21 +17,26 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    //검증 결과 캐시 (캐시 미스일 때만 JwtTokenProvider 로 서명 검증)
+    private final JwtVerificationCache jwtVerificationCache;
+    //이 필터 자체에 걸린 시간 (뒤 체인 제외)
+    private final LatencyRecorder filterLatency;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")){
             //token에 AccessToken을 반환
             String token = header.replace("Bearer ", "");
-            String userId = jwtTokenProvider.getUserIdFromToken(token);
+            String userId = jwtVerificationCache.getUserId(token);
 
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(userId, null, List.of());
 
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
+        filterLatency.record(System.nanoTime() - started);
         filterChain.doFilter(request, response);
     }
 }
@@ -1,18 +1,28 @@
 package com.project.whalestream.login.security;
 
 import io.jsonwebtoken.*;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.util.ToStringUtil;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 import static com.project.whalestream.login.constant.Constant.ACCESS_TOKEN_TIME;
 import static com.project.whalestream.login.constant.Constant.REFRESH_TOKEN_TIME;
 
-@RequiredArgsConstructor
+@Slf4j
 public class JwtTokenProvider {
 
     private final SecretKey secretKey;
+    //파서는 불변이라 스레드끼리 공유해도 된다 -> 요청마다 parserBuilder()로 새로 만들지 말고 하나만 만들어 쓰자
+    private final JwtParser jwtParser;
+
+    public JwtTokenProvider(SecretKey secretKey) {
+        this.secretKey = secretKey;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+    }
 
     public String generateAccessToken(String userId) {
         return Jwts.builder()
@@ -24,8 +34,10 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    //jti 를 붙여서 같은 초에 재발급해도 매번 다른 토큰이 나오게 (rotation 에서 옛 토큰과 구분)
     public String generateRefreshToken(String userId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + REFRESH_TOKEN_TIME))
@@ -34,34 +46,31 @@ public class JwtTokenProvider {
     }
 
 
-    //userId를 추출
-    public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
+    //서명 검증 + 만료 확인 후 클레임 반환
+    public Claims parseClaims(String token) {
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
+    }
 
-        return claims.getSubject();
-
+    //userId를 추출
+    public String getUserIdFromToken(String token) {
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
 
             return true;
         } catch (SecurityException | MalformedJwtException e) {
-            System.out.println("잘못된 토큰 서명입니다.");
+            log.debug("잘못된 토큰 서명입니다.");
         } catch (ExpiredJwtException e) {
-            System.out.println("기간이 만료된 토큰입니다.");
+            log.debug("기간이 만료된 토큰입니다.");
         } catch (UnsupportedJwtException e) {
-            System.out.println("지원하지 않는 토큰입니다.");
+            log.debug("지원하지 않는 토큰입니다.");
         } catch (IllegalArgumentException e) {
-            System.out.println("잘못된 토큰입니다.");
+            log.debug("잘못된 토큰입니다.");
         }
 
         return false;
@@ -0,0 +1,141 @@
+package com.project.whalestream.login.security;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import io.jsonwebtoken.Claims;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+//한 번 서명 검증이 끝난 Access 토큰의 결과(userId, 만료시각)를 기억해두는 캐시
+//폴링 때문에 같은 토큰이 5~10초마다 계속 들어오는데, 그때마다 HMAC 검증 + JSON 파싱을 다시 할 필요가 없다
+//키는 토큰 원문이 아니라 SHA-256 다이제스트 -> 메모리에 토큰을 그대로 들고 있지 않는다
+public class JwtVerificationCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    //0 이면 캐시하지 않는다 (매번 검증)
+    private final int maxSize;
+    //캐시 미스일 때 서명 검증 + 파싱 시간
+    private final LatencyRecorder parseLatency;
+    private final Map<TokenDigest, VerifiedToken> entries = new ConcurrentHashMap<>();
+    //정리는 한 스레드만 하면 된다
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtVerificationCache(JwtTokenProvider jwtTokenProvider, int maxSize) {
+        this(jwtTokenProvider, maxSize, LatencyRecorder.NONE);
+    }
+
+    public JwtVerificationCache(JwtTokenProvider jwtTokenProvider, int maxSize, LatencyRecorder parseLatency) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("토큰 검증 캐시 크기는 0 이상이어야 합니다.");
+        }
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxSize = maxSize;
+        this.parseLatency = parseLatency;
+    }
+
+    //검증된 userId 반환, 서명이 틀리거나 만료된 토큰이면 JwtTokenProvider 와 똑같이 예외가 난다
+    public String getUserId(String token) {
+        TokenDigest key = TokenDigest.of(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.userId;
+            }
+            //만료된 건 바로 빼고 다시 검증 -> 만료 예외가 정상적으로 나가게
+            entries.remove(key, cached);
+        }
+
+        misses.increment();
+        long started = System.nanoTime();
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        parseLatency.record(System.nanoTime() - started);
+        //만료시각이 없는 토큰은 캐시하지 않는다
+        //꽉 찼는데 다른 스레드가 정리 중이면 이번 것은 캐시하지 않는다 (크기 검사와 넣기 사이에 동시에 들어온 만큼만 넘칠 수 있다)
+        if (maxSize > 0 && claims.getExpiration() != null && (entries.size() < maxSize || evict(now))) {
+            entries.put(key, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    //만료된 것부터 지우고, 그래도 꽉 차 있으면 곧 만료될 것부터 지워서 90% 까지 비운다
+    //다른 스레드가 이미 정리 중이면 false
+    private boolean evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return false;
+        }
+        try {
+            Iterator<VerifiedToken> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+
+            int target = Math.min(maxSize - 1, maxSize - maxSize / 10);
+            int overflow = entries.size() - target;
+            if (overflow <= 0) {
+                return true;
+            }
+            long[] expiries = new long[entries.size()];
+            int count = 0;
+            for (VerifiedToken token : entries.values()) {
+                if (count == expiries.length) {
+                    break;
+                }
+                expiries[count++] = token.expiresAt;
+            }
+            Arrays.sort(expiries, 0, count);
+            long cutoff = expiries[Math.min(overflow, count) - 1];
+
+            iterator = entries.values().iterator();
+            while (iterator.hasNext() && overflow > 0) {
+                if (iterator.next().expiresAt <= cutoff) {
+                    iterator.remove();
+                    evictions.increment();
+                    overflow--;
+                }
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class VerifiedToken {
+        private final String userId;
+        private final long expiresAt;
+
+        private VerifiedToken(String userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
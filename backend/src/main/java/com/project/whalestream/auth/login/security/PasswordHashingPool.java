@@ -0,0 +1,118 @@
+package com.project.whalestream.login.security;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//bcrypt 전용 스레드 풀 (로그인 matches, 회원가입 encode)
+//- bcrypt 한 번이 수십 ms 씩 CPU 를 쓰는데, 요청 스레드에서 바로 돌리면 로그인이 몰릴 때 톰캣 워커가 전부 묶여서
+//  시세/주문 API 까지 멈춘다 -> 정해진 수의 스레드에서만 돌리고 요청 스레드는 결과를 기다리지 않는다
+//- 대기열이 꽉 찼거나 대기열에서 너무 오래 기다린 작업은 해시하지 않고 바로 거절 (503 + Retry-After)
+public class PasswordHashingPool {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueWaitNanos;
+    private final int retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingPool(int threads, int queueCapacity, long maxQueueWaitMillis, int retryAfterSeconds) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    //꽉 찼으면 ServiceOverloadedException 을 바로 던진다 (대기열에서 밀려난 건 future 가 같은 예외로 끝난다)
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - enqueuedAt;
+                queueWaitNanos.add(waited);
+                //요청한 쪽이 이미 포기했을 만큼 기다렸으면 CPU 를 쓰지 않는다
+                if (waited > maxQueueWaitNanos) {
+                    expired.increment();
+                    result.completeExceptionally(overloaded());
+                    return;
+                }
+                try {
+                    result.complete(work.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    long took = System.nanoTime() - startedAt;
+                    hashNanos.add(took);
+                    maxHashNanos.accumulate(took);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+        return result;
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("로그인 요청이 몰려 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    //대기열에서 기다린 시간 합계 (expired 포함)
+    public long getQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long getMaxHashNanos() {
+        return maxHashNanos.get();
+    }
+
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.whalestream.login.security;
+
+import org.springframework.http.ResponseCookie;
+
+import static com.project.whalestream.login.constant.Constant.REFRESH_TOKEN_TIME;
+
+//Refresh 토큰 쿠키 (로그인/재발급/로그아웃이 같은 속성으로 만들어야 브라우저가 같은 쿠키로 본다)
+public final class RefreshTokenCookie {
+
+    public static final String NAME = "refreshToken";
+
+    private RefreshTokenCookie() {
+    }
+
+    public static ResponseCookie of(String refreshToken) {
+        return ResponseCookie.from(NAME, refreshToken) //.from() : 쿠기 이름과 값을 지정하여 빌더를 시작
+                .httpOnly(true) //JavaScript로 접근 못하게 하자
+                .secure(true) //HTTPS에서만 전송
+                .path("/") //전체 경로 쿠키 전송
+                .maxAge(REFRESH_TOKEN_TIME / 1000) // 수명
+                .sameSite("Strict") //CSRF 방지
+                .build();
+    }
+
+    public static ResponseCookie expired() {
+        return ResponseCookie.from(NAME, "")
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .maxAge(0)
+                .sameSite("Strict")
+                .build();
+    }
+}
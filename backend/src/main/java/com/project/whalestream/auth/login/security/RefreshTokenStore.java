@@ -0,0 +1,246 @@
+package com.project.whalestream.login.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//유저별 현재 Refresh 토큰 (세션) 저장소
+//- 로그인/재발급/로그아웃이 User 문서를 통째로 읽고 저장하지 않도록, 세션은 메모리 맵에서 바로 바꾼다 (O(1))
+//- 몽고에는 jwtRefreshToken 필드만 나중에 모아서 쓴다 (write-behind, 같은 유저의 여러 변경은 마지막 것만)
+//- 메모리에 없는 유저(재기동 직후)는 필드 하나만 읽어와서 올려둔다
+//- 재발급할 때마다 Refresh 토큰도 새로 바꾸고(rotation), 이미 바뀐 옛 토큰이 들어오면 탈취로 보고 세션을 끊는다
+//  (바로 전 토큰이 짧은 유예 시간 안에 다시 오는 건 동시 재발급으로 보고 같은 새 토큰을 준다)
+//메모리에는 토큰 원문이 아니라 다이제스트만 들고 있다 (유예 시간 동안의 새 토큰 원문만 예외)
+@Slf4j
+public class RefreshTokenStore {
+
+    //몽고 쪽 (필드 단위 읽기 / 여러 유저 필드 한 번에 쓰기)
+    public interface Persistence {
+        //없으면 null
+        String load(String userId);
+
+        //값이 null 이면 필드를 지운다
+        void write(Map<String, String> tokens);
+    }
+
+    //아직 안 쓴 로그아웃 표시 (ConcurrentHashMap 은 null 값을 못 넣는다)
+    private static final String REVOKED = "";
+
+    private final Persistence persistence;
+    private final long sessionTtlMillis;
+    private final long flushIntervalMillis;
+    private final long reuseGraceMillis;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    //몽고에 아직 안 쓴 변경 (유저별 마지막 값만)
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder reuseDetected = new LongAdder();
+    private final LongAdder graceReissues = new LongAdder();
+
+    public RefreshTokenStore(Persistence persistence, long sessionTtlMillis, long flushIntervalMillis, long reuseGraceMillis) {
+        this.persistence = persistence;
+        this.sessionTtlMillis = sessionTtlMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.reuseGraceMillis = reuseGraceMillis;
+        this.thread = new Thread(this::run, "refresh-token-writer");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    //로그인: 이전 세션은 그냥 덮어쓴다
+    public void issue(String userId, String refreshToken) {
+        Session issued = new Session(TokenDigest.of(refreshToken), System.currentTimeMillis() + sessionTtlMillis);
+        //세션과 쓰기 대기 값은 같은 유저 락 안에서 같이 바꾼다 (동시에 로그아웃해도 둘이 어긋나지 않게)
+        sessions.compute(userId, (id, previous) -> {
+            pending.put(id, refreshToken);
+            return issued;
+        });
+    }
+
+    //재발급: presented 가 현재 토큰이면 next 로 바꾸고 next 를 돌려준다
+    //방금 바뀐 바로 전 토큰이 reuseGraceMillis 안에 다시 오면 (탭 여러 개가 동시에 재발급) 끊지 않고 이미 바꾼 토큰을 그대로 돌려준다
+    //그보다 오래된 토큰이면 (이미 한 번 쓰인 토큰) 세션을 끊고 null
+    public String rotate(String userId, String presented, String next) {
+        TokenDigest digest = TokenDigest.of(presented);
+        Session rotated = new Session(TokenDigest.of(next), System.currentTimeMillis() + sessionTtlMillis);
+        while (true) {
+            Session current = current(userId);
+            if (current.digest == null) {
+                return null;
+            }
+            if (!current.digest.equals(digest)) {
+                if (digest.equals(current.previousDigest) && System.currentTimeMillis() < current.graceUntil) {
+                    graceReissues.increment();
+                    return current.successor;
+                }
+                reuseDetected.increment();
+                revoke(userId);
+                return null;
+            }
+            //같은 토큰으로 동시에 재발급하면 하나만 바꾸고, 나머지는 다시 돌아서 바뀐 토큰을 받아간다
+            Session replacing = rotated.after(current, next, System.currentTimeMillis() + reuseGraceMillis);
+            boolean[] replaced = new boolean[1];
+            sessions.computeIfPresent(userId, (id, session) -> {
+                if (session != current) {
+                    return session;
+                }
+                replaced[0] = true;
+                pending.put(id, next);
+                return replacing;
+            });
+            if (replaced[0]) {
+                return next;
+            }
+        }
+    }
+
+    public boolean isActive(String userId, String refreshToken) {
+        Session current = current(userId);
+        return current.digest != null && current.digest.equals(TokenDigest.of(refreshToken));
+    }
+
+    //로그아웃
+    public void revoke(String userId) {
+        Session revoked = new Session(null, System.currentTimeMillis() + sessionTtlMillis);
+        sessions.compute(userId, (id, previous) -> {
+            pending.put(id, REVOKED);
+            return revoked;
+        });
+    }
+
+    private Session current(String userId) {
+        Session session = sessions.get(userId);
+        if (session != null) {
+            return session;
+        }
+        //처음 보는 유저 -> 필드 하나만 읽어서 올린다 (없어도 "세션 없음"으로 올려둬서 다시 안 읽는다)
+        loads.increment();
+        String stored = persistence.load(userId);
+        Session loaded = new Session(stored == null || stored.isEmpty() ? null : TokenDigest.of(stored),
+                System.currentTimeMillis() + sessionTtlMillis);
+        //읽는 사이에 로그인한 게 있으면 그쪽이 최신
+        Session raced = sessions.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+            try {
+                flush();
+                evictExpired();
+            } catch (RuntimeException e) {
+                //몽고가 잠깐 안 되면 다음 주기에 다시 쓴다
+                log.warn("Refresh 토큰 세션 쓰기 실패, 다음 주기에 다시 씁니다. (대기 {}건)", pending.size(), e);
+            }
+        }
+    }
+
+    //지금까지 쌓인 변경을 한 번에 쓴다
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, String> batch = new HashMap<>();
+        Iterator<Map.Entry<String, String>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            //꺼내는 사이에 새 값이 들어왔으면 그건 다음 번에
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), REVOKED.equals(entry.getValue()) ? null : entry.getValue());
+            }
+        }
+        try {
+            persistence.write(batch);
+            writes.add(batch.size());
+        } catch (RuntimeException e) {
+            //실패한 건 되돌려 놓는다 (그 사이 새 값이 들어온 유저는 새 값 유지)
+            for (Map.Entry<String, String> entry : batch.entrySet()) {
+                pending.putIfAbsent(entry.getKey(), entry.getValue() == null ? REVOKED : entry.getValue());
+            }
+            throw e;
+        }
+    }
+
+    //만료된 세션은 메모리에서 내린다 (아직 안 쓴 변경이 있는 유저는 남겨둔다)
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        sessions.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now && !pending.containsKey(entry.getKey()));
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    public long getReuseDetectedCount() {
+        return reuseDetected.sum();
+    }
+
+    public long getGraceReissueCount() {
+        return graceReissues.sum();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+
+    //digest 가 null 이면 로그아웃 상태
+    //재발급 직후 graceUntil 까지만 바로 전 토큰 다이제스트와 그때 내준 새 토큰 원문을 들고 있는다
+    private static final class Session {
+        private final TokenDigest digest;
+        private final long expiresAt;
+        private final TokenDigest previousDigest;
+        private final String successor;
+        private final long graceUntil;
+
+        private Session(TokenDigest digest, long expiresAt) {
+            this(digest, expiresAt, null, null, 0);
+        }
+
+        private Session(TokenDigest digest, long expiresAt, TokenDigest previousDigest, String successor, long graceUntil) {
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+            this.previousDigest = previousDigest;
+            this.successor = successor;
+            this.graceUntil = graceUntil;
+        }
+
+        private Session after(Session previous, String successor, long graceUntil) {
+            return new Session(digest, expiresAt, previous.digest, successor, graceUntil);
+        }
+    }
+}
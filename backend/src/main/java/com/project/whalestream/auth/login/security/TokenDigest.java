@@ -0,0 +1,59 @@
+package com.project.whalestream.login.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+//토큰 원문 대신 들고 있는 SHA-256 다이제스트 (32바이트를 long 4개로)
+final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final long a;
+    private final long b;
+    private final long c;
+    private final long d;
+
+    private TokenDigest(long a, long b, long c, long d) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+    }
+
+    static TokenDigest of(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(toLong(hash, 0), toLong(hash, 8), toLong(hash, 16), toLong(hash, 24));
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenDigest other)) {
+            return false;
+        }
+        return a == other.a && b == other.b && c == other.c && d == other.d;
+    }
+
+    @Override
+    public int hashCode() {
+        //SHA-256 값이라 앞 8바이트만으로도 충분히 고르게 퍼진다
+        return (int) (a ^ (a >>> 32));
+    }
+}
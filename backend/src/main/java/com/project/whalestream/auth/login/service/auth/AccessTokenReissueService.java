@@ -1,19 +1,23 @@
 package com.project.whalestream.login.service.auth;
 
-import com.project.whalestream.login.domain.user.User;
-import com.project.whalestream.login.repository.user.UserRepository;
+import com.project.whalestream.login.dto.auth.ReissuedTokenDto;
 import com.project.whalestream.login.security.JwtTokenProvider;
+import com.project.whalestream.login.security.RefreshTokenCookie;
+import com.project.whalestream.login.security.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
 public class AccessTokenReissueService {
 
-    private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
 
-    public String reissueAccessToken(String refreshToken) {
+    //Access 토큰 재발급 + Refresh 토큰 교체(rotation) -> 새 Refresh 토큰은 쿠키로
+    public ResponseEntity<ReissuedTokenDto> reissueAccessToken(String refreshToken) {
 
         //refreshToken 유효성 검증
         if (!jwtTokenProvider.validateToken(refreshToken)) {
@@ -21,14 +25,17 @@ public class AccessTokenReissueService {
         }
 
         String userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-        User user = userRepository.findByUserId(userId);
 
-        //클라이언트 refreshToken이랑 DB 저장 refreshToken이랑 비교
-        if (!refreshToken.equals(user.getJwtRefreshToken())) {
+        //클라이언트 refreshToken이 세션의 현재 토큰일 때만 새 토큰으로 바꾼다 (이미 교체된 옛 토큰이면 세션을 끊는다)
+        //방금 바뀐 토큰으로 동시에 들어온 재발급이면 먼저 바꾼 새 토큰을 같이 받는다
+        String nextRefreshToken = refreshTokenStore.rotate(userId, refreshToken, jwtTokenProvider.generateRefreshToken(userId));
+        if (nextRefreshToken == null) {
             throw new IllegalArgumentException("RefreshToken이 일치하지 않습니다.");
         }
 
-        return jwtTokenProvider.generateAccessToken(userId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, RefreshTokenCookie.of(nextRefreshToken).toString())
+                .body(new ReissuedTokenDto(jwtTokenProvider.generateAccessToken(userId)));
     }
 
 }
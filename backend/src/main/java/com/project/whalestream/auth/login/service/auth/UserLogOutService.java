@@ -1,7 +1,7 @@
 package com.project.whalestream.login.service.auth;
 
-import com.project.whalestream.login.domain.user.User;
-import com.project.whalestream.login.repository.user.UserRepository;
+import com.project.whalestream.login.security.RefreshTokenCookie;
+import com.project.whalestream.login.security.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -13,21 +13,16 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserLogOutService implements UserLogOutServiceInterface {
 
-    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Override
     public ResponseEntity logout() {
         //Dto로 유저 Id를 받으면 보안상 좋지 않다.
         String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User user = userRepository.findByUserId(userId);
-        user.setJwtRefreshToken(null);
-        userRepository.save(user);
+        //문서를 읽고 저장하지 않고 세션만 끊는다 (몽고 필드는 나중에 지워진다)
+        refreshTokenStore.revoke(userId);
 
-        ResponseCookie deleteCookie = ResponseCookie.from("refreshToken", "")
-                .httpOnly(true)
-                .secure(true)
-                .maxAge(0)
-                .build();
+        ResponseCookie deleteCookie = RefreshTokenCookie.expired();
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, deleteCookie.toString())
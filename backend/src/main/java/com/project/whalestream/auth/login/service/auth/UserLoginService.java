@@ -1,11 +1,13 @@
 package com.project.whalestream.login.service.auth;
 
-import com.project.whalestream.login.domain.user.User;
 import com.project.whalestream.login.dto.auth.UserLoginRequestDto;
 import com.project.whalestream.login.dto.auth.UserLoginResponseDto;
 import com.project.whalestream.login.dto.auth.RepositoryPasswordReturnDto;
 import com.project.whalestream.login.repository.user.UserRepository;
 import com.project.whalestream.login.security.JwtTokenProvider;
+import com.project.whalestream.login.security.PasswordHashingPool;
+import com.project.whalestream.login.security.RefreshTokenCookie;
+import com.project.whalestream.login.security.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -13,6 +15,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 @Service
 public class UserLoginService implements UserLoginServiceInterface {
@@ -20,9 +24,11 @@ public class UserLoginService implements UserLoginServiceInterface {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder bcryptPasswordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PasswordHashingPool passwordHashingPool;
 
     @Override
-    public ResponseEntity login(UserLoginRequestDto userLoginRequestDto) {
+    public CompletableFuture<ResponseEntity> login(UserLoginRequestDto userLoginRequestDto) {
         String requestId = userLoginRequestDto.getUserId();
         String requestPassword = userLoginRequestDto.getPassword();
         //이 아래에 일치하는지 확인도 로그인
@@ -31,32 +37,28 @@ public class UserLoginService implements UserLoginServiceInterface {
         RepositoryPasswordReturnDto repositoryPasswordReturnDto = userRepository.findOnlyPasswordById(requestId);
 
         //아디 비번없으면 예외로 넘기고 있으면 토큰 들어있는 LoginResponseDto를 넘겨주자
-        if(repositoryPasswordReturnDto.getPassword() == null || !bcryptPasswordEncoder.matches(requestPassword, repositoryPasswordReturnDto.getPassword())) {
+        if (repositoryPasswordReturnDto == null || repositoryPasswordReturnDto.getPassword() == null) {
             throw new IllegalArgumentException("아이디 혹은 비밀번호가 일치하지 않습니다");
-        } else {
-            //Refresh 토큰 생성 및 디비 저장
-            User user = userRepository.findByUserId(requestId);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(requestId);
-            user.setJwtRefreshToken(refreshToken);
-            userRepository.save(user);
-
-            //쿠키 생성
-            ResponseCookie refreshTokenCookie = makeRefreshCookie(refreshToken);
-
-            //ResponseEntity 반환
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString())
-                    .body(new UserLoginResponseDto(requestId, jwtTokenProvider.generateAccessToken(requestId)));
         }
-    }
+        String storedPassword = repositoryPasswordReturnDto.getPassword();
+
+        //bcrypt 비교는 해시 전용 풀에서 (요청 스레드는 여기서 바로 반환된다)
+        return passwordHashingPool.submit(() -> bcryptPasswordEncoder.matches(requestPassword, storedPassword))
+                .thenApply(matched -> {
+                    if (!matched) {
+                        throw new IllegalArgumentException("아이디 혹은 비밀번호가 일치하지 않습니다");
+                    }
+                    //Refresh 토큰 생성 -> 세션 저장소에 (몽고에는 jwtRefreshToken 필드만 나중에 모아서 쓴다)
+                    String refreshToken = jwtTokenProvider.generateRefreshToken(requestId);
+                    refreshTokenStore.issue(requestId, refreshToken);
+
+                    //쿠키 생성
+                    ResponseCookie refreshTokenCookie = RefreshTokenCookie.of(refreshToken);
 
-    public ResponseCookie makeRefreshCookie(String refreshToken) {
-        return ResponseCookie.from("refreshToken", refreshToken) //.from() : 쿠기 이름과 값을 지정하여 빌더를 시작
-                .httpOnly(true) //JavaScript로 접근 못하게 하자
-                .secure(true) //HTTPS에서만 전송
-                .path("/") //전체 경로 쿠키 전송
-                .maxAge(7*24*60*60) // 수명
-                .sameSite("Strict") //CSRF 방지
-                .build();
+                    //ResponseEntity 반환
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString())
+                            .body(new UserLoginResponseDto(requestId, jwtTokenProvider.generateAccessToken(requestId)));
+                });
     }
 }
@@ -4,6 +4,8 @@ import com.project.whalestream.login.dto.auth.UserLoginRequestDto;
 import com.project.whalestream.login.dto.auth.UserLoginResponseDto;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserLoginServiceInterface {
-    ResponseEntity login(UserLoginRequestDto userLoginRequestDto);
+    CompletableFuture<ResponseEntity> login(UserLoginRequestDto userLoginRequestDto);
 }
@@ -1,30 +1,44 @@
 package com.project.whalestream.login.service.signup;
 
+import com.project.whalestream.common.execution.Endpoints;
+import com.project.whalestream.common.execution.RequestExecutor;
 import com.project.whalestream.login.domain.user.User;
 import com.project.whalestream.login.dto.signup.UserSignUpRequestDto;
 import com.project.whalestream.login.repository.user.UserRepository;
+import com.project.whalestream.login.security.PasswordHashingPool;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 // 클라이언트의 회원가입 요청을 받아서 User 객체를 만듬, 비밀번호는 BCryptPasswordEncoder 이용해서 해싱
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserSignUpService implements UserSignUpServiceInterface {
     //private User user = new User();
     private final BCryptPasswordEncoder encoder;
     private final UserRepository userRepository;
+    private final PasswordHashingPool passwordHashingPool;
+    private final RequestExecutor requestExecutor;
 
-    public void newUser(UserSignUpRequestDto userSignUpRequestDto) {
-        User newUser = new User(userSignUpRequestDto.getUserId(),
-                encoder.encode(userSignUpRequestDto.getPassword()),
-                userSignUpRequestDto.getName(),
-                userSignUpRequestDto.getAge(),
-                userSignUpRequestDto.getEmail(),
-                userSignUpRequestDto.getPhoneNum(),
-                userSignUpRequestDto.getUserHeight()
-        );
-        userRepository.save(newUser);
-        System.out.println("완료!");
+    public CompletableFuture<Void> newUser(UserSignUpRequestDto userSignUpRequestDto) {
+        //해싱은 bcrypt 전용 풀에서, 몽고 저장은 I/O 풀로 넘긴다 (해시 스레드가 몽고를 기다리며 다음 해싱을 막지 않게)
+        return passwordHashingPool.submit(() -> encoder.encode(userSignUpRequestDto.getPassword()))
+                .thenCompose(encodedPassword -> requestExecutor.submitAsync(Endpoints.SIGN_UP, () -> {
+                    User newUser = new User(userSignUpRequestDto.getUserId(),
+                            encodedPassword,
+                            userSignUpRequestDto.getName(),
+                            userSignUpRequestDto.getAge(),
+                            userSignUpRequestDto.getEmail(),
+                            userSignUpRequestDto.getPhoneNum(),
+                            userSignUpRequestDto.getUserHeight()
+                    );
+                    userRepository.save(newUser);
+                    log.info("회원가입 완료: {}", newUser.getUserId());
+                    return null;
+                }));
     }
 }
@@ -2,6 +2,8 @@ package com.project.whalestream.login.service.signup;
 
 import com.project.whalestream.login.dto.signup.UserSignUpRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserSignUpServiceInterface {
-    void newUser(UserSignUpRequestDto userSignUpRequestDto);
+    CompletableFuture<Void> newUser(UserSignUpRequestDto userSignUpRequestDto);
 }
@@ -1,31 +1,34 @@
 package com.project.whalestream.login.service.user;
 
+import com.project.whalestream.common.persistence.MongoWriteBehindRepository;
 import com.project.whalestream.login.domain.user.User;
 import com.project.whalestream.login.dto.user.UserUpdateRequestDto;
-import com.project.whalestream.login.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class UserUpdateService implements UserUpdateServiceInterface {
 
-    private final UserRepository userRepository;
+    private final MongoWriteBehindRepository<User> userWrites;
 
     @Override
     public void updateUser(UserUpdateRequestDto userUpdateRequestDto) {
         //userId 꺼내서 이제 전체 수정을 하면 될 것 같다
         String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        //회원 정보 수정 로직
-        User updateUser = userRepository.findByUserId(userId);
-        updateUser.setName(userUpdateRequestDto.getName());
-        updateUser.setAge(userUpdateRequestDto.getAge());
-        updateUser.setEmail(userUpdateRequestDto.getEmail());
-        updateUser.setPhoneNum(userUpdateRequestDto.getPhoneNum());
-        updateUser.setUserHeight(userUpdateRequestDto.getUserHeight());
+        //회원 정보 수정 로직 (문서를 읽고 save 하지 않고 바뀐 필드만 $set, 몽고에는 모아서 쓴다)
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", userUpdateRequestDto.getName());
+        fields.put("age", userUpdateRequestDto.getAge());
+        fields.put("email", userUpdateRequestDto.getEmail());
+        fields.put("phoneNum", userUpdateRequestDto.getPhoneNum());
+        fields.put("userHeight", userUpdateRequestDto.getUserHeight());
 
-        userRepository.save(updateUser);
+        userWrites.update(userId, fields);
     }
 }
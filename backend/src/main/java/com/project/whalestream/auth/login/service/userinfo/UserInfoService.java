@@ -1,31 +1,35 @@
 package com.project.whalestream.login.service.userinfo;
 
+import com.project.whalestream.common.persistence.MongoWriteBehindRepository;
 import com.project.whalestream.login.domain.userinfo.UserInfo;
 import com.project.whalestream.login.dto.userinfo.UserInfoRequestDto;
 import com.project.whalestream.login.dto.userinfo.UserInfoUpdateRequestDto;
-import com.project.whalestream.login.repository.userinfo.UserInfoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RequiredArgsConstructor
 @Service
 public class UserInfoService implements UserInfoServiceInterface {
 
-    private final UserInfoRepository userInfoRepository;
+    //없는 문서는 upsert 로 만들어진다
+    private final MongoWriteBehindRepository<UserInfo> userInfoWrites;
 
     @Override
     public void saveUserInfo(UserInfoRequestDto userInfoRequestDto) {
         String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        UserInfo userinfo = new UserInfo(userId); // 생성자 안에 userInfoRequestDto.~~ 해서 넣어줘야함
-        userInfoRepository.save(userinfo);
+        Map<String, Object> fields = new HashMap<>(); // userInfoRequestDto.~~ 해서 넣어줘야함
+        userInfoWrites.update(userId, fields);
     }
 
     @Override
     public void updateUserInfo(UserInfoUpdateRequestDto userInfoUpdateRequestDto) {
         String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        UserInfo userInfo = userInfoRepository.findByUserId(userId);
-        //userInfo를 바꾸고~ (set ~~)
-        userInfoRepository.save(userInfo);
+        Map<String, Object> fields = new HashMap<>();
+        //바꿀 필드를 넣고~ (fields.put ~~)
+        userInfoWrites.update(userId, fields);
     }
 }
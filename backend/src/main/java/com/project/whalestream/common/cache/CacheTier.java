@@ -0,0 +1,13 @@
+package com.project.whalestream.common.cache;
+
+//NearCache 뒤의 2차 캐시 (여러 인스턴스가 같이 보는 Redis 같은 것)
+//만료는 구현체가 알아서 (NearCache 는 get/put/invalidate 만 부른다)
+public interface CacheTier<K, V> {
+
+    //없으면 null
+    V get(K key);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+}
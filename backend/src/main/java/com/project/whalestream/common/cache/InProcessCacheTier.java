@@ -0,0 +1,53 @@
+package com.project.whalestream.common.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//프로세스 안의 맵으로 흉내 낸 2차 캐시 (테스트 / 단일 인스턴스용)
+//크기 제한은 없고 ttl 만 본다
+public class InProcessCacheTier<K, V> implements CacheTier<K, V> {
+
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public InProcessCacheTier(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
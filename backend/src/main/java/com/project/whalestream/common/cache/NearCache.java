@@ -0,0 +1,169 @@
+package com.project.whalestream.common.cache;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+//조회가 잦은 문서를 프로세스 안에 잠깐 들고 있는 캐시 (1차), 뒤에 선택적으로 2차 캐시(CacheTier)
+//- 1차 미스 -> 2차 -> 그래도 없으면 loader (몽고), 읽어온 값은 양쪽에 채운다
+//- ttl 이 지나면 다시 읽는다, 꽉 차면 곧 만료될 것(= 오래된 것)부터 90% 까지 비운다
+//- 쓰기 쪽은 invalidate 로 양쪽에서 뺀다, 읽는 도중에 무효화가 있었으면 읽어온 옛 값은 캐시에 넣지 않는다
+//- null(없는 문서)은 캐시하지 않는다
+//캐시에서 나온 객체는 여러 스레드가 같이 보므로 고치면 안 된다
+public class NearCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    //없으면 null
+    private final CacheTier<K, V> secondTier;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    //무효화할 때마다 올린다 (읽는 사이 무효화가 있었는지 확인용)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder secondTierHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public NearCache(String name, int maxSize, long ttlMillis, CacheTier<K, V> secondTier) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.secondTier = secondTier;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.value;
+            }
+            entries.remove(key, cached);
+        }
+
+        long generation = invalidations.get();
+        if (secondTier != null) {
+            V value = secondTier.get(key);
+            if (value != null) {
+                secondTierHits.increment();
+                store(key, value, generation, now);
+                return value;
+            }
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            if (secondTier != null && invalidations.get() == generation) {
+                secondTier.put(key, value);
+            }
+            store(key, value, generation, now);
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+        if (secondTier != null) {
+            secondTier.invalidate(key);
+        }
+    }
+
+    private void store(K key, V value, long generation, long now) {
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+        //넣는 사이에 무효화가 끼었으면 다시 뺀다 (다음 조회에서 새로 읽는다)
+        if (invalidations.get() != generation) {
+            entries.remove(key);
+        }
+    }
+
+    //만료된 것부터 지우고, 그래도 꽉 차 있으면 곧 만료될 것부터 지워서 90% 까지 비운다
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+
+            int target = maxSize - maxSize / 10;
+            int overflow = entries.size() - target;
+            if (overflow <= 0) {
+                return;
+            }
+            long[] expiries = new long[entries.size()];
+            int count = 0;
+            for (Entry<V> entry : entries.values()) {
+                if (count == expiries.length) {
+                    break;
+                }
+                expiries[count++] = entry.expiresAt;
+            }
+            Arrays.sort(expiries, 0, count);
+            long cutoff = expiries[Math.min(overflow, count) - 1];
+
+            iterator = entries.values().iterator();
+            while (iterator.hasNext() && overflow > 0) {
+                if (iterator.next().expiresAt <= cutoff) {
+                    iterator.remove();
+                    evictions.increment();
+                    overflow--;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getSecondTierHitCount() {
+        return secondTierHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
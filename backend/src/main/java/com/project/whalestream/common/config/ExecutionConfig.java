@@ -0,0 +1,78 @@
+package com.project.whalestream.common.config;
+
+import com.project.whalestream.common.execution.Endpoints;
+import com.project.whalestream.common.execution.RequestExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.Map;
+
+@Configuration
+public class ExecutionConfig {
+
+    //async: I/O 풀에서 (워커는 바로 반환, 기본), sync: 톰캣 워커에서 바로
+    @Value("${whalestream.execution.mode:async}")
+    private String mode;
+
+    @Value("${whalestream.execution.io-threads:64}")
+    private int ioThreads;
+
+    @Value("${whalestream.execution.io-queue-capacity:1024}")
+    private int ioQueueCapacity;
+
+    @Value("${whalestream.execution.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    //limits 에 없는 엔드포인트의 동시 처리 한도
+    @Value("${whalestream.execution.default-limit:200}")
+    private int defaultLimit;
+
+    @Value("${whalestream.execution.limits.login:200}")
+    private int loginLimit;
+
+    @Value("${whalestream.execution.limits.logout:100}")
+    private int logoutLimit;
+
+    @Value("${whalestream.execution.limits.reissue:400}")
+    private int reissueLimit;
+
+    @Value("${whalestream.execution.limits.user-update:50}")
+    private int userUpdateLimit;
+
+    @Value("${whalestream.execution.limits.profile:50}")
+    private int profileLimit;
+
+    @Bean(destroyMethod = "shutdown")
+    public RequestExecutor requestExecutor() {
+        Map<String, Integer> limits = Map.of(
+                Endpoints.LOGIN, loginLimit,
+                Endpoints.LOGOUT, logoutLimit,
+                Endpoints.REISSUE, reissueLimit,
+                Endpoints.USER_UPDATE, userUpdateLimit,
+                Endpoints.PROFILE, profileLimit);
+        //서비스들이 SecurityContextHolder 에서 userId 를 꺼내므로 요청 스레드의 인증 정보를 I/O 스레드로 넘긴다
+        return new RequestExecutor(RequestExecutor.Mode.valueOf(mode.toUpperCase()), ioThreads, ioQueueCapacity,
+                limits, defaultLimit, retryAfterSeconds, DelegatingSecurityContextRunnable::new);
+    }
+
+    @Bean
+    public MeterBinder requestExecutorMetrics(RequestExecutor requestExecutor) {
+        return registry -> {
+            Gauge.builder("whalestream.request.io.queue", requestExecutor, RequestExecutor::getQueueDepth).register(registry);
+            Gauge.builder("whalestream.request.io.active", requestExecutor, RequestExecutor::getActiveCount).register(registry);
+            for (String endpoint : Endpoints.ALL) {
+                Tags tags = Tags.of("endpoint", endpoint);
+                Gauge.builder("whalestream.request.inflight", requestExecutor, executor -> executor.getInFlight(endpoint))
+                        .tags(tags).register(registry);
+                FunctionCounter.builder("whalestream.request.rejected", requestExecutor, executor -> executor.getRejectedCount(endpoint))
+                        .tags(tags).register(registry);
+            }
+        };
+    }
+}
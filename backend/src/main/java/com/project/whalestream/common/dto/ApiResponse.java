@@ -0,0 +1,15 @@
+package com.project.whalestream.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//프론트 서비스들이 response.data.data 로 꺼내 쓰기 때문에 응답을 data 필드로 한 번 감싼다
+@Getter
+@AllArgsConstructor
+public class ApiResponse<T> {
+    private T data;
+
+    public static <T> ApiResponse<T> of(T data) {
+        return new ApiResponse<>(data);
+    }
+}
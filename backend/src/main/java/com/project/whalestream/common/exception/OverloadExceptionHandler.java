@@ -0,0 +1,19 @@
+package com.project.whalestream.common.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+//과부하 거절만 503 으로 바꾼다 (다른 예외 처리는 건드리지 않는다)
+@RestControllerAdvice
+public class OverloadExceptionHandler {
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleOverloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.whalestream.common.exception;
+
+//처리 용량이 꽉 차서 지금은 받을 수 없는 요청 -> 503 + Retry-After
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.whalestream.common.execution;
+
+//동시 처리 한도를 따로 거는 엔드포인트 이름 (whalestream.execution.limits.{이름})
+public final class Endpoints {
+
+    public static final String LOGIN = "login";
+    public static final String LOGOUT = "logout";
+    public static final String REISSUE = "reissue";
+    public static final String USER_UPDATE = "user-update";
+    public static final String PROFILE = "profile";
+    public static final String SIGN_UP = "sign-up";
+
+    public static final String[] ALL = {LOGIN, LOGOUT, REISSUE, USER_UPDATE, PROFILE, SIGN_UP};
+
+    private Endpoints() {
+    }
+}
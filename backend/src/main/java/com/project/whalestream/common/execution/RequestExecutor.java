@@ -0,0 +1,149 @@
+package com.project.whalestream.common.execution;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+//몽고를 기다리는 요청 처리를 어디서 돌릴지 + 엔드포인트별 동시 처리 한도
+//- SYNC : 톰캣 워커에서 바로 (한도만 건다)
+//- ASYNC: I/O 전용 풀에서 돌리고 톰캣 워커는 바로 반환 (async MVC, 기본) -> 폴링 클라이언트가 몰려도 워커가 몽고를 기다리며 묶이지 않는다
+//  풀 스레드 수와 대기열이 고정이라 넘치는 요청은 쌓이지 않고 거절된다
+//한도를 넘은 요청은 줄 세우지 않고 바로 503 + Retry-After (느린 엔드포인트 하나가 풀 전체를 차지하지 못하게)
+//다른 풀(bcrypt 해시 풀 등)에서 이어지는 몽고 호출은 모드와 상관없이 submitAsync 로 I/O 풀에 넘긴다
+public class RequestExecutor {
+
+    public enum Mode {
+        SYNC,
+        ASYNC
+    }
+
+    private final Mode mode;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Integer> limits;
+    private final int defaultLimit;
+    private final int retryAfterSeconds;
+    //요청 스레드의 컨텍스트(SecurityContext 등)를 작업 스레드로 넘겨주는 포장
+    private final UnaryOperator<Runnable> contextPropagator;
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    public RequestExecutor(Mode mode, int threads, int queueCapacity, Map<String, Integer> limits, int defaultLimit,
+                           int retryAfterSeconds, UnaryOperator<Runnable> contextPropagator) {
+        this.mode = mode;
+        this.limits = Map.copyOf(limits);
+        this.defaultLimit = defaultLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.contextPropagator = contextPropagator;
+        //SYNC 에서도 submitAsync 용으로 만들어 둔다 (스레드는 처음 쓸 때 생긴다)
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            Thread thread = new Thread(runnable, "request-io-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    //한도를 넘었거나 풀 대기열이 꽉 찼으면 ServiceOverloadedException 을 바로 던진다
+    //SYNC 모드에서는 work 의 예외도 그대로 던진다 (지금까지와 같은 동작)
+    public <T> CompletableFuture<T> submit(String endpoint, Supplier<T> work) {
+        Semaphore semaphore = permits.computeIfAbsent(endpoint, key -> new Semaphore(limits.getOrDefault(key, defaultLimit)));
+        if (!semaphore.tryAcquire()) {
+            throw overloaded(endpoint);
+        }
+        if (mode == Mode.SYNC) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } finally {
+                semaphore.release();
+            }
+        }
+        return execute(endpoint, semaphore, work);
+    }
+
+    //모드와 상관없이 I/O 풀에서 돌린다 (한도/거절은 submit 과 같다)
+    //다른 풀의 스레드에서 몽고를 기다리지 않도록 이어서 할 일을 넘길 때 쓴다
+    public <T> CompletableFuture<T> submitAsync(String endpoint, Supplier<T> work) {
+        Semaphore semaphore = permits.computeIfAbsent(endpoint, key -> new Semaphore(limits.getOrDefault(key, defaultLimit)));
+        if (!semaphore.tryAcquire()) {
+            throw overloaded(endpoint);
+        }
+        return execute(endpoint, semaphore, work);
+    }
+
+    private <T> CompletableFuture<T> execute(String endpoint, Semaphore semaphore, Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(contextPropagator.apply(() -> {
+                //한도는 결과를 넘기기 전에 돌려준다 (응답을 받은 클라이언트가 바로 다시 보내도 자리가 있게)
+                T value = null;
+                Throwable failure = null;
+                try {
+                    value = work.get();
+                } catch (Throwable e) {
+                    failure = e;
+                } finally {
+                    semaphore.release();
+                }
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            semaphore.release();
+            throw overloaded(endpoint);
+        }
+        return result;
+    }
+
+    private ServiceOverloadedException overloaded(String endpoint) {
+        rejected.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        return new ServiceOverloadedException("요청이 몰려 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    //지금 처리 중인 요청 수
+    public int getInFlight(String endpoint) {
+        Semaphore semaphore = permits.get(endpoint);
+        return semaphore == null ? 0 : limitOf(endpoint) - semaphore.availablePermits();
+    }
+
+    public long getRejectedCount(String endpoint) {
+        LongAdder count = rejected.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    public int limitOf(String endpoint) {
+        return limits.getOrDefault(endpoint, defaultLimit);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.whalestream.common.metrics;
+
+//엔진 클래스가 Micrometer 를 몰라도 구간 지연시간(나노초)을 넘길 수 있게 하는 통로
+//기록하는 쪽 스레드에서 바로 불리므로 구현체는 락/할당 없이 끝나야 한다
+@FunctionalInterface
+public interface LatencyRecorder {
+
+    LatencyRecorder NONE = nanos -> { };
+
+    void record(long nanos);
+}
@@ -0,0 +1,27 @@
+package com.project.whalestream.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+//구간별 지연 히스토그램 (/actuator/prometheus 로 나간다)
+//- 버킷 히스토그램(_bucket)을 내보내서 여러 인스턴스를 합친 p99 도 PromQL 로 구할 수 있다
+//- p50/p99/p999 는 인스턴스 안에서 HDR 히스토그램으로 바로 계산해서 같이 내보낸다
+public final class LatencyTimers {
+
+    private LatencyTimers() {
+    }
+
+    public static LatencyRecorder register(MeterRegistry registry, String name, String description) {
+        Timer timer = Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        return nanos -> timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
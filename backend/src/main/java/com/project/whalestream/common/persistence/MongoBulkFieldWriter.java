@@ -0,0 +1,86 @@
+package com.project.whalestream.common.persistence;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//여러 문서의 필드 변경을 한 번의 unordered bulkWrite 로 ($set / 값이 null 이면 $unset)
+//unordered 라 한 문서가 실패해도 나머지는 그대로 쓰인다
+//-> 실패한 문서만 PartialWriteException 으로 알려준다 (다시 써도 안 되는 에러 코드는 rejected 로)
+public class MongoBulkFieldWriter implements WriteBehindBuffer.Sink {
+
+    //다시 써도 같은 결과인 에러 (잘못된 값/타입, 중복 키, 스키마 검증, 문서 크기 초과 등)
+    private static final Set<Integer> PERMANENT_ERRORS = Set.of(2, 9, 14, 52, 55, 66, 121, 10334, 11000, 17419);
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<?> entityClass;
+    //없는 문서면 새로 만든다 (save 대신)
+    private final boolean upsert;
+
+    public MongoBulkFieldWriter(MongoTemplate mongoTemplate, Class<?> entityClass, boolean upsert) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityClass = entityClass;
+        this.upsert = upsert;
+    }
+
+    @Override
+    public void write(Map<String, Map<String, Object>> updates) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        //에러의 index -> 문서 id
+        List<String> operations = new ArrayList<>(updates.size());
+        for (Map.Entry<String, Map<String, Object>> entry : updates.entrySet()) {
+            Update update = new Update();
+            for (Map.Entry<String, Object> field : entry.getValue().entrySet()) {
+                if (field.getValue() == null) {
+                    update.unset(field.getKey());
+                } else {
+                    update.set(field.getKey(), field.getValue());
+                }
+            }
+            Query query = Query.query(Criteria.where("_id").is(entry.getKey()));
+            if (upsert) {
+                //save 로 만든 문서와 같게 (바꿀 필드가 없어도 빈 업데이트가 되지 않는다)
+                update.setOnInsert("_class", entityClass.getName());
+                bulk.upsert(query, update);
+            } else if (!entry.getValue().isEmpty()) {
+                bulk.updateOne(query, update);
+            } else {
+                continue;
+            }
+            operations.add(entry.getKey());
+        }
+        if (operations.isEmpty()) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            //write concern 에러만 있으면 어느 문서인지 모른다 -> 통째로 다시 쓴다 ($set 이라 여러 번 써도 같다)
+            if (e.getErrors().isEmpty()) {
+                throw e;
+            }
+            Set<String> retryable = new HashSet<>();
+            Map<String, String> rejected = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                String id = operations.get(error.getIndex());
+                if (PERMANENT_ERRORS.contains(error.getCode())) {
+                    rejected.put(id, error.getCode() + " " + error.getMessage());
+                } else {
+                    retryable.add(id);
+                }
+            }
+            throw new PartialWriteException(retryable, rejected, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.whalestream.common.persistence;
+
+import com.project.whalestream.common.cache.NearCache;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Map;
+import java.util.function.Function;
+
+//한 컬렉션의 필드 단위 쓰기를 모아서 bulkWrite 로 쓰고, 읽을 때는 아직 안 쓴 변경을 덮어서 돌려준다
+//- 요청 스레드는 update 에서 메모리에만 넣고 바로 돌아간다 (몽고 왕복 없음)
+//- 필드 이름은 엔티티 필드 이름 그대로 (@Field 로 이름을 바꾼 필드는 못 쓴다)
+//- factory 가 있으면 없는 문서는 upsert 로 만든다 (읽을 때도 아직 안 쓴 새 문서가 보인다)
+//- cache 가 있으면 조회는 캐시를 거치고, 변경이 들어올 때 + 몽고에 쓰고 난 뒤 캐시에서 뺀다
+public class MongoWriteBehindRepository<T> {
+
+    private final Function<String, T> finder;
+    private final Function<String, T> factory;
+    //없으면 null
+    private final NearCache<String, T> cache;
+    private final WriteBehindBuffer buffer;
+
+    public MongoWriteBehindRepository(String name, MongoTemplate mongoTemplate, Class<T> entityClass,
+                                      Function<String, T> finder, Function<String, T> factory, NearCache<String, T> cache,
+                                      long flushIntervalMillis, int maxPending) {
+        this.finder = finder;
+        this.factory = factory;
+        this.cache = cache;
+        MongoBulkFieldWriter writer = new MongoBulkFieldWriter(mongoTemplate, entityClass, factory != null);
+        this.buffer = new WriteBehindBuffer(name, updates -> {
+            try {
+                writer.write(updates);
+            } finally {
+                //쓰기 전에 다시 읽어서 캐시에 들어간 옛 문서를 뺀다 (일부만 쓰였어도)
+                if (cache != null) {
+                    updates.keySet().forEach(cache::invalidate);
+                }
+            }
+        }, flushIntervalMillis, maxPending);
+        this.buffer.start();
+    }
+
+    //바뀐 필드만 (값이 null 이면 필드를 지운다)
+    public void update(String id, Map<String, Object> fields) {
+        buffer.set(id, fields);
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    //아직 안 쓴 변경까지 반영된 문서 (없으면 null)
+    public T findById(String id) {
+        Map<String, Object> pending = buffer.pending(id);
+        if (pending == null) {
+            return cache == null ? finder.apply(id) : cache.get(id, finder);
+        }
+        //덮어쓸 변경이 있으면 캐시 객체를 고치지 않게 새로 읽는다 (쓰기 주기 동안만)
+        T entity = finder.apply(id);
+        if (entity == null) {
+            if (factory == null) {
+                return null;
+            }
+            entity = factory.apply(id);
+        }
+        DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+        pending.forEach(accessor::setPropertyValue);
+        return entity;
+    }
+
+    public WriteBehindBuffer getBuffer() {
+        return buffer;
+    }
+
+    public void flush() {
+        buffer.flush();
+    }
+
+    public void shutdown() throws InterruptedException {
+        buffer.shutdown();
+    }
+}
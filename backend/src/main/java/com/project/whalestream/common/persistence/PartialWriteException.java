@@ -0,0 +1,27 @@
+package com.project.whalestream.common.persistence;
+
+import java.util.Map;
+import java.util.Set;
+
+//묶음 쓰기에서 일부 문서만 실패 (나머지는 이미 쓰였다)
+//- retryable: 다시 쓰면 될 수 있는 문서 id (프라이머리 교체, 타임아웃 등)
+//- rejected : 다시 써도 똑같이 실패하는 문서 id -> 이유 (중복 키, 스키마 검증 등)
+public class PartialWriteException extends RuntimeException {
+
+    private final Set<String> retryable;
+    private final Map<String, String> rejected;
+
+    public PartialWriteException(Set<String> retryable, Map<String, String> rejected, Throwable cause) {
+        super("일부 문서 쓰기 실패 (재시도 " + retryable.size() + "건, 버림 " + rejected.size() + "건)", cause);
+        this.retryable = Set.copyOf(retryable);
+        this.rejected = Map.copyOf(rejected);
+    }
+
+    public Set<String> getRetryable() {
+        return retryable;
+    }
+
+    public Map<String, String> getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,267 @@
+package com.project.whalestream.common.persistence;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//문서 필드 변경을 바로 쓰지 않고 문서 id 별로 모아뒀다가 주기마다 한 번에 쓴다 (write-behind)
+//- 같은 문서의 여러 변경은 필드 단위로 합쳐진다 (같은 필드는 마지막 값만)
+//- 쓰기 전/쓰는 중인 변경은 pending() 으로 읽어서 조회 결과에 덮어쓴다 -> 방금 바꾼 값이 바로 보인다
+//- 대기 + 쓰는 중인 문서는 maxPending 개가 상한이다 (문서마다 자리(permit) 하나, 쓰기가 끝나거나 버려야 돌려준다)
+//  자리가 없으면 주기를 기다리지 않고 바로 쓰고, 그래도 안 나면 (DB 가 안 되는 동안) 새 문서 변경은 한 주기만큼 기다렸다가
+//  503 으로 거절한다 (메모리가 끝없이 늘지 않게)
+//- 쓰기가 실패하면 그 사이 새 변경을 덮어쓰지 않게 되돌려 놓고 다음 주기에 다시 쓴다
+//  일부만 실패했으면(PartialWriteException) 그 문서만 되돌리고, 다시 써도 안 되는 문서는 로그만 남기고 버린다
+@Slf4j
+public class WriteBehindBuffer {
+
+    //실제로 쓰는 쪽 (문서 id -> 필드 -> 값, 값이 null 이면 필드를 지운다)
+    public interface Sink {
+        void write(Map<String, Map<String, Object>> updates);
+    }
+
+    private final String name;
+    private final Sink sink;
+    private final long flushIntervalMillis;
+
+    //아직 안 쓴 변경 (필드 맵은 한 번 넣으면 안 고친다 -> 락 없이 읽어도 된다)
+    private final Map<String, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    //쓰는 중인 변경 (쓰는 동안 조회가 옛 값을 보지 않게)
+    private volatile Map<String, Map<String, Object>> inFlight = Map.of();
+    private final Semaphore wakeup = new Semaphore(0);
+    private final Object flushLock = new Object();
+    //pending 문서 하나 + 쓰는 중인 문서 하나마다 하나씩 잡는다
+    private final Semaphore slots;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder writtenDocuments = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public WriteBehindBuffer(String name, Sink sink, long flushIntervalMillis, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("대기 문서 수 한도는 1 이상이어야 합니다.");
+        }
+        this.name = name;
+        this.sink = sink;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.slots = new Semaphore(maxPending);
+        this.thread = new Thread(this::run, "write-behind-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    //fields 가 비어 있어도 문서는 쓰기 대상에 올라간다 (upsert 로 새 문서 만들기)
+    //이미 대기 중인 문서는 자리 없이 합쳐 넣고, 새 문서는 자리를 먼저 잡는다 (없으면 자리가 날 때까지 기다린다)
+    public void set(String id, Map<String, Object> fields) {
+        while (true) {
+            boolean reserved = false;
+            if (!pending.containsKey(id)) {
+                if (!acquireSlot()) {
+                    rejected.increment();
+                    throw new ServiceOverloadedException("저장이 밀려 잠시 후 다시 시도해주세요.", 1);
+                }
+                reserved = true;
+            }
+            boolean hasSlot = reserved;
+            boolean[] created = new boolean[1];
+            Map<String, Object> result = pending.compute(id, (key, current) -> {
+                //확인한 뒤에 flush 가 가져갔다 -> 자리 없이 새로 만들지 않고 자리부터 다시 잡는다
+                if (current == null && !hasSlot) {
+                    return null;
+                }
+                created[0] = current == null;
+                Map<String, Object> merged = current == null ? new HashMap<>(fields.size()) : new HashMap<>(current);
+                merged.putAll(fields);
+                return merged;
+            });
+            if (result == null) {
+                continue;
+            }
+            //그 사이 다른 스레드가 같은 문서를 먼저 만들었으면 잡은 자리는 돌려준다
+            if (reserved && !created[0]) {
+                slots.release();
+            }
+            updates.increment();
+            break;
+        }
+        if (slots.availablePermits() == 0) {
+            wakeup.release();
+        }
+    }
+
+    //아직 DB 에 반영 안 됐을 수 있는 변경 (없으면 null), 쓰는 중인 것 위에 대기 중인 것을 덮는다
+    public Map<String, Object> pending(String id) {
+        Map<String, Object> writing = inFlight.get(id);
+        Map<String, Object> waiting = pending.get(id);
+        if (writing == null) {
+            return waiting == null ? null : new HashMap<>(waiting);
+        }
+        Map<String, Object> merged = new HashMap<>(writing);
+        if (waiting != null) {
+            merged.putAll(waiting);
+        }
+        return merged;
+    }
+
+    //자리가 없으면 쓰기 스레드를 깨우고 최대 한 주기 기다린다 (자리는 쓰기가 끝나야 돌아온다)
+    private boolean acquireSlot() {
+        if (slots.tryAcquire()) {
+            return true;
+        }
+        wakeup.release();
+        try {
+            return slots.tryAcquire(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeup.tryAcquire(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                wakeup.drainPermits();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                //DB 가 잠깐 안 되면 다음 주기에 다시 쓴다 (실패한 건 flush 안에서 되돌려 놓음)
+                log.warn("{} 쓰기 실패, 다음 주기에 다시 씁니다. (대기 {}건)", name, pending.size(), e);
+            }
+        }
+    }
+
+    //지금까지 쌓인 변경을 한 번에 쓴다
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<String, Map<String, Object>> batch = new HashMap<>();
+            for (String id : new ArrayList<>(pending.keySet())) {
+                //remove 이후의 변경은 새 맵으로 쌓이므로 다음 번에 쓴다
+                Map<String, Object> fields = pending.remove(id);
+                if (fields != null) {
+                    batch.put(id, fields);
+                }
+            }
+            //pending 에서 빠진 문서의 자리는 쓰기가 끝날 때까지 그대로 잡고 있다
+            inFlight = batch;
+            try {
+                sink.write(batch);
+                writtenDocuments.add(batch.size());
+                batches.increment();
+                slots.release(batch.size());
+            } catch (PartialWriteException e) {
+                failures.increment();
+                writtenDocuments.add(batch.size() - e.getRetryable().size() - e.getRejected().size());
+                batches.increment();
+                if (!e.getRejected().isEmpty()) {
+                    dropped.add(e.getRejected().size());
+                    log.error("{} 다시 써도 안 되는 변경 {}건을 버립니다: {}", name, e.getRejected().size(), e.getRejected());
+                }
+                //실패한 문서만 되돌려 놓고 (자리는 그대로), 쓰였거나 버린 문서의 자리는 돌려준다
+                int restored = 0;
+                for (String id : e.getRetryable()) {
+                    if (batch.containsKey(id)) {
+                        restore(id, batch.get(id));
+                        restored++;
+                    }
+                }
+                slots.release(batch.size() - restored);
+                if (!e.getRetryable().isEmpty()) {
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                failures.increment();
+                //되돌려 놓는다 (그 사이 새로 들어온 같은 필드는 새 값 유지)
+                for (Map.Entry<String, Map<String, Object>> entry : batch.entrySet()) {
+                    restore(entry.getKey(), entry.getValue());
+                }
+                throw e;
+            } finally {
+                inFlight = Map.of();
+            }
+        }
+    }
+
+    //그 사이 새로 들어온 같은 필드는 새 값 유지
+    //쓰던 문서의 자리를 pending 으로 넘긴다, 새 변경이 이미 자리를 잡고 있으면 합치고 하나는 돌려준다
+    private void restore(String id, Map<String, Object> fields) {
+        boolean[] merged = new boolean[1];
+        pending.compute(id, (key, newer) -> {
+            if (newer == null) {
+                return fields;
+            }
+            merged[0] = true;
+            Map<String, Object> restored = new HashMap<>(fields);
+            restored.putAll(newer);
+            return restored;
+        });
+        if (merged[0]) {
+            slots.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public long getWrittenDocumentCount() {
+        return writtenDocuments.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    //다시 써도 안 돼서 버린 문서 수
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    //대기 문서가 꽉 차서 거절한 변경 수
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    //남은 변경까지 쓰고 멈춘다
+    public void shutdown() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.whalestream.common.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+//프론트와 주고받는 yyyy-MM-dd 날짜 <-> epoch millis (한국 시간 기준)
+public final class KstDates {
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private KstDates() {
+    }
+
+    //그날 00:00 KST
+    public static long startOfDay(String date) {
+        return parse(date).atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+
+    //다음날 00:00 KST (구간 끝을 미포함으로 쓸 때)
+    public static long endOfDayExclusive(String date) {
+        return parse(date).plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static String dateOf(long epochMillis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE).toString();
+    }
+
+    private static LocalDate parse(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다 (yyyy-MM-dd): " + date);
+        }
+    }
+}
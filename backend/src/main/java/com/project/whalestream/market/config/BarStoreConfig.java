@@ -0,0 +1,112 @@
+package com.project.whalestream.market.config;
+
+import com.project.whalestream.market.engine.bar.BarAggregator;
+import com.project.whalestream.market.engine.barstore.BarStore;
+import com.project.whalestream.market.engine.barstore.CsvBarImporter;
+import com.project.whalestream.market.engine.barstore.LiveBarRecorder;
+import com.project.whalestream.market.engine.history.BarStorePriceHistoryLoader;
+import com.project.whalestream.market.engine.history.MongoPriceHistoryLoader;
+import com.project.whalestream.market.engine.history.PriceHistoryLoader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+//과거 봉을 몽고 문서 대신 종목별 컬럼 파일로 ({directory}/1d, {directory}/1m)
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "whalestream.history.bar-store", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BarStoreConfig {
+
+    @Value("${whalestream.history.bar-store.directory:./data/bars}")
+    private String directory;
+
+    @Value("${whalestream.history.bar-store.block-size:4096}")
+    private int blockSize;
+
+    @Value("${whalestream.history.bar-store.compressed:false}")
+    private boolean compressed;
+
+    @Value("${whalestream.history.bar-store.price-scale:100}")
+    private long priceScale;
+
+    @Bean(destroyMethod = "close")
+    public BarStore dailyBarStore() throws IOException {
+        return new BarStore("1d", Paths.get(directory, "1d"), blockSize, compressed, priceScale);
+    }
+
+    @Bean(destroyMethod = "close")
+    public BarStore minuteBarStore() throws IOException {
+        return new BarStore("1m", Paths.get(directory, "1m"), blockSize, compressed, priceScale);
+    }
+
+    //백테스트/지표 차트는 이 로더를 쓴다
+    @Bean
+    @Primary
+    public PriceHistoryLoader barStorePriceHistoryLoader(@Qualifier("dailyBarStore") BarStore dailyBarStore,
+                                                         MongoPriceHistoryLoader mongoPriceHistoryLoader) {
+        return new BarStorePriceHistoryLoader(dailyBarStore, mongoPriceHistoryLoader);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "whalestream.history.bar-store", name = "record-live", havingValue = "true", matchIfMissing = true)
+    public LiveBarRecorder liveBarRecorder(BarAggregator barAggregator,
+                                           @Qualifier("minuteBarStore") BarStore minuteBarStore,
+                                           @Qualifier("dailyBarStore") BarStore dailyBarStore,
+                                           @Value("${whalestream.history.bar-store.flush-interval-ms:10000}") long flushIntervalMillis) {
+        LiveBarRecorder liveBarRecorder = new LiveBarRecorder(minuteBarStore, dailyBarStore, 65536, flushIntervalMillis);
+        barAggregator.addListener(liveBarRecorder);
+        liveBarRecorder.start();
+        return liveBarRecorder;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "whalestream.history.bar-store", name = "record-live", havingValue = "true", matchIfMissing = true)
+    public MeterBinder liveBarRecorderMetrics(LiveBarRecorder liveBarRecorder) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.bars.recorded", liveBarRecorder, LiveBarRecorder::getRecordedBarCount).register(registry);
+            FunctionCounter.builder("whalestream.bars.dropped", liveBarRecorder, LiveBarRecorder::getDroppedBarCount).register(registry);
+            Gauge.builder("whalestream.bars.queue", liveBarRecorder, LiveBarRecorder::getQueueSize).register(registry);
+        };
+    }
+
+    //기동 시 {import-dir}/1d/*.csv, {import-dir}/1m/*.csv 를 가져오고 .imported 로 이름을 바꿔둔다
+    @Bean
+    @ConditionalOnProperty(prefix = "whalestream.history.bar-store", name = "import-dir")
+    public ApplicationRunner csvBarImportRunner(@Qualifier("dailyBarStore") BarStore dailyBarStore,
+                                                @Qualifier("minuteBarStore") BarStore minuteBarStore,
+                                                @Value("${whalestream.history.bar-store.import-dir}") String importDir) {
+        return args -> {
+            importDirectory(dailyBarStore, Paths.get(importDir, "1d"));
+            importDirectory(minuteBarStore, Paths.get(importDir, "1m"));
+        };
+    }
+
+    private void importDirectory(BarStore store, Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.csv")) {
+            for (Path csv : files) {
+                String fileName = csv.getFileName().toString();
+                String stockCode = fileName.substring(0, fileName.length() - ".csv".length());
+                long imported = CsvBarImporter.importFile(store, stockCode, csv);
+                Files.move(csv, csv.resolveSibling(fileName + ".imported"));
+                log.info("[BarStore] {} {} {}개 봉 가져옴", store.getName(), stockCode, imported);
+            }
+        }
+    }
+}
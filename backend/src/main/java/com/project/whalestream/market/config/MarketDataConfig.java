@@ -0,0 +1,99 @@
+package com.project.whalestream.market.config;
+
+import com.project.whalestream.market.engine.bar.BarAggregator;
+import com.project.whalestream.market.engine.fanout.MarketDataFanout;
+import com.project.whalestream.market.engine.hub.MarketDataHub;
+import com.project.whalestream.market.engine.hub.MarketDataIngestPort;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.market.ingest.InProcessTickSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MarketDataConfig {
+
+    @Value("${whalestream.market.local-queue-capacity:65536}")
+    private int localQueueCapacity;
+
+    //구간이 끝난 뒤 늦은 틱을 기다리는 시간
+    @Value("${whalestream.market.bars.grace-ms:2000}")
+    private long barGraceMillis;
+
+    //지금 시각보다 이만큼 넘게 미래인 틱은 봉에 넣지 않는다 (0 이면 검사 안 함)
+    @Value("${whalestream.market.bars.max-future-ms:60000}")
+    private long barMaxFutureMillis;
+
+    //종목당 남겨두는 봉 수 (1s / 1m / 5m / 1d)
+    @Value("${whalestream.market.bars.capacity-1s:300}")
+    private int secondBars;
+
+    @Value("${whalestream.market.bars.capacity-1m:390}")
+    private int minuteBars;
+
+    @Value("${whalestream.market.bars.capacity-5m:288}")
+    private int fiveMinuteBars;
+
+    @Value("${whalestream.market.bars.capacity-1d:30}")
+    private int dayBars;
+
+    @Bean
+    public MarketDataHub marketDataHub() {
+        return new MarketDataHub();
+    }
+
+    @Bean
+    public QuoteStore quoteStore(MarketDataHub marketDataHub) {
+        QuoteStore quoteStore = new QuoteStore();
+        marketDataHub.addListener(quoteStore);
+        return quoteStore;
+    }
+
+    //팬아웃은 시세 저장소가 갱신된 다음에 돌아야 최신 스냅샷을 보낸다 -> QuoteStore 를 먼저 등록
+    @Bean
+    public MarketDataFanout marketDataFanout(MarketDataHub marketDataHub, QuoteStore quoteStore) {
+        MarketDataFanout marketDataFanout = new MarketDataFanout();
+        marketDataHub.addListener(marketDataFanout);
+        return marketDataFanout;
+    }
+
+    //틱 -> 1s/1m/5m/1d 봉 (봉 파일 기록, 차트가 여기서 닫힌 봉을 받아간다)
+    @Bean
+    public BarAggregator barAggregator(MarketDataHub marketDataHub) {
+        BarAggregator barAggregator = new BarAggregator(barGraceMillis, barMaxFutureMillis > 0 ? barMaxFutureMillis : Long.MAX_VALUE,
+                System::currentTimeMillis, secondBars, minuteBars, fiveMinuteBars, dayBars);
+        marketDataHub.addListener(barAggregator);
+        return barAggregator;
+    }
+
+    //whalestream.market.ingest=local (기본값) 일 때 Redis 대신 쓰는 유입구
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "whalestream.market", name = "ingest", havingValue = "local", matchIfMissing = true)
+    public InProcessTickSource inProcessTickSource(MarketDataIngestPort marketDataIngestPort) {
+        InProcessTickSource inProcessTickSource = new InProcessTickSource(marketDataIngestPort, localQueueCapacity);
+        inProcessTickSource.start();
+        return inProcessTickSource;
+    }
+
+    @Bean
+    public MeterBinder marketDataMetrics(MarketDataHub marketDataHub, MarketDataFanout marketDataFanout, QuoteStore quoteStore,
+                                         BarAggregator barAggregator, ObjectProvider<InProcessTickSource> inProcessTickSource) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.market.ticks", marketDataHub, MarketDataHub::getIngestedTickCount).register(registry);
+            Gauge.builder("whalestream.market.quotes", quoteStore, QuoteStore::size).register(registry);
+            Gauge.builder("whalestream.market.fanout.sessions", marketDataFanout, MarketDataFanout::getSessionCount).register(registry);
+            //접속 중인 세션 합계라 끊기면 줄어든다 -> 카운터가 아니라 게이지
+            Gauge.builder("whalestream.market.fanout.conflated", marketDataFanout, MarketDataFanout::getConflatedTickCount).register(registry);
+            FunctionCounter.builder("whalestream.market.bars.closed", barAggregator, BarAggregator::getClosedBarCount).register(registry);
+            FunctionCounter.builder("whalestream.market.bars.late", barAggregator, BarAggregator::getLateTickCount).register(registry);
+            FunctionCounter.builder("whalestream.market.bars.future", barAggregator, BarAggregator::getFutureTickCount).register(registry);
+            inProcessTickSource.ifAvailable(source ->
+                    Gauge.builder("whalestream.market.ingest.queue", source, InProcessTickSource::getQueueSize).register(registry));
+        };
+    }
+}
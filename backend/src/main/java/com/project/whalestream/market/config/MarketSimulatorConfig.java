@@ -0,0 +1,108 @@
+package com.project.whalestream.market.config;
+
+import com.project.whalestream.market.ingest.InProcessTickSource;
+import com.project.whalestream.market.simulator.MarketSimulator;
+import com.project.whalestream.market.simulator.SyntheticTickSource;
+import com.project.whalestream.market.simulator.TickFileSource;
+import com.project.whalestream.market.simulator.TickSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+//whalestream.simulator.enabled=true 일 때만 뜬다 (로컬 유입구에 합성/녹화 틱을 밀어넣는 부하 발생기)
+@Configuration
+@ConditionalOnProperty(prefix = "whalestream.simulator", name = "enabled", havingValue = "true")
+public class MarketSimulatorConfig {
+
+    //synthetic: 합성 틱, replay: 녹화 파일 재생
+    @Value("${whalestream.simulator.mode:synthetic}")
+    private String mode;
+
+    @Value("${whalestream.simulator.symbols:100}")
+    private int symbols;
+
+    //gbm | random-walk
+    @Value("${whalestream.simulator.model:gbm}")
+    private String model;
+
+    //초당 틱 수, 0 이면 최대 속도
+    @Value("${whalestream.simulator.rate:1000}")
+    private double rate;
+
+    //틱 하나당 변동성
+    @Value("${whalestream.simulator.volatility:0.001}")
+    private double volatility;
+
+    @Value("${whalestream.simulator.seed:42}")
+    private long seed;
+
+    @Value("${whalestream.simulator.replay-file:}")
+    private String replayFile;
+
+    //1 = 실제 속도, 0 이면 최대 속도
+    @Value("${whalestream.simulator.replay-speed:1}")
+    private double replaySpeed;
+
+    @Value("${whalestream.simulator.rebase:true}")
+    private boolean rebase;
+
+    @Value("${whalestream.simulator.report-interval-ms:5000}")
+    private long reportIntervalMillis;
+
+    @Bean(destroyMethod = "shutdown")
+    public MarketSimulator marketSimulator(ObjectProvider<InProcessTickSource> inProcessTickSource,
+                                           MeterRegistry meterRegistry) throws IOException {
+        InProcessTickSource sink = inProcessTickSource.getIfAvailable();
+        if (sink == null) {
+            throw new IllegalArgumentException("시뮬레이터는 whalestream.market.ingest=local 일 때만 쓸 수 있습니다.");
+        }
+        MarketSimulator marketSimulator;
+        if ("replay".equalsIgnoreCase(mode)) {
+            if (replayFile.isBlank()) {
+                throw new IllegalArgumentException("whalestream.simulator.replay-file 을 지정해야 합니다.");
+            }
+            marketSimulator = new MarketSimulator(new TickFileSource(Path.of(replayFile)), sink::emit, 0, replaySpeed,
+                    rebase, reportIntervalMillis, () -> fanoutLag(meterRegistry));
+        } else {
+            TickSource source = new SyntheticTickSource(symbols,
+                    SyntheticTickSource.Model.valueOf(model.toUpperCase(Locale.ROOT).replace('-', '_')), volatility, seed);
+            marketSimulator = new MarketSimulator(source, sink::emit, rate, 0, false,
+                    reportIntervalMillis, () -> fanoutLag(meterRegistry));
+        }
+        marketSimulator.start();
+        return marketSimulator;
+    }
+
+    //수신 -> WebSocket 전송 완료 지연 (MarketDataWebSocketHandler 의 타이머)
+    private static String fanoutLag(MeterRegistry meterRegistry) {
+        Timer timer = meterRegistry.find("whalestream.market.fanout.lag").timer();
+        if (timer == null || timer.count() == 0) {
+            return "(전송 없음)";
+        }
+        StringJoiner joiner = new StringJoiner(", ");
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            joiner.add(String.format("p%.1f=%.2fms", percentile.percentile() * 100,
+                    percentile.value(TimeUnit.NANOSECONDS) / 1e6));
+        }
+        return joiner.toString();
+    }
+
+    @Bean
+    public MeterBinder marketSimulatorMetrics(MarketSimulator marketSimulator) {
+        return registry -> FunctionCounter.builder("whalestream.simulator.ticks", marketSimulator,
+                MarketSimulator::getEmittedCount).register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.whalestream.market.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.market.engine.hub.MarketDataIngestPort;
+import com.project.whalestream.market.ingest.RedisTickSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.Executors;
+
+//운영: C++ 수신 모듈 -> Redis pub/sub -> 여기
+@Configuration
+@ConditionalOnProperty(prefix = "whalestream.market", name = "ingest", havingValue = "redis")
+public class RedisIngestConfig {
+
+    @Value("${whalestream.market.redis-channel:market:ticks}")
+    private String channel;
+
+    @Bean
+    public RedisTickSubscriber redisTickSubscriber(MarketDataIngestPort marketDataIngestPort, ObjectMapper objectMapper) {
+        return new RedisTickSubscriber(marketDataIngestPort, objectMapper);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer marketTickListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                     RedisTickSubscriber redisTickSubscriber) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        //메시지 처리 스레드를 하나로 둬야 종목별 틱 순서가 뒤섞이지 않는다
+        container.setTaskExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "market-ingest-redis");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        container.addMessageListener(redisTickSubscriber, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.whalestream.market.config;
+
+import com.project.whalestream.market.websocket.MarketDataWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final MarketDataWebSocketHandler marketDataWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(marketDataWebSocketHandler, "/ws/market")
+                .setAllowedOriginPatterns("*");
+    }
+}
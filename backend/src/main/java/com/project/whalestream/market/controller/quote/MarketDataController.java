@@ -0,0 +1,45 @@
+package com.project.whalestream.market.controller.quote;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.market.dto.bar.BarDto;
+import com.project.whalestream.market.dto.quote.StockPriceDto;
+import com.project.whalestream.market.service.quote.MarketDataServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/market-data")
+public class MarketDataController {
+
+    private final MarketDataServiceInterface marketDataService;
+
+    //미리 직렬화된 바이트를 그대로 내려준다
+    @GetMapping
+    public ResponseEntity<byte[]> getStockList() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(marketDataService.getStockListJson());
+    }
+
+    @GetMapping("/{stockCode}")
+    public ResponseEntity<ApiResponse<StockPriceDto>> getStockPrice(@PathVariable String stockCode) {
+        return ResponseEntity.ok(ApiResponse.of(marketDataService.getStockPrice(stockCode)));
+    }
+
+    //interval: 1s | 1m | 5m | 1d
+    @GetMapping("/{stockCode}/bars")
+    public ResponseEntity<ApiResponse<List<BarDto>>> getBars(@PathVariable String stockCode,
+                                                             @RequestParam(defaultValue = "1m") String interval,
+                                                             @RequestParam(defaultValue = "120") int limit) {
+        return ResponseEntity.ok(ApiResponse.of(marketDataService.getBars(stockCode, interval, limit)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.whalestream.market.domain.bar;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+//과거 봉 데이터 (일봉/분봉 공용, timestamp 는 봉 시작 시각 epoch millis)
+@Getter
+@NoArgsConstructor
+@Document(collection = "daily_bars")
+public class DailyBar {
+
+    @Id
+    private String id;
+    private String stockCode;
+    private long timestamp;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+}
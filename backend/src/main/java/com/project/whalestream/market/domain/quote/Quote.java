@@ -0,0 +1,117 @@
+package com.project.whalestream.market.domain.quote;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+//종목 하나의 현재 시세 스냅샷 (불변)
+//틱이 올 때마다 이전 스냅샷 + 틱으로 새 스냅샷을 만들어 통째로 교체한다 (copy-on-write)
+//-> 읽는 쪽은 락 없이 항상 필드들이 서로 맞는 한 시점의 값을 본다
+public final class Quote {
+
+    private static final long KST_OFFSET_MILLIS = 9L * 60 * 60 * 1000;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final String stockCode;
+    private final String stockName;
+    private final long currentPrice;
+    private final long open;
+    private final long high;
+    private final long low;
+    private final long previousClose;
+    private final long volume;
+    private final long timestamp;
+    //한국시간 기준 거래일 (epoch day)
+    private final long tradingDay;
+
+    private Quote(String stockCode, String stockName, long currentPrice, long open, long high, long low,
+                  long previousClose, long volume, long timestamp, long tradingDay) {
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.currentPrice = currentPrice;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.previousClose = previousClose;
+        this.volume = volume;
+        this.timestamp = timestamp;
+        this.tradingDay = tradingDay;
+    }
+
+    //첫 틱: 전일 종가를 모르니 첫 체결가를 기준으로 삼는다
+    public static Quote first(MarketTick tick) {
+        long price = tick.getPrice();
+        return new Quote(tick.getStockCode(), tick.getStockName(), price, price, price, price,
+                price, tick.getVolume(), tick.getTimestamp(), tradingDayOf(tick.getTimestamp()));
+    }
+
+    //이전 스냅샷에 틱 하나를 반영 (OHLC/거래량은 누적, 날짜가 바뀌면 전일 종가로 넘기고 새로 시작)
+    public Quote apply(MarketTick tick) {
+        long price = tick.getPrice();
+        long day = tradingDayOf(tick.getTimestamp());
+        if (day < tradingDay) {
+            //이미 지난 거래일의 틱은 버린다
+            return this;
+        }
+        String name = tick.getStockName() != null ? tick.getStockName() : stockName;
+        if (day > tradingDay) {
+            return new Quote(stockCode, name, price, price, price, price,
+                    currentPrice, tick.getVolume(), tick.getTimestamp(), day);
+        }
+        //늦게 도착한 틱은 고가/저가/거래량에만 반영하고 현재가는 되돌리지 않는다
+        boolean late = tick.getTimestamp() < timestamp;
+        return new Quote(stockCode, name, late ? currentPrice : price, open, Math.max(high, price), Math.min(low, price),
+                previousClose, volume + tick.getVolume(), late ? timestamp : tick.getTimestamp(), tradingDay);
+    }
+
+    public static long tradingDayOf(long timestamp) {
+        return Math.floorDiv(timestamp + KST_OFFSET_MILLIS, DAY_MILLIS);
+    }
+
+    public long getChange() {
+        return currentPrice - previousClose;
+    }
+
+    //등락률(%)
+    public double getChangeRate() {
+        return previousClose == 0 ? 0 : (currentPrice - previousClose) * 100.0 / previousClose;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getStockName() {
+        return stockName;
+    }
+
+    public long getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getPreviousClose() {
+        return previousClose;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getTradingDay() {
+        return tradingDay;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.whalestream.market.domain.tick;
+
+//시세 수신 모듈(C++ -> Redis)에서 들어오는 체결 틱 하나
+//가격은 원 단위 정수, volume 은 이번 틱의 체결 수량
+public final class MarketTick {
+
+    private final String stockCode;
+    private final String stockName;
+    private final long price;
+    private final long volume;
+    //거래소 체결 시각 (epoch millis)
+    private final long timestamp;
+    //이 서버가 받은 시각 (System.nanoTime, 팬아웃 지연 측정용)
+    private final long receivedAt = System.nanoTime();
+
+    public MarketTick(String stockCode, String stockName, long price, long volume, long timestamp) {
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.price = price;
+        this.volume = volume;
+        this.timestamp = timestamp;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getStockName() {
+        return stockName;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.whalestream.market.dto.bar;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+//실시간 봉 응답 DTO (차트)
+@Getter
+@AllArgsConstructor
+public class BarDto {
+    //구간 시작 시각
+    private String timestamp;
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private long volume;
+
+    public static BarDto of(long start, long open, long high, long low, long close, long volume) {
+        return new BarDto(Instant.ofEpochMilli(start).toString(), open, high, low, close, volume);
+    }
+}
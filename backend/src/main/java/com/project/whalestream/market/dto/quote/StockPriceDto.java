@@ -0,0 +1,40 @@
+package com.project.whalestream.market.dto.quote;
+
+import com.project.whalestream.market.domain.quote.Quote;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+//시세 응답 DTO (프론트 StockPrice)
+@Getter
+@AllArgsConstructor
+public class StockPriceDto {
+    private String stockCode;
+    private String stockName;
+    private long currentPrice;
+    private long change;
+    private double changeRate;
+    private long volume;
+    private long high;
+    private long low;
+    private long open;
+    private long previousClose;
+    private String timestamp;
+
+    public static StockPriceDto from(Quote quote) {
+        return new StockPriceDto(
+                quote.getStockCode(),
+                quote.getStockName(),
+                quote.getCurrentPrice(),
+                quote.getChange(),
+                quote.getChangeRate(),
+                quote.getVolume(),
+                quote.getHigh(),
+                quote.getLow(),
+                quote.getOpen(),
+                quote.getPreviousClose(),
+                Instant.ofEpochMilli(quote.getTimestamp()).toString()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.whalestream.market.dto.tick;
+
+import lombok.Data;
+
+import java.util.List;
+
+//WebSocket 구독 메시지 {"action":"SUBSCRIBE","stockCodes":["005930"]}
+//stockCodes 가 비어 있으면 전체 종목
+@Data
+public class SubscriptionRequestDto {
+    private String action;
+    private List<String> stockCodes;
+}
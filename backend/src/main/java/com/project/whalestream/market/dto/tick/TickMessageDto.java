@@ -0,0 +1,22 @@
+package com.project.whalestream.market.dto.tick;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//C++ 수신 모듈이 Redis 채널로 발행하는 틱 JSON
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TickMessageDto {
+    private String stockCode;
+    private String stockName;
+    private long price;
+    private long volume;
+    private long timestamp;
+
+    public MarketTick toTick() {
+        return new MarketTick(stockCode, stockName, price, volume, timestamp);
+    }
+}
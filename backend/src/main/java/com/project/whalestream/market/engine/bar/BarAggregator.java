@@ -0,0 +1,169 @@
+package com.project.whalestream.market.engine.bar;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.hub.MarketDataListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+//실시간 틱 -> 1s/1m/5m/1d 봉
+//- 봉은 여기서 한 번만 만들고, 닫힌 봉을 리스너(봉 파일 기록 등)에 넘긴다 -> 소비자마다 틱에서 봉을 다시 만들지 않는다
+//- 구간이 끝나도 grace 동안은 열어둬서 늦게 온 틱을 받는다, 그 뒤에 온 틱은 버린다
+//- 시각 기준은 지금까지 받은 틱 중 가장 늦은 거래소 시각 (워터마크) -> 재생/시뮬레이터 속도와 상관없이 같은 봉이 나온다
+//  단, 지금 시각 + maxFutureMillis 보다 미래 시각이 찍힌 틱은 버린다 (잘못된 시각 하나로 워터마크가 뛰어 전 종목 봉이 닫히지 않게)
+//- 종목마다 구간별 원형 버퍼 (크기 고정) -> 세션이 길어져도 종목당 메모리가 늘지 않는다
+//틱 반영/닫기는 허브 수신 스레드에서, 차트 조회는 요청 스레드에서 -> 종목 단위로 잠근다
+@Slf4j
+public class BarAggregator implements MarketDataListener {
+
+    private static final BarInterval[] INTERVALS = BarInterval.values();
+    //거래가 뜸한 종목도 닫히도록 워터마크가 이만큼 갈 때마다 전 종목을 훑는다
+    private static final long SWEEP_MILLIS = 1_000L;
+
+    private final long graceMillis;
+    private final long maxFutureMillis;
+    private final LongSupplier clock;
+    private final int[] capacities;
+    private final Map<String, SymbolBars> symbols = new ConcurrentHashMap<>();
+    //봉 리스너는 기동 시에만 추가되고 닫을 때는 배열을 그대로 순회
+    private volatile BarListener[] listeners = new BarListener[0];
+    private final BarListener dispatcher = this::dispatch;
+
+    //수신 스레드 전용
+    private long watermark = Long.MIN_VALUE;
+    private long nextSweep = Long.MIN_VALUE;
+
+    private final LongAdder closedBars = new LongAdder();
+    private final LongAdder lateTicks = new LongAdder();
+    private final LongAdder futureTicks = new LongAdder();
+
+    //미래 시각 검사 없이 (녹화 파일 재생 등 틱 시각을 믿을 수 있을 때)
+    public BarAggregator(long graceMillis, int... capacities) {
+        this(graceMillis, Long.MAX_VALUE, System::currentTimeMillis, capacities);
+    }
+
+    //capacities: BarInterval 순서대로 종목당 남겨둘 봉 수
+    //clock 시각 + maxFutureMillis 보다 늦은 틱은 봉에 넣지 않는다
+    public BarAggregator(long graceMillis, long maxFutureMillis, LongSupplier clock, int... capacities) {
+        if (capacities.length != INTERVALS.length) {
+            throw new IllegalArgumentException("봉 구간 수만큼 버퍼 크기가 필요합니다.");
+        }
+        for (int capacity : capacities) {
+            if (capacity < 2) {
+                throw new IllegalArgumentException("봉 버퍼 크기는 2 이상이어야 합니다.");
+            }
+        }
+        this.graceMillis = graceMillis;
+        this.maxFutureMillis = maxFutureMillis;
+        this.clock = clock;
+        this.capacities = capacities.clone();
+    }
+
+    public synchronized void addListener(BarListener listener) {
+        BarListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[next.length - 1] = listener;
+        listeners = next;
+    }
+
+    @Override
+    public void onTick(MarketTick tick) {
+        long timestamp = tick.getTimestamp();
+        if (timestamp > watermark) {
+            //워터마크를 올리는 틱만 지금 시각과 비교한다 (보통은 틱마다 한 번)
+            if (maxFutureMillis != Long.MAX_VALUE && timestamp - clock.getAsLong() > maxFutureMillis) {
+                futureTicks.increment();
+                return;
+            }
+            watermark = timestamp;
+        }
+        long closeBefore = watermark - graceMillis;
+        SymbolBars bars = symbols.computeIfAbsent(tick.getStockCode(), code -> new SymbolBars(code, capacities));
+        synchronized (bars) {
+            for (int i = 0; i < INTERVALS.length; i++) {
+                BarInterval interval = INTERVALS[i];
+                long bucket = interval.bucketOf(timestamp);
+                //grace 가 지나서 이미 닫혔어야 할 구간
+                if (bucket + interval.getMillis() <= closeBefore
+                        || !bars.rings[i].add(bucket, timestamp, tick.getPrice(), tick.getVolume(), dispatcher,
+                        bars.stockCode, interval)) {
+                    lateTicks.increment();
+                    continue;
+                }
+                bars.rings[i].close(closeBefore, interval.getMillis(), dispatcher, bars.stockCode, interval);
+            }
+        }
+        if (watermark >= nextSweep) {
+            nextSweep = watermark + SWEEP_MILLIS;
+            closeAll(closeBefore);
+        }
+    }
+
+    private void closeAll(long closeBefore) {
+        for (SymbolBars bars : symbols.values()) {
+            synchronized (bars) {
+                for (int i = 0; i < INTERVALS.length; i++) {
+                    bars.rings[i].close(closeBefore, INTERVALS[i].getMillis(), dispatcher, bars.stockCode, INTERVALS[i]);
+                }
+            }
+        }
+    }
+
+    //최근 limit 개 봉 (진행 중인 봉 포함)을 오래된 것부터 넘긴다, 넘긴 개수 반환
+    public int recent(String stockCode, BarInterval interval, int limit, BarListener consumer) {
+        SymbolBars bars = symbols.get(stockCode);
+        if (bars == null) {
+            return 0;
+        }
+        synchronized (bars) {
+            return bars.rings[interval.ordinal()].read(limit, consumer, stockCode, interval);
+        }
+    }
+
+    private void dispatch(String stockCode, BarInterval interval, long start, long open, long high, long low,
+                          long close, long volume) {
+        closedBars.increment();
+        BarListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            //소비자 하나가 실패해도 나머지는 받아야 한다
+            try {
+                current[i].onBar(stockCode, interval, start, open, high, low, close, volume);
+            } catch (RuntimeException e) {
+                log.error("봉 리스너 실패: {} {}", stockCode, interval.getCode(), e);
+            }
+        }
+    }
+
+    public long getClosedBarCount() {
+        return closedBars.sum();
+    }
+
+    public long getLateTickCount() {
+        return lateTicks.sum();
+    }
+
+    //미래 시각이라 버린 틱 수
+    public long getFutureTickCount() {
+        return futureTicks.sum();
+    }
+
+    public int getSymbolCount() {
+        return symbols.size();
+    }
+
+    private static final class SymbolBars {
+        private final String stockCode;
+        private final BarRing[] rings;
+
+        private SymbolBars(String stockCode, int[] capacities) {
+            this.stockCode = stockCode;
+            this.rings = new BarRing[capacities.length];
+            for (int i = 0; i < capacities.length; i++) {
+                rings[i] = new BarRing(capacities[i]);
+            }
+        }
+    }
+}
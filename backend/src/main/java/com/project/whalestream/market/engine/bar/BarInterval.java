@@ -0,0 +1,43 @@
+package com.project.whalestream.market.engine.bar;
+
+//실시간 봉 구간 (일봉은 KST 00:00 기준)
+public enum BarInterval {
+
+    S1("1s", 1_000L, 0),
+    M1("1m", 60_000L, 0),
+    M5("5m", 5 * 60_000L, 0),
+    //KST = UTC+9 (서머타임 없음)
+    D1("1d", 24 * 60 * 60_000L, 9 * 60 * 60_000L);
+
+    private final String code;
+    private final long millis;
+    private final long offset;
+
+    BarInterval(String code, long millis, long offset) {
+        this.code = code;
+        this.millis = millis;
+        this.offset = offset;
+    }
+
+    //timestamp 가 속한 구간 시작 시각
+    public long bucketOf(long timestamp) {
+        return timestamp - Math.floorMod(timestamp + offset, millis);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public static BarInterval of(String code) {
+        for (BarInterval interval : values()) {
+            if (interval.code.equals(code)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 봉 구간입니다: " + code);
+    }
+}
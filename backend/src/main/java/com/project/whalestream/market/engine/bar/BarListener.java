@@ -0,0 +1,7 @@
+package com.project.whalestream.market.engine.bar;
+
+//닫힌 봉을 받아가는 쪽 (봉 파일 기록, 차트 등), 봉 객체를 만들지 않고 값으로 넘긴다
+//허브 수신 스레드에서 바로 호출되므로 블로킹 작업 금지
+public interface BarListener {
+    void onBar(String stockCode, BarInterval interval, long start, long open, long high, long low, long close, long volume);
+}
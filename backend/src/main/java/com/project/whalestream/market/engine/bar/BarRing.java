@@ -0,0 +1,169 @@
+package com.project.whalestream.market.engine.bar;
+
+//종목 하나 / 구간 하나의 최근 봉 원형 버퍼 (필드별 long 배열, 봉 객체 없음)
+//- 시작 시각 오름차순, 앞쪽 published 개는 이미 닫혀서 내보낸 봉이고 그 뒤는 아직 늦은 틱을 받을 수 있는 봉
+//- 배열은 16 칸부터 두 배씩 늘다가 capacity 에서 멈추고 그 뒤로는 가장 오래된 봉을 덮어쓴다 -> 종목당 메모리 상한 고정
+//종목 락을 잡은 스레드만 만진다
+final class BarRing {
+
+    private static final int INITIAL = 16;
+
+    private final int capacity;
+    private long[] start;
+    private long[] open;
+    private long[] high;
+    private long[] low;
+    private long[] close;
+    private long[] volume;
+    //이 봉에 반영된 가장 이른/늦은 틱 시각 (순서가 뒤바뀌어 온 틱이 시가/종가를 덮지 않게)
+    private long[] firstAt;
+    private long[] lastAt;
+    private int head;
+    private int count;
+    private int published;
+
+    BarRing(int capacity) {
+        this.capacity = capacity;
+        allocate(Math.min(INITIAL, capacity));
+    }
+
+    //틱 반영, 이미 닫힌 구간이면 false
+    boolean add(long bucket, long timestamp, long price, long quantity, BarListener evicted, String stockCode,
+                BarInterval interval) {
+        //뒤에서부터 (대부분 마지막 봉) 열린 봉 중에 같은 구간을 찾는다
+        int i = count - 1;
+        while (i >= published && start(i) > bucket) {
+            i--;
+        }
+        if (i >= published && start(i) == bucket) {
+            int slot = slot(i);
+            high[slot] = Math.max(high[slot], price);
+            low[slot] = Math.min(low[slot], price);
+            if (timestamp < firstAt[slot]) {
+                open[slot] = price;
+                firstAt[slot] = timestamp;
+            }
+            if (timestamp >= lastAt[slot]) {
+                close[slot] = price;
+                lastAt[slot] = timestamp;
+            }
+            volume[slot] += quantity;
+            return true;
+        }
+        if (i >= 0 && i < published && start(i) >= bucket) {
+            return false;
+        }
+        return insert(i + 1, bucket, timestamp, price, quantity, evicted, stockCode, interval);
+    }
+
+    //closeBefore 보다 먼저 끝나는 열린 봉을 순서대로 닫는다 (구간 끝 <= closeBefore)
+    void close(long closeBefore, long length, BarListener listener, String stockCode, BarInterval interval) {
+        while (published < count && start(published) + length <= closeBefore) {
+            publish(published, listener, stockCode, interval);
+            published++;
+        }
+    }
+
+    //최근 limit 개 (진행 중인 봉 포함)를 오래된 것부터
+    int read(int limit, BarListener consumer, String stockCode, BarInterval interval) {
+        int from = Math.max(0, count - limit);
+        for (int i = from; i < count; i++) {
+            publish(i, consumer, stockCode, interval);
+        }
+        return count - from;
+    }
+
+    private boolean insert(int index, long bucket, long timestamp, long price, long quantity, BarListener evicted,
+                           String stockCode, BarInterval interval) {
+        if (count == start.length) {
+            if (count < capacity) {
+                grow();
+            } else {
+                //꽉 찬 버퍼의 맨 앞에 들어갈 봉은 들어가자마자 밀려나므로 버린다
+                if (index == 0) {
+                    return false;
+                }
+                //꽉 찼으면 가장 오래된 봉을 버린다 (아직 안 닫힌 봉이면 먼저 내보낸다)
+                if (published == 0) {
+                    publish(0, evicted, stockCode, interval);
+                    published++;
+                }
+                head = (head + 1) % start.length;
+                count--;
+                published--;
+                index--;
+            }
+        }
+        //뒤쪽 봉을 한 칸씩 밀고 자리를 만든다 (늦은 틱이 빈 구간에 들어오는 경우만, 보통은 맨 끝)
+        for (int i = count; i > index; i--) {
+            copy(slot(i - 1), slot(i));
+        }
+        int slot = slot(index);
+        start[slot] = bucket;
+        open[slot] = price;
+        high[slot] = price;
+        low[slot] = price;
+        close[slot] = price;
+        volume[slot] = quantity;
+        firstAt[slot] = timestamp;
+        lastAt[slot] = timestamp;
+        count++;
+        return true;
+    }
+
+    private void publish(int index, BarListener listener, String stockCode, BarInterval interval) {
+        int slot = slot(index);
+        listener.onBar(stockCode, interval, start[slot], open[slot], high[slot], low[slot], close[slot], volume[slot]);
+    }
+
+    private void copy(int from, int to) {
+        start[to] = start[from];
+        open[to] = open[from];
+        high[to] = high[from];
+        low[to] = low[from];
+        close[to] = close[from];
+        volume[to] = volume[from];
+        firstAt[to] = firstAt[from];
+        lastAt[to] = lastAt[from];
+    }
+
+    private void grow() {
+        long[][] previous = {start, open, high, low, close, volume, firstAt, lastAt};
+        int length = start.length;
+        allocate(Math.min(length * 2, capacity));
+        long[][] next = {start, open, high, low, close, volume, firstAt, lastAt};
+        for (int field = 0; field < next.length; field++) {
+            for (int i = 0; i < count; i++) {
+                next[field][i] = previous[field][(head + i) % length];
+            }
+        }
+        head = 0;
+    }
+
+    private void allocate(int size) {
+        start = new long[size];
+        open = new long[size];
+        high = new long[size];
+        low = new long[size];
+        close = new long[size];
+        volume = new long[size];
+        firstAt = new long[size];
+        lastAt = new long[size];
+    }
+
+    private long start(int index) {
+        return start[slot(index)];
+    }
+
+    private int slot(int index) {
+        return (head + index) % start.length;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int openCount() {
+        return count - published;
+    }
+}
@@ -0,0 +1,6 @@
+package com.project.whalestream.market.engine.barstore;
+
+//봉 파일을 훑을 때 봉 하나씩 받는 쪽 (봉 객체를 만들지 않는다)
+public interface BarConsumer {
+    void accept(long timestamp, double open, double high, double low, double close, long volume);
+}
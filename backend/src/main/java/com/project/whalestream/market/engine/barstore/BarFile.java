@@ -0,0 +1,475 @@
+package com.project.whalestream.market.engine.barstore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+//종목 하나의 봉 파일 (append-only, 블록 단위 컬럼 저장)
+//
+//  [파일 헤더 16B] magic, version, priceScale
+//  [블록 헤더 56B] count, encoding, firstTs, lastTs, 컬럼별 바이트 수 x6, crc32
+//  [컬럼 6개]      timestamp, open, high, low, close, volume (가격은 priceScale 배 한 정수)
+//
+//- 꽉 찬 블록(blockSize 개)은 한 번 쓰면 다시 건드리지 않는다 -> 이 구간만 mmap 해서 읽기 때문에 데이터가 힙에 안 올라온다
+//- 아직 덜 찬 마지막 블록(tail)은 메모리에 두고 flush 때만 파일 끝에 덮어쓴다
+//- 블록마다 첫/마지막 시각을 힙에 들고 있어서 구간 조회는 블록 이진 탐색 -> 블록 안 탐색 순
+//- 쓰기는 한 스레드(수집기/임포터)가 하고, 읽기는 여러 스레드가 락 없이 한다
+public final class BarFile implements Closeable {
+
+    private static final int MAGIC = 0x57424152;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 16;
+    private static final int BLOCK_HEADER = 56;
+    private static final int COLUMNS = 6;
+
+    private final String stockCode;
+    private final FileChannel channel;
+    private final int blockSize;
+    private final byte encoding;
+    private final long priceScale;
+
+    //읽기 쪽이 보는 봉인된 블록 목록 (블록이 봉인될 때마다 통째로 교체)
+    private volatile Sealed sealed;
+
+    //tail (this 로 보호)
+    private final long[][] tail = new long[COLUMNS][];
+    private int tailSize;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private boolean tailDirty;
+
+    private BarFile(String stockCode, FileChannel channel, int blockSize, byte encoding, long priceScale) {
+        this.stockCode = stockCode;
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.encoding = encoding;
+        this.priceScale = priceScale;
+        for (int c = 0; c < COLUMNS; c++) {
+            tail[c] = new long[blockSize];
+        }
+    }
+
+    //priceScale 은 새 파일을 만들 때만 쓰이고, 기존 파일은 헤더 값을 따른다
+    public static BarFile open(String stockCode, Path path, int blockSize, boolean compressed, long priceScale) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long scale = priceScale;
+            if (channel.size() < FILE_HEADER) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+                header.putInt(MAGIC).putInt(VERSION).putLong(priceScale).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+            } else {
+                ByteBuffer header = read(channel, 0, FILE_HEADER);
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("봉 파일 형식이 아닙니다: " + path);
+                }
+                scale = header.getLong();
+            }
+            BarFile file = new BarFile(stockCode, channel, blockSize, compressed ? BlockCodec.DELTA_VARINT : BlockCodec.RAW, scale);
+            file.recover();
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    //블록 헤더를 따라가면서 목록을 만들고, 덜 찬 마지막 블록은 tail 로 읽어 들인다
+    //중간에 잘렸거나 crc 가 안 맞는 블록부터 뒤는 버린다 (쓰는 도중 죽은 경우)
+    private void recover() throws IOException {
+        long size = channel.size();
+        long position = FILE_HEADER;
+        Sealed.Builder blocks = new Sealed.Builder();
+        while (position + BLOCK_HEADER <= size) {
+            ByteBuffer header = read(channel, position, BLOCK_HEADER);
+            int count = header.getInt();
+            byte blockEncoding = header.get();
+            header.position(header.position() + 3);
+            long first = header.getLong();
+            long last = header.getLong();
+            int[] lengths = new int[COLUMNS];
+            long bodyLength = 0;
+            for (int c = 0; c < COLUMNS; c++) {
+                lengths[c] = header.getInt();
+                bodyLength += lengths[c];
+            }
+            int crc = header.getInt();
+            if (count <= 0 || count > blockSize || lengths[0] < 0 || position + BLOCK_HEADER + bodyLength > size) {
+                break;
+            }
+            ByteBuffer body = read(channel, position + BLOCK_HEADER, (int) bodyLength);
+            if (crcOf(body) != crc) {
+                break;
+            }
+            if (count < blockSize) {
+                //덜 찬 블록은 마지막에만 올 수 있다, 파일에는 그대로 두고 다음 flush 때 이 자리에 다시 쓴다
+                decodeIntoTail(body, blockEncoding, count, lengths);
+                lastTimestamp = last;
+                channel.truncate(position + BLOCK_HEADER + bodyLength);
+                sealed = blocks.build(map(position));
+                return;
+            }
+            blocks.add(first, last, position, count, blockEncoding, lengths);
+            lastTimestamp = last;
+            position += BLOCK_HEADER + bodyLength;
+        }
+        channel.truncate(position);
+        sealed = blocks.build(map(position));
+    }
+
+    //시간 순으로만 추가 가능 (같거나 이전 시각이면 예외)
+    public synchronized void append(long timestamp, double open, double high, double low, double close, long volume) throws IOException {
+        if (timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("봉은 시간 순서대로만 추가할 수 있습니다: " + stockCode + " " + timestamp);
+        }
+        tail[0][tailSize] = timestamp;
+        tail[1][tailSize] = scale(open);
+        tail[2][tailSize] = scale(high);
+        tail[3][tailSize] = scale(low);
+        tail[4][tailSize] = scale(close);
+        tail[5][tailSize] = volume;
+        tailSize++;
+        lastTimestamp = timestamp;
+        tailDirty = true;
+        if (tailSize == blockSize) {
+            seal();
+        }
+    }
+
+    //덜 찬 tail 을 디스크에 반영 (프로세스가 죽어도 여기까지는 남는다)
+    public synchronized void flush() throws IOException {
+        if (!tailDirty) {
+            return;
+        }
+        long end = writeBlock(sealed.end, tailSize);
+        channel.truncate(end);
+        channel.force(false);
+        tailDirty = false;
+    }
+
+    private void seal() throws IOException {
+        Sealed current = sealed;
+        long position = current.end;
+        int[] lengths = new int[COLUMNS];
+        long end = writeBlock(position, tailSize, lengths);
+        channel.truncate(end);
+        channel.force(false);
+        sealed = current.append(tail[0][0], tail[0][tailSize - 1], position, tailSize, encoding, lengths, map(end));
+        tailSize = 0;
+        tailDirty = false;
+    }
+
+    private long writeBlock(long position, int count) throws IOException {
+        return writeBlock(position, count, new int[COLUMNS]);
+    }
+
+    private long writeBlock(long position, int count, int[] lengths) throws IOException {
+        if (count == 0) {
+            return position;
+        }
+        byte[][] columns = new byte[COLUMNS][];
+        int bodyLength = 0;
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = BlockCodec.encode(encoding, tail[c], count);
+            lengths[c] = columns[c].length;
+            bodyLength += lengths[c];
+        }
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        for (byte[] column : columns) {
+            body.put(column);
+        }
+        body.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER);
+        header.putInt(count).put(encoding).put((byte) 0).put((byte) 0).put((byte) 0);
+        header.putLong(tail[0][0]).putLong(tail[0][count - 1]);
+        for (int c = 0; c < COLUMNS; c++) {
+            header.putInt(lengths[c]);
+        }
+        header.putInt(crcOf(body)).putInt(0).flip();
+
+        //본문을 먼저 쓰고 헤더를 나중에 -> 중간에 죽으면 crc 가 안 맞아서 복구 때 버려진다
+        write(body, position + BLOCK_HEADER);
+        write(header, position);
+        return position + BLOCK_HEADER + bodyLength;
+    }
+
+    //[fromInclusive, toExclusive) 봉을 시간순으로 넘겨주고 개수를 반환
+    public long scan(long fromInclusive, long toExclusive, BarConsumer consumer) {
+        Sealed blocks;
+        long[][] pending;
+        int pendingCount = 0;
+        synchronized (this) {
+            //봉인 목록과 tail 을 같은 시점으로 잡아야 봉인되는 순간의 봉이 빠지거나 겹치지 않는다
+            blocks = sealed;
+            int from = lowerBound(tail[0], tailSize, fromInclusive);
+            int to = lowerBound(tail[0], tailSize, toExclusive);
+            pending = new long[COLUMNS][];
+            for (int c = 0; c < COLUMNS; c++) {
+                pending[c] = Arrays.copyOfRange(tail[c], from, Math.max(from, to));
+            }
+            pendingCount = Math.max(0, to - from);
+        }
+
+        long count = 0;
+        for (int b = blocks.firstBlockEndingAtOrAfter(fromInclusive); b < blocks.count && blocks.first[b] < toExclusive; b++) {
+            count += scanBlock(blocks, b, fromInclusive, toExclusive, consumer);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            consumer.accept(pending[0][i], unscale(pending[1][i]), unscale(pending[2][i]), unscale(pending[3][i]),
+                    unscale(pending[4][i]), pending[5][i]);
+        }
+        return count + pendingCount;
+    }
+
+    private long scanBlock(Sealed blocks, int b, long fromInclusive, long toExclusive, BarConsumer consumer) {
+        MappedByteBuffer buffer = blocks.buffer;
+        int count = blocks.counts[b];
+        int[] starts = blocks.columnStarts(b);
+        long emitted = 0;
+
+        if (blocks.encodings[b] == BlockCodec.RAW) {
+            //고정 폭이라 블록 안에서도 이진 탐색
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (buffer.getLong(starts[0] + mid * 8) < fromInclusive) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < count; i++) {
+                long timestamp = buffer.getLong(starts[0] + i * 8);
+                if (timestamp >= toExclusive) {
+                    break;
+                }
+                consumer.accept(timestamp,
+                        unscale(buffer.getLong(starts[1] + i * 8)),
+                        unscale(buffer.getLong(starts[2] + i * 8)),
+                        unscale(buffer.getLong(starts[3] + i * 8)),
+                        unscale(buffer.getLong(starts[4] + i * 8)),
+                        buffer.getLong(starts[5] + i * 8));
+                emitted++;
+            }
+            return emitted;
+        }
+
+        //varint 는 앞에서부터 풀어야 해서 컬럼마다 커서를 하나씩 두고 같이 전진
+        BlockCodec.VarintCursor timestamps = new BlockCodec.VarintCursor(buffer, starts[0]);
+        BlockCodec.VarintCursor open = new BlockCodec.VarintCursor(buffer, starts[1]);
+        BlockCodec.VarintCursor high = new BlockCodec.VarintCursor(buffer, starts[2]);
+        BlockCodec.VarintCursor low = new BlockCodec.VarintCursor(buffer, starts[3]);
+        BlockCodec.VarintCursor close = new BlockCodec.VarintCursor(buffer, starts[4]);
+        BlockCodec.VarintCursor volume = new BlockCodec.VarintCursor(buffer, starts[5]);
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestamps.next();
+            long o = open.next();
+            long h = high.next();
+            long l = low.next();
+            long c = close.next();
+            long v = volume.next();
+            if (timestamp < fromInclusive) {
+                continue;
+            }
+            if (timestamp >= toExclusive) {
+                break;
+            }
+            consumer.accept(timestamp, unscale(o), unscale(h), unscale(l), unscale(c), v);
+            emitted++;
+        }
+        return emitted;
+    }
+
+    private void decodeIntoTail(ByteBuffer body, byte blockEncoding, int count, int[] lengths) {
+        int start = 0;
+        for (int c = 0; c < COLUMNS; c++) {
+            if (blockEncoding == BlockCodec.RAW) {
+                for (int i = 0; i < count; i++) {
+                    tail[c][i] = body.getLong(start + i * 8);
+                }
+            } else {
+                BlockCodec.VarintCursor cursor = new BlockCodec.VarintCursor(body, start);
+                for (int i = 0; i < count; i++) {
+                    tail[c][i] = cursor.next();
+                }
+            }
+            start += lengths[c];
+        }
+        tailSize = count;
+    }
+
+    private MappedByteBuffer map(long end) throws IOException {
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("봉 파일이 2GB 를 넘었습니다: " + stockCode);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+    }
+
+    private long scale(double price) {
+        return Math.round(price * priceScale);
+    }
+
+    private double unscale(long value) {
+        return (double) value / priceScale;
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("봉 파일이 예상보다 짧습니다.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int crcOf(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static int lowerBound(long[] values, int length, long value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    //봉이 없으면 Long.MIN_VALUE
+    public synchronized long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    //봉이 없으면 Long.MAX_VALUE
+    public synchronized long getFirstTimestamp() {
+        Sealed blocks = sealed;
+        if (blocks.count > 0) {
+            return blocks.first[0];
+        }
+        return tailSize > 0 ? tail[0][0] : Long.MAX_VALUE;
+    }
+
+    public synchronized long size() {
+        Sealed blocks = sealed;
+        return (long) blocks.count * blockSize + tailSize;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    //봉인된 블록 목록 + 그 구간의 mmap (불변)
+    private static final class Sealed {
+        private final long[] first;
+        private final long[] last;
+        private final long[] offsets;
+        private final int[] counts;
+        private final byte[] encodings;
+        private final int[] lengths;
+        private final int count;
+        private final long end;
+        private final MappedByteBuffer buffer;
+
+        private Sealed(long[] first, long[] last, long[] offsets, int[] counts, byte[] encodings, int[] lengths,
+                       int count, long end, MappedByteBuffer buffer) {
+            this.first = first;
+            this.last = last;
+            this.offsets = offsets;
+            this.counts = counts;
+            this.encodings = encodings;
+            this.lengths = lengths;
+            this.count = count;
+            this.end = end;
+            this.buffer = buffer;
+        }
+
+        Sealed append(long blockFirst, long blockLast, long offset, int blockCount, byte encoding, int[] blockLengths,
+                      MappedByteBuffer next) {
+            int n = count + 1;
+            long[] nextFirst = Arrays.copyOf(first, n);
+            long[] nextLast = Arrays.copyOf(last, n);
+            long[] nextOffsets = Arrays.copyOf(offsets, n);
+            int[] nextCounts = Arrays.copyOf(counts, n);
+            byte[] nextEncodings = Arrays.copyOf(encodings, n);
+            int[] nextLengths = Arrays.copyOf(lengths, n * COLUMNS);
+            nextFirst[count] = blockFirst;
+            nextLast[count] = blockLast;
+            nextOffsets[count] = offset;
+            nextCounts[count] = blockCount;
+            nextEncodings[count] = encoding;
+            System.arraycopy(blockLengths, 0, nextLengths, count * COLUMNS, COLUMNS);
+            long nextEnd = offset + BLOCK_HEADER;
+            for (int length : blockLengths) {
+                nextEnd += length;
+            }
+            return new Sealed(nextFirst, nextLast, nextOffsets, nextCounts, nextEncodings, nextLengths, n, nextEnd, next);
+        }
+
+        int firstBlockEndingAtOrAfter(long timestamp) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (last[mid] < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int[] columnStarts(int block) {
+            int[] starts = new int[COLUMNS];
+            int position = (int) offsets[block] + BLOCK_HEADER;
+            for (int c = 0; c < COLUMNS; c++) {
+                starts[c] = position;
+                position += lengths[block * COLUMNS + c];
+            }
+            return starts;
+        }
+
+        private static final class Builder {
+            private Sealed sealed = new Sealed(new long[0], new long[0], new long[0], new int[0], new byte[0], new int[0],
+                    0, FILE_HEADER, null);
+
+            void add(long blockFirst, long blockLast, long offset, int blockCount, byte encoding, int[] blockLengths) {
+                sealed = sealed.append(blockFirst, blockLast, offset, blockCount, encoding, blockLengths, null);
+            }
+
+            Sealed build(MappedByteBuffer buffer) {
+                return new Sealed(sealed.first, sealed.last, sealed.offsets, sealed.counts, sealed.encodings,
+                        sealed.lengths, sealed.count, sealed.end, buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.whalestream.market.engine.barstore;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//봉 주기 하나(일봉, 분봉 ...)의 종목별 봉 파일 묶음 ({directory}/{stockCode}.bars)
+public class BarStore implements Closeable {
+
+    private static final String EXTENSION = ".bars";
+
+    private final String name;
+    private final Path directory;
+    private final int blockSize;
+    private final boolean compressed;
+    private final long priceScale;
+    private final Map<String, BarFile> files = new ConcurrentHashMap<>();
+
+    public BarStore(String name, Path directory, int blockSize, boolean compressed, long priceScale) throws IOException {
+        this.name = name;
+        this.directory = directory;
+        this.blockSize = blockSize;
+        this.compressed = compressed;
+        this.priceScale = priceScale;
+        Files.createDirectories(directory);
+    }
+
+    //없으면 만든다
+    public BarFile file(String stockCode) {
+        return files.computeIfAbsent(stockCode, code -> {
+            try {
+                return BarFile.open(code, pathOf(code), blockSize, compressed, priceScale);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    //파일이 없는 종목이면 null (빈 파일을 만들지 않는다)
+    public BarFile existing(String stockCode) {
+        BarFile file = files.get(stockCode);
+        if (file != null || !Files.exists(pathOf(stockCode))) {
+            return file;
+        }
+        return file(stockCode);
+    }
+
+    public long scan(String stockCode, long fromInclusive, long toExclusive, BarConsumer consumer) {
+        BarFile file = existing(stockCode);
+        return file == null ? 0 : file.scan(fromInclusive, toExclusive, consumer);
+    }
+
+    public PriceSeries load(String stockCode, long fromInclusive, long toExclusive) {
+        PriceSeries.Builder builder = PriceSeries.builder(stockCode, 256);
+        scan(stockCode, fromInclusive, toExclusive, builder::add);
+        return builder.build();
+    }
+
+    public void flushAll() throws IOException {
+        for (BarFile file : files.values()) {
+            file.flush();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOpenFileCount() {
+        return files.size();
+    }
+
+    private Path pathOf(String stockCode) {
+        //종목코드가 경로를 벗어나지 못하게
+        if (!stockCode.matches("[A-Za-z0-9._-]+") || stockCode.startsWith(".")) {
+            throw new IllegalArgumentException("종목코드 형식이 올바르지 않습니다: " + stockCode);
+        }
+        return directory.resolve(stockCode + EXTENSION);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (BarFile file : files.values()) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        files.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
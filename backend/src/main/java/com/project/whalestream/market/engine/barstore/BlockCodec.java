@@ -0,0 +1,74 @@
+package com.project.whalestream.market.engine.barstore;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+//블록 안 컬럼 하나(long 값 n 개)를 바이트로 바꾸는 방식
+//  RAW            long 8바이트 고정 -> 블록 안에서도 바로 이진 탐색 가능
+//  DELTA_VARINT   이전 값과의 차이를 zigzag + varint 로 -> 분봉이면 값 하나가 보통 1~2바이트
+final class BlockCodec {
+
+    static final byte RAW = 0;
+    static final byte DELTA_VARINT = 1;
+
+    private BlockCodec() {
+    }
+
+    static byte[] encode(byte encoding, long[] values, int count) {
+        if (encoding == RAW) {
+            ByteBuffer buffer = ByteBuffer.allocate(count * 8);
+            for (int i = 0; i < count; i++) {
+                buffer.putLong(values[i]);
+            }
+            return buffer.array();
+        }
+        byte[] out = new byte[Math.max(16, count * 2)];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = values[i] - previous;
+            previous = values[i];
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            if (out.length - position < 10) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            while ((zigzag & ~0x7FL) != 0) {
+                out[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            out[position++] = (byte) zigzag;
+        }
+        return Arrays.copyOf(out, position);
+    }
+
+    //DELTA_VARINT 컬럼을 앞에서부터 하나씩 읽는 커서 (절대 위치 get 만 써서 여러 스레드가 같은 버퍼를 읽어도 된다)
+    static final class VarintCursor {
+        private final ByteBuffer buffer;
+        private int position;
+        private long value;
+
+        VarintCursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long next() {
+            byte b = buffer.get(position++);
+            long zigzag;
+            if (b >= 0) {
+                //대부분 1바이트
+                zigzag = b;
+            } else {
+                zigzag = b & 0x7F;
+                int shift = 7;
+                do {
+                    b = buffer.get(position++);
+                    zigzag |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            value += (zigzag >>> 1) ^ -(zigzag & 1);
+            return value;
+        }
+    }
+}
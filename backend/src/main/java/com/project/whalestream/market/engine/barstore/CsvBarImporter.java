@@ -0,0 +1,76 @@
+package com.project.whalestream.market.engine.barstore;
+
+import com.project.whalestream.common.util.KstDates;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+//CSV -> 봉 파일
+//한 줄: 시각,시가,고가,저가,종가,거래량
+//시각은 epoch millis 또는 KST 기준 "yyyy-MM-dd" / "yyyy-MM-dd HH:mm" / "yyyy-MM-dd HH:mm:ss"
+//숫자로 시작하지 않는 첫 줄은 헤더로 보고 건너뛴다, 이미 파일에 있는 시각까지는 건너뛰므로 같은 파일을 다시 넣어도 된다
+public final class CsvBarImporter {
+
+    private static final DateTimeFormatter MINUTE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter SECOND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private CsvBarImporter() {
+    }
+
+    //추가된 봉 수
+    public static long importFile(BarStore store, String stockCode, Path csv) throws IOException {
+        BarFile file = store.file(stockCode);
+        long last = file.getLastTimestamp();
+        long imported = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || (lineNumber == 1 && !Character.isDigit(line.charAt(0)))) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 6) {
+                    throw new IllegalArgumentException(csv + ":" + lineNumber + " 항목이 6개가 아닙니다.");
+                }
+                try {
+                    long timestamp = parseTimestamp(fields[0].trim());
+                    if (timestamp <= last) {
+                        continue;
+                    }
+                    file.append(timestamp,
+                            Double.parseDouble(fields[1].trim()),
+                            Double.parseDouble(fields[2].trim()),
+                            Double.parseDouble(fields[3].trim()),
+                            Double.parseDouble(fields[4].trim()),
+                            Math.round(Double.parseDouble(fields[5].trim())));
+                    last = timestamp;
+                    imported++;
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IllegalArgumentException(csv + ":" + lineNumber + " 형식이 올바르지 않습니다.", e);
+                }
+            }
+        }
+        file.flush();
+        return imported;
+    }
+
+    static long parseTimestamp(String value) {
+        if (value.indexOf('-') < 0) {
+            return Long.parseLong(value);
+        }
+        if (value.length() == 10) {
+            return KstDates.startOfDay(value);
+        }
+        DateTimeFormatter formatter = value.length() == 16 ? MINUTE : SECOND;
+        return LocalDateTime.parse(value, formatter).atZone(KstDates.ZONE).toInstant().toEpochMilli();
+    }
+}
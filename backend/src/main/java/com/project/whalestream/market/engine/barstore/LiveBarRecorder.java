@@ -0,0 +1,127 @@
+package com.project.whalestream.market.engine.barstore;
+
+import com.project.whalestream.market.engine.bar.BarInterval;
+import com.project.whalestream.market.engine.bar.BarListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//BarAggregator 가 닫은 분봉/일봉 -> 봉 파일
+//봉은 허브 수신 스레드에서 넘어오므로 대기열에 넣기만 하고, 파일 쓰기는 별도 기록 스레드에서 한다
+@Slf4j
+public class LiveBarRecorder implements BarListener {
+
+    private final BarStore minuteStore;
+    private final BarStore dayStore;
+    private final long flushIntervalMillis;
+
+    private final BlockingQueue<ClosedBar> closed;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public LiveBarRecorder(BarStore minuteStore, BarStore dayStore, int queueCapacity, long flushIntervalMillis) {
+        this.minuteStore = minuteStore;
+        this.dayStore = dayStore;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.closed = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "bar-recorder");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void onBar(String stockCode, BarInterval interval, long start, long open, long high, long low,
+                      long close, long volume) {
+        BarStore store = interval == BarInterval.M1 ? minuteStore : interval == BarInterval.D1 ? dayStore : null;
+        if (store == null) {
+            return;
+        }
+        //수신 스레드는 막으면 안 되니 기록 대기열이 꽉 차면 버린다
+        if (!closed.offer(new ClosedBar(store, stockCode, start, open, high, low, close, volume))) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+        while (running || !closed.isEmpty()) {
+            try {
+                //FileChannel 은 인터럽트되면 닫혀버리니 shutdown 때 인터럽트 대신 짧게 깨어나서 running 을 본다
+                ClosedBar bar = closed.poll(Math.min(200, Math.max(1, nextFlush - System.currentTimeMillis())), TimeUnit.MILLISECONDS);
+                if (bar != null) {
+                    write(bar);
+                }
+                if (System.currentTimeMillis() >= nextFlush) {
+                    minuteStore.flushAll();
+                    dayStore.flushAll();
+                    nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("봉 파일 기록 실패", e);
+            }
+        }
+    }
+
+    private void write(ClosedBar bar) throws IOException {
+        BarFile file = bar.store.file(bar.stockCode);
+        //재시작 직후 같은 구간이 다시 닫히는 경우 등은 건너뛴다
+        if (bar.start <= file.getLastTimestamp()) {
+            return;
+        }
+        file.append(bar.start, bar.open, bar.high, bar.low, bar.close, bar.volume);
+        recorded.increment();
+    }
+
+    public long getRecordedBarCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedBarCount() {
+        return dropped.sum();
+    }
+
+    public int getQueueSize() {
+        return closed.size();
+    }
+
+    //대기열에 남은 봉까지 쓰고 멈춘다 (진행 중인 봉은 버림)
+    public void shutdown() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static final class ClosedBar {
+        private final BarStore store;
+        private final String stockCode;
+        private final long start;
+        private final long open;
+        private final long high;
+        private final long low;
+        private final long close;
+        private final long volume;
+
+        private ClosedBar(BarStore store, String stockCode, long start, long open, long high, long low,
+                          long close, long volume) {
+            this.store = store;
+            this.stockCode = stockCode;
+            this.start = start;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+        }
+    }
+}
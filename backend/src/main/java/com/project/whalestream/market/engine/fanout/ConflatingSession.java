@@ -0,0 +1,123 @@
+package com.project.whalestream.market.engine.fanout;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+//구독자 한 명 몫의 전송 대기함
+//틱을 큐에 쌓지 않고 종목별 "최신 값 하나"만 들고 있다가 전송 차례가 오면 그것만 보낸다
+//-> 느린 클라이언트는 중간 틱을 건너뛰고 최신 시세만 받으며, 대기함 크기는 구독 종목 수를 넘지 않는다
+public class ConflatingSession {
+
+    private final String id;
+    private final Executor executor;
+    private final TickWriter writer;
+    //틱 수신 -> 이 세션으로 전송 완료까지
+    private final LatencyRecorder sendLag;
+
+    private final Map<String, MarketTick> pending = new ConcurrentHashMap<>();
+    //전송 작업이 executor 에 올라가 있는지 (세션당 최대 1개)
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Set<String> symbols = ConcurrentHashMap.newKeySet();
+    private volatile boolean allSymbols;
+    private volatile boolean closed;
+
+    private final LongAdder sentTicks = new LongAdder();
+    private final LongAdder conflatedTicks = new LongAdder();
+    private volatile Runnable onFailure = () -> { };
+
+    public ConflatingSession(String id, Executor executor, TickWriter writer) {
+        this(id, executor, writer, LatencyRecorder.NONE);
+    }
+
+    public ConflatingSession(String id, Executor executor, TickWriter writer, LatencyRecorder sendLag) {
+        this.id = id;
+        this.executor = executor;
+        this.writer = writer;
+        this.sendLag = sendLag;
+    }
+
+    public void offer(MarketTick tick) {
+        if (closed) {
+            return;
+        }
+        if (pending.put(tick.getStockCode(), tick) != null) {
+            //아직 못 보낸 이전 틱은 덮어써서 버린다
+            conflatedTicks.increment();
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        do {
+            try {
+                Iterator<String> iterator = pending.keySet().iterator();
+                while (iterator.hasNext() && !closed) {
+                    //remove 로 꺼내야 꺼내는 순간의 최신 값을 가져간다
+                    MarketTick tick = pending.remove(iterator.next());
+                    if (tick != null) {
+                        writer.write(tick);
+                        sentTicks.increment();
+                        sendLag.record(System.nanoTime() - tick.getReceivedAt());
+                    }
+                }
+                if (!closed) {
+                    writer.flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                onFailure.run();
+            } finally {
+                scheduled.set(false);
+            }
+            //내려놓는 사이에 새로 들어온 틱이 있으면 이어서 보낸다
+        } while (!closed && !pending.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    public void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Set<String> getSymbols() {
+        return symbols;
+    }
+
+    public boolean isAllSymbols() {
+        return allSymbols;
+    }
+
+    void setAllSymbols(boolean allSymbols) {
+        this.allSymbols = allSymbols;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void setOnFailure(Runnable onFailure) {
+        this.onFailure = onFailure;
+    }
+
+    public long getSentTickCount() {
+        return sentTicks.sum();
+    }
+
+    public long getConflatedTickCount() {
+        return conflatedTicks.sum();
+    }
+}
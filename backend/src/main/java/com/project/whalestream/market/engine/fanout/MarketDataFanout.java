@@ -0,0 +1,92 @@
+package com.project.whalestream.market.engine.fanout;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.hub.MarketDataListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//종목별 구독자 목록을 들고 있다가 틱이 오면 관심 있는 세션에만 넘긴다
+//실제 전송은 각 세션의 ConflatingSession 이 전송 스레드 풀에서 한다 -> 수신 스레드는 절대 막히지 않음
+public class MarketDataFanout implements MarketDataListener {
+
+    private final Map<String, Set<ConflatingSession>> bySymbol = new ConcurrentHashMap<>();
+    //전체 종목 구독자 (시장 현황 페이지)
+    private final Set<ConflatingSession> allSymbols = ConcurrentHashMap.newKeySet();
+    private final Set<ConflatingSession> sessions = ConcurrentHashMap.newKeySet();
+
+    public void register(ConflatingSession session) {
+        sessions.add(session);
+        session.setOnFailure(() -> remove(session));
+    }
+
+    //symbols 가 비어 있으면 전체 종목 구독
+    public void subscribe(ConflatingSession session, Collection<String> symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            session.setAllSymbols(true);
+            allSymbols.add(session);
+            return;
+        }
+        for (String symbol : symbols) {
+            session.getSymbols().add(symbol);
+            bySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(session);
+        }
+    }
+
+    public void unsubscribe(ConflatingSession session, Collection<String> symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            session.setAllSymbols(false);
+            allSymbols.remove(session);
+            return;
+        }
+        for (String symbol : symbols) {
+            session.getSymbols().remove(symbol);
+            Set<ConflatingSession> subscribers = bySymbol.get(symbol);
+            if (subscribers != null) {
+                subscribers.remove(session);
+            }
+        }
+    }
+
+    public void remove(ConflatingSession session) {
+        session.close();
+        sessions.remove(session);
+        allSymbols.remove(session);
+        for (String symbol : session.getSymbols()) {
+            Set<ConflatingSession> subscribers = bySymbol.get(symbol);
+            if (subscribers != null) {
+                subscribers.remove(session);
+            }
+        }
+    }
+
+    @Override
+    public void onTick(MarketTick tick) {
+        Set<ConflatingSession> subscribers = bySymbol.get(tick.getStockCode());
+        if (subscribers != null) {
+            for (ConflatingSession session : subscribers) {
+                session.offer(tick);
+            }
+        }
+        for (ConflatingSession session : allSymbols) {
+            //전체 구독 + 개별 구독이 겹친 세션은 위에서 이미 받았다
+            if (!session.getSymbols().contains(tick.getStockCode())) {
+                session.offer(tick);
+            }
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getConflatedTickCount() {
+        long total = 0;
+        for (ConflatingSession session : sessions) {
+            total += session.getConflatedTickCount();
+        }
+        return total;
+    }
+}
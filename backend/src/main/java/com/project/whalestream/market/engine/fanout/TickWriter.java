@@ -0,0 +1,15 @@
+package com.project.whalestream.market.engine.fanout;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+import java.io.IOException;
+
+//실제 전송 (WebSocket 세션 등), 한 세션에 대해서는 항상 한 스레드에서만 호출된다
+@FunctionalInterface
+public interface TickWriter {
+    void write(MarketTick tick) throws IOException;
+
+    //한 번의 전송 차례가 끝날 때 (모아서 보내는 구현체는 여기서 내보낸다)
+    default void flush() throws IOException {
+    }
+}
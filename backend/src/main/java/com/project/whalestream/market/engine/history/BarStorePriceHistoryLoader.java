@@ -0,0 +1,38 @@
+package com.project.whalestream.market.engine.history;
+
+import com.project.whalestream.market.engine.barstore.BarFile;
+import com.project.whalestream.market.engine.barstore.BarStore;
+
+//일봉 파일을 먼저 보고, 파일이 시작되기 전 구간은 기존 로더(몽고)에서 채운다
+public class BarStorePriceHistoryLoader implements PriceHistoryLoader {
+
+    private final BarStore barStore;
+    private final PriceHistoryLoader fallback;
+
+    public BarStorePriceHistoryLoader(BarStore barStore, PriceHistoryLoader fallback) {
+        this.barStore = barStore;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public PriceSeries load(String stockCode, long fromInclusive, long toExclusive) {
+        BarFile file = barStore.existing(stockCode);
+        if (file == null) {
+            return fallback.load(stockCode, fromInclusive, toExclusive);
+        }
+        long first = file.getFirstTimestamp();
+        if (first <= fromInclusive) {
+            return barStore.load(stockCode, fromInclusive, toExclusive);
+        }
+
+        PriceSeries older = fallback.load(stockCode, fromInclusive, Math.min(first, toExclusive));
+        PriceSeries.Builder builder = PriceSeries.builder(stockCode, older.length() + 256);
+        for (int i = 0; i < older.length(); i++) {
+            builder.add(older.timestamps()[i], older.open()[i], older.high()[i], older.low()[i], older.close()[i], older.volume()[i]);
+        }
+        if (first < toExclusive) {
+            file.scan(first, toExclusive, builder::add);
+        }
+        return builder.build();
+    }
+}
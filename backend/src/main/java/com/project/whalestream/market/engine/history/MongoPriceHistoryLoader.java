@@ -0,0 +1,25 @@
+package com.project.whalestream.market.engine.history;
+
+import com.project.whalestream.market.domain.bar.DailyBar;
+import com.project.whalestream.market.repository.bar.DailyBarRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+//몽고 daily_bars 컬렉션에서 읽어서 컬럼 배열로 옮긴다
+@Component
+@RequiredArgsConstructor
+public class MongoPriceHistoryLoader implements PriceHistoryLoader {
+
+    private final DailyBarRepository dailyBarRepository;
+
+    @Override
+    public PriceSeries load(String stockCode, long fromInclusive, long toExclusive) {
+        PriceSeries.Builder builder = PriceSeries.builder(stockCode, 256);
+        try (Stream<DailyBar> bars = dailyBarRepository.streamByStockCodeAndRange(stockCode, fromInclusive, toExclusive)) {
+            bars.forEach(bar -> builder.add(bar.getTimestamp(), bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.whalestream.market.engine.history;
+
+//가격 이력 조회 포트 (백테스트, 지표 차트가 사용)
+public interface PriceHistoryLoader {
+    //[fromInclusive, toExclusive) 구간의 봉, 시간 오름차순
+    PriceSeries load(String stockCode, long fromInclusive, long toExclusive);
+}
@@ -0,0 +1,112 @@
+package com.project.whalestream.market.engine.history;
+
+import java.util.Arrays;
+
+//한 종목의 가격 이력 (봉 단위, 시간 오름차순)
+//봉마다 객체를 만들지 않고 필드별 원시 배열(컬럼)로 들고 있어서 지표 계산/백테스트가 배열만 순서대로 훑는다
+//한 번 만들어지면 바뀌지 않으니 여러 백테스트가 같이 읽어도 된다 (배열을 밖으로 넘길 때 복사하지 않으니 수정 금지)
+public final class PriceSeries {
+
+    private final String stockCode;
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final int length;
+
+    public PriceSeries(String stockCode, long[] timestamps, double[] open, double[] high, double[] low,
+                       double[] close, long[] volume, int length) {
+        this.stockCode = stockCode;
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.length = length;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public double[] open() {
+        return open;
+    }
+
+    public double[] high() {
+        return high;
+    }
+
+    public double[] low() {
+        return low;
+    }
+
+    public double[] close() {
+        return close;
+    }
+
+    public long[] volume() {
+        return volume;
+    }
+
+    //봉을 하나씩 받아서 배열을 채우는 빌더 (배열은 두 배씩 늘림)
+    public static Builder builder(String stockCode, int expectedLength) {
+        return new Builder(stockCode, Math.max(expectedLength, 16));
+    }
+
+    public static final class Builder {
+        private final String stockCode;
+        private long[] timestamps;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+        private int length;
+
+        private Builder(String stockCode, int capacity) {
+            this.stockCode = stockCode;
+            this.timestamps = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.volume = new long[capacity];
+        }
+
+        public Builder add(long timestamp, double o, double h, double l, double c, long v) {
+            if (length == timestamps.length) {
+                int capacity = length * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            timestamps[length] = timestamp;
+            open[length] = o;
+            high[length] = h;
+            low[length] = l;
+            close[length] = c;
+            volume[length] = v;
+            length++;
+            return this;
+        }
+
+        public PriceSeries build() {
+            return new PriceSeries(stockCode, timestamps, open, high, low, close, volume, length);
+        }
+    }
+}
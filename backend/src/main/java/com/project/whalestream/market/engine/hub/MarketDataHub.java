@@ -0,0 +1,41 @@
+package com.project.whalestream.market.engine.hub;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+//들어온 틱을 내부 소비자들에게 뿌려주는 허브
+//Redis 없이도 돌아가게 유입구(MarketDataIngestPort)와 소비자(MarketDataListener)를 분리해뒀다
+@Slf4j
+public class MarketDataHub implements MarketDataIngestPort {
+
+    //리스너는 기동 시에만 추가되고 틱 경로에서는 배열을 그대로 순회한다
+    private volatile MarketDataListener[] listeners = new MarketDataListener[0];
+    private final LongAdder ingestedTicks = new LongAdder();
+
+    public synchronized void addListener(MarketDataListener listener) {
+        MarketDataListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[next.length - 1] = listener;
+        listeners = next;
+    }
+
+    @Override
+    public void ingest(MarketTick tick) {
+        ingestedTicks.increment();
+        MarketDataListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            //소비자 하나가 실패해도 나머지는 받아야 한다
+            try {
+                current[i].onTick(tick);
+            } catch (RuntimeException e) {
+                log.error("시세 리스너 실패: {}", tick.getStockCode(), e);
+            }
+        }
+    }
+
+    public long getIngestedTickCount() {
+        return ingestedTicks.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.whalestream.market.engine.hub;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+//시세 유입구
+//운영에서는 Redis 구독자가, 로컬/테스트에서는 프로세스 내 소스가 여기로 틱을 밀어 넣는다
+//구현체는 한 번에 한 스레드에서만 호출된다고 가정한다 (종목별 틱 순서 보장)
+public interface MarketDataIngestPort {
+    void ingest(MarketTick tick);
+}
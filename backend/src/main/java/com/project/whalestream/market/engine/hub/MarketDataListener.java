@@ -0,0 +1,9 @@
+package com.project.whalestream.market.engine.hub;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+//허브에서 틱을 받아가는 내부 소비자 (시세 저장소, WebSocket 팬아웃 등)
+//수신 스레드에서 바로 호출되므로 블로킹 작업 금지
+public interface MarketDataListener {
+    void onTick(MarketTick tick);
+}
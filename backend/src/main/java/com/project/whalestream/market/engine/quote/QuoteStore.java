@@ -0,0 +1,70 @@
+package com.project.whalestream.market.engine.quote;
+
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.hub.MarketDataListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//종목별 최신 시세 저장소
+//쓰기는 시세 수신 스레드 하나뿐이라 종목별 슬롯의 volatile 참조만 바꿔 끼우면 되고, 읽는 쪽은 락을 전혀 잡지 않는다
+public class QuoteStore implements MarketDataListener {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    //목록 조회용: 종목이 새로 생길 때만 배열을 복사해서 교체
+    private volatile Slot[] ordered = new Slot[0];
+    //틱이 반영될 때마다 1씩 증가 -> 목록 JSON 을 다시 만들어야 하는지 판단용
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public void onTick(MarketTick tick) {
+        Slot slot = slots.get(tick.getStockCode());
+        if (slot == null) {
+            slot = new Slot(Quote.first(tick));
+            slots.put(tick.getStockCode(), slot);
+            Slot[] next = Arrays.copyOf(ordered, ordered.length + 1);
+            next[next.length - 1] = slot;
+            ordered = next;
+        } else {
+            slot.quote = slot.quote.apply(tick);
+        }
+        version.incrementAndGet();
+    }
+
+    //없으면 null
+    public Quote get(String stockCode) {
+        Slot slot = slots.get(stockCode);
+        return slot == null ? null : slot.quote;
+    }
+
+    //종목이 처음 들어온 순서대로
+    public List<Quote> getAll() {
+        Slot[] current = ordered;
+        List<Quote> quotes = new ArrayList<>(current.length);
+        for (Slot slot : current) {
+            quotes.add(slot.quote);
+        }
+        return quotes;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return ordered.length;
+    }
+
+    private static final class Slot {
+        private volatile Quote quote;
+
+        private Slot(Quote quote) {
+            this.quote = quote;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.whalestream.market.ingest;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.hub.MarketDataIngestPort;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+//Redis 없이 돌릴 때 쓰는 프로세스 내 시세 유입구
+//Redis 구독자처럼 별도 수신 스레드 하나가 순서대로 허브에 넣어준다 -> 테스트/시뮬레이터에서도 운영과 같은 스레드 모델
+@Slf4j
+public class InProcessTickSource {
+
+    private final MarketDataIngestPort ingestPort;
+    private final BlockingQueue<MarketTick> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public InProcessTickSource(MarketDataIngestPort ingestPort, int queueCapacity) {
+        this.ingestPort = ingestPort;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "market-ingest-local");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    //대기열이 꽉 차면 자리가 날 때까지 기다린다 (생산자 쪽 배압)
+    public void emit(MarketTick tick) throws InterruptedException {
+        queue.put(tick);
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                ingestPort.ingest(queue.take());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("시세 유입 처리 실패", e);
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        thread.interrupt();
+    }
+}
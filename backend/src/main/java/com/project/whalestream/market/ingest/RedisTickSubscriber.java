@@ -0,0 +1,31 @@
+package com.project.whalestream.market.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.market.dto.tick.TickMessageDto;
+import com.project.whalestream.market.engine.hub.MarketDataIngestPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.io.IOException;
+
+//C++ 수신 모듈이 Redis 채널에 발행한 JSON 틱을 받아서 허브로 넘긴다
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTickSubscriber implements MessageListener {
+
+    private final MarketDataIngestPort ingestPort;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            TickMessageDto tickMessage = objectMapper.readValue(message.getBody(), TickMessageDto.class);
+            ingestPort.ingest(tickMessage.toTick());
+        } catch (IOException e) {
+            //깨진 메시지 하나 때문에 구독이 끊기면 안 된다
+            log.warn("잘못된 시세 메시지입니다: {}", e.getMessage());
+        }
+    }
+}
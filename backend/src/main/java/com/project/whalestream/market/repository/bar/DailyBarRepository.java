@@ -0,0 +1,16 @@
+package com.project.whalestream.market.repository.bar;
+
+import com.project.whalestream.market.domain.bar.DailyBar;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface DailyBarRepository extends MongoRepository<DailyBar, String> {
+
+    //List 로 한 번에 다 올리지 않고 커서로 흘려받는다 (다 쓰면 close 해야 함)
+    @Query(value = "{'stockCode' : ?0, 'timestamp' : {'$gte' : ?1, '$lt' : ?2}}", sort = "{'timestamp' : 1}")
+    Stream<DailyBar> streamByStockCodeAndRange(String stockCode, long fromInclusive, long toExclusive);
+}
@@ -0,0 +1,110 @@
+package com.project.whalestream.market.service.quote;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.dto.bar.BarDto;
+import com.project.whalestream.market.dto.quote.StockPriceDto;
+import com.project.whalestream.market.engine.bar.BarAggregator;
+import com.project.whalestream.market.engine.bar.BarInterval;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//시세 조회
+//종목 목록은 가장 많이 호출되는 URL 이라 요청마다 DTO 수천 개를 직렬화하지 않고,
+//직렬화해 둔 바이트를 돌려주다가 시세가 바뀌었고 + 최소 간격이 지났을 때만 한 스레드가 다시 만든다
+//차트 봉은 BarAggregator 버퍼에서 바로 읽는다 (틱에서 다시 만들지 않음)
+@Service
+public class MarketDataService implements MarketDataServiceInterface {
+
+    private static final int MAX_BARS = 1000;
+
+    private final QuoteStore quoteStore;
+    private final BarAggregator barAggregator;
+    private final ObjectMapper objectMapper;
+    private final long rebuildIntervalMillis;
+
+    private volatile SerializedList serializedList;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public MarketDataService(QuoteStore quoteStore,
+                             BarAggregator barAggregator,
+                             ObjectMapper objectMapper,
+                             @Value("${whalestream.market.list-rebuild-interval-ms:200}") long rebuildIntervalMillis) {
+        this.quoteStore = quoteStore;
+        this.barAggregator = barAggregator;
+        this.objectMapper = objectMapper;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        this.serializedList = serialize(-1);
+    }
+
+    @Override
+    public byte[] getStockListJson() {
+        SerializedList current = serializedList;
+        if (current.version != quoteStore.getVersion()
+                && System.currentTimeMillis() - current.builtAt >= rebuildIntervalMillis
+                && rebuilding.compareAndSet(false, true)) {
+            try {
+                current = serialize(quoteStore.getVersion());
+                serializedList = current;
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        //다른 스레드가 다시 만드는 중이면 직전 것을 그대로 준다
+        return current.json;
+    }
+
+    @Override
+    public StockPriceDto getStockPrice(String stockCode) {
+        Quote quote = quoteStore.get(stockCode);
+        if (quote == null) {
+            throw new IllegalArgumentException("시세 정보가 없는 종목입니다.");
+        }
+        return StockPriceDto.from(quote);
+    }
+
+    @Override
+    public List<BarDto> getBars(String stockCode, String interval, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("조회 개수는 1 이상이어야 합니다.");
+        }
+        List<BarDto> bars = new ArrayList<>();
+        barAggregator.recent(stockCode, BarInterval.of(interval), Math.min(limit, MAX_BARS),
+                (code, barInterval, start, open, high, low, close, volume) ->
+                        bars.add(BarDto.of(start, open, high, low, close, volume)));
+        return bars;
+    }
+
+    //version 은 스냅샷 뜨기 전에 읽은 값 -> 그 사이 들어온 틱은 다음 요청 때 반영된다
+    private SerializedList serialize(long version) {
+        List<Quote> quotes = quoteStore.getAll();
+        List<StockPriceDto> stockPrices = new ArrayList<>(quotes.size());
+        for (Quote quote : quotes) {
+            stockPrices.add(StockPriceDto.from(quote));
+        }
+        try {
+            return new SerializedList(version, System.currentTimeMillis(), objectMapper.writeValueAsBytes(ApiResponse.of(stockPrices)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("시세 목록 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private static final class SerializedList {
+        private final long version;
+        private final long builtAt;
+        private final byte[] json;
+
+        private SerializedList(long version, long builtAt, byte[] json) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.json = json;
+        }
+    }
+}
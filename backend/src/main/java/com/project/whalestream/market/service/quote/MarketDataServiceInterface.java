@@ -0,0 +1,14 @@
+package com.project.whalestream.market.service.quote;
+
+import com.project.whalestream.market.dto.bar.BarDto;
+import com.project.whalestream.market.dto.quote.StockPriceDto;
+
+import java.util.List;
+
+public interface MarketDataServiceInterface {
+    //{"data":[StockPrice...]} 형태로 이미 직렬화된 JSON
+    byte[] getStockListJson();
+    StockPriceDto getStockPrice(String stockCode);
+    //최근 봉 (진행 중인 봉 포함, 오래된 것부터)
+    List<BarDto> getBars(String stockCode, String interval, int limit);
+}
@@ -0,0 +1,139 @@
+package com.project.whalestream.market.simulator;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+//합성/녹화 틱을 실시간 피드와 같은 유입구로 밀어넣는 부하 발생기
+//- ticksPerSecond > 0: 고정 속도 (합성 틱), 0 이면 최대 속도
+//- replaySpeed > 0: 틱 시각 간격을 replaySpeed 배속으로 재현 (녹화 파일, 1 = 실제 속도), 0 이면 최대 속도
+//- 유입구가 꽉 차면 emit 이 막힌다 -> 최대 속도로 돌리면 처리량 한계를 그대로 잰다
+//지연은 여기서 재지 않고 팬아웃 쪽 타이머(수신 -> 전송 완료)를 주기적으로 같이 찍는다
+@Slf4j
+public class MarketSimulator {
+
+    //실시간 피드 유입구 (InProcessTickSource::emit)
+    public interface TickSink {
+        void emit(MarketTick tick) throws InterruptedException;
+    }
+
+    //1ms 보다 짧게 남았으면 자지 않고 다음 틱까지 한 번에 보낸다 (park 오차가 그보다 크다)
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TickSource source;
+    private final TickSink sink;
+    private final double ticksPerSecond;
+    private final double replaySpeed;
+    private final boolean rebase;
+    private final long reportIntervalNanos;
+    private final Supplier<String> latencyReport;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    //시뮬레이터 스레드만 쓴다
+    private volatile long emitted;
+    private volatile boolean finished;
+
+    public MarketSimulator(TickSource source, TickSink sink, double ticksPerSecond, double replaySpeed, boolean rebase,
+                           long reportIntervalMillis, Supplier<String> latencyReport) {
+        this.source = source;
+        this.sink = sink;
+        this.ticksPerSecond = ticksPerSecond;
+        this.replaySpeed = replaySpeed;
+        this.rebase = rebase;
+        this.reportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis);
+        this.latencyReport = latencyReport;
+        this.thread = new Thread(this::run, "market-simulator");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        long startedAt = System.nanoTime();
+        long nextReport = startedAt + reportIntervalNanos;
+        long reportedCount = 0;
+        long firstTimestamp = -1;
+        try {
+            MarketTick tick;
+            while (running && (tick = source.next()) != null) {
+                long now = System.nanoTime();
+                long due;
+                if (replaySpeed > 0) {
+                    if (firstTimestamp < 0) {
+                        firstTimestamp = tick.getTimestamp();
+                    }
+                    due = startedAt + (long) (TimeUnit.MILLISECONDS.toNanos(tick.getTimestamp() - firstTimestamp) / replaySpeed);
+                } else if (ticksPerSecond > 0) {
+                    due = startedAt + (long) (emitted * 1e9 / ticksPerSecond);
+                } else {
+                    due = now;
+                }
+                if (due - now >= MIN_PARK_NANOS) {
+                    LockSupport.parkNanos(due - now);
+                }
+                sink.emit(restamp(tick));
+                emitted++;
+
+                now = System.nanoTime();
+                if (reportIntervalNanos > 0 && now >= nextReport) {
+                    report(emitted - reportedCount, now - nextReport + reportIntervalNanos);
+                    reportedCount = emitted;
+                    nextReport = now + reportIntervalNanos;
+                }
+            }
+            log.info("시뮬레이터 종료: {}틱, {}ms, 팬아웃 지연 {}", emitted,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), latencyReport.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("시뮬레이터 틱 읽기 실패, {}틱에서 멈춥니다.", emitted, e);
+        } finally {
+            finished = true;
+            try {
+                source.close();
+            } catch (IOException e) {
+                log.warn("틱 소스 닫기 실패", e);
+            }
+        }
+    }
+
+    //녹화 파일 틱은 읽은 시점이 아니라 보내는 시점부터 지연을 재야 한다 (receivedAt 은 생성 시각)
+    //rebase 면 거래소 시각도 지금으로 바꾼다 (봉 집계/시세 화면이 과거 시각에 안 쌓이게)
+    private MarketTick restamp(MarketTick tick) {
+        if (replaySpeed <= 0 && !rebase) {
+            return tick;
+        }
+        return new MarketTick(tick.getStockCode(), tick.getStockName(), tick.getPrice(), tick.getVolume(),
+                rebase ? System.currentTimeMillis() : tick.getTimestamp());
+    }
+
+    private void report(long count, long elapsedNanos) {
+        log.info("시뮬레이터 {}틱/s (누적 {}), 팬아웃 지연 {}",
+                elapsedNanos <= 0 ? count : count * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, emitted, latencyReport.get());
+    }
+
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void awaitFinished(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.whalestream.market.simulator;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+import java.util.SplittableRandom;
+
+//N 개 종목의 합성 틱을 돌아가면서 만든다 (끝이 없다)
+//- GBM: 가격 *= exp(-σ²/2 + σZ) (로그 수익률이 정규분포, 가격이 0 아래로 안 내려간다)
+//- RANDOM_WALK: 가격 += round(σ · 가격 · Z) (틱마다 같은 폭의 산술 랜덤 워크)
+//σ 는 틱 하나당 변동성, 같은 seed 면 같은 가격열 (시각만 다름)
+//종목코드는 SIM0001 부터, 시작가는 1만 ~ 10만원
+public class SyntheticTickSource implements TickSource {
+
+    public enum Model {
+        GBM,
+        RANDOM_WALK
+    }
+
+    private final Model model;
+    private final double volatility;
+    private final SplittableRandom random;
+    private final String[] codes;
+    private final String[] names;
+    private final double[] prices;
+    private int cursor;
+
+    public SyntheticTickSource(int symbols, Model model, double volatility, long seed) {
+        if (symbols <= 0) {
+            throw new IllegalArgumentException("종목 수는 1 이상이어야 합니다.");
+        }
+        this.model = model;
+        this.volatility = volatility;
+        this.random = new SplittableRandom(seed);
+        this.codes = new String[symbols];
+        this.names = new String[symbols];
+        this.prices = new double[symbols];
+        for (int i = 0; i < symbols; i++) {
+            codes[i] = String.format("SIM%04d", i + 1);
+            names[i] = "시뮬레이션 " + (i + 1);
+            prices[i] = 10_000 + random.nextInt(90_001);
+        }
+    }
+
+    @Override
+    public MarketTick next() {
+        int i = cursor;
+        cursor = cursor + 1 == codes.length ? 0 : cursor + 1;
+        double z = gaussian();
+        double price = model == Model.GBM
+                ? prices[i] * Math.exp(-volatility * volatility / 2 + volatility * z)
+                : prices[i] + volatility * prices[i] * z;
+        //1원 아래로는 내려가지 않게
+        prices[i] = Math.max(1, price);
+        long volume = 1 + random.nextInt(100);
+        return new MarketTick(codes[i], names[i], Math.round(prices[i]), volume, System.currentTimeMillis());
+    }
+
+    //Box-Muller (SplittableRandom 에는 nextGaussian 이 없다)
+    private double gaussian() {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    public int getSymbolCount() {
+        return codes.length;
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.whalestream.market.simulator;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+//녹화된 틱 파일 (CSV) 을 순서대로 읽는다
+//한 줄: 시각(epoch millis),종목코드,종목명,가격,거래량
+//숫자로 시작하지 않는 첫 줄은 헤더로 보고 건너뛴다, 파일 안에서 시각은 오름차순이어야 한다
+public class TickFileSource implements TickSource {
+
+    private final Path path;
+    private final BufferedReader reader;
+    private int lineNumber;
+
+    public TickFileSource(Path path) throws IOException {
+        this.path = path;
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public MarketTick next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || (lineNumber == 1 && !Character.isDigit(line.charAt(0)))) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length < 5) {
+                throw new IllegalArgumentException(path + ":" + lineNumber + " 항목이 5개가 아닙니다.");
+            }
+            try {
+                return new MarketTick(fields[1].trim(), fields[2].trim(), Long.parseLong(fields[3].trim()),
+                        Long.parseLong(fields[4].trim()), Long.parseLong(fields[0].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(path + ":" + lineNumber + " 형식이 올바르지 않습니다.", e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
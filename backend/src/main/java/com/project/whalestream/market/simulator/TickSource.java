@@ -0,0 +1,15 @@
+package com.project.whalestream.market.simulator;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+
+import java.io.IOException;
+
+//시뮬레이터가 꺼내 쓰는 틱 (합성 / 녹화 파일), 시뮬레이터 스레드 하나에서만 호출된다
+public interface TickSource {
+
+    //끝났으면 null
+    MarketTick next() throws IOException;
+
+    default void close() throws IOException {
+    }
+}
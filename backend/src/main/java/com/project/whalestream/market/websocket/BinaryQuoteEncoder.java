@@ -0,0 +1,137 @@
+package com.project.whalestream.market.websocket;
+
+import com.project.whalestream.market.domain.quote.Quote;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//바이너리 시세 프레임 인코더 (연결 하나당 하나, 서브프로토콜 whalestream-binary-v1 로 협상한 클라이언트만)
+//JSON StockPrice 는 틱마다 종목명/ISO 시각까지 11개 필드를 다 보내지만, 여기서는
+//- 종목은 구독할 때 연결별 번호를 붙이고 이름은 처음 한 번만 (DEFINE)
+//- 가격은 원 단위 정수 그대로, 등락률은 1/10000 % 정수 (고정소수점)
+//- 이 클라이언트가 마지막으로 받은 값과 다른 필드만, 그 차이를 zigzag varint 로 (UPDATE)
+//한 번 전송 차례에 쌓인 레코드는 프레임 하나로 보낸다
+//
+//프레임 = 레코드들 (빅엔디언 없음, 전부 varint)
+//  DEFINE: 0x01, id, 코드 길이, 코드(UTF-8), 이름 길이, 이름(UTF-8)
+//  UPDATE: 0x02, id, 필드 마스크, 마스크의 낮은 비트부터 켜진 필드마다 zigzag(값 - 이전 값)
+//  필드 비트: 0 현재가, 1 전일대비, 2 등락률(x10000), 3 거래량, 4 고가, 5 저가, 6 시가, 7 전일종가, 8 시각(epoch millis)
+//  이전 값은 처음에 0
+//append/drain 은 세션 전송 스레드 하나에서만, intern 은 아무 스레드에서나
+final class BinaryQuoteEncoder {
+
+    static final String PROTOCOL = "whalestream-binary-v1";
+
+    static final int DEFINE = 0x01;
+    static final int UPDATE = 0x02;
+    static final int FIELD_COUNT = 9;
+    static final long RATE_SCALE = 10_000;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    //전송 스레드 전용: 종목 번호 -> 마지막으로 보낸 필드 값 / 보낸 이름
+    private long[][] lastValues = new long[16][];
+    private String[] sentNames = new String[16];
+    private final long[] values = new long[FIELD_COUNT];
+    private byte[] buffer = new byte[1024];
+    private int size;
+
+    //구독할 때 번호를 먼저 붙여둔다 (전체 구독은 처음 보낼 때)
+    int intern(String stockCode) {
+        return ids.computeIfAbsent(stockCode, code -> nextId.getAndIncrement());
+    }
+
+    //바뀐 필드가 없으면 아무것도 안 쓴다
+    void append(Quote quote) {
+        int id = intern(quote.getStockCode());
+        ensureSymbol(id);
+        String name = quote.getStockName() == null ? "" : quote.getStockName();
+        if (!name.equals(sentNames[id])) {
+            writeVarint(DEFINE);
+            writeVarint(id);
+            writeString(quote.getStockCode());
+            writeString(name);
+            sentNames[id] = name;
+        }
+
+        values[0] = quote.getCurrentPrice();
+        values[1] = quote.getChange();
+        values[2] = Math.round(quote.getChangeRate() * RATE_SCALE);
+        values[3] = quote.getVolume();
+        values[4] = quote.getHigh();
+        values[5] = quote.getLow();
+        values[6] = quote.getOpen();
+        values[7] = quote.getPreviousClose();
+        values[8] = quote.getTimestamp();
+
+        long[] last = lastValues[id];
+        int mask = 0;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (values[i] != last[i]) {
+                mask |= 1 << i;
+            }
+        }
+        if (mask == 0) {
+            return;
+        }
+        writeVarint(UPDATE);
+        writeVarint(id);
+        writeVarint(mask);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                long delta = values[i] - last[i];
+                writeVarint((delta << 1) ^ (delta >> 63));
+                last[i] = values[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    //쌓인 레코드를 프레임 하나로 꺼낸다
+    byte[] drain() {
+        byte[] frame = Arrays.copyOf(buffer, size);
+        size = 0;
+        return frame;
+    }
+
+    private void ensureSymbol(int id) {
+        if (id >= lastValues.length) {
+            int capacity = Math.max(lastValues.length * 2, id + 1);
+            lastValues = Arrays.copyOf(lastValues, capacity);
+            sentNames = Arrays.copyOf(sentNames, capacity);
+        }
+        if (lastValues[id] == null) {
+            lastValues[id] = new long[FIELD_COUNT];
+        }
+    }
+
+    private void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.project.whalestream.market.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.common.metrics.LatencyTimers;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.dto.quote.StockPriceDto;
+import com.project.whalestream.market.dto.tick.SubscriptionRequestDto;
+import com.project.whalestream.market.engine.fanout.ConflatingSession;
+import com.project.whalestream.market.engine.fanout.MarketDataFanout;
+import com.project.whalestream.market.engine.fanout.TickWriter;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//실시간 시세 WebSocket (/ws/market)
+//프론트가 setInterval 로 /api/market-data 를 폴링하던 걸 서버 푸시로 바꾸기 위한 엔드포인트
+//보내는 내용은 REST 와 같은 StockPrice 모양이고, 전송 시점의 최신 스냅샷을 보낸다
+//클라이언트가 서브프로토콜 whalestream-binary-v1 을 요청하면 그 연결만 바이너리 변경분 프레임으로 (BinaryQuoteEncoder), 아니면 JSON
+//구독/해지 메시지는 어느 쪽이든 JSON 텍스트
+//전송은 블로킹이라 멈춘 클라이언트가 전송 스레드를 오래 잡지 않게, 한 번의 전송이 sendTimeLimit 을 넘기거나
+//밀린 버퍼가 sendBufferSizeLimit 을 넘으면 연결을 끊는다 (다시 붙으면 최신 스냅샷부터 받는다)
+@Component
+public class MarketDataWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    //한 전송 차례에 이만큼 쌓이면 나눠서 보낸다
+    private static final int MAX_BINARY_FRAME = 64 * 1024;
+    //톰캣 블로킹 전송 제한 시간 (기본 20초)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final MarketDataFanout marketDataFanout;
+    private final QuoteStore quoteStore;
+    private final ObjectMapper objectMapper;
+    //세션별 전송은 이 풀에서 (세션당 동시에 최대 1개 작업)
+    private final ExecutorService sendExecutor;
+    private final LatencyRecorder sendLag;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+    private final Map<String, ConflatingSession> sessions = new ConcurrentHashMap<>();
+    //바이너리로 협상한 연결만
+    private final Map<String, BinaryQuoteEncoder> binaryEncoders = new ConcurrentHashMap<>();
+    //같은 스냅샷을 여러 세션에 보낼 때 직렬화는 한 번만
+    private final Map<String, EncodedQuote> encodedQuotes = new ConcurrentHashMap<>();
+
+    public MarketDataWebSocketHandler(MarketDataFanout marketDataFanout,
+                                      QuoteStore quoteStore,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${whalestream.market.fanout-threads:4}") int fanoutThreads,
+                                      @Value("${whalestream.market.send-time-limit-ms:2000}") int sendTimeLimitMillis,
+                                      @Value("${whalestream.market.send-buffer-limit-kb:512}") int sendBufferLimitKilobytes) {
+        this.marketDataFanout = marketDataFanout;
+        this.quoteStore = quoteStore;
+        this.objectMapper = objectMapper;
+        this.sendLag = LatencyTimers.register(meterRegistry, "whalestream.market.fanout.lag", "틱 수신 -> WebSocket 전송 완료 시간");
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferLimitKilobytes * 1024;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(fanoutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "market-fanout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //핸드셰이크에서 클라이언트가 요청한 것 중 여기 있는 것만 받아준다 (요청이 없으면 JSON)
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BinaryQuoteEncoder.PROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession connection) {
+        limitBlockingSend(connection);
+        //제한을 넘기면 SessionLimitExceededException -> ConflatingSession 이 닫히고 아래 closing 이 연결을 끊는다
+        WebSocketSession session = new ConcurrentWebSocketSessionDecorator(connection, sendTimeLimitMillis, sendBufferSizeLimit);
+        TickWriter writer;
+        if (BinaryQuoteEncoder.PROTOCOL.equals(session.getAcceptedProtocol())) {
+            BinaryQuoteEncoder encoder = new BinaryQuoteEncoder();
+            binaryEncoders.put(session.getId(), encoder);
+            writer = binaryWriter(session, encoder);
+        } else {
+            writer = tick -> {
+                TextMessage message = encode(tick.getStockCode());
+                if (message != null) {
+                    session.sendMessage(message);
+                }
+            };
+        }
+        ConflatingSession conflatingSession = new ConflatingSession(session.getId(), sendExecutor, closing(session, writer), sendLag);
+        sessions.put(session.getId(), conflatingSession);
+        marketDataFanout.register(conflatingSession);
+    }
+
+    private TickWriter binaryWriter(WebSocketSession session, BinaryQuoteEncoder encoder) {
+        return new TickWriter() {
+            @Override
+            public void write(MarketTick tick) throws IOException {
+                Quote quote = quoteStore.get(tick.getStockCode());
+                if (quote != null) {
+                    encoder.append(quote);
+                }
+                if (encoder.size() >= MAX_BINARY_FRAME) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (encoder.size() > 0) {
+                    session.sendMessage(new BinaryMessage(encoder.drain()));
+                }
+            }
+        };
+    }
+
+    //톰캣 블로킹 전송 제한을 sendTimeLimit 으로 -> 멈춘 클라이언트에 걸린 전송 스레드가 그 안에 예외로 풀려난다
+    private void limitBlockingSend(WebSocketSession connection) {
+        if (connection instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session standard = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (standard != null) {
+                standard.getUserProperties().put(BLOCKING_SEND_TIMEOUT, (long) sendTimeLimitMillis);
+            }
+        }
+    }
+
+    //전송이 실패하면 (시간/버퍼 초과 포함) 연결도 끊는다 -> 클라이언트가 다시 붙어서 최신 값부터 받는다
+    private static TickWriter closing(WebSocketSession session, TickWriter writer) {
+        return new TickWriter() {
+            @Override
+            public void write(MarketTick tick) throws IOException {
+                try {
+                    writer.write(tick);
+                } catch (IOException | RuntimeException e) {
+                    closeQuietly(session);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                try {
+                    writer.flush();
+                } catch (IOException | RuntimeException e) {
+                    closeQuietly(session);
+                    throw e;
+                }
+            }
+        };
+    }
+
+    private static void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException ignored) {
+            //이미 끊긴 연결
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ConflatingSession conflatingSession = sessions.get(session.getId());
+        if (conflatingSession == null) {
+            return;
+        }
+        SubscriptionRequestDto request = objectMapper.readValue(message.getPayload(), SubscriptionRequestDto.class);
+        if ("UNSUBSCRIBE".equalsIgnoreCase(request.getAction())) {
+            marketDataFanout.unsubscribe(conflatingSession, request.getStockCodes());
+        } else {
+            BinaryQuoteEncoder encoder = binaryEncoders.get(session.getId());
+            if (encoder != null && request.getStockCodes() != null) {
+                request.getStockCodes().forEach(encoder::intern);
+            }
+            marketDataFanout.subscribe(conflatingSession, request.getStockCodes());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        ConflatingSession conflatingSession = sessions.remove(session.getId());
+        binaryEncoders.remove(session.getId());
+        if (conflatingSession != null) {
+            marketDataFanout.remove(conflatingSession);
+        }
+    }
+
+    private TextMessage encode(String stockCode) throws IOException {
+        Quote quote = quoteStore.get(stockCode);
+        if (quote == null) {
+            return null;
+        }
+        EncodedQuote encoded = encodedQuotes.get(stockCode);
+        if (encoded == null || encoded.quote != quote) {
+            encoded = new EncodedQuote(quote, new TextMessage(objectMapper.writeValueAsString(StockPriceDto.from(quote))));
+            encodedQuotes.put(stockCode, encoded);
+        }
+        return encoded.message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private static final class EncodedQuote {
+        private final Quote quote;
+        private final TextMessage message;
+
+        private EncodedQuote(Quote quote, TextMessage message) {
+            this.quote = quote;
+            this.message = message;
+        }
+    }
+}
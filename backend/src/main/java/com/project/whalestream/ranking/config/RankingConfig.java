@@ -0,0 +1,67 @@
+package com.project.whalestream.ranking.config;
+
+import com.project.whalestream.common.persistence.MongoWriteBehindRepository;
+import com.project.whalestream.login.domain.user.User;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.engine.hub.MarketDataHub;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.ranking.engine.ranking.RankingEngine;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.trade.Commission;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+@Configuration
+public class RankingConfig {
+
+    //랭킹에 표시할 이름 (유저 이름, 없으면 아이디), 방금 바꾼 이름도 바로 보이게 아직 안 쓴 변경까지
+    @Bean
+    public Function<String, String> nicknameResolver(MongoWriteBehindRepository<User> userWrites) {
+        return userId -> {
+            User user = userWrites.findById(userId);
+            return user != null && user.getName() != null ? user.getName() : userId;
+        };
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RankingEngine rankingEngine(MarketDataHub marketDataHub, QuoteStore quoteStore, MatchingEngine matchingEngine,
+                                       Function<String, String> nicknameResolver,
+                                       @Value("${whalestream.portfolio.initial-capital:10000000}") double initialCapital,
+                                       @Value("${whalestream.ranking.refresh-interval-ms:1000}") long refreshIntervalMillis) {
+        RankingEngine rankingEngine = new RankingEngine(initialCapital, refreshIntervalMillis, stockCode -> {
+            Quote quote = quoteStore.get(stockCode);
+            return quote == null ? 0 : quote.getCurrentPrice();
+        }, nicknameResolver);
+
+        marketDataHub.addListener(rankingEngine);
+        matchingEngine.addFillListener((taker, maker, price, quantity) -> {
+            feed(rankingEngine, taker, price, quantity);
+            if (maker != null) {
+                feed(rankingEngine, maker, price, quantity);
+            }
+        });
+        rankingEngine.start();
+        return rankingEngine;
+    }
+
+    @Bean
+    public MeterBinder rankingMetrics(RankingEngine rankingEngine) {
+        return registry -> Gauge.builder("whalestream.ranking.portfolios", rankingEngine, RankingEngine::size).register(registry);
+    }
+
+    private static void feed(RankingEngine rankingEngine, Order order, long price, long quantity) {
+        long amount = price * quantity;
+        long commission = Commission.of(amount);
+        if (order.isBuy()) {
+            rankingEngine.onTrade(order.getUserId(), order.getStockCode(), quantity, -(amount + commission), price);
+        } else {
+            rankingEngine.onTrade(order.getUserId(), order.getStockCode(), -quantity, amount - commission, price);
+        }
+    }
+}
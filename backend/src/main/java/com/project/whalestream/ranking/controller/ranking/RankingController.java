@@ -0,0 +1,29 @@
+package com.project.whalestream.ranking.controller.ranking;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.ranking.dto.ranking.MyRankingDto;
+import com.project.whalestream.ranking.dto.ranking.RankingResponseDto;
+import com.project.whalestream.ranking.service.ranking.RankingServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/rankings")
+public class RankingController {
+
+    private final RankingServiceInterface rankingService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<RankingResponseDto>> getRankings(@RequestParam(defaultValue = "all") String type,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.of(rankingService.getRankings(type, page, size)));
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<ApiResponse<MyRankingDto>> getMyRanking(@RequestParam(defaultValue = "all") String type) {
+        return ResponseEntity.ok(ApiResponse.of(rankingService.getMyRanking(type)));
+    }
+}
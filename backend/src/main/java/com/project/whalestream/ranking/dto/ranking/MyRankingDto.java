@@ -0,0 +1,14 @@
+package com.project.whalestream.ranking.dto.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//내 랭킹 (previousRank 는 직전 스냅샷 순위, 없으면 0)
+@Getter
+@AllArgsConstructor
+public class MyRankingDto {
+    private int currentRank;
+    private int previousRank;
+    private double totalReturn;
+    private double totalValue;
+}
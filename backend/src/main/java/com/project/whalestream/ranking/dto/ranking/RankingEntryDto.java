@@ -0,0 +1,33 @@
+package com.project.whalestream.ranking.dto.ranking;
+
+import com.project.whalestream.ranking.engine.ranking.RankingRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//랭킹 항목 (프론트 RankingEntry)
+@Getter
+@AllArgsConstructor
+public class RankingEntryDto {
+    private String portfolioId;
+    private int rank;
+    private String nickname;
+    private String portfolioName;
+    private double totalReturn;
+    private double totalValue;
+    private int rankChange;
+    //boolean 이면 json 키가 myRanking 이 되어버린다
+    private Boolean isMyRanking;
+
+    public static RankingEntryDto from(RankingRow row, String viewerId) {
+        return new RankingEntryDto(
+                row.getPortfolioId(),
+                row.getRank(),
+                row.getNickname(),
+                row.getNickname() + "의 포트폴리오",
+                row.getReturnRate(),
+                row.getTotalValue(),
+                row.getRankChange(),
+                row.getPortfolioId().equals(viewerId)
+        );
+    }
+}
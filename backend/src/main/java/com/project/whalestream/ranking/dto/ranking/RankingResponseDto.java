@@ -0,0 +1,16 @@
+package com.project.whalestream.ranking.dto.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+//랭킹 목록 응답 (프론트 RankingResponse)
+@Getter
+@AllArgsConstructor
+public class RankingResponseDto {
+    private String rankingType;
+    private String snapshotDate;
+    private int totalCount;
+    private List<RankingEntryDto> rankings;
+}
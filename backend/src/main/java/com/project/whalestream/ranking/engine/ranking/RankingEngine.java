@@ -0,0 +1,375 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+import com.project.whalestream.common.util.KstDates;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.hub.MarketDataListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+//포트폴리오 평가금액 -> 기간별 수익률 순위
+//- 체결은 대기열로, 시세는 "바뀐 종목" 표시만 받아서 랭킹 스레드 하나가 모아서 반영한다
+//  (틱마다 보유자 전원을 다시 계산하지 않고 refreshInterval 마다 종목당 한 번)
+//- 평가금액이 바뀐 포트폴리오만 순위 트리에서 빼고 다시 넣는다 (O(log n))
+//- 조회는 읽기 락으로 순위 트리를 바로 읽는다 (요청마다 정렬 없음)
+//- 한국 시간 날짜가 바뀌면 전날 순위를 스냅샷으로 남기고 (rankChange 기준) 일/주/월 기준금액을 다시 잡는다
+@Slf4j
+public class RankingEngine implements MarketDataListener {
+
+    private static final RankingType[] TYPES = RankingType.values();
+
+    private final double initialCapital;
+    private final long refreshIntervalMillis;
+    private final ToLongFunction<String> priceLookup;
+    private final Function<String, String> nicknameResolver;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Standing> standings = new HashMap<>();
+    private final RankingIndex[] indexes = new RankingIndex[TYPES.length];
+    //종목 -> 보유 포트폴리오 (랭킹 스레드 전용)
+    private final Map<String, Set<Standing>> holders = new HashMap<>();
+
+    //직전 스냅샷 (쓰기 락 안에서 통째로 교체)
+    private final List<Map<String, Integer>> previousRanks = new ArrayList<>();
+    private LocalDate snapshotDate;
+    private LocalDate tradingDay;
+
+    private final BlockingQueue<TradeEvent> trades = new LinkedBlockingQueue<>();
+    private final Set<String> dirtySymbols = ConcurrentHashMap.newKeySet();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public RankingEngine(double initialCapital, long refreshIntervalMillis,
+                         ToLongFunction<String> priceLookup, Function<String, String> nicknameResolver) {
+        this.initialCapital = initialCapital;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.priceLookup = priceLookup;
+        this.nicknameResolver = nicknameResolver;
+        for (int i = 0; i < TYPES.length; i++) {
+            indexes[i] = new RankingIndex();
+            previousRanks.add(Map.of());
+        }
+        this.tradingDay = LocalDate.now(KstDates.ZONE);
+        this.thread = new Thread(this::run, "ranking");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    //수신 스레드에서 호출 -> 표시만 하고 바로 돌아간다
+    @Override
+    public void onTick(MarketTick tick) {
+        dirtySymbols.add(tick.getStockCode());
+    }
+
+    //체결 반영 (매수면 quantityDelta > 0, cashDelta < 0), 매칭 스레드에서 호출되므로 대기열에 넣기만 한다
+    public void onTrade(String portfolioId, String stockCode, long quantityDelta, double cashDelta, long price) {
+        trades.offer(new TradeEvent(portfolioId, stockCode, quantityDelta, cashDelta, price));
+    }
+
+    //아직 거래가 없는 유저도 초기 자본으로 순위에 올린다
+    public void register(String portfolioId, String nickname) {
+        lock.writeLock().lock();
+        try {
+            if (!standings.containsKey(portfolioId)) {
+                add(portfolioId, nickname);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void run() {
+        long nextRefresh = System.currentTimeMillis();
+        List<TradeEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                TradeEvent first = trades.poll(Math.max(1, nextRefresh - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    trades.drainTo(batch);
+                    applyTrades(batch);
+                    batch.clear();
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextRefresh) {
+                    refresh(now);
+                    nextRefresh = now + refreshIntervalMillis;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("랭킹 갱신 실패", e);
+            }
+        }
+    }
+
+    void applyTrades(List<TradeEvent> batch) {
+        //닉네임 조회(몽고)는 락 밖에서
+        Map<String, String> nicknames = new HashMap<>();
+        for (TradeEvent event : batch) {
+            if (!nicknames.containsKey(event.portfolioId) && !isRegistered(event.portfolioId)) {
+                nicknames.put(event.portfolioId, nicknameResolver.apply(event.portfolioId));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (TradeEvent event : batch) {
+                Standing standing = standings.get(event.portfolioId);
+                if (standing == null) {
+                    standing = add(event.portfolioId, nicknames.get(event.portfolioId));
+                }
+                applyTrade(standing, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyTrade(Standing standing, TradeEvent event) {
+        standing.cash += event.cashDelta;
+        Holding holding = standing.holdings.get(event.stockCode);
+        if (holding == null) {
+            holding = new Holding();
+            standing.holdings.put(event.stockCode, holding);
+            holders.computeIfAbsent(event.stockCode, code -> new HashSet<>()).add(standing);
+        }
+        holding.quantity += event.quantityDelta;
+        long market = priceLookup.applyAsLong(event.stockCode);
+        holding.mark = market > 0 ? market : event.price;
+        if (holding.quantity == 0) {
+            standing.holdings.remove(event.stockCode);
+            Set<Standing> symbolHolders = holders.get(event.stockCode);
+            symbolHolders.remove(standing);
+            if (symbolHolders.isEmpty()) {
+                holders.remove(event.stockCode);
+            }
+        }
+        standing.revalue();
+        reposition(standing);
+    }
+
+    //날짜가 바뀌었는지 보고, 바뀐 종목 시세를 보유자들에게 반영
+    void refresh(long now) {
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), KstDates.ZONE);
+        if (dirtySymbols.isEmpty() && today.equals(tradingDay)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!today.equals(tradingDay)) {
+                rollover(today);
+            }
+            Iterator<String> iterator = dirtySymbols.iterator();
+            while (iterator.hasNext()) {
+                String stockCode = iterator.next();
+                iterator.remove();
+                Set<Standing> symbolHolders = holders.get(stockCode);
+                long price = priceLookup.applyAsLong(stockCode);
+                if (symbolHolders == null || price <= 0) {
+                    continue;
+                }
+                for (Standing standing : symbolHolders) {
+                    Holding holding = standing.holdings.get(stockCode);
+                    standing.value += holding.quantity * (price - holding.mark);
+                    holding.mark = price;
+                    reposition(standing);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //전날 순위를 스냅샷으로 남기고 기간이 바뀐 랭킹은 기준금액을 지금 평가금액으로 다시 잡는다
+    private void rollover(LocalDate today) {
+        for (int t = 0; t < TYPES.length; t++) {
+            Map<String, Integer> ranks = new HashMap<>(standings.size() * 2);
+            indexes[t].page(0, indexes[t].size(), (rank, id, score) -> ranks.put(id, rank));
+            previousRanks.set(t, ranks);
+        }
+        snapshotDate = tradingDay;
+
+        boolean newWeek = today.getDayOfWeek().getValue() < tradingDay.getDayOfWeek().getValue()
+                || today.toEpochDay() - tradingDay.toEpochDay() >= 7;
+        boolean newMonth = today.getMonthValue() != tradingDay.getMonthValue() || today.getYear() != tradingDay.getYear();
+        tradingDay = today;
+
+        resetBase(RankingType.DAILY);
+        if (newWeek) {
+            resetBase(RankingType.WEEKLY);
+        }
+        if (newMonth) {
+            resetBase(RankingType.MONTHLY);
+        }
+    }
+
+    private void resetBase(RankingType type) {
+        int t = type.ordinal();
+        indexes[t].clear();
+        for (Standing standing : standings.values()) {
+            standing.bases[t] = standing.value;
+            standing.scores[t] = standing.score(t);
+            indexes[t].insert(standing.id, standing.scores[t]);
+        }
+    }
+
+    private Standing add(String portfolioId, String nickname) {
+        Standing standing = new Standing(portfolioId, nickname == null ? portfolioId : nickname, initialCapital);
+        standings.put(portfolioId, standing);
+        for (int t = 0; t < TYPES.length; t++) {
+            standing.bases[t] = initialCapital;
+            standing.scores[t] = 0;
+            indexes[t].insert(portfolioId, 0);
+        }
+        return standing;
+    }
+
+    private void reposition(Standing standing) {
+        for (int t = 0; t < TYPES.length; t++) {
+            double score = standing.score(t);
+            if (score != standing.scores[t]) {
+                indexes[t].remove(standing.id, standing.scores[t]);
+                indexes[t].insert(standing.id, score);
+                standing.scores[t] = score;
+            }
+        }
+    }
+
+    private boolean isRegistered(String portfolioId) {
+        lock.readLock().lock();
+        try {
+            return standings.containsKey(portfolioId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //offset 부터 limit 개 (O(log n + limit))
+    public List<RankingRow> page(RankingType type, int offset, int limit) {
+        int t = type.ordinal();
+        List<RankingRow> rows = new ArrayList<>(Math.max(0, Math.min(limit, 1000)));
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> previous = previousRanks.get(t);
+            indexes[t].page(offset, limit, (rank, id, score) -> {
+                Standing standing = standings.get(id);
+                rows.add(new RankingRow(rank, previous.getOrDefault(id, 0), id, standing.nickname, score, standing.value));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return rows;
+    }
+
+    //없으면 null
+    public RankingRow rowOf(RankingType type, String portfolioId) {
+        int t = type.ordinal();
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(portfolioId);
+            if (standing == null) {
+                return null;
+            }
+            int rank = indexes[t].rankOf(portfolioId, standing.scores[t]);
+            return new RankingRow(rank, previousRanks.get(t).getOrDefault(portfolioId, 0), portfolioId,
+                    standing.nickname, standing.scores[t], standing.value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return standings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //스냅샷이 아직 없으면 null
+    public LocalDate getSnapshotDate() {
+        lock.readLock().lock();
+        try {
+            return snapshotDate;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    static final class TradeEvent {
+        private final String portfolioId;
+        private final String stockCode;
+        private final long quantityDelta;
+        private final double cashDelta;
+        private final long price;
+
+        TradeEvent(String portfolioId, String stockCode, long quantityDelta, double cashDelta, long price) {
+            this.portfolioId = portfolioId;
+            this.stockCode = stockCode;
+            this.quantityDelta = quantityDelta;
+            this.cashDelta = cashDelta;
+            this.price = price;
+        }
+    }
+
+    private static final class Holding {
+        private long quantity;
+        private long mark;
+    }
+
+    private static final class Standing {
+        private final String id;
+        private final String nickname;
+        private final Map<String, Holding> holdings = new HashMap<>();
+        private final double[] bases = new double[TYPES.length];
+        private final double[] scores = new double[TYPES.length];
+        private double cash;
+        private double value;
+
+        private Standing(String id, String nickname, double initialCapital) {
+            this.id = id;
+            this.nickname = nickname;
+            this.cash = initialCapital;
+            this.value = initialCapital;
+        }
+
+        private void revalue() {
+            double total = cash;
+            for (Holding holding : holdings.values()) {
+                total += (double) holding.quantity * holding.mark;
+            }
+            value = total;
+        }
+
+        //기간 수익률 (%)
+        private double score(int type) {
+            return bases[type] > 0 ? (value / bases[type] - 1) * 100 : 0;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//순위 트리 (구간 길이(span)를 들고 있는 스킵 리스트)
+//점수 내림차순, 같으면 id 오름차순으로 정렬되고
+//추가/삭제/순위 조회/k번째 찾기가 전부 O(log n), k번째부터 K개 읽기는 O(log n + K)
+//락이 없으니 RankingEngine 의 락 안에서만 쓴다
+public final class RankingIndex {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    public interface Visitor {
+        void visit(int rank, String id, double score);
+    }
+
+    public void insert(String id, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && compare(x.next[i], score, id) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(id, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    //(id, score) 가 없으면 false
+    public boolean remove(String id, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], score, id) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || compare(x, score, id) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    //1부터, 없으면 0
+    public int rankOf(String id, double score) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], score, id) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && compare(x, score, id) == 0) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    //offset 번째(0부터)부터 최대 limit 개
+    public void page(int offset, int limit, Visitor visitor) {
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return;
+        }
+        int target = offset + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                break;
+            }
+        }
+        for (int rank = target; x != null && rank < target + limit; rank++) {
+            visitor.visit(rank, x.id, x.score);
+            x = x.next[0];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    //a 가 (score, id) 보다 앞이면 음수
+    private static int compare(Node a, double score, String id) {
+        if (a.score != score) {
+            return a.score > score ? -1 : 1;
+        }
+        return a.id.compareTo(id);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        private final String id;
+        private final double score;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(String id, double score, int level) {
+            this.id = id;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+//랭킹 한 줄 (조회 시점 값 복사본)
+public final class RankingRow {
+
+    private final int rank;
+    private final int previousRank;
+    private final String portfolioId;
+    private final String nickname;
+    private final double returnRate;
+    private final double totalValue;
+
+    RankingRow(int rank, int previousRank, String portfolioId, String nickname, double returnRate, double totalValue) {
+        this.rank = rank;
+        this.previousRank = previousRank;
+        this.portfolioId = portfolioId;
+        this.nickname = nickname;
+        this.returnRate = returnRate;
+        this.totalValue = totalValue;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    //직전 스냅샷 순위, 스냅샷에 없었으면 0
+    public int getPreviousRank() {
+        return previousRank;
+    }
+
+    //올라갔으면 양수
+    public int getRankChange() {
+        return previousRank == 0 ? 0 : previousRank - rank;
+    }
+
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    //%
+    public double getReturnRate() {
+        return returnRate;
+    }
+
+    public double getTotalValue() {
+        return totalValue;
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+//프론트 RankingType ('all' | 'daily' | 'weekly' | 'monthly')
+//ALL 은 초기 자본 대비, 나머지는 그 기간 시작 시점 평가금액 대비 수익률
+public enum RankingType {
+    ALL,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public static RankingType from(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 랭킹 종류입니다: " + value);
+        }
+    }
+
+    public String value() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.whalestream.ranking.service.ranking;
+
+import com.project.whalestream.ranking.dto.ranking.MyRankingDto;
+import com.project.whalestream.ranking.dto.ranking.RankingEntryDto;
+import com.project.whalestream.ranking.dto.ranking.RankingResponseDto;
+import com.project.whalestream.ranking.engine.ranking.RankingEngine;
+import com.project.whalestream.ranking.engine.ranking.RankingRow;
+import com.project.whalestream.ranking.engine.ranking.RankingType;
+import com.project.whalestream.common.util.KstDates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class RankingService implements RankingServiceInterface {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RankingEngine rankingEngine;
+    private final Function<String, String> nicknameResolver;
+
+    @Override
+    public RankingResponseDto getRankings(String type, int page, int size) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상, 크기는 1 이상이어야 합니다.");
+        }
+        RankingType rankingType = RankingType.from(type);
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+
+        List<RankingEntryDto> rankings = new ArrayList<>(limit);
+        for (RankingRow row : rankingEngine.page(rankingType, page * limit, limit)) {
+            rankings.add(RankingEntryDto.from(row, userId));
+        }
+        LocalDate snapshotDate = rankingEngine.getSnapshotDate();
+        return new RankingResponseDto(
+                rankingType.value(),
+                snapshotDate != null ? snapshotDate.toString() : KstDates.dateOf(System.currentTimeMillis()),
+                rankingEngine.size(),
+                rankings
+        );
+    }
+
+    @Override
+    public MyRankingDto getMyRanking(String type) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        RankingType rankingType = RankingType.from(type);
+        RankingRow row = rankingEngine.rowOf(rankingType, userId);
+        if (row == null) {
+            //아직 거래가 없으면 초기 자본 그대로 순위에 올린다
+            rankingEngine.register(userId, nicknameResolver.apply(userId));
+            row = rankingEngine.rowOf(rankingType, userId);
+        }
+        return new MyRankingDto(row.getRank(), row.getPreviousRank(), row.getReturnRate(), row.getTotalValue());
+    }
+}
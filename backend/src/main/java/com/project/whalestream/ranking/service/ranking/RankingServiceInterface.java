@@ -0,0 +1,9 @@
+package com.project.whalestream.ranking.service.ranking;
+
+import com.project.whalestream.ranking.dto.ranking.MyRankingDto;
+import com.project.whalestream.ranking.dto.ranking.RankingResponseDto;
+
+public interface RankingServiceInterface {
+    RankingResponseDto getRankings(String type, int page, int size);
+    MyRankingDto getMyRanking(String type);
+}
@@ -0,0 +1,32 @@
+package com.project.whalestream.strategy.config;
+
+import com.project.whalestream.strategy.engine.backtest.BacktestEngine;
+import com.project.whalestream.strategy.engine.sweep.ParameterSweepRunner;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BacktestConfig {
+
+    //상태 없는 엔진이라 하나만 두고 같이 쓴다
+    @Bean
+    public BacktestEngine backtestEngine() {
+        return new BacktestEngine();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ParameterSweepRunner parameterSweepRunner(BacktestEngine backtestEngine,
+                                                     @Value("${whalestream.backtest.sweep.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ParameterSweepRunner(backtestEngine, threads);
+    }
+
+    @Bean
+    public MeterBinder sweepMetrics(ParameterSweepRunner parameterSweepRunner) {
+        return registry -> Gauge.builder("whalestream.sweep.active", parameterSweepRunner, ParameterSweepRunner::getActiveThreadCount)
+                .register(registry);
+    }
+}
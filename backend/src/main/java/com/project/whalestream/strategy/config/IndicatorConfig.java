@@ -0,0 +1,29 @@
+package com.project.whalestream.strategy.config;
+
+import com.project.whalestream.strategy.engine.indicator.IndicatorCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IndicatorConfig {
+
+    @Bean
+    public IndicatorCache indicatorCache(@Value("${whalestream.indicator.cache-max-mb:64}") long maxMegabytes) {
+        return new IndicatorCache(maxMegabytes * 1024 * 1024);
+    }
+
+    @Bean
+    public MeterBinder indicatorCacheMetrics(IndicatorCache indicatorCache) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.indicator.cache.hits", indicatorCache, IndicatorCache::getHitCount).register(registry);
+            FunctionCounter.builder("whalestream.indicator.cache.misses", indicatorCache, IndicatorCache::getMissCount).register(registry);
+            FunctionCounter.builder("whalestream.indicator.cache.evictions", indicatorCache, IndicatorCache::getEvictionCount).register(registry);
+            Gauge.builder("whalestream.indicator.cache.bytes", indicatorCache, IndicatorCache::getTotalBytes)
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.whalestream.strategy.controller.backtest;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.strategy.dto.backtest.BacktestRequestDto;
+import com.project.whalestream.strategy.dto.backtest.BacktestResultDto;
+import com.project.whalestream.strategy.service.backtest.BacktestServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/strategies/backtest")
+public class BacktestController {
+
+    private final BacktestServiceInterface backtestService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BacktestResultDto>> runBacktest(@RequestBody BacktestRequestDto backtestRequestDto) {
+        return ResponseEntity.ok(ApiResponse.of(backtestService.runBacktest(backtestRequestDto)));
+    }
+
+    @GetMapping("/{resultId}")
+    public ResponseEntity<ApiResponse<BacktestResultDto>> getBacktestResult(@PathVariable String resultId) {
+        return ResponseEntity.ok(ApiResponse.of(backtestService.getBacktestResult(resultId)));
+    }
+}
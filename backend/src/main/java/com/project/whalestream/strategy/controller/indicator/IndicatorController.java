@@ -0,0 +1,30 @@
+package com.project.whalestream.strategy.controller.indicator;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.strategy.dto.indicator.IndicatorDataDto;
+import com.project.whalestream.strategy.service.indicator.IndicatorServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/indicators")
+public class IndicatorController {
+
+    private final IndicatorServiceInterface indicatorService;
+
+    //GET /api/indicators/005930?type=RSI&startDate=2024-01-01&endDate=2024-06-30&period=14
+    @GetMapping("/{stockCode}")
+    public ResponseEntity<ApiResponse<List<IndicatorDataDto>>> getIndicatorData(@PathVariable String stockCode,
+                                                                               @RequestParam String type,
+                                                                               @RequestParam String startDate,
+                                                                               @RequestParam String endDate,
+                                                                               @RequestParam Map<String, String> parameters) {
+        return ResponseEntity.ok(ApiResponse.of(
+                indicatorService.getIndicatorData(stockCode, type, startDate, endDate, parameters)));
+    }
+}
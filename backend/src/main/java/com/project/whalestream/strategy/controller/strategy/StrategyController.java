@@ -0,0 +1,41 @@
+package com.project.whalestream.strategy.controller.strategy;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.strategy.dto.strategy.StrategyRequestDto;
+import com.project.whalestream.strategy.dto.strategy.StrategyResponseDto;
+import com.project.whalestream.strategy.service.strategy.StrategyServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/strategies")
+public class StrategyController {
+
+    private final StrategyServiceInterface strategyService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<StrategyResponseDto>>> getStrategies() {
+        return ResponseEntity.ok(ApiResponse.of(strategyService.getStrategies()));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<StrategyResponseDto>> createStrategy(@RequestBody StrategyRequestDto strategyRequestDto) {
+        return ResponseEntity.ok(ApiResponse.of(strategyService.createStrategy(strategyRequestDto)));
+    }
+
+    @PutMapping("/{strategyId}")
+    public ResponseEntity<ApiResponse<StrategyResponseDto>> updateStrategy(@PathVariable String strategyId,
+                                                                           @RequestBody StrategyRequestDto strategyRequestDto) {
+        return ResponseEntity.ok(ApiResponse.of(strategyService.updateStrategy(strategyId, strategyRequestDto)));
+    }
+
+    @DeleteMapping("/{strategyId}")
+    public ResponseEntity<Void> deleteStrategy(@PathVariable String strategyId) {
+        strategyService.deleteStrategy(strategyId);
+        return ResponseEntity.ok().build();
+    }
+}
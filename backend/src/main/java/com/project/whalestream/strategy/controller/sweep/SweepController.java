@@ -0,0 +1,41 @@
+package com.project.whalestream.strategy.controller.sweep;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.strategy.dto.sweep.SweepRequestDto;
+import com.project.whalestream.strategy.dto.sweep.SweepStatusDto;
+import com.project.whalestream.strategy.service.sweep.SweepServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/strategies/backtest/sweeps")
+public class SweepController {
+
+    private final SweepServiceInterface sweepService;
+
+    //바로 sweepId 를 돌려주고 백테스트는 뒤에서 돈다
+    @PostMapping
+    public ResponseEntity<ApiResponse<SweepStatusDto>> startSweep(@RequestBody SweepRequestDto sweepRequestDto) {
+        return ResponseEntity.ok(ApiResponse.of(sweepService.startSweep(sweepRequestDto)));
+    }
+
+    @GetMapping("/{sweepId}")
+    public ResponseEntity<ApiResponse<SweepStatusDto>> getSweep(@PathVariable String sweepId) {
+        return ResponseEntity.ok(ApiResponse.of(sweepService.getSweep(sweepId)));
+    }
+
+    @GetMapping(value = "/{sweepId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSweep(@PathVariable String sweepId) {
+        return sweepService.streamSweep(sweepId);
+    }
+
+    @DeleteMapping("/{sweepId}")
+    public ResponseEntity<Void> cancelSweep(@PathVariable String sweepId) {
+        sweepService.cancelSweep(sweepId);
+        return ResponseEntity.ok().build();
+    }
+}
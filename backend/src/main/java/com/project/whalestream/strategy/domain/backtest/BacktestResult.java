@@ -0,0 +1,39 @@
+package com.project.whalestream.strategy.domain.backtest;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+//저장된 백테스트 결과 (GET /api/strategies/backtest/{id} 로 다시 조회)
+@Getter
+@Setter
+@NoArgsConstructor
+@Document(collection = "backtest_results")
+public class BacktestResult {
+
+    @Id
+    private String id;
+    private String userId;
+    private String strategyId;
+    private String strategyName;
+    private String stockCode;
+    private String stockName;
+    private String startDate;
+    private String endDate;
+    private double initialCapital;
+    private double finalValue;
+    private double totalReturn;
+    private double totalReturnRate;
+    private double maxDrawdown;
+    private double sharpeRatio;
+    private double winRate;
+    private int totalTrades;
+    private int profitableTrades;
+    private int losingTrades;
+    private List<DailyReturn> dailyReturns;
+    private List<EquityPoint> equityCurve;
+}
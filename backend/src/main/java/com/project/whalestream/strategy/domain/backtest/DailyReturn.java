@@ -0,0 +1,19 @@
+package com.project.whalestream.strategy.domain.backtest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//일별 수익률 (return, cumulativeReturn 은 비율 값)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReturn {
+    private String date;
+    //return 은 자바 예약어라 JSON 이름만 맞춘다
+    @JsonProperty("return")
+    private double dailyReturn;
+    private double cumulativeReturn;
+    private double portfolioValue;
+}
@@ -0,0 +1,13 @@
+package com.project.whalestream.strategy.domain.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityPoint {
+    private String date;
+    private double value;
+}
@@ -0,0 +1,58 @@
+package com.project.whalestream.strategy.domain.strategy;
+
+import com.project.whalestream.strategy.engine.backtest.LogicOperator;
+import com.project.whalestream.strategy.engine.backtest.SignalCondition;
+import com.project.whalestream.strategy.engine.backtest.StrategySpec;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Document(collection = "strategies")
+public class Strategy {
+
+    @Id
+    private String id;
+    private String userId;
+    private String name;
+    private String description;
+    private List<StrategyIndicator> indicators = new ArrayList<>();
+    private List<StrategyCondition> entryConditions = new ArrayList<>();
+    private List<StrategyCondition> exitConditions = new ArrayList<>();
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    //백테스트 엔진용 정의로 변환 (같은 지표가 여러 번 있으면 처음 것 사용)
+    public StrategySpec toSpec() {
+        Map<IndicatorType, Map<String, Double>> parameters = new EnumMap<>(IndicatorType.class);
+        for (StrategyIndicator indicator : indicators) {
+            if (indicator.getType() != null && indicator.getParameters() != null) {
+                parameters.putIfAbsent(indicator.getType(), indicator.getParameters());
+            }
+        }
+        return new StrategySpec(parameters, toSignalConditions(entryConditions), toSignalConditions(exitConditions));
+    }
+
+    private static List<SignalCondition> toSignalConditions(List<StrategyCondition> conditions) {
+        List<SignalCondition> result = new ArrayList<>(conditions.size());
+        for (StrategyCondition condition : conditions) {
+            if (condition.getIndicator() == null || condition.getOperator() == null) {
+                throw new IllegalArgumentException("조건에 지표와 비교 연산자가 필요합니다.");
+            }
+            result.add(new SignalCondition(condition.getIndicator(), condition.getOperator(), condition.getValue(),
+                    condition.getLogic() == LogicOperator.OR));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.whalestream.strategy.domain.strategy;
+
+import com.project.whalestream.strategy.engine.backtest.ComparisonOperator;
+import com.project.whalestream.strategy.engine.backtest.LogicOperator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//진입/청산 조건 (예: RSI LT 30 AND)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrategyCondition {
+    private String indicator;
+    private ComparisonOperator operator;
+    private double value;
+    private LogicOperator logic;
+}
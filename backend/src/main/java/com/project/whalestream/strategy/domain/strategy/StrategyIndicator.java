@@ -0,0 +1,17 @@
+package com.project.whalestream.strategy.domain.strategy;
+
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+//전략에 쓰는 지표와 파라미터 (예: RSI {period: 14})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrategyIndicator {
+    private IndicatorType type;
+    private Map<String, Double> parameters;
+}
@@ -0,0 +1,13 @@
+package com.project.whalestream.strategy.dto.backtest;
+
+import lombok.Data;
+
+//백테스트 요청 DTO (날짜는 yyyy-MM-dd)
+@Data
+public class BacktestRequestDto {
+    private String strategyId;
+    private String stockCode;
+    private String startDate;
+    private String endDate;
+    private double initialCapital;
+}
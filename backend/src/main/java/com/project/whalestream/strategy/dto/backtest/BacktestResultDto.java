@@ -0,0 +1,58 @@
+package com.project.whalestream.strategy.dto.backtest;
+
+import com.project.whalestream.strategy.domain.backtest.BacktestResult;
+import com.project.whalestream.strategy.domain.backtest.DailyReturn;
+import com.project.whalestream.strategy.domain.backtest.EquityPoint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+//백테스트 결과 DTO (프론트 BacktestResult)
+@Getter
+@AllArgsConstructor
+public class BacktestResultDto {
+    private String id;
+    private String strategyId;
+    private String strategyName;
+    private String stockCode;
+    private String stockName;
+    private String startDate;
+    private String endDate;
+    private double initialCapital;
+    private double finalValue;
+    private double totalReturn;
+    private double totalReturnRate;
+    private double maxDrawdown;
+    private double sharpeRatio;
+    private double winRate;
+    private int totalTrades;
+    private int profitableTrades;
+    private int losingTrades;
+    private List<DailyReturn> dailyReturns;
+    private List<EquityPoint> equityCurve;
+
+    public static BacktestResultDto from(BacktestResult result) {
+        return new BacktestResultDto(
+                result.getId(),
+                result.getStrategyId(),
+                result.getStrategyName(),
+                result.getStockCode(),
+                result.getStockName(),
+                result.getStartDate(),
+                result.getEndDate(),
+                result.getInitialCapital(),
+                result.getFinalValue(),
+                result.getTotalReturn(),
+                result.getTotalReturnRate(),
+                result.getMaxDrawdown(),
+                result.getSharpeRatio(),
+                result.getWinRate(),
+                result.getTotalTrades(),
+                result.getProfitableTrades(),
+                result.getLosingTrades(),
+                result.getDailyReturns(),
+                result.getEquityCurve()
+        );
+    }
+}
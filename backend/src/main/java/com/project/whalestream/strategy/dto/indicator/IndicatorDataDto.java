@@ -0,0 +1,13 @@
+package com.project.whalestream.strategy.dto.indicator;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//지표 차트 한 점 (프론트 IndicatorData)
+@Getter
+@AllArgsConstructor
+public class IndicatorDataDto {
+    private String date;
+    private double price;
+    private double value;
+}
@@ -0,0 +1,17 @@
+package com.project.whalestream.strategy.dto.strategy;
+
+import com.project.whalestream.strategy.domain.strategy.StrategyCondition;
+import com.project.whalestream.strategy.domain.strategy.StrategyIndicator;
+import lombok.Data;
+
+import java.util.List;
+
+//전략 생성/수정 DTO (수정은 null 이 아닌 필드만 반영)
+@Data
+public class StrategyRequestDto {
+    private String name;
+    private String description;
+    private List<StrategyIndicator> indicators;
+    private List<StrategyCondition> entryConditions;
+    private List<StrategyCondition> exitConditions;
+}
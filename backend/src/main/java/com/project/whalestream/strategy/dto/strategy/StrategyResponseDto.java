@@ -0,0 +1,36 @@
+package com.project.whalestream.strategy.dto.strategy;
+
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import com.project.whalestream.strategy.domain.strategy.StrategyCondition;
+import com.project.whalestream.strategy.domain.strategy.StrategyIndicator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+//전략 응답 DTO (프론트 Strategy)
+@Getter
+@AllArgsConstructor
+public class StrategyResponseDto {
+    private String id;
+    private String name;
+    private String description;
+    private List<StrategyIndicator> indicators;
+    private List<StrategyCondition> entryConditions;
+    private List<StrategyCondition> exitConditions;
+    private String createdAt;
+    private String updatedAt;
+
+    public static StrategyResponseDto from(Strategy strategy) {
+        return new StrategyResponseDto(
+                strategy.getId(),
+                strategy.getName(),
+                strategy.getDescription(),
+                strategy.getIndicators(),
+                strategy.getEntryConditions(),
+                strategy.getExitConditions(),
+                String.valueOf(strategy.getCreatedAt()),
+                String.valueOf(strategy.getUpdatedAt())
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.whalestream.strategy.dto.sweep;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+//파라미터 스윕 요청 DTO (날짜는 yyyy-MM-dd)
+//parameterGrid 키: "MA.period", "RSI.period" 같은 지표 파라미터, "entry.0"/"exit.0" 같은 조건 기준값
+@Data
+public class SweepRequestDto {
+    private String strategyId;
+    private List<String> stockCodes;
+    private String startDate;
+    private String endDate;
+    private double initialCapital;
+    private Map<String, List<Double>> parameterGrid;
+}
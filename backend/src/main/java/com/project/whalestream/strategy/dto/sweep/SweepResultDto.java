@@ -0,0 +1,44 @@
+package com.project.whalestream.strategy.dto.sweep;
+
+import com.project.whalestream.strategy.engine.backtest.BacktestReport;
+import com.project.whalestream.strategy.engine.sweep.SweepResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+//스윕 실행 한 건의 요약 (실패한 실행은 error 만 채워짐)
+@Getter
+@AllArgsConstructor
+public class SweepResultDto {
+    private int index;
+    private String stockCode;
+    private Map<String, Double> parameters;
+    private Double finalValue;
+    private Double totalReturnRate;
+    private Double maxDrawdown;
+    private Double sharpeRatio;
+    private Double winRate;
+    private Integer totalTrades;
+    private String error;
+
+    public static SweepResultDto from(SweepResult result) {
+        BacktestReport report = result.getReport();
+        if (report == null) {
+            return new SweepResultDto(result.getIndex(), result.getStockCode(), result.getParameters(),
+                    null, null, null, null, null, null, result.getError());
+        }
+        return new SweepResultDto(
+                result.getIndex(),
+                result.getStockCode(),
+                result.getParameters(),
+                report.getFinalValue(),
+                report.getTotalReturnRate(),
+                report.getMaxDrawdownRate(),
+                report.getSharpeRatio(),
+                report.getWinRate(),
+                report.getTotalTrades(),
+                null
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.whalestream.strategy.dto.sweep;
+
+import com.project.whalestream.strategy.engine.sweep.SweepJob;
+import com.project.whalestream.strategy.engine.sweep.SweepResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//스윕 진행 상황 + 지금까지 끝난 결과 (끝난 순서)
+@Getter
+@AllArgsConstructor
+public class SweepStatusDto {
+    private String sweepId;
+    private String status;
+    private int totalRuns;
+    private int completedRuns;
+    private int failedRuns;
+    private List<SweepResultDto> results;
+
+    public static SweepStatusDto from(SweepJob job, boolean withResults) {
+        List<SweepResultDto> results = new ArrayList<>();
+        if (withResults) {
+            for (SweepResult result : job.getResults()) {
+                results.add(SweepResultDto.from(result));
+            }
+        }
+        return new SweepStatusDto(
+                job.getId(),
+                job.getStatus().name(),
+                job.getTotalRuns(),
+                job.getCompletedRuns(),
+                job.getFailedRuns(),
+                results
+        );
+    }
+}
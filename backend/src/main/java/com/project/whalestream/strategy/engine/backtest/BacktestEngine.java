@@ -0,0 +1,118 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+
+import java.util.Arrays;
+
+//백테스트 엔진
+//1) 조건식을 전체 봉에 대해 한꺼번에 평가해서 진입/청산 신호 배열을 만들고
+//2) 신호 배열을 따라 한 번 훑으면서 매매/자산/낙폭을 계산한다
+//규칙: 롱 온리, 진입 신호가 뜬 봉의 종가로 현금 전부 매수, 청산 신호 봉의 종가로 전량 매도, 끝까지 들고 있으면 마지막 봉에서 청산
+//상태가 없어서 여러 스레드에서 같은 엔진/같은 PriceSeries 로 동시에 돌려도 된다
+public class BacktestEngine {
+
+    //매수/매도 각각 붙는 수수료율
+    public static final double COMMISSION_RATE = 0.00015;
+    private static final long KST_OFFSET_MILLIS = 9L * 60 * 60 * 1000;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final double TRADING_DAYS_PER_YEAR = 252;
+
+    public BacktestReport run(PriceSeries series, StrategySpec spec, double initialCapital) {
+        int length = series.length();
+        OperandSeries operands = new OperandSeries(series, spec);
+        boolean[] entry = SignalEvaluator.evaluate(spec.getEntryConditions(), operands, length);
+        boolean[] exit = SignalEvaluator.evaluate(spec.getExitConditions(), operands, length);
+        double[] close = series.close();
+        long[] timestamps = series.timestamps();
+
+        double cash = initialCapital;
+        long shares = 0;
+        double entryCost = 0;
+        int totalTrades = 0;
+        int profitableTrades = 0;
+        int losingTrades = 0;
+
+        double peak = initialCapital;
+        double maxDrawdown = 0;
+
+        long[] dayTimestamps = new long[Math.max(16, length / 64)];
+        double[] dayValues = new double[dayTimestamps.length];
+        int days = 0;
+        long currentDay = Long.MIN_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            double price = close[i];
+            boolean last = i == length - 1;
+
+            if (shares == 0 && entry[i] && !last) {
+                long quantity = (long) (cash / (price * (1 + COMMISSION_RATE)));
+                if (quantity > 0) {
+                    double cost = quantity * price;
+                    double fee = cost * COMMISSION_RATE;
+                    cash -= cost + fee;
+                    shares = quantity;
+                    entryCost = cost + fee;
+                }
+            } else if (shares > 0 && (exit[i] || last)) {
+                double proceeds = shares * price;
+                double net = proceeds - proceeds * COMMISSION_RATE;
+                cash += net;
+                shares = 0;
+                totalTrades++;
+                if (net > entryCost) {
+                    profitableTrades++;
+                } else {
+                    losingTrades++;
+                }
+            }
+
+            double equity = cash + shares * price;
+            if (equity > peak) {
+                peak = equity;
+            } else if (peak > 0) {
+                double drawdown = (equity - peak) / peak;
+                if (drawdown < maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+
+            long day = Math.floorDiv(timestamps[i] + KST_OFFSET_MILLIS, DAY_MILLIS);
+            if (day != currentDay) {
+                if (days == dayTimestamps.length) {
+                    dayTimestamps = Arrays.copyOf(dayTimestamps, days * 2);
+                    dayValues = Arrays.copyOf(dayValues, days * 2);
+                }
+                currentDay = day;
+                days++;
+            }
+            dayTimestamps[days - 1] = timestamps[i];
+            dayValues[days - 1] = equity;
+        }
+
+        double finalValue = days == 0 ? initialCapital : dayValues[days - 1];
+        return new BacktestReport(initialCapital, finalValue, maxDrawdown * 100, sharpe(initialCapital, dayValues, days),
+                totalTrades, profitableTrades, losingTrades, dayTimestamps, dayValues, days);
+    }
+
+    //일간 수익률 기준 연환산 샤프 비율 (무위험 수익률 0)
+    private static double sharpe(double initialCapital, double[] dayValues, int days) {
+        if (days < 2) {
+            return 0;
+        }
+        double sum = 0;
+        double sumSquares = 0;
+        double previous = initialCapital;
+        for (int d = 0; d < days; d++) {
+            double dailyReturn = previous == 0 ? 0 : dayValues[d] / previous - 1;
+            sum += dailyReturn;
+            sumSquares += dailyReturn * dailyReturn;
+            previous = dayValues[d];
+        }
+        double mean = sum / days;
+        double variance = sumSquares / days - mean * mean;
+        if (variance <= 0) {
+            return 0;
+        }
+        return mean / Math.sqrt(variance) * Math.sqrt(TRADING_DAYS_PER_YEAR);
+    }
+}
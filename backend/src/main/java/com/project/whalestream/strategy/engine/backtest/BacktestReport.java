@@ -0,0 +1,84 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+//백테스트 결과 (비율 값들은 프론트 표기에 맞춰 % 단위)
+//일별 자산은 거래일마다 마지막 봉 기준 값 하나씩 -> 분봉으로 돌려도 응답 크기는 거래일 수만큼
+public final class BacktestReport {
+
+    private final double initialCapital;
+    private final double finalValue;
+    private final double maxDrawdownRate;
+    private final double sharpeRatio;
+    private final int totalTrades;
+    private final int profitableTrades;
+    private final int losingTrades;
+    private final long[] dayTimestamps;
+    private final double[] dayValues;
+    private final int days;
+
+    public BacktestReport(double initialCapital, double finalValue, double maxDrawdownRate, double sharpeRatio,
+                          int totalTrades, int profitableTrades, int losingTrades,
+                          long[] dayTimestamps, double[] dayValues, int days) {
+        this.initialCapital = initialCapital;
+        this.finalValue = finalValue;
+        this.maxDrawdownRate = maxDrawdownRate;
+        this.sharpeRatio = sharpeRatio;
+        this.totalTrades = totalTrades;
+        this.profitableTrades = profitableTrades;
+        this.losingTrades = losingTrades;
+        this.dayTimestamps = dayTimestamps;
+        this.dayValues = dayValues;
+        this.days = days;
+    }
+
+    public double getInitialCapital() {
+        return initialCapital;
+    }
+
+    public double getFinalValue() {
+        return finalValue;
+    }
+
+    public double getTotalReturn() {
+        return finalValue - initialCapital;
+    }
+
+    public double getTotalReturnRate() {
+        return initialCapital == 0 ? 0 : (finalValue - initialCapital) * 100 / initialCapital;
+    }
+
+    public double getMaxDrawdownRate() {
+        return maxDrawdownRate;
+    }
+
+    public double getSharpeRatio() {
+        return sharpeRatio;
+    }
+
+    public double getWinRate() {
+        return totalTrades == 0 ? 0 : profitableTrades * 100.0 / totalTrades;
+    }
+
+    public int getTotalTrades() {
+        return totalTrades;
+    }
+
+    public int getProfitableTrades() {
+        return profitableTrades;
+    }
+
+    public int getLosingTrades() {
+        return losingTrades;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public long getDayTimestamp(int day) {
+        return dayTimestamps[day];
+    }
+
+    public double getDayValue(int day) {
+        return dayValues[day];
+    }
+}
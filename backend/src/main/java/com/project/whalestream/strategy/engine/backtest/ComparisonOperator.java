@@ -0,0 +1,28 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+//프론트 Condition.operator
+public enum ComparisonOperator {
+    GT,
+    LT,
+    EQ,
+    GTE,
+    LTE;
+
+    //EQ 는 실수 비교라 아주 작은 오차는 같은 값으로 본다
+    private static final double EPSILON = 1e-9;
+
+    public boolean test(double left, double right) {
+        switch (this) {
+            case GT:
+                return left > right;
+            case LT:
+                return left < right;
+            case GTE:
+                return left >= right;
+            case LTE:
+                return left <= right;
+            default:
+                return Math.abs(left - right) <= EPSILON * Math.max(1, Math.abs(right));
+        }
+    }
+}
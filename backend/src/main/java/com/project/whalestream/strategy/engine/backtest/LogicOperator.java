@@ -0,0 +1,7 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+//프론트 Condition.logic (앞 조건과 어떻게 묶을지)
+public enum LogicOperator {
+    AND,
+    OR
+}
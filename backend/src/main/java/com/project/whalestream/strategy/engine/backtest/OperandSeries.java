@@ -0,0 +1,94 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import com.project.whalestream.strategy.engine.indicator.Indicators;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//조건식에서 이름으로 참조하는 시리즈들
+//  PRICE                                    종가
+//  RSI                                      period(14)
+//  MA                                       period(20)
+//  MACD, MACD_SIGNAL, MACD_HISTOGRAM        fastPeriod(12), slowPeriod(26), signalPeriod(9)
+//  BOLLINGER_BANDS(%B), BOLLINGER_UPPER,
+//  BOLLINGER_MIDDLE, BOLLINGER_LOWER        period(20), stdDev(2)
+//처음 참조될 때 한 번 계산해두고 같은 백테스트 안에서는 재사용한다
+final class OperandSeries {
+
+    private final PriceSeries series;
+    private final StrategySpec spec;
+    private final Map<String, double[]> computed = new HashMap<>();
+
+    OperandSeries(PriceSeries series, StrategySpec spec) {
+        this.series = series;
+        this.spec = spec;
+        computed.put("PRICE", series.close());
+    }
+
+    double[] get(String operand) {
+        String name = operand.toUpperCase();
+        double[] values = computed.get(name);
+        if (values != null) {
+            return values;
+        }
+        if (name.equals("RSI")) {
+            computeRsi();
+        } else if (name.equals("MA")) {
+            computeMa();
+        } else if (name.startsWith("MACD")) {
+            computeMacd();
+        } else if (name.startsWith("BOLLINGER")) {
+            computeBollinger();
+        }
+        values = computed.get(name);
+        if (values == null) {
+            throw new IllegalArgumentException("지원하지 않는 지표입니다: " + operand);
+        }
+        return values;
+    }
+
+    private void computeRsi() {
+        double[] out = new double[series.length()];
+        Indicators.rsi(series.close(), series.length(), spec.intParameter(IndicatorType.RSI, "period", 14), out);
+        computed.put("RSI", out);
+    }
+
+    private void computeMa() {
+        double[] out = new double[series.length()];
+        Indicators.sma(series.close(), series.length(), spec.intParameter(IndicatorType.MA, "period", 20), out);
+        computed.put("MA", out);
+    }
+
+    private void computeMacd() {
+        int length = series.length();
+        double[] macd = new double[length];
+        double[] signal = new double[length];
+        double[] histogram = new double[length];
+        Indicators.macd(series.close(), length,
+                spec.intParameter(IndicatorType.MACD, "fastPeriod", 12),
+                spec.intParameter(IndicatorType.MACD, "slowPeriod", 26),
+                spec.intParameter(IndicatorType.MACD, "signalPeriod", 9),
+                macd, signal, histogram);
+        computed.put("MACD", macd);
+        computed.put("MACD_SIGNAL", signal);
+        computed.put("MACD_HISTOGRAM", histogram);
+    }
+
+    private void computeBollinger() {
+        int length = series.length();
+        double[] middle = new double[length];
+        double[] upper = new double[length];
+        double[] lower = new double[length];
+        double[] percentB = new double[length];
+        Indicators.bollinger(series.close(), length,
+                spec.intParameter(IndicatorType.BOLLINGER_BANDS, "period", 20),
+                spec.parameter(IndicatorType.BOLLINGER_BANDS, "stdDev", 2),
+                middle, upper, lower, percentB);
+        computed.put("BOLLINGER_BANDS", percentB);
+        computed.put("BOLLINGER_UPPER", upper);
+        computed.put("BOLLINGER_MIDDLE", middle);
+        computed.put("BOLLINGER_LOWER", lower);
+    }
+}
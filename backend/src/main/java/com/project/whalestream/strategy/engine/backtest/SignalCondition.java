@@ -0,0 +1,34 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+//진입/청산 조건 하나: operand(지표 시리즈) operator value
+//or 가 true 면 앞 조건과 OR 로, 아니면 AND 로 묶인다 (첫 조건의 logic 은 무시)
+public final class SignalCondition {
+
+    private final String operand;
+    private final ComparisonOperator operator;
+    private final double value;
+    private final boolean or;
+
+    public SignalCondition(String operand, ComparisonOperator operator, double value, boolean or) {
+        this.operand = operand;
+        this.operator = operator;
+        this.value = value;
+        this.or = or;
+    }
+
+    public String getOperand() {
+        return operand;
+    }
+
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean isOr() {
+        return or;
+    }
+}
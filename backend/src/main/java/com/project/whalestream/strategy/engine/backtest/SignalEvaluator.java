@@ -0,0 +1,44 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+//조건 목록을 전체 봉에 대해 한꺼번에 평가해서 신호 배열을 만든다
+//AND 가 OR 보다 먼저 묶인다: a AND b OR c AND d == (a && b) || (c && d)
+final class SignalEvaluator {
+
+    private SignalEvaluator() {
+    }
+
+    static boolean[] evaluate(List<SignalCondition> conditions, OperandSeries operands, int length) {
+        boolean[] result = new boolean[length];
+        if (conditions.isEmpty()) {
+            return result;
+        }
+        boolean[] group = new boolean[length];
+        Arrays.fill(group, true);
+
+        for (int c = 0; c < conditions.size(); c++) {
+            SignalCondition condition = conditions.get(c);
+            if (c > 0 && condition.isOr()) {
+                or(result, group, length);
+                Arrays.fill(group, true);
+            }
+            double[] values = operands.get(condition.getOperand());
+            ComparisonOperator operator = condition.getOperator();
+            double threshold = condition.getValue();
+            for (int i = 0; i < length; i++) {
+                //NaN(워밍업 구간) 비교는 항상 false
+                group[i] = group[i] && operator.test(values[i], threshold);
+            }
+        }
+        or(result, group, length);
+        return result;
+    }
+
+    private static void or(boolean[] target, boolean[] source, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] |= source[i];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//백테스트 엔진이 받는 전략 정의 (지표 파라미터 + 진입/청산 조건)
+public final class StrategySpec {
+
+    private final Map<IndicatorType, Map<String, Double>> parameters;
+    private final List<SignalCondition> entryConditions;
+    private final List<SignalCondition> exitConditions;
+
+    public StrategySpec(Map<IndicatorType, Map<String, Double>> parameters,
+                        List<SignalCondition> entryConditions,
+                        List<SignalCondition> exitConditions) {
+        this.parameters = new EnumMap<>(IndicatorType.class);
+        this.parameters.putAll(parameters);
+        this.entryConditions = List.copyOf(entryConditions);
+        this.exitConditions = List.copyOf(exitConditions);
+    }
+
+    //파라미터가 없으면 기본값
+    public int intParameter(IndicatorType type, String name, int defaultValue) {
+        return (int) Math.round(parameter(type, name, defaultValue));
+    }
+
+    public double parameter(IndicatorType type, String name, double defaultValue) {
+        Map<String, Double> values = parameters.get(type);
+        if (values == null) {
+            return defaultValue;
+        }
+        Double value = values.get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    //파라미터 하나만 바꾼 새 정의 (파라미터 스윕용)
+    public StrategySpec withParameter(IndicatorType type, String name, double value) {
+        Map<IndicatorType, Map<String, Double>> next = new EnumMap<>(IndicatorType.class);
+        next.putAll(parameters);
+        Map<String, Double> values = new HashMap<>(next.getOrDefault(type, Map.of()));
+        values.put(name, value);
+        next.put(type, values);
+        return new StrategySpec(next, entryConditions, exitConditions);
+    }
+
+    //index 번째 진입(entry=true)/청산 조건의 기준값만 바꾼 새 정의
+    public StrategySpec withConditionValue(boolean entry, int index, double value) {
+        List<SignalCondition> conditions = new ArrayList<>(entry ? entryConditions : exitConditions);
+        if (index < 0 || index >= conditions.size()) {
+            throw new IllegalArgumentException("존재하지 않는 조건입니다: " + (entry ? "entry." : "exit.") + index);
+        }
+        SignalCondition old = conditions.get(index);
+        conditions.set(index, new SignalCondition(old.getOperand(), old.getOperator(), value, old.isOr()));
+        return entry
+                ? new StrategySpec(parameters, conditions, exitConditions)
+                : new StrategySpec(parameters, entryConditions, conditions);
+    }
+
+    public Map<IndicatorType, Map<String, Double>> getParameters() {
+        return parameters;
+    }
+
+    public List<SignalCondition> getEntryConditions() {
+        return entryConditions;
+    }
+
+    public List<SignalCondition> getExitConditions() {
+        return exitConditions;
+    }
+}
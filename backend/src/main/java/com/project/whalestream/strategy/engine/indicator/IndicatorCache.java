@@ -0,0 +1,94 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+//계산해둔 지표 시계열 캐시, 전체 추정 메모리가 maxBytes 를 넘으면 가장 오래 안 쓴 것부터 뺀다
+//차트 페이지가 겹치는 구간을 계속 다시 요청하므로 대부분 여기서 끝난다
+public final class IndicatorCache {
+
+    private final long maxBytes;
+    //접근 순서 LinkedHashMap = LRU
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public IndicatorCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized IndicatorSeries get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.series;
+    }
+
+    public synchronized void put(String key, IndicatorSeries series) {
+        long bytes = series.estimatedBytes();
+        Entry old = entries.put(key, new Entry(series, bytes));
+        if (old != null) {
+            totalBytes -= old.bytes;
+        }
+        totalBytes += bytes;
+        evict();
+    }
+
+    //시계열이 뒤로 늘어난 뒤 크기 다시 계산
+    public synchronized void resized(String key, IndicatorSeries series) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.series != series) {
+            return;
+        }
+        long bytes = series.estimatedBytes();
+        totalBytes += bytes - entry.bytes;
+        entry.bytes = bytes;
+        evict();
+    }
+
+    //방금 넣은 것 하나만 남았으면 그건 남겨둔다
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            totalBytes -= iterator.next().bytes;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final IndicatorSeries series;
+        private long bytes;
+
+        private Entry(IndicatorSeries series, long bytes) {
+            this.series = series;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+import java.util.Arrays;
+
+//(종목, 지표, 파라미터) 하나에 대해 계산해둔 시계열 + 마지막 롤링 상태
+//새 봉이 오면 앞부분을 다시 계산하지 않고 뒤에 이어 붙인다 (봉당 O(1))
+//coveredFrom 이전 구간이 필요해지면 롤링 상태로는 거꾸로 갈 수 없으니 새로 만든다
+public final class IndicatorSeries {
+
+    public interface PointConsumer {
+        void accept(long timestamp, double close, double value);
+    }
+
+    private final RollingIndicator indicator;
+    private final long coveredFrom;
+    private long loadedTo;
+
+    private long[] timestamps;
+    private double[] closes;
+    private double[] values;
+    private int length;
+
+    public IndicatorSeries(RollingIndicator indicator, long coveredFrom, int initialCapacity) {
+        this.indicator = indicator;
+        this.coveredFrom = coveredFrom;
+        this.loadedTo = coveredFrom;
+        int capacity = Math.max(initialCapacity, 16);
+        this.timestamps = new long[capacity];
+        this.closes = new double[capacity];
+        this.values = new double[capacity];
+    }
+
+    //이미 가진 봉(같거나 이전 시각)은 무시
+    public synchronized void append(long timestamp, double close) {
+        if (length > 0 && timestamp <= timestamps[length - 1]) {
+            return;
+        }
+        if (length == timestamps.length) {
+            int capacity = length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        timestamps[length] = timestamp;
+        closes[length] = close;
+        values[length] = indicator.next(close);
+        length++;
+    }
+
+    //[fromInclusive, toExclusive) 구간을 시간순으로
+    public synchronized void forEach(long fromInclusive, long toExclusive, PointConsumer consumer) {
+        for (int i = lowerBound(fromInclusive); i < length && timestamps[i] < toExclusive; i++) {
+            consumer.accept(timestamps[i], closes[i], values[i]);
+        }
+    }
+
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    //이 시각 전까지의 봉은 다 읽어둔 상태
+    public synchronized long getLoadedTo() {
+        return loadedTo;
+    }
+
+    public synchronized void setLoadedTo(long loadedTo) {
+        this.loadedTo = Math.max(this.loadedTo, loadedTo);
+    }
+
+    public synchronized int length() {
+        return length;
+    }
+
+    public synchronized long estimatedBytes() {
+        return 64 + 24L * timestamps.length + indicator.estimatedBytes();
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//프론트 Indicator.type
+public enum IndicatorType {
+    RSI,
+    MACD,
+    MA,
+    BOLLINGER_BANDS
+}
@@ -0,0 +1,162 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//기술적 지표 계산
+//전부 입력 배열을 앞에서부터 한 번만 훑으면서 결과 배열을 채운다 (박싱/중간 객체 없음)
+//값이 아직 정의되지 않는 앞부분(워밍업 구간)은 NaN -> 조건 비교에서 자연스럽게 false 가 된다
+public final class Indicators {
+
+    private Indicators() {
+    }
+
+    //단순 이동평균: 누적합에서 창 밖으로 나간 값을 빼는 방식
+    public static void sma(double[] in, int length, int period, double[] out) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += in[i];
+            if (i >= period) {
+                sum -= in[i - period];
+            }
+            out[i] = i >= period - 1 ? sum / period : Double.NaN;
+        }
+    }
+
+    //지수 이동평균: 첫 period 개의 단순평균으로 시작
+    public static void ema(double[] in, int length, int period, double[] out) {
+        double alpha = 2.0 / (period + 1);
+        double sum = 0;
+        double value = Double.NaN;
+        for (int i = 0; i < length; i++) {
+            if (i < period) {
+                sum += in[i];
+                if (i == period - 1) {
+                    value = sum / period;
+                }
+                out[i] = value;
+            } else {
+                value += alpha * (in[i] - value);
+                out[i] = value;
+            }
+        }
+    }
+
+    //RSI (Wilder 평활)
+    public static void rsi(double[] close, int length, int period, double[] out) {
+        double avgGain = 0;
+        double avgLoss = 0;
+        if (length > 0) {
+            out[0] = Double.NaN;
+        }
+        for (int i = 1; i < length; i++) {
+            double diff = close[i] - close[i - 1];
+            double gain = diff > 0 ? diff : 0;
+            double loss = diff < 0 ? -diff : 0;
+            if (i <= period) {
+                avgGain += gain;
+                avgLoss += loss;
+                if (i < period) {
+                    out[i] = Double.NaN;
+                    continue;
+                }
+                avgGain /= period;
+                avgLoss /= period;
+            } else {
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
+            }
+            out[i] = rsiOf(avgGain, avgLoss);
+        }
+    }
+
+    public static double rsiOf(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return avgGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + avgGain / avgLoss);
+    }
+
+    //MACD: 빠른/느린 EMA 와 시그널 EMA 를 한 번에
+    public static void macd(double[] close, int length, int fastPeriod, int slowPeriod, int signalPeriod,
+                            double[] macdOut, double[] signalOut, double[] histogramOut) {
+        double fastAlpha = 2.0 / (fastPeriod + 1);
+        double slowAlpha = 2.0 / (slowPeriod + 1);
+        double signalAlpha = 2.0 / (signalPeriod + 1);
+        double fastSum = 0;
+        double slowSum = 0;
+        double fast = Double.NaN;
+        double slow = Double.NaN;
+        double signalSum = 0;
+        double signal = Double.NaN;
+        int macdCount = 0;
+
+        for (int i = 0; i < length; i++) {
+            double price = close[i];
+            if (i < fastPeriod) {
+                fastSum += price;
+                if (i == fastPeriod - 1) {
+                    fast = fastSum / fastPeriod;
+                }
+            } else {
+                fast += fastAlpha * (price - fast);
+            }
+            if (i < slowPeriod) {
+                slowSum += price;
+                if (i == slowPeriod - 1) {
+                    slow = slowSum / slowPeriod;
+                }
+            } else {
+                slow += slowAlpha * (price - slow);
+            }
+
+            double macd = fast - slow;
+            macdOut[i] = macd;
+            if (Double.isNaN(macd)) {
+                signalOut[i] = Double.NaN;
+                histogramOut[i] = Double.NaN;
+                continue;
+            }
+            macdCount++;
+            if (macdCount <= signalPeriod) {
+                signalSum += macd;
+                if (macdCount == signalPeriod) {
+                    signal = signalSum / signalPeriod;
+                }
+            } else {
+                signal += signalAlpha * (macd - signal);
+            }
+            signalOut[i] = signal;
+            histogramOut[i] = macd - signal;
+        }
+    }
+
+    //볼린저 밴드: 창 안의 합/제곱합으로 표준편차 계산
+    //percentB = (종가 - 하단) / (상단 - 하단), 0 아래면 하단 이탈, 1 위면 상단 돌파
+    public static void bollinger(double[] close, int length, int period, double multiplier,
+                                 double[] middleOut, double[] upperOut, double[] lowerOut, double[] percentBOut) {
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 0; i < length; i++) {
+            double price = close[i];
+            sum += price;
+            sumSquares += price * price;
+            if (i >= period) {
+                double old = close[i - period];
+                sum -= old;
+                sumSquares -= old * old;
+            }
+            if (i < period - 1) {
+                middleOut[i] = Double.NaN;
+                upperOut[i] = Double.NaN;
+                lowerOut[i] = Double.NaN;
+                percentBOut[i] = Double.NaN;
+                continue;
+            }
+            double mean = sum / period;
+            double variance = Math.max(sumSquares / period - mean * mean, 0);
+            double band = multiplier * Math.sqrt(variance);
+            middleOut[i] = mean;
+            upperOut[i] = mean + band;
+            lowerOut[i] = mean - band;
+            percentBOut[i] = band == 0 ? 0.5 : (price - (mean - band)) / (2 * band);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//볼린저 밴드 %B, 창 안의 평균/분산은 Welford 방식으로 갱신
+//(합/제곱합 방식은 가격이 클 때 값이 빠지면서 자릿수가 날아간다)
+public final class RollingBollinger implements RollingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private final double[] window;
+    private int count;
+    private double mean;
+    private double m2;
+
+    public RollingBollinger(int period, double multiplier) {
+        this.period = period;
+        this.multiplier = multiplier;
+        this.window = new double[period];
+    }
+
+    @Override
+    public double next(double close) {
+        int slot = count % period;
+        if (count < period) {
+            int n = count + 1;
+            double delta = close - mean;
+            mean += delta / n;
+            m2 += delta * (close - mean);
+        } else {
+            //창에서 빠지는 값과 들어오는 값을 한 번에 교체
+            double old = window[slot];
+            double oldMean = mean;
+            mean += (close - old) / period;
+            m2 += (close - old) * (close - mean + old - oldMean);
+        }
+        window[slot] = close;
+        count++;
+        if (count < period) {
+            return Double.NaN;
+        }
+
+        double band = multiplier * Math.sqrt(Math.max(m2, 0) / period);
+        return band == 0 ? 0.5 : (close - (mean - band)) / (2 * band);
+    }
+
+    @Override
+    public int warmupBars() {
+        return period;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 56 + 8L * period;
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//종가를 하나씩 받아서 지표값을 O(1) 로 이어서 계산하는 상태
+//같은 입력이면 Indicators 의 배치 계산과 같은 값을 낸다 (워밍업 구간은 NaN)
+public interface RollingIndicator {
+
+    double next(double close);
+
+    //값이 안정될 때까지 앞에 더 읽어두면 좋은 봉 수
+    int warmupBars();
+
+    //배열 포함 대략적인 메모리 사용량 (캐시 크기 계산용)
+    long estimatedBytes();
+}
@@ -0,0 +1,44 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+import java.util.Map;
+
+//지표 종류 + 파라미터 -> 롤링 상태, 기본값은 백테스트 조건식(OperandSeries)과 같다
+//  RSI                period(14)
+//  MA                 period(20)
+//  MACD               fastPeriod(12), slowPeriod(26)   -> MACD 선
+//  BOLLINGER_BANDS    period(20), stdDev(2)            -> %B
+public final class RollingIndicators {
+
+    private RollingIndicators() {
+    }
+
+    public static RollingIndicator create(IndicatorType type, Map<String, Double> parameters) {
+        switch (type) {
+            case RSI:
+                return new RollingRsi(period(parameters, "period", 14));
+            case MA:
+                return new RollingSma(period(parameters, "period", 20));
+            case MACD:
+                return new RollingMacd(period(parameters, "fastPeriod", 12),
+                        period(parameters, "slowPeriod", 26));
+            case BOLLINGER_BANDS:
+                double stdDev = parameters.getOrDefault("stdDev", 2.0);
+                if (!(stdDev > 0)) {
+                    throw new IllegalArgumentException("stdDev 는 0보다 커야 합니다.");
+                }
+                return new RollingBollinger(period(parameters, "period", 20), stdDev);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 지표입니다: " + type);
+        }
+    }
+
+    private static int period(Map<String, Double> parameters, String name, int defaultValue) {
+        Double value = parameters.get(name);
+        int period = value == null ? defaultValue : (int) Math.round(value);
+        //너무 큰 기간은 원형 버퍼만 키운다
+        if (period < 1 || period > 1000) {
+            throw new IllegalArgumentException(name + " 은(는) 1~1000 사이여야 합니다.");
+        }
+        return period;
+    }
+}
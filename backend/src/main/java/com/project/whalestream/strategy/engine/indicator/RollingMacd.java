@@ -0,0 +1,56 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//MACD 선 (빠른 EMA - 느린 EMA)
+//EMA 는 첫 period 개의 단순평균으로 시작 (Indicators.macd 와 동일)
+public final class RollingMacd implements RollingIndicator {
+
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final double fastAlpha;
+    private final double slowAlpha;
+
+    private int count;
+    private double fastSum;
+    private double slowSum;
+    private double fast = Double.NaN;
+    private double slow = Double.NaN;
+
+    public RollingMacd(int fastPeriod, int slowPeriod) {
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+        this.fastAlpha = 2.0 / (fastPeriod + 1);
+        this.slowAlpha = 2.0 / (slowPeriod + 1);
+    }
+
+    @Override
+    public double next(double close) {
+        int i = count++;
+        if (i < fastPeriod) {
+            fastSum += close;
+            if (i == fastPeriod - 1) {
+                fast = fastSum / fastPeriod;
+            }
+        } else {
+            fast += fastAlpha * (close - fast);
+        }
+        if (i < slowPeriod) {
+            slowSum += close;
+            if (i == slowPeriod - 1) {
+                slow = slowSum / slowPeriod;
+            }
+        } else {
+            slow += slowAlpha * (close - slow);
+        }
+        return fast - slow;
+    }
+
+    @Override
+    public int warmupBars() {
+        return slowPeriod * 3;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 72;
+    }
+}
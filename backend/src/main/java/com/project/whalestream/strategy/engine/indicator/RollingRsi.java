@@ -0,0 +1,52 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//RSI (Wilder 평활): 직전 종가와 평균 상승/하락폭만 들고 있다
+public final class RollingRsi implements RollingIndicator {
+
+    private final int period;
+    private int count;
+    private double previous;
+    private double avgGain;
+    private double avgLoss;
+
+    public RollingRsi(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public double next(double close) {
+        int i = count++;
+        if (i == 0) {
+            previous = close;
+            return Double.NaN;
+        }
+        double diff = close - previous;
+        previous = close;
+        double gain = diff > 0 ? diff : 0;
+        double loss = diff < 0 ? -diff : 0;
+        if (i <= period) {
+            avgGain += gain;
+            avgLoss += loss;
+            if (i < period) {
+                return Double.NaN;
+            }
+            avgGain /= period;
+            avgLoss /= period;
+        } else {
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+        }
+        return Indicators.rsiOf(avgGain, avgLoss);
+    }
+
+    //Wilder 평활은 과거가 계속 남아서 기간의 몇 배를 더 읽어야 값이 수렴한다
+    @Override
+    public int warmupBars() {
+        return period * 4;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 56;
+    }
+}
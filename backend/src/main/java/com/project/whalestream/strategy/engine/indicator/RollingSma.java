@@ -0,0 +1,37 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+//단순 이동평균: 원형 버퍼 + 누적합
+public final class RollingSma implements RollingIndicator {
+
+    private final int period;
+    private final double[] window;
+    private int count;
+    private double sum;
+
+    public RollingSma(int period) {
+        this.period = period;
+        this.window = new double[period];
+    }
+
+    @Override
+    public double next(double close) {
+        int slot = count % period;
+        if (count >= period) {
+            sum -= window[slot];
+        }
+        window[slot] = close;
+        sum += close;
+        count++;
+        return count >= period ? sum / period : Double.NaN;
+    }
+
+    @Override
+    public int warmupBars() {
+        return period;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 48 + 8L * period;
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+import com.project.whalestream.strategy.engine.backtest.StrategySpec;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//파라미터 그리드 -> 조합 목록
+//키 형식
+//  "RSI.period", "MACD.fastPeriod" ...  지표 파라미터
+//  "entry.0", "exit.1"                  진입/청산 조건의 기준값 (0부터)
+public final class ParameterGrid {
+
+    private final Map<String, List<Double>> axes;
+
+    public ParameterGrid(Map<String, List<Double>> axes) {
+        this.axes = new LinkedHashMap<>(axes);
+        for (Map.Entry<String, List<Double>> axis : this.axes.entrySet()) {
+            if (axis.getValue() == null || axis.getValue().isEmpty()) {
+                throw new IllegalArgumentException("스윕 값이 비어 있습니다: " + axis.getKey());
+            }
+        }
+    }
+
+    public int size() {
+        int size = 1;
+        for (List<Double> values : axes.values()) {
+            size = Math.multiplyExact(size, values.size());
+        }
+        return size;
+    }
+
+    //모든 조합 (마지막 축이 가장 빨리 바뀜)
+    public List<Map<String, Double>> combinations() {
+        List<String> keys = new ArrayList<>(axes.keySet());
+        int[] cursor = new int[keys.size()];
+        List<Map<String, Double>> result = new ArrayList<>(size());
+        while (true) {
+            Map<String, Double> combination = new LinkedHashMap<>();
+            for (int k = 0; k < keys.size(); k++) {
+                combination.put(keys.get(k), axes.get(keys.get(k)).get(cursor[k]));
+            }
+            result.add(combination);
+
+            int k = keys.size() - 1;
+            while (k >= 0 && ++cursor[k] == axes.get(keys.get(k)).size()) {
+                cursor[k] = 0;
+                k--;
+            }
+            if (k < 0) {
+                return result;
+            }
+        }
+    }
+
+    //기본 전략 정의에 조합 하나를 적용
+    public static StrategySpec apply(StrategySpec base, Map<String, Double> combination) {
+        StrategySpec spec = base;
+        for (Map.Entry<String, Double> entry : combination.entrySet()) {
+            String key = entry.getKey();
+            int dot = key.indexOf('.');
+            if (dot <= 0 || dot == key.length() - 1) {
+                throw new IllegalArgumentException("스윕 키 형식이 올바르지 않습니다: " + key);
+            }
+            String head = key.substring(0, dot);
+            String tail = key.substring(dot + 1);
+            if (head.equalsIgnoreCase("entry") || head.equalsIgnoreCase("exit")) {
+                spec = spec.withConditionValue(head.equalsIgnoreCase("entry"), parseIndex(key, tail), entry.getValue());
+            } else {
+                spec = spec.withParameter(parseIndicator(key, head), tail, entry.getValue());
+            }
+        }
+        return spec;
+    }
+
+    private static int parseIndex(String key, String index) {
+        try {
+            return Integer.parseInt(index);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("스윕 키 형식이 올바르지 않습니다: " + key);
+        }
+    }
+
+    private static IndicatorType parseIndicator(String key, String name) {
+        try {
+            return IndicatorType.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 지표입니다: " + key);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.engine.backtest.BacktestEngine;
+import com.project.whalestream.strategy.engine.backtest.StrategySpec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+//(종목 x 파라미터 조합) 백테스트를 포크조인 풀에서 병렬로 돌린다
+//- 종목별 가격 시계열은 한 번만 읽어서 모든 실행이 같은 (불변) 배열을 공유
+//- BacktestEngine 은 상태가 없어서 워커끼리 잠글 것이 없다 -> 코어 수만큼 거의 그대로 빨라진다
+//- 실행 범위를 반씩 쪼개는 RecursiveAction 이라 먼저 끝난 워커가 남은 일을 훔쳐간다
+public class ParameterSweepRunner {
+
+    private final BacktestEngine backtestEngine;
+    private final ForkJoinPool pool;
+
+    public ParameterSweepRunner(BacktestEngine backtestEngine, int parallelism) {
+        this.backtestEngine = backtestEngine;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    //조합을 전부 전략 정의로 바꿔본 뒤(잘못된 키는 여기서 바로 예외) 비동기로 시작
+    public SweepJob start(String id, String ownerId, Map<String, PriceSeries> seriesByCode, StrategySpec base,
+                          List<Map<String, Double>> combinations, double initialCapital) {
+        List<StrategySpec> specs = new ArrayList<>(combinations.size());
+        for (Map<String, Double> combination : combinations) {
+            specs.add(ParameterGrid.apply(base, combination));
+        }
+        List<String> codes = new ArrayList<>(seriesByCode.keySet());
+        PriceSeries[] series = new PriceSeries[codes.size()];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = seriesByCode.get(codes.get(i));
+        }
+
+        SweepJob job = new SweepJob(id, ownerId, codes.size() * specs.size(), System.currentTimeMillis());
+        Sweep sweep = new Sweep(job, codes, series, combinations, specs, initialCapital);
+        pool.execute(new RootAction(sweep));
+        return job;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    public void shutdown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private final class Sweep {
+        private final SweepJob job;
+        private final List<String> codes;
+        private final PriceSeries[] series;
+        private final List<Map<String, Double>> combinations;
+        private final List<StrategySpec> specs;
+        private final double initialCapital;
+
+        private Sweep(SweepJob job, List<String> codes, PriceSeries[] series, List<Map<String, Double>> combinations,
+                      List<StrategySpec> specs, double initialCapital) {
+            this.job = job;
+            this.codes = codes;
+            this.series = series;
+            this.combinations = combinations;
+            this.specs = specs;
+            this.initialCapital = initialCapital;
+        }
+
+        //실행 번호 -> (조합, 종목), 같은 조합의 종목들이 붙어 있게
+        private void run(int index) {
+            if (job.isCancelRequested()) {
+                return;
+            }
+            int combination = index / codes.size();
+            int code = index % codes.size();
+            SweepResult result;
+            try {
+                result = SweepResult.success(index, codes.get(code), combinations.get(combination),
+                        backtestEngine.run(series[code], specs.get(combination), initialCapital));
+            } catch (RuntimeException e) {
+                result = SweepResult.failure(index, codes.get(code), combinations.get(combination), e.getMessage());
+            }
+            job.publish(result);
+        }
+    }
+
+    private final class RootAction extends RecursiveAction {
+        private final Sweep sweep;
+
+        private RootAction(Sweep sweep) {
+            this.sweep = sweep;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (sweep.job.getTotalRuns() > 0) {
+                    new RangeAction(sweep, 0, sweep.job.getTotalRuns()).invoke();
+                }
+            } finally {
+                sweep.job.finish(System.currentTimeMillis());
+            }
+        }
+    }
+
+    private final class RangeAction extends RecursiveAction {
+        private final Sweep sweep;
+        private final int from;
+        private final int to;
+
+        private RangeAction(Sweep sweep, int from, int to) {
+            this.sweep = sweep;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            //백테스트 한 건이 이미 충분히 무거워서 한 건 단위까지 쪼갠다
+            if (to - from == 1) {
+                sweep.run(from);
+                return;
+            }
+            if (sweep.job.isCancelRequested()) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(sweep, from, mid), new RangeAction(sweep, mid, to));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//실행 중인 파라미터 스윕 하나
+//결과는 끝나는 순서대로 쌓이고, 나중에 붙은 구독자에게는 쌓인 결과를 먼저 다시 보내준다
+public final class SweepJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED
+    }
+
+    private final String id;
+    private final String ownerId;
+    private final int totalRuns;
+    private final long createdAt;
+
+    private final AtomicInteger completedRuns = new AtomicInteger();
+    private final AtomicInteger failedRuns = new AtomicInteger();
+    private final List<SweepResult> results;
+    private SweepListener[] listeners = new SweepListener[0];
+
+    private volatile boolean cancelRequested;
+    private volatile Status status = Status.RUNNING;
+    private volatile long finishedAt;
+
+    SweepJob(String id, String ownerId, int totalRuns, long createdAt) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.totalRuns = totalRuns;
+        this.createdAt = createdAt;
+        this.results = new ArrayList<>(totalRuns);
+    }
+
+    //지금까지 쌓인 결과를 먼저 받고, 이후 결과는 끝나는 대로 받는다
+    public void subscribe(SweepListener listener) {
+        List<SweepResult> replay;
+        boolean finished;
+        synchronized (this) {
+            replay = new ArrayList<>(results);
+            finished = status != Status.RUNNING;
+            if (!finished) {
+                listeners = Arrays.copyOf(listeners, listeners.length + 1);
+                listeners[listeners.length - 1] = listener;
+            }
+        }
+        for (SweepResult result : replay) {
+            listener.onResult(this, result);
+        }
+        if (finished) {
+            listener.onFinish(this);
+        }
+    }
+
+    public synchronized void unsubscribe(SweepListener listener) {
+        List<SweepListener> next = new ArrayList<>(Arrays.asList(listeners));
+        next.remove(listener);
+        listeners = next.toArray(new SweepListener[0]);
+    }
+
+    //아직 시작 안 한 실행은 건너뛰고, 이미 돌고 있는 실행은 끝까지 간다
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void publish(SweepResult result) {
+        SweepListener[] targets;
+        synchronized (this) {
+            results.add(result);
+            targets = listeners;
+        }
+        completedRuns.incrementAndGet();
+        if (!result.isSuccess()) {
+            failedRuns.incrementAndGet();
+        }
+        for (SweepListener listener : targets) {
+            listener.onResult(this, result);
+        }
+    }
+
+    void finish(long now) {
+        SweepListener[] targets;
+        synchronized (this) {
+            finishedAt = now;
+            status = cancelRequested && completedRuns.get() < totalRuns ? Status.CANCELLED : Status.COMPLETED;
+            targets = listeners;
+            listeners = new SweepListener[0];
+        }
+        for (SweepListener listener : targets) {
+            listener.onFinish(this);
+        }
+    }
+
+    public synchronized List<SweepResult> getResults() {
+        return new ArrayList<>(results);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public int getTotalRuns() {
+        return totalRuns;
+    }
+
+    public int getCompletedRuns() {
+        return completedRuns.get();
+    }
+
+    public int getFailedRuns() {
+        return failedRuns.get();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    //아직 안 끝났으면 0
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+}
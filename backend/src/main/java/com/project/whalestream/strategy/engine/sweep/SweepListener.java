@@ -0,0 +1,11 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+//스윕 진행 상황을 받는 쪽 (SSE 등)
+//포크조인 워커 스레드에서 바로 호출되므로 오래 막히면 안 된다
+public interface SweepListener {
+
+    void onResult(SweepJob job, SweepResult result);
+
+    //전부 끝났거나 취소되었을 때 한 번
+    void onFinish(SweepJob job);
+}
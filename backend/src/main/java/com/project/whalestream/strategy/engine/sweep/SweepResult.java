@@ -0,0 +1,57 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+import com.project.whalestream.strategy.engine.backtest.BacktestReport;
+
+import java.util.Map;
+
+//스윕 실행 한 건(종목 x 파라미터 조합)의 요약 결과
+//일별 곡선은 들고 있지 않는다 -> 조합이 수천 개여도 메모리가 작게 유지됨
+public final class SweepResult {
+
+    private final int index;
+    private final String stockCode;
+    private final Map<String, Double> parameters;
+    private final BacktestReport report;
+    private final String error;
+
+    private SweepResult(int index, String stockCode, Map<String, Double> parameters, BacktestReport report, String error) {
+        this.index = index;
+        this.stockCode = stockCode;
+        this.parameters = parameters;
+        this.report = report;
+        this.error = error;
+    }
+
+    static SweepResult success(int index, String stockCode, Map<String, Double> parameters, BacktestReport report) {
+        return new SweepResult(index, stockCode, parameters, report, null);
+    }
+
+    static SweepResult failure(int index, String stockCode, Map<String, Double> parameters, String error) {
+        return new SweepResult(index, stockCode, parameters, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public Map<String, Double> getParameters() {
+        return parameters;
+    }
+
+    //실패한 실행이면 null
+    public BacktestReport getReport() {
+        return report;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
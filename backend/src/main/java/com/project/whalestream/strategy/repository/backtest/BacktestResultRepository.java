@@ -0,0 +1,9 @@
+package com.project.whalestream.strategy.repository.backtest;
+
+import com.project.whalestream.strategy.domain.backtest.BacktestResult;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BacktestResultRepository extends MongoRepository<BacktestResult, String> {
+}
@@ -0,0 +1,13 @@
+package com.project.whalestream.strategy.repository.strategy;
+
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StrategyRepository extends MongoRepository<Strategy, String> {
+
+    List<Strategy> findByUserId(String userId);
+}
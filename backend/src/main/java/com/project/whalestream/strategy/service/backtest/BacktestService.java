@@ -0,0 +1,106 @@
+package com.project.whalestream.strategy.service.backtest;
+
+import com.project.whalestream.common.util.KstDates;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.engine.history.PriceHistoryLoader;
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.strategy.domain.backtest.BacktestResult;
+import com.project.whalestream.strategy.domain.backtest.DailyReturn;
+import com.project.whalestream.strategy.domain.backtest.EquityPoint;
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import com.project.whalestream.strategy.dto.backtest.BacktestRequestDto;
+import com.project.whalestream.strategy.dto.backtest.BacktestResultDto;
+import com.project.whalestream.strategy.engine.backtest.BacktestEngine;
+import com.project.whalestream.strategy.engine.backtest.BacktestReport;
+import com.project.whalestream.strategy.repository.backtest.BacktestResultRepository;
+import com.project.whalestream.strategy.service.strategy.StrategyServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BacktestService implements BacktestServiceInterface {
+
+    private final StrategyServiceInterface strategyService;
+    private final PriceHistoryLoader priceHistoryLoader;
+    private final BacktestEngine backtestEngine;
+    private final BacktestResultRepository backtestResultRepository;
+    private final QuoteStore quoteStore;
+
+    @Override
+    public BacktestResultDto runBacktest(BacktestRequestDto backtestRequestDto) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (backtestRequestDto.getInitialCapital() <= 0) {
+            throw new IllegalArgumentException("초기 자본은 0보다 커야 합니다.");
+        }
+        Strategy strategy = strategyService.getMyStrategy(backtestRequestDto.getStrategyId());
+
+        PriceSeries series = priceHistoryLoader.load(
+                backtestRequestDto.getStockCode(),
+                KstDates.startOfDay(backtestRequestDto.getStartDate()),
+                KstDates.endOfDayExclusive(backtestRequestDto.getEndDate()));
+        if (series.length() == 0) {
+            throw new IllegalArgumentException("해당 기간의 가격 데이터가 없습니다.");
+        }
+
+        BacktestReport report = backtestEngine.run(series, strategy.toSpec(), backtestRequestDto.getInitialCapital());
+        BacktestResult result = toResult(userId, strategy, backtestRequestDto, report);
+        return BacktestResultDto.from(backtestResultRepository.save(result));
+    }
+
+    @Override
+    public BacktestResultDto getBacktestResult(String resultId) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        BacktestResult result = backtestResultRepository.findById(resultId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 백테스트 결과입니다."));
+        if (!userId.equals(result.getUserId())) {
+            throw new IllegalArgumentException("존재하지 않는 백테스트 결과입니다.");
+        }
+        return BacktestResultDto.from(result);
+    }
+
+    private BacktestResult toResult(String userId, Strategy strategy, BacktestRequestDto request, BacktestReport report) {
+        BacktestResult result = new BacktestResult();
+        result.setUserId(userId);
+        result.setStrategyId(strategy.getId());
+        result.setStrategyName(strategy.getName());
+        result.setStockCode(request.getStockCode());
+        result.setStockName(stockNameOf(request.getStockCode()));
+        result.setStartDate(request.getStartDate());
+        result.setEndDate(request.getEndDate());
+        result.setInitialCapital(report.getInitialCapital());
+        result.setFinalValue(report.getFinalValue());
+        result.setTotalReturn(report.getTotalReturn());
+        result.setTotalReturnRate(report.getTotalReturnRate());
+        result.setMaxDrawdown(report.getMaxDrawdownRate());
+        result.setSharpeRatio(report.getSharpeRatio());
+        result.setWinRate(report.getWinRate());
+        result.setTotalTrades(report.getTotalTrades());
+        result.setProfitableTrades(report.getProfitableTrades());
+        result.setLosingTrades(report.getLosingTrades());
+
+        List<DailyReturn> dailyReturns = new ArrayList<>(report.getDays());
+        List<EquityPoint> equityCurve = new ArrayList<>(report.getDays());
+        double previous = report.getInitialCapital();
+        for (int day = 0; day < report.getDays(); day++) {
+            String date = KstDates.dateOf(report.getDayTimestamp(day));
+            double value = report.getDayValue(day);
+            dailyReturns.add(new DailyReturn(date, value / previous - 1, value / report.getInitialCapital() - 1, value));
+            equityCurve.add(new EquityPoint(date, value));
+            previous = value;
+        }
+        result.setDailyReturns(dailyReturns);
+        result.setEquityCurve(equityCurve);
+        return result;
+    }
+
+    private String stockNameOf(String stockCode) {
+        Quote quote = quoteStore.get(stockCode);
+        return quote != null && quote.getStockName() != null ? quote.getStockName() : stockCode;
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.whalestream.strategy.service.backtest;
+
+import com.project.whalestream.strategy.dto.backtest.BacktestRequestDto;
+import com.project.whalestream.strategy.dto.backtest.BacktestResultDto;
+
+public interface BacktestServiceInterface {
+    BacktestResultDto runBacktest(BacktestRequestDto backtestRequestDto);
+    BacktestResultDto getBacktestResult(String resultId);
+}
@@ -0,0 +1,124 @@
+package com.project.whalestream.strategy.service.indicator;
+
+import com.project.whalestream.common.util.KstDates;
+import com.project.whalestream.market.engine.history.PriceHistoryLoader;
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.dto.indicator.IndicatorDataDto;
+import com.project.whalestream.strategy.engine.indicator.IndicatorCache;
+import com.project.whalestream.strategy.engine.indicator.IndicatorSeries;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import com.project.whalestream.strategy.engine.indicator.RollingIndicator;
+import com.project.whalestream.strategy.engine.indicator.RollingIndicators;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+//지표 차트 데이터
+//(종목, 지표, 파라미터) 별로 계산해둔 시계열을 캐시에 두고, 뒤쪽에 새 봉이 생기면 그 봉만 이어서 계산한다
+@Service
+@RequiredArgsConstructor
+public class IndicatorService implements IndicatorServiceInterface {
+
+    //워밍업 봉 수 -> 달력 기간 (주말/휴장일 감안해서 봉 하나당 2일)
+    private static final long WARMUP_MILLIS_PER_BAR = 2L * 24 * 60 * 60 * 1000;
+
+    private final PriceHistoryLoader priceHistoryLoader;
+    private final IndicatorCache indicatorCache;
+
+    @Override
+    public List<IndicatorDataDto> getIndicatorData(String stockCode, String type, String startDate, String endDate,
+                                                   Map<String, String> parameters) {
+        IndicatorType indicatorType = parseType(type);
+        Map<String, Double> values = parseParameters(parameters);
+        long from = KstDates.startOfDay(startDate);
+        long to = KstDates.endOfDayExclusive(endDate);
+        if (from >= to) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+
+        String key = stockCode + "|" + indicatorType + "|" + values;
+        IndicatorSeries series = indicatorCache.get(key);
+        if (series == null || from < series.getCoveredFrom()) {
+            //롤링 상태는 뒤로만 갈 수 있으니 앞쪽 구간이 더 필요하면 새로 계산
+            long loadTo = series == null ? to : Math.max(to, series.getLoadedTo());
+            series = build(stockCode, indicatorType, values, from, loadTo);
+            indicatorCache.put(key, series);
+        } else if (to > series.getLoadedTo()) {
+            extend(stockCode, series, to);
+            indicatorCache.resized(key, series);
+        }
+
+        List<IndicatorDataDto> result = new ArrayList<>();
+        series.forEach(from, to, (timestamp, close, value) -> {
+            //워밍업 구간(NaN)은 빼고 보낸다
+            if (!Double.isNaN(value)) {
+                result.add(new IndicatorDataDto(KstDates.dateOf(timestamp), close, value));
+            }
+        });
+        return result;
+    }
+
+    private IndicatorSeries build(String stockCode, IndicatorType type, Map<String, Double> values, long from, long to) {
+        RollingIndicator indicator = RollingIndicators.create(type, values);
+        PriceSeries bars = priceHistoryLoader.load(stockCode, from - indicator.warmupBars() * WARMUP_MILLIS_PER_BAR, to);
+        IndicatorSeries series = new IndicatorSeries(indicator, from, bars.length());
+        appendAll(series, bars);
+        series.setLoadedTo(loadedUntil(to));
+        return series;
+    }
+
+    //이미 읽은 구간 뒤의 봉만 읽어서 이어 붙인다
+    private void extend(String stockCode, IndicatorSeries series, long to) {
+        synchronized (series) {
+            long loadedTo = series.getLoadedTo();
+            if (to <= loadedTo) {
+                return;
+            }
+            appendAll(series, priceHistoryLoader.load(stockCode, loadedTo, to));
+            series.setLoadedTo(loadedUntil(to));
+        }
+    }
+
+    private void appendAll(IndicatorSeries series, PriceSeries bars) {
+        long[] timestamps = bars.timestamps();
+        double[] closes = bars.close();
+        for (int i = 0; i < bars.length(); i++) {
+            series.append(timestamps[i], closes[i]);
+        }
+    }
+
+    //오늘 봉은 아직 바뀔 수 있으니 다음 요청 때 다시 읽도록 오늘 0시까지만 다 읽은 것으로 친다
+    private long loadedUntil(long to) {
+        long today = KstDates.startOfDay(KstDates.dateOf(System.currentTimeMillis()));
+        return Math.min(to, today);
+    }
+
+    private IndicatorType parseType(String type) {
+        try {
+            return IndicatorType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("지원하지 않는 지표입니다: " + type);
+        }
+    }
+
+    //type/startDate/endDate 외의 쿼리 파라미터는 지표 파라미터 (period=14 ...), 키 정렬해서 캐시 키로 쓴다
+    private Map<String, Double> parseParameters(Map<String, String> parameters) {
+        Map<String, Double> values = new TreeMap<>();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            String name = entry.getKey();
+            if (name.equals("type") || name.equals("startDate") || name.equals("endDate")) {
+                continue;
+            }
+            try {
+                values.put(name, Double.parseDouble(entry.getValue()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("지표 파라미터는 숫자여야 합니다: " + name);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.whalestream.strategy.service.indicator;
+
+import com.project.whalestream.strategy.dto.indicator.IndicatorDataDto;
+
+import java.util.List;
+import java.util.Map;
+
+public interface IndicatorServiceInterface {
+    List<IndicatorDataDto> getIndicatorData(String stockCode, String type, String startDate, String endDate,
+                                            Map<String, String> parameters);
+}
@@ -0,0 +1,85 @@
+package com.project.whalestream.strategy.service.strategy;
+
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import com.project.whalestream.strategy.dto.strategy.StrategyRequestDto;
+import com.project.whalestream.strategy.dto.strategy.StrategyResponseDto;
+import com.project.whalestream.strategy.repository.strategy.StrategyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StrategyService implements StrategyServiceInterface {
+
+    private final StrategyRepository strategyRepository;
+
+    @Override
+    public List<StrategyResponseDto> getStrategies() {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<StrategyResponseDto> result = new ArrayList<>();
+        for (Strategy strategy : strategyRepository.findByUserId(userId)) {
+            result.add(StrategyResponseDto.from(strategy));
+        }
+        return result;
+    }
+
+    @Override
+    public StrategyResponseDto createStrategy(StrategyRequestDto strategyRequestDto) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (strategyRequestDto.getName() == null || strategyRequestDto.getName().isBlank()) {
+            throw new IllegalArgumentException("전략 이름은 필수입니다.");
+        }
+        Strategy strategy = new Strategy();
+        strategy.setUserId(userId);
+        strategy.setCreatedAt(Instant.now());
+        apply(strategy, strategyRequestDto);
+        return StrategyResponseDto.from(strategyRepository.save(strategy));
+    }
+
+    @Override
+    public StrategyResponseDto updateStrategy(String strategyId, StrategyRequestDto strategyRequestDto) {
+        Strategy strategy = getMyStrategy(strategyId);
+        apply(strategy, strategyRequestDto);
+        return StrategyResponseDto.from(strategyRepository.save(strategy));
+    }
+
+    @Override
+    public void deleteStrategy(String strategyId) {
+        strategyRepository.delete(getMyStrategy(strategyId));
+    }
+
+    @Override
+    public Strategy getMyStrategy(String strategyId) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Strategy strategy = strategyRepository.findById(strategyId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 전략입니다."));
+        if (!userId.equals(strategy.getUserId())) {
+            throw new IllegalArgumentException("존재하지 않는 전략입니다.");
+        }
+        return strategy;
+    }
+
+    private void apply(Strategy strategy, StrategyRequestDto dto) {
+        if (dto.getName() != null) {
+            strategy.setName(dto.getName());
+        }
+        if (dto.getDescription() != null) {
+            strategy.setDescription(dto.getDescription());
+        }
+        if (dto.getIndicators() != null) {
+            strategy.setIndicators(dto.getIndicators());
+        }
+        if (dto.getEntryConditions() != null) {
+            strategy.setEntryConditions(dto.getEntryConditions());
+        }
+        if (dto.getExitConditions() != null) {
+            strategy.setExitConditions(dto.getExitConditions());
+        }
+        strategy.setUpdatedAt(Instant.now());
+    }
+}
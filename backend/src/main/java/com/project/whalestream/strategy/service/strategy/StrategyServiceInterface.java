@@ -0,0 +1,16 @@
+package com.project.whalestream.strategy.service.strategy;
+
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import com.project.whalestream.strategy.dto.strategy.StrategyRequestDto;
+import com.project.whalestream.strategy.dto.strategy.StrategyResponseDto;
+
+import java.util.List;
+
+public interface StrategyServiceInterface {
+    List<StrategyResponseDto> getStrategies();
+    StrategyResponseDto createStrategy(StrategyRequestDto strategyRequestDto);
+    StrategyResponseDto updateStrategy(String strategyId, StrategyRequestDto strategyRequestDto);
+    void deleteStrategy(String strategyId);
+    //로그인한 유저 소유의 전략 (없거나 남의 것이면 예외)
+    Strategy getMyStrategy(String strategyId);
+}
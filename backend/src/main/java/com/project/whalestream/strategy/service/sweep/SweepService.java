@@ -0,0 +1,160 @@
+package com.project.whalestream.strategy.service.sweep;
+
+import com.project.whalestream.common.util.KstDates;
+import com.project.whalestream.market.engine.history.PriceHistoryLoader;
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.domain.strategy.Strategy;
+import com.project.whalestream.strategy.dto.sweep.SweepRequestDto;
+import com.project.whalestream.strategy.dto.sweep.SweepResultDto;
+import com.project.whalestream.strategy.dto.sweep.SweepStatusDto;
+import com.project.whalestream.strategy.engine.sweep.ParameterGrid;
+import com.project.whalestream.strategy.engine.sweep.ParameterSweepRunner;
+import com.project.whalestream.strategy.engine.sweep.SweepJob;
+import com.project.whalestream.strategy.engine.sweep.SweepListener;
+import com.project.whalestream.strategy.engine.sweep.SweepResult;
+import com.project.whalestream.strategy.service.strategy.StrategyServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+//파라미터 스윕 (여러 종목 x 파라미터 조합 백테스트를 한 번에)
+//스윕 결과는 요약만 메모리에 두고, 끝난 스윕은 일정 시간 뒤 정리한다
+@Service
+public class SweepService implements SweepServiceInterface {
+
+    private final StrategyServiceInterface strategyService;
+    private final PriceHistoryLoader priceHistoryLoader;
+    private final ParameterSweepRunner sweepRunner;
+    private final int maxRuns;
+    private final long retentionMillis;
+
+    private final Map<String, SweepJob> sweeps = new ConcurrentHashMap<>();
+
+    public SweepService(StrategyServiceInterface strategyService,
+                        PriceHistoryLoader priceHistoryLoader,
+                        ParameterSweepRunner sweepRunner,
+                        @Value("${whalestream.backtest.sweep.max-runs:5000}") int maxRuns,
+                        @Value("${whalestream.backtest.sweep.retention-minutes:30}") long retentionMinutes) {
+        this.strategyService = strategyService;
+        this.priceHistoryLoader = priceHistoryLoader;
+        this.sweepRunner = sweepRunner;
+        this.maxRuns = maxRuns;
+        this.retentionMillis = retentionMinutes * 60_000L;
+    }
+
+    @Override
+    public SweepStatusDto startSweep(SweepRequestDto sweepRequestDto) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (sweepRequestDto.getInitialCapital() <= 0) {
+            throw new IllegalArgumentException("초기 자본은 0보다 커야 합니다.");
+        }
+        if (sweepRequestDto.getStockCodes() == null || sweepRequestDto.getStockCodes().isEmpty()) {
+            throw new IllegalArgumentException("종목코드를 하나 이상 입력해주세요.");
+        }
+        purgeFinished();
+        for (SweepJob job : sweeps.values()) {
+            //풀을 혼자 다 차지하지 않게 유저당 동시에 하나만
+            if (job.getOwnerId().equals(userId) && !job.isFinished()) {
+                throw new IllegalArgumentException("이미 실행 중인 스윕이 있습니다.");
+            }
+        }
+
+        Strategy strategy = strategyService.getMyStrategy(sweepRequestDto.getStrategyId());
+        ParameterGrid grid = new ParameterGrid(
+                sweepRequestDto.getParameterGrid() == null ? Map.of() : sweepRequestDto.getParameterGrid());
+        List<String> stockCodes = List.copyOf(new LinkedHashSet<>(sweepRequestDto.getStockCodes()));
+        long runs = (long) grid.size() * stockCodes.size();
+        if (runs > maxRuns) {
+            throw new IllegalArgumentException("스윕 실행 수가 너무 많습니다. (최대 " + maxRuns + "개)");
+        }
+
+        //종목별 시계열은 한 번만 읽고 모든 조합이 같이 쓴다
+        long from = KstDates.startOfDay(sweepRequestDto.getStartDate());
+        long to = KstDates.endOfDayExclusive(sweepRequestDto.getEndDate());
+        Map<String, PriceSeries> seriesByCode = new LinkedHashMap<>();
+        for (String stockCode : stockCodes) {
+            PriceSeries series = priceHistoryLoader.load(stockCode, from, to);
+            if (series.length() == 0) {
+                throw new IllegalArgumentException("해당 기간의 가격 데이터가 없습니다: " + stockCode);
+            }
+            seriesByCode.put(stockCode, series);
+        }
+
+        SweepJob job = sweepRunner.start(UUID.randomUUID().toString(), userId, seriesByCode, strategy.toSpec(),
+                grid.combinations(), sweepRequestDto.getInitialCapital());
+        sweeps.put(job.getId(), job);
+        return SweepStatusDto.from(job, false);
+    }
+
+    @Override
+    public SweepStatusDto getSweep(String sweepId) {
+        return SweepStatusDto.from(findMySweep(sweepId), true);
+    }
+
+    //끝난 결과부터 하나씩 "result" 이벤트로 보내고, 다 끝나면 "done" 이벤트 후 닫는다
+    @Override
+    public SseEmitter streamSweep(String sweepId) {
+        SweepJob job = findMySweep(sweepId);
+        SseEmitter emitter = new SseEmitter(0L);
+        SweepListener listener = new SweepListener() {
+            @Override
+            public void onResult(SweepJob job, SweepResult result) {
+                try {
+                    emitter.send(SseEmitter.event().name("result").data(SweepResultDto.from(result)));
+                } catch (IOException | IllegalStateException e) {
+                    //클라이언트가 끊긴 경우 -> 스윕은 계속 돈다
+                    job.unsubscribe(this);
+                }
+            }
+
+            @Override
+            public void onFinish(SweepJob job) {
+                try {
+                    emitter.send(SseEmitter.event().name("done").data(SweepStatusDto.from(job, false)));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        emitter.onCompletion(() -> job.unsubscribe(listener));
+        emitter.onTimeout(() -> job.unsubscribe(listener));
+        job.subscribe(listener);
+        return emitter;
+    }
+
+    @Override
+    public void cancelSweep(String sweepId) {
+        findMySweep(sweepId).cancel();
+    }
+
+    private SweepJob findMySweep(String sweepId) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SweepJob job = sweeps.get(sweepId);
+        if (job == null || !job.getOwnerId().equals(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 스윕입니다.");
+        }
+        return job;
+    }
+
+    private void purgeFinished() {
+        long now = System.currentTimeMillis();
+        Iterator<SweepJob> iterator = sweeps.values().iterator();
+        while (iterator.hasNext()) {
+            SweepJob job = iterator.next();
+            if (job.isFinished() && now - job.getFinishedAt() > retentionMillis) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.whalestream.strategy.service.sweep;
+
+import com.project.whalestream.strategy.dto.sweep.SweepRequestDto;
+import com.project.whalestream.strategy.dto.sweep.SweepStatusDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SweepServiceInterface {
+    SweepStatusDto startSweep(SweepRequestDto sweepRequestDto);
+    SweepStatusDto getSweep(String sweepId);
+    SseEmitter streamSweep(String sweepId);
+    void cancelSweep(String sweepId);
+}
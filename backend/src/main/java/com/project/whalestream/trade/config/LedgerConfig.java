@@ -0,0 +1,75 @@
+package com.project.whalestream.trade.config;
+
+import com.project.whalestream.trade.engine.ledger.PortfolioLedger;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+//체결 원장 (포트폴리오/체결 내역의 원본)
+@Slf4j
+@Configuration
+public class LedgerConfig {
+
+    @Value("${whalestream.ledger.directory:./data/ledger}")
+    private String directory;
+
+    @Value("${whalestream.ledger.segment-mb:64}")
+    private long segmentMegabytes;
+
+    @Value("${whalestream.ledger.snapshot-interval-ms:60000}")
+    private long snapshotIntervalMillis;
+
+    @Value("${whalestream.ledger.max-trades-per-user:1000}")
+    private int maxTrades;
+
+    //archive 로 옮긴 세그먼트를 남겨두는 일수 (0 이면 지우지 않는다)
+    @Value("${whalestream.ledger.archive-retention-days:365}")
+    private long archiveRetentionDays;
+
+    @Value("${whalestream.ledger.fsync:false}")
+    private boolean fsync;
+
+    @Value("${whalestream.portfolio.initial-capital:10000000}")
+    private long initialCapital;
+
+    @Bean(destroyMethod = "shutdown")
+    public PortfolioLedger portfolioLedger(MatchingEngine matchingEngine) throws IOException {
+        PortfolioLedger portfolioLedger = new PortfolioLedger(Paths.get(directory), segmentMegabytes * 1024 * 1024,
+                initialCapital, maxTrades, snapshotIntervalMillis, fsync, TimeUnit.DAYS.toMillis(archiveRetentionDays));
+        long started = System.currentTimeMillis();
+        long replayed = portfolioLedger.recover();
+        log.info("[Ledger] 계좌 {}개 복원, 저널 {}건 재생 ({}ms)",
+                portfolioLedger.getAccountCount(), replayed, System.currentTimeMillis() - started);
+        portfolioLedger.start();
+        matchingEngine.addFillListener(portfolioLedger);
+        return portfolioLedger;
+    }
+
+    @Bean
+    public MeterBinder ledgerMetrics(PortfolioLedger portfolioLedger) {
+        return registry -> {
+            Gauge.builder("whalestream.ledger.accounts", portfolioLedger, PortfolioLedger::getAccountCount).register(registry);
+            Gauge.builder("whalestream.ledger.pending", portfolioLedger, PortfolioLedger::getPendingCount).register(registry);
+            Gauge.builder("whalestream.ledger.failing", portfolioLedger, ledger -> ledger.isFailing() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+
+    //저널 기록이 실패하고 있으면 DOWN (체결은 대기열에 쌓인 채 다시 쓰는 중)
+    @Bean
+    public HealthIndicator ledgerHealthIndicator(PortfolioLedger portfolioLedger) {
+        return () -> portfolioLedger.isFailing()
+                ? Health.down().withDetail("pending", portfolioLedger.getPendingCount()).build()
+                : Health.up().build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.whalestream.trade.config;
+
+import com.project.whalestream.common.metrics.LatencyTimers;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.engine.hub.MarketDataHub;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MatchingEngineConfig {
+
+    //종목들을 나눠 맡을 매칭 스레드 수
+    @Value("${whalestream.matching.shards:4}")
+    private int shards;
+
+    //샤드별 대기열 크기, 넘치면 주문 거절
+    @Value("${whalestream.matching.queue-capacity:65536}")
+    private int queueCapacity;
+
+    //시장가는 현재가에서 이만큼(bp) 벗어난 호가까지만 먹는다 (사전 리스크가 묶어두는 금액과 같은 기준)
+    @Value("${whalestream.risk.market-buy-collar-bps:500}")
+    private long marketCollarBps;
+
+    @Bean(destroyMethod = "shutdown")
+    public MatchingEngine matchingEngine(MeterRegistry meterRegistry, MarketDataHub marketDataHub, QuoteStore quoteStore) {
+        //호가창으로 못 채운 시장가 잔량은 현재가로 체결
+        MatchingEngine matchingEngine = new MatchingEngine(shards, queueCapacity, LatencyTimers.register(meterRegistry,
+                "whalestream.order.fill", "주문 접수 -> 즉시 체결 시간 (샤드 대기열 + 매칭)"), stockCode -> {
+            Quote quote = quoteStore.get(stockCode);
+            return quote == null ? 0 : quote.getCurrentPrice();
+        }, marketCollarBps);
+        matchingEngine.start();
+        //시세가 지정가에 닿으면 호가창에 걸린 주문을 체결
+        marketDataHub.addListener(tick -> matchingEngine.onMarketTrade(tick.getStockCode(), tick.getPrice(), tick.getVolume()));
+        return matchingEngine;
+    }
+
+    @Bean
+    public MeterBinder matchingMetrics(MatchingEngine matchingEngine) {
+        return registry -> {
+            for (int i = 0; i < matchingEngine.getShardCount(); i++) {
+                int shard = i;
+                Gauge.builder("whalestream.matching.queue", matchingEngine, engine -> engine.getQueueSize(shard))
+                        .tags(Tags.of("shard", String.valueOf(shard)))
+                        .register(registry);
+            }
+            FunctionCounter.builder("whalestream.matching.ticks.dropped", matchingEngine, MatchingEngine::getDroppedTickCount).register(registry);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.whalestream.trade.config;
+
+import com.project.whalestream.common.metrics.LatencyTimers;
+import com.project.whalestream.trade.engine.journal.OrderJournal;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+//주문 저널 (복구/압축 후 시작은 OrderService 가 한다)
+@Configuration
+public class OrderJournalConfig {
+
+    @Value("${whalestream.order-journal.directory:./data/orders}")
+    private String directory;
+
+    @Value("${whalestream.order-journal.segment-mb:64}")
+    private int segmentMegabytes;
+
+    @Value("${whalestream.order-journal.group-commit-window-us:200}")
+    private long groupCommitWindowMicros;
+
+    @Value("${whalestream.order-journal.max-batch:4096}")
+    private int maxBatch;
+
+    @Value("${whalestream.order-journal.fsync:true}")
+    private boolean fsync;
+
+    @Bean(destroyMethod = "shutdown")
+    public OrderJournal orderJournal(MatchingEngine matchingEngine, MeterRegistry meterRegistry) throws IOException {
+        OrderJournal orderJournal = new OrderJournal(Paths.get(directory), segmentMegabytes * 1024 * 1024,
+                groupCommitWindowMicros, maxBatch, fsync,
+                LatencyTimers.register(meterRegistry, "whalestream.order.journal.commit", "주문 저널 접수부터 디스크 반영까지"));
+        matchingEngine.addFillListener(orderJournal);
+        return orderJournal;
+    }
+
+    @Bean
+    public MeterBinder orderJournalMetrics(OrderJournal orderJournal) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.order.journal.records", orderJournal, OrderJournal::getRecordCount).register(registry);
+            FunctionCounter.builder("whalestream.order.journal.batches", orderJournal, OrderJournal::getBatchCount).register(registry);
+            FunctionCounter.builder("whalestream.order.journal.failures", orderJournal, OrderJournal::getFailureCount).register(registry);
+            Gauge.builder("whalestream.order.journal.pending", orderJournal, OrderJournal::getPendingCount).register(registry);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.whalestream.trade.config;
+
+import com.project.whalestream.common.metrics.LatencyTimers;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.trade.engine.ledger.PortfolioLedger;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import com.project.whalestream.trade.engine.risk.RiskEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//주문 접수 전 잔고/보유 수량 검사
+@Configuration
+public class RiskConfig {
+
+    //유저 락 스트라이프 수 (2의 거듭제곱으로 올림)
+    @Value("${whalestream.risk.stripes:256}")
+    private int stripes;
+
+    //시장가 매수는 현재가에 이만큼(bp) 얹은 금액을 묶어둔다
+    @Value("${whalestream.risk.market-buy-collar-bps:500}")
+    private long marketBuyCollarBps;
+
+    @Value("${whalestream.portfolio.initial-capital:10000000}")
+    private long initialCapital;
+
+    @Bean
+    public RiskEngine riskEngine(PortfolioLedger portfolioLedger, QuoteStore quoteStore, MatchingEngine matchingEngine,
+                                 MeterRegistry meterRegistry) {
+        RiskEngine riskEngine = new RiskEngine(stripes, initialCapital, portfolioLedger::view, stockCode -> {
+            Quote quote = quoteStore.get(stockCode);
+            return quote == null ? 0 : quote.getCurrentPrice();
+        }, marketBuyCollarBps, LatencyTimers.register(meterRegistry, "whalestream.order.risk", "주문 사전 리스크 검사 시간"));
+        matchingEngine.addFillListener(riskEngine);
+        return riskEngine;
+    }
+
+    @Bean
+    public MeterBinder riskMetrics(RiskEngine riskEngine) {
+        return registry -> {
+            FunctionCounter.builder("whalestream.order.risk.accepted", riskEngine, RiskEngine::getAcceptedCount).register(registry);
+            FunctionCounter.builder("whalestream.order.risk.rejected", riskEngine, RiskEngine::getRejectedCount).register(registry);
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.whalestream.trade.controller.order;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.trade.dto.order.OrderRequestDto;
+import com.project.whalestream.trade.dto.order.OrderResponseDto;
+import com.project.whalestream.trade.service.order.OrderServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private final OrderServiceInterface orderService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<OrderResponseDto>> createOrder(@RequestBody OrderRequestDto orderRequestDto) {
+        return ResponseEntity.ok(ApiResponse.of(orderService.createOrder(orderRequestDto)));
+    }
+
+    //최근 주문부터 limit 개, 다음 페이지는 before = 받은 마지막 주문 id
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<OrderResponseDto>>> getOrders(@RequestParam(required = false) Long before,
+                                                                        @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.of(orderService.getOrders(before, limit)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders.ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderService.exportOrders());
+    }
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<Void> cancelOrder(@PathVariable String orderId) {
+        orderService.cancelOrder(orderId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.whalestream.trade.controller.portfolio;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.trade.dto.portfolio.PortfolioResponseDto;
+import com.project.whalestream.trade.service.portfolio.PortfolioServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/portfolio")
+public class PortfolioController {
+
+    private final PortfolioServiceInterface portfolioService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<PortfolioResponseDto>> getPortfolio() {
+        return ResponseEntity.ok(ApiResponse.of(portfolioService.getPortfolio()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.whalestream.trade.controller.trade;
+
+import com.project.whalestream.common.dto.ApiResponse;
+import com.project.whalestream.trade.dto.trade.TradeResponseDto;
+import com.project.whalestream.trade.service.portfolio.PortfolioServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/trades")
+public class TradeController {
+
+    private final PortfolioServiceInterface portfolioService;
+
+    //최근 체결부터 limit 개, 다음 페이지는 before = 받은 마지막 체결 id
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<TradeResponseDto>>> getTrades(@RequestParam(required = false) Long before,
+                                                                        @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.of(portfolioService.getTrades(before, limit)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTrades() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=trades.ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(portfolioService.exportTrades());
+    }
+}
@@ -0,0 +1,143 @@
+package com.project.whalestream.trade.domain.order;
+
+//주문 한 건의 상태
+//요청 정보는 불변이고, 체결 관련 필드는 해당 종목을 맡은 매칭 스레드 하나만 수정한다 (조회 스레드는 volatile 로 읽기만)
+public class Order {
+
+    private final long id;
+    private final String userId;
+    private final String stockCode;
+    private final String stockName;
+    private final OrderType orderType;
+    private final OrderMethod orderMethod;
+    private final long quantity;
+    //시장가 주문은 0
+    private final long price;
+    private final long createdAt;
+
+    private volatile OrderStatus status = OrderStatus.PENDING;
+    private volatile long filledQuantity;
+    //체결 금액 합계 -> 평균 체결가 계산용
+    private volatile long filledAmount;
+    private volatile long updatedAt;
+
+    //매칭 엔진 전용: 호가창 안에서 이 주문이 들어있는 슬롯 번호 (-1 이면 호가창에 없음)
+    private int bookSlot = -1;
+
+    public Order(long id, String userId, String stockCode, String stockName,
+                 OrderType orderType, OrderMethod orderMethod, long quantity, long price, long createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.orderType = orderType;
+        this.orderMethod = orderMethod;
+        this.quantity = quantity;
+        this.price = price;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public void fill(long fillQuantity, long fillPrice, long now) {
+        long filled = filledQuantity + fillQuantity;
+        filledAmount += fillQuantity * fillPrice;
+        filledQuantity = filled;
+        updatedAt = now;
+        status = filled >= quantity ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FILLED;
+    }
+
+    //저널 복구용: 압축된 (또는 원장과 맞춘) 체결 합계를 그대로 되살린다
+    public void restore(long filledQuantity, long filledAmount, long updatedAt) {
+        this.filledAmount = filledAmount;
+        this.filledQuantity = filledQuantity;
+        this.updatedAt = updatedAt;
+        if (filledQuantity >= quantity) {
+            this.status = OrderStatus.FILLED;
+        } else {
+            this.status = filledQuantity > 0 ? OrderStatus.PARTIALLY_FILLED : OrderStatus.PENDING;
+        }
+    }
+
+    public void cancel(long now) {
+        updatedAt = now;
+        status = OrderStatus.CANCELLED;
+    }
+
+    public boolean isBuy() {
+        return orderType == OrderType.BUY;
+    }
+
+    public boolean isLimit() {
+        return orderMethod == OrderMethod.LIMIT;
+    }
+
+    public long getRemainingQuantity() {
+        return quantity - filledQuantity;
+    }
+
+    //체결된 게 없으면 null
+    public Double getFilledPrice() {
+        long filled = filledQuantity;
+        return filled == 0 ? null : (double) filledAmount / filled;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getStockName() {
+        return stockName;
+    }
+
+    public OrderType getOrderType() {
+        return orderType;
+    }
+
+    public OrderMethod getOrderMethod() {
+        return orderMethod;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getFilledQuantity() {
+        return filledQuantity;
+    }
+
+    public long getFilledAmount() {
+        return filledAmount;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public int getBookSlot() {
+        return bookSlot;
+    }
+
+    public void setBookSlot(int bookSlot) {
+        this.bookSlot = bookSlot;
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.whalestream.trade.domain.order;
+
+//시장가 / 지정가
+public enum OrderMethod {
+    MARKET,
+    LIMIT
+}
@@ -0,0 +1,12 @@
+package com.project.whalestream.trade.domain.order;
+
+public enum OrderStatus {
+    PENDING,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == FILLED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.whalestream.trade.domain.order;
+
+//매수 / 매도
+public enum OrderType {
+    BUY,
+    SELL
+}
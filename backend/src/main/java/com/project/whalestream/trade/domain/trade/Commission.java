@@ -0,0 +1,15 @@
+package com.project.whalestream.trade.domain.trade;
+
+//모의투자 매매 수수료 (매수/매도 모두 체결금액의 0.015%, 원 미만 버림)
+public final class Commission {
+
+    public static final double RATE = 0.00015;
+
+    private Commission() {
+    }
+
+    //double 로 곱하면 700000 * 0.00015 = 104.999... 처럼 1원씩 빠지므로 정수로 계산
+    public static long of(long amount) {
+        return amount * 15 / 100_000;
+    }
+}
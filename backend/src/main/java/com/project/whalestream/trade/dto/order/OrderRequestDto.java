@@ -0,0 +1,17 @@
+package com.project.whalestream.trade.dto.order;
+
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+import lombok.Data;
+
+//주문 요청 DTO (프론트 OrderRequest)
+@Data
+public class OrderRequestDto {
+    private String stockCode;
+    private String stockName;
+    private OrderType orderType;
+    private OrderMethod orderMethod;
+    private long quantity;
+    //지정가 주문일 때만 필요
+    private Long price;
+}
@@ -0,0 +1,47 @@
+package com.project.whalestream.trade.dto.order;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderStatus;
+import com.project.whalestream.trade.domain.order.OrderType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+//주문 응답 DTO (프론트 Order)
+@Getter
+@AllArgsConstructor
+public class OrderResponseDto {
+    private String id;
+    private String userId;
+    private String stockCode;
+    private String stockName;
+    private OrderType orderType;
+    private OrderMethod orderMethod;
+    private long quantity;
+    private long price;
+    private OrderStatus status;
+    private long filledQuantity;
+    private Double filledPrice;
+    private String createdAt;
+    private String updatedAt;
+
+    public static OrderResponseDto from(Order order) {
+        return new OrderResponseDto(
+                String.valueOf(order.getId()),
+                order.getUserId(),
+                order.getStockCode(),
+                order.getStockName(),
+                order.getOrderType(),
+                order.getOrderMethod(),
+                order.getQuantity(),
+                order.getPrice(),
+                order.getStatus(),
+                order.getFilledQuantity(),
+                order.getFilledPrice(),
+                Instant.ofEpochMilli(order.getCreatedAt()).toString(),
+                Instant.ofEpochMilli(order.getUpdatedAt()).toString()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.whalestream.trade.dto.portfolio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//보유 종목 DTO (프론트 Holding), 평가 관련 값은 조회 시점 현재가 기준
+@Getter
+@AllArgsConstructor
+public class HoldingDto {
+    private String stockCode;
+    private String stockName;
+    private long quantity;
+    private double averagePrice;
+    private long currentPrice;
+    private double marketValue;
+    private double profitLoss;
+    private double returnRate;
+}
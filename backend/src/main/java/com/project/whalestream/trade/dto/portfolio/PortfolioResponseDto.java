@@ -0,0 +1,18 @@
+package com.project.whalestream.trade.dto.portfolio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+//포트폴리오 DTO (프론트 Portfolio)
+@Getter
+@AllArgsConstructor
+public class PortfolioResponseDto {
+    private String id;
+    private String userId;
+    private long cashBalance;
+    private double totalValue;
+    private double returnRate;
+    private List<HoldingDto> holdings;
+}
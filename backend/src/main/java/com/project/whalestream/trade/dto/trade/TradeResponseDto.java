@@ -0,0 +1,42 @@
+package com.project.whalestream.trade.dto.trade;
+
+import com.project.whalestream.trade.domain.order.OrderType;
+import com.project.whalestream.trade.engine.ledger.LedgerEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+//체결 내역 DTO (프론트 Trade)
+@Getter
+@AllArgsConstructor
+public class TradeResponseDto {
+    private String id;
+    private String orderId;
+    private String stockCode;
+    private String stockName;
+    private OrderType orderType;
+    private long quantity;
+    private long price;
+    private long totalAmount;
+    private long commission;
+    //실제 현금 증감 (매수는 음수)
+    private long netAmount;
+    private String executedAt;
+
+    public static TradeResponseDto from(LedgerEvent event) {
+        return new TradeResponseDto(
+                String.valueOf(event.getSequence()),
+                String.valueOf(event.getOrderId()),
+                event.getStockCode(),
+                event.getStockName(),
+                event.isBuy() ? OrderType.BUY : OrderType.SELL,
+                event.getQuantity(),
+                event.getPrice(),
+                event.getPrice() * event.getQuantity(),
+                event.getCommission(),
+                event.getCashDelta(),
+                Instant.ofEpochMilli(event.getTimestamp()).toString()
+        );
+    }
+}
@@ -0,0 +1,401 @@
+package com.project.whalestream.trade.engine.journal;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.engine.matching.FillListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+//주문 접수/체결/취소를 덧붙이기만 하는 저널 (재기동 시 열린 주문 복구용)
+//- 세그먼트 파일을 미리 segmentBytes 만큼 매핑해두고 ({directory}/orders-{00000000000000000001}.log) 넘치면 다음 번호로 넘어간다
+//- 레코드 = [길이 int][CRC32 int][OrderRecord], 길이 0 이면 세그먼트 끝
+//- 그룹 커밋: 저널 스레드 하나가 대기열을 모아서 한꺼번에 쓰고 fsync 는 묶음마다 한 번
+//  첫 기록이 들어온 뒤 최대 windowNanos 동안 더 모은다 -> 동시에 들어온 주문들이 fsync 한 번을 나눠 쓴다
+//- 기동 시 열린 주문만 새 세그먼트에 다시 쓰고 옛 세그먼트는 지운다 (저널이 끝없이 자라지 않게)
+//  끝난 주문이 빠져도 번호가 겹치지 않게 그때까지 나간 가장 큰 주문 id 를 맨 앞에 남긴다
+//잔고/보유 수량의 원본은 PortfolioLedger 다 (여기는 주문 상태만)
+@Slf4j
+public class OrderJournal implements FillListener {
+
+    private static final String PREFIX = "orders-";
+    private static final String EXTENSION = ".log";
+    private static final int RECORD_HEADER = 8;
+    //묶음 윈도 안에서 새 기록을 기다릴 때 한 번에 쉬는 시간
+    private static final long PARK_NANOS = 20_000;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final boolean fsync;
+    private final LatencyRecorder commitLatency;
+
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    //저널 스레드 전용 (start 전에는 호출 스레드)
+    private final CRC32 crc = new CRC32();
+    private long segmentIndex;
+    //복구/기록한 가장 큰 주문 id
+    private long maxOrderId;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    //아직 force 하지 않은 구간의 시작
+    private int dirtyFrom;
+
+    public OrderJournal(Path directory, int segmentBytes, long windowMicros, int maxBatch, boolean fsync,
+                        LatencyRecorder commitLatency) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        this.fsync = fsync;
+        this.commitLatency = commitLatency;
+        this.thread = new Thread(this::run, "order-journal");
+        this.thread.setDaemon(true);
+        Files.createDirectories(directory);
+    }
+
+    //저널을 처음부터 다시 읽어서 주문 상태를 되살린다 (start 전에 호출, 접수 기록 순)
+    //마지막 세그먼트 끝의 깨진 레코드(쓰다 죽은 것, 응답도 안 나간 것)는 지운다
+    public Collection<Order> recover() throws IOException {
+        Map<Long, Order> orders = new LinkedHashMap<>();
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            replaySegment(segments.get(i), i == segments.size() - 1, orders);
+        }
+        if (!segments.isEmpty()) {
+            segmentIndex = indexOf(segments.get(segments.size() - 1));
+        }
+        return orders.values();
+    }
+
+    private void replaySegment(Path segment, boolean tail, Map<Long, Order> orders) throws IOException {
+        int position = 0;
+        int size;
+        try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            if (readChannel.size() > Integer.MAX_VALUE) {
+                throw new IOException("주문 저널 세그먼트가 2GB 를 넘었습니다: " + segment);
+            }
+            size = (int) readChannel.size();
+            ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            while (position + RECORD_HEADER <= size) {
+                int length = buffer.getInt(position);
+                if (length == 0) {
+                    return;
+                }
+                if (length < 0 || position + RECORD_HEADER + length > size) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(position + RECORD_HEADER, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+                maxOrderId = Math.max(maxOrderId, OrderRecord.apply(payload, orders));
+                position += RECORD_HEADER + length;
+            }
+        }
+        if (position + RECORD_HEADER > size) {
+            return;
+        }
+        if (!tail) {
+            throw new IOException("주문 저널 세그먼트가 손상되었습니다: " + segment);
+        }
+        //헤더를 0 으로 덮어두면 다음에는 여기서 깨끗하게 끝난다
+        try (FileChannel writeChannel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            writeChannel.write(ByteBuffer.allocate(RECORD_HEADER), position);
+            writeChannel.force(false);
+        }
+        log.warn("[OrderJournal] {} 의 {} 바이트 이후 깨진 레코드를 버렸습니다.", segment.getFileName(), position);
+    }
+
+    //열린 주문만 새 세그먼트에 다시 쓰고 옛 세그먼트를 지운 뒤 저널 스레드를 띄운다
+    //새 세그먼트를 다 내린 다음에 지우므로 도중에 죽어도 다음 기동에 옛 것 + 새 것을 순서대로 읽으면 된다
+    public void start(Collection<Order> openOrders) throws IOException {
+        List<Path> previous = segments();
+        roll();
+        for (Order order : openOrders) {
+            maxOrderId = Math.max(maxOrderId, order.getId());
+        }
+        write(OrderRecord.sequence(maxOrderId, System.currentTimeMillis()));
+        for (Order order : openOrders) {
+            write(OrderRecord.accept(order));
+        }
+        force();
+        for (Path segment : previous) {
+            Files.deleteIfExists(segment);
+        }
+        thread.start();
+    }
+
+    //접수: 반환된 future 가 끝나면 디스크에 있다 (fsync 를 끈 경우 OS 캐시까지)
+    public CompletableFuture<Void> accepted(Order order) {
+        return append(OrderRecord.accept(order));
+    }
+
+    public CompletableFuture<Void> cancelled(Order order) {
+        return append(OrderRecord.cancel(order.getId(), order.getUpdatedAt()));
+    }
+
+    //매칭 스레드에서 호출 -> 대기열에 넣기만 하고 기다리지 않는다
+    //여기 체결 기록은 원장과 따로 남으므로 죽으면 둘이 어긋날 수 있다 -> 복구할 때 OrderService 가 원장 기준으로 맞춘다
+    @Override
+    public void onFill(Order taker, Order maker, long price, long quantity) {
+        long now = System.currentTimeMillis();
+        append(OrderRecord.fill(taker.getId(), price, quantity, now));
+        //시장과 체결된 주문은 상대편이 없다
+        if (maker != null) {
+            append(OrderRecord.fill(maker.getId(), price, quantity, now));
+        }
+    }
+
+    private CompletableFuture<Void> append(byte[] payload) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(closed());
+            return future;
+        }
+        Pending entry = new Pending(payload, future, System.nanoTime());
+        pending.offer(entry);
+        //running 을 본 뒤 넣기 전에 닫혔으면 저널 스레드가 못 보고 끝났을 수 있다 -> 아직 남아 있으면 직접 거절
+        if (!running && pending.remove(entry)) {
+            future.completeExceptionally(closed());
+        }
+        return future;
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("주문 저널이 닫혔습니다.");
+    }
+
+    //재기동 전에 나간 번호까지 포함한 가장 큰 주문 id (recover 뒤에 본다)
+    public long getMaxOrderId() {
+        return maxOrderId;
+    }
+
+    public long getRecordCount() {
+        return records.sum();
+    }
+
+    //fsync 횟수와 같다
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                //인터럽트를 쓰면 FileChannel 이 닫혀버리므로 짧게 기다리면서 running 을 본다
+                Pending first = pending.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, first.enqueuedAt + windowNanos);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    //첫 기록 기준 deadline 까지 (또는 maxBatch 가 찰 때까지) 더 모은다
+    private void collect(List<Pending> batch, long deadline) {
+        pending.drainTo(batch, maxBatch - batch.size());
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            if (pending.drainTo(batch, maxBatch - batch.size()) == 0) {
+                LockSupport.parkNanos(Math.min(remaining, PARK_NANOS));
+            }
+        }
+    }
+
+    //한 번에 쓰는 구간이 세그먼트 두 개에 걸치지 않게 지금 세그먼트에 들어가는 만큼씩 나눠서 내린다
+    //-> 실패하면 그 구간만 지우면 된다 (넘어가기 전 세그먼트 끝에 응답 못 한 주문이 남지 않는다)
+    private void commit(List<Pending> batch) {
+        int from = 0;
+        while (from < batch.size()) {
+            from = commit(batch, from);
+        }
+    }
+
+    //batch[from..) 중 한 세그먼트에 들어가는 만큼 쓰고 다음 시작 위치를 돌려준다
+    private int commit(List<Pending> batch, int from) {
+        int to = from;
+        int start = -1;
+        try {
+            if (mapped.remaining() < RECORD_HEADER + batch.get(from).payload.length) {
+                roll();
+            }
+            start = mapped.position();
+            int room = mapped.remaining();
+            //세그먼트보다 큰 레코드도 하나는 넣어서 write 에서 실패하게 한다
+            do {
+                room -= RECORD_HEADER + batch.get(to).payload.length;
+                to++;
+            } while (to < batch.size() && room >= RECORD_HEADER + batch.get(to).payload.length);
+            for (int i = from; i < to; i++) {
+                write(batch.get(i).payload);
+            }
+            if (fsync) {
+                force();
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.error("[OrderJournal] 기록 실패, {}건을 거절합니다.", batch.size() - from, e);
+            //이번 구간을 지워서 응답 못 한 주문이 복구 때 살아나지 않게 한다
+            if (start >= 0 && mapped != null) {
+                erase(start);
+            }
+            IllegalStateException failure = new IllegalStateException("주문 기록에 실패했습니다.", e);
+            for (int i = from; i < batch.size(); i++) {
+                batch.get(i).future.completeExceptionally(failure);
+            }
+            return batch.size();
+        }
+        records.add(to - from);
+        batches.increment();
+        long now = System.nanoTime();
+        for (int i = from; i < to; i++) {
+            Pending entry = batch.get(i);
+            commitLatency.record(now - entry.enqueuedAt);
+            entry.future.complete(null);
+        }
+        return to;
+    }
+
+    private void write(byte[] payload) throws IOException {
+        int length = RECORD_HEADER + payload.length;
+        if (length > segmentBytes) {
+            throw new IOException("주문 저널 레코드가 세그먼트보다 큽니다: " + payload.length);
+        }
+        if (mapped.remaining() < length) {
+            roll();
+        }
+        int start = mapped.position();
+        crc.reset();
+        crc.update(payload);
+        mapped.position(start + RECORD_HEADER);
+        mapped.put(payload);
+        //길이를 마지막에 넣는다 -> 중간에 멈춘 레코드는 길이 0 (끝) 또는 CRC 불일치로 읽힌다
+        mapped.putInt(start + 4, (int) crc.getValue());
+        mapped.putInt(start, payload.length);
+    }
+
+    private void erase(int from) {
+        int end = mapped.position();
+        for (int i = from; i < end; i++) {
+            mapped.put(i, (byte) 0);
+        }
+        mapped.position(from);
+        dirtyFrom = Math.min(dirtyFrom, from);
+    }
+
+    private void force() {
+        int end = mapped.position();
+        if (end > dirtyFrom) {
+            mapped.force(dirtyFrom, end - dirtyFrom);
+            dirtyFrom = end;
+        }
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        segmentIndex++;
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, segmentIndex, EXTENSION));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        dirtyFrom = 0;
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+            channel = null;
+            mapped = null;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(EXTENSION);
+            }).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - EXTENSION.length()));
+    }
+
+    //저널 스레드가 끝나면 그 사이 들어와 못 쓴 기록은 거절한다 (기다리는 요청이 멈춰 있지 않게)
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        if (!thread.isAlive()) {
+            List<Pending> leftover = new ArrayList<>();
+            pending.drainTo(leftover);
+            leftover.forEach(entry -> entry.future.completeExceptionally(closed()));
+            closeSegment();
+        }
+    }
+
+    private static final class Pending {
+        private final byte[] payload;
+        private final CompletableFuture<Void> future;
+        private final long enqueuedAt;
+
+        private Pending(byte[] payload, CompletableFuture<Void> future, long enqueuedAt) {
+            this.payload = payload;
+            this.future = future;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
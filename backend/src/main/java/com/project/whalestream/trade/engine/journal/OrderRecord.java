@@ -0,0 +1,123 @@
+package com.project.whalestream.trade.engine.journal;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+//주문 저널 레코드 인코딩
+//- ACCEPT: 접수된 주문 전체 (압축할 때는 그때까지의 체결 수량/금액도 같이)
+//- FILL: 주문 하나의 체결 한 건
+//- CANCEL: 취소 (시장가 잔량 취소 포함)
+//- SEQUENCE: 압축할 때 그때까지 나간 가장 큰 주문 id (끝난 주문이 빠져도 번호를 다시 쓰지 않게)
+//enum 은 순서가 바뀌어도 옛 저널을 읽을 수 있게 ordinal 대신 고정 값으로 쓴다
+final class OrderRecord {
+
+    static final byte ACCEPT = 1;
+    static final byte FILL = 2;
+    static final byte CANCEL = 3;
+    static final byte SEQUENCE = 4;
+
+    private OrderRecord() {
+    }
+
+    static byte[] accept(Order order) {
+        byte[] userId = order.getUserId().getBytes(StandardCharsets.UTF_8);
+        byte[] stockCode = order.getStockCode().getBytes(StandardCharsets.UTF_8);
+        byte[] stockName = order.getStockName() == null ? new byte[0] : order.getStockName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 2 + userId.length + 2 + stockCode.length + 2 + stockName.length
+                + 1 + 1 + 8 + 8 + 8 + 8 + 8);
+        buffer.put(ACCEPT).putLong(order.getId()).putLong(order.getUpdatedAt());
+        putString(buffer, userId);
+        putString(buffer, stockCode);
+        putString(buffer, stockName);
+        buffer.put((byte) (order.isBuy() ? 0 : 1))
+                .put((byte) (order.isLimit() ? 0 : 1))
+                .putLong(order.getQuantity())
+                .putLong(order.getPrice())
+                .putLong(order.getCreatedAt())
+                .putLong(order.getFilledQuantity())
+                .putLong(order.getFilledAmount());
+        return buffer.array();
+    }
+
+    static byte[] fill(long orderId, long price, long quantity, long timestamp) {
+        return ByteBuffer.allocate(1 + 8 + 8 + 8 + 8)
+                .put(FILL).putLong(orderId).putLong(timestamp).putLong(quantity).putLong(price)
+                .array();
+    }
+
+    static byte[] cancel(long orderId, long timestamp) {
+        return ByteBuffer.allocate(1 + 8 + 8)
+                .put(CANCEL).putLong(orderId).putLong(timestamp)
+                .array();
+    }
+
+    static byte[] sequence(long maxOrderId, long timestamp) {
+        return ByteBuffer.allocate(1 + 8 + 8)
+                .put(SEQUENCE).putLong(maxOrderId).putLong(timestamp)
+                .array();
+    }
+
+    //레코드 하나를 주문 맵에 반영한다 (모르는 주문의 체결/취소는 무시)
+    //접수/SEQUENCE 레코드면 그 주문 id 를, 아니면 0 을 돌려준다 (번호 상한 복구용)
+    static long apply(ByteBuffer payload, Map<Long, Order> orders) {
+        byte type = payload.get();
+        long orderId = payload.getLong();
+        long timestamp = payload.getLong();
+        switch (type) {
+            case ACCEPT -> {
+                String userId = getString(payload);
+                String stockCode = getString(payload);
+                String stockName = getString(payload);
+                OrderType orderType = payload.get() == 0 ? OrderType.BUY : OrderType.SELL;
+                OrderMethod orderMethod = payload.get() == 0 ? OrderMethod.LIMIT : OrderMethod.MARKET;
+                long quantity = payload.getLong();
+                long price = payload.getLong();
+                long createdAt = payload.getLong();
+                long filledQuantity = payload.getLong();
+                long filledAmount = payload.getLong();
+                Order order = new Order(orderId, userId, stockCode, stockName, orderType, orderMethod, quantity, price, createdAt);
+                if (filledQuantity > 0) {
+                    order.restore(filledQuantity, filledAmount, timestamp);
+                }
+                //압축 도중 죽으면 같은 주문이 두 번 나온다 -> 뒤에 쓴 것(압축본)이 맞다
+                orders.put(orderId, order);
+                return orderId;
+            }
+            case FILL -> {
+                long quantity = payload.getLong();
+                long price = payload.getLong();
+                Order order = orders.get(orderId);
+                if (order != null) {
+                    order.fill(quantity, price, timestamp);
+                }
+            }
+            case CANCEL -> {
+                Order order = orders.get(orderId);
+                if (order != null) {
+                    order.cancel(timestamp);
+                }
+            }
+            case SEQUENCE -> {
+                return orderId;
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 주문 저널 레코드 종류: " + type);
+        }
+        return 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//원장 이벤트를 모아둔 유저 한 명의 상태
+//원장 스레드만 고치고, 조회 스레드는 같은 객체로 동기화해서 복사본을 가져간다
+final class Account {
+
+    private final String userId;
+    private final int maxTrades;
+    private long cash;
+    private long deposits;
+    private final Map<String, Position> positions = new LinkedHashMap<>();
+    //최근 체결 원형 버퍼 (오래된 것이 앞, 이벤트 번호 오름차순 -> 번호로 이진 탐색)
+    private LedgerEvent[] trades;
+    private int tradeStart;
+    private int tradeCount;
+
+    Account(String userId, int maxTrades) {
+        this.userId = userId;
+        this.maxTrades = maxTrades;
+        //꽉 찼을 때 배열 길이 == maxTrades 여야 원형으로 덮어쓸 수 있다
+        this.trades = new LedgerEvent[Math.max(1, Math.min(16, maxTrades))];
+    }
+
+    synchronized void apply(LedgerEvent event) {
+        cash += event.getCashDelta();
+        if (event.getType() == LedgerEvent.DEPOSIT) {
+            deposits += event.getPrice();
+            return;
+        }
+        long delta = event.isBuy() ? event.getQuantity() : -event.getQuantity();
+        Position position = positions.get(event.getStockCode());
+        if (position == null) {
+            position = new Position(event.getStockCode(), event.getStockName(), 0, 0);
+            positions.put(event.getStockCode(), position);
+        }
+        position.apply(delta, event.getPrice(), event.getStockName());
+        if (position.getQuantity() == 0) {
+            positions.remove(event.getStockCode());
+        }
+        addTrade(event);
+    }
+
+    //스냅샷 복원용
+    synchronized void restore(long cash, long deposits, List<Position> positions, List<LedgerEvent> trades) {
+        this.cash = cash;
+        this.deposits = deposits;
+        for (Position position : positions) {
+            this.positions.put(position.getStockCode(), position);
+        }
+        for (LedgerEvent trade : trades) {
+            addTrade(trade);
+        }
+    }
+
+    private void addTrade(LedgerEvent event) {
+        if (maxTrades <= 0) {
+            return;
+        }
+        if (tradeCount == maxTrades) {
+            //꽉 찼으면 가장 오래된 것 자리에 덮어쓴다
+            trades[tradeStart] = event;
+            tradeStart = (tradeStart + 1) % trades.length;
+            return;
+        }
+        if (tradeCount == trades.length) {
+            LedgerEvent[] grown = new LedgerEvent[Math.min(trades.length * 2, maxTrades)];
+            for (int i = 0; i < tradeCount; i++) {
+                grown[i] = trade(i);
+            }
+            trades = grown;
+            tradeStart = 0;
+        }
+        trades[(tradeStart + tradeCount) % trades.length] = event;
+        tradeCount++;
+    }
+
+    //오래된 것부터 i 번째
+    private LedgerEvent trade(int i) {
+        return trades[(tradeStart + i) % trades.length];
+    }
+
+    synchronized PortfolioView view() {
+        List<Position> copies = new ArrayList<>(positions.size());
+        for (Position position : positions.values()) {
+            copies.add(position.copy());
+        }
+        return new PortfolioView(userId, cash, deposits, copies);
+    }
+
+    //이벤트 번호가 beforeSequence 보다 작은 체결을 최근 것부터 limit 개 (커서 페이지, 처음은 Long.MAX_VALUE)
+    //번호로 이진 탐색해서 시작점을 찾으므로 앞 페이지를 건너뛰는 비용이 없다
+    synchronized List<LedgerEvent> tradesBefore(long beforeSequence, int limit) {
+        int low = 0;
+        int high = tradeCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (trade(mid).getSequence() < beforeSequence) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<LedgerEvent> result = new ArrayList<>(Math.min(limit, low));
+        for (int i = low - 1; i >= 0 && result.size() < limit; i--) {
+            result.add(trade(i));
+        }
+        return result;
+    }
+
+    //최근 체결 버퍼가 꽉 찼으면 그보다 오래된 체결이 더 있을 수 있다 (저널에서 찾는다)
+    synchronized boolean isTruncated() {
+        return tradeCount >= maxTrades;
+    }
+
+    //원장 스레드(스냅샷)에서만 호출 -> 동기화 없이 읽는다
+    String getUserId() {
+        return userId;
+    }
+
+    long getCash() {
+        return cash;
+    }
+
+    long getDeposits() {
+        return deposits;
+    }
+
+    Iterable<Position> getPositions() {
+        return positions.values();
+    }
+
+    int getPositionCount() {
+        return positions.size();
+    }
+
+    List<LedgerEvent> getTrades() {
+        return new AbstractList<>() {
+            @Override
+            public LedgerEvent get(int index) {
+                return trade(index);
+            }
+
+            @Override
+            public int size() {
+                return tradeCount;
+            }
+        };
+    }
+
+    int getTradeCount() {
+        return tradeCount;
+    }
+}
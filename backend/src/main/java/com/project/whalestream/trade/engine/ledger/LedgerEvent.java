@@ -0,0 +1,181 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+//원장에 쌓이는 이벤트 한 건 (불변)
+//- DEPOSIT: 입금 (price = 금액)
+//- FILL: 체결 (주문 한쪽 기준, 수수료 포함)
+public final class LedgerEvent {
+
+    public static final byte DEPOSIT = 1;
+    public static final byte FILL = 2;
+
+    //고정 길이 필드(번호, 종류, 시각, 주문 id, 매수 여부, 수량, 가격, 수수료) 뒤에 유저 id
+    private static final int USER_ID_OFFSET = 8 + 1 + 8 + 8 + 1 + 8 + 8 + 8;
+
+    private final long sequence;
+    private final byte type;
+    private final long timestamp;
+    private final String userId;
+    private final long orderId;
+    private final String stockCode;
+    private final String stockName;
+    private final boolean buy;
+    private final long quantity;
+    private final long price;
+    private final long commission;
+
+    private LedgerEvent(long sequence, byte type, long timestamp, String userId, long orderId, String stockCode,
+                        String stockName, boolean buy, long quantity, long price, long commission) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.userId = userId;
+        this.orderId = orderId;
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.buy = buy;
+        this.quantity = quantity;
+        this.price = price;
+        this.commission = commission;
+    }
+
+    public static LedgerEvent deposit(String userId, long amount, long timestamp) {
+        return new LedgerEvent(0, DEPOSIT, timestamp, userId, 0, "", "", false, 0, amount, 0);
+    }
+
+    public static LedgerEvent fill(String userId, long orderId, String stockCode, String stockName, boolean buy,
+                                   long quantity, long price, long commission, long timestamp) {
+        return new LedgerEvent(0, FILL, timestamp, userId, orderId, stockCode, stockName == null ? "" : stockName,
+                buy, quantity, price, commission);
+    }
+
+    //원장 스레드가 기록 직전에 번호를 붙인다
+    LedgerEvent withSequence(long sequence) {
+        return new LedgerEvent(sequence, type, timestamp, userId, orderId, stockCode, stockName, buy, quantity, price, commission);
+    }
+
+    //현금 증감 (매수면 체결금액 + 수수료 만큼 빠진다)
+    public long getCashDelta() {
+        if (type == DEPOSIT) {
+            return price;
+        }
+        long amount = price * quantity;
+        return buy ? -(amount + commission) : amount - commission;
+    }
+
+    int encodedLength() {
+        return USER_ID_OFFSET
+                + sizeOf(userId) + sizeOf(stockCode) + sizeOf(stockName);
+    }
+
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(sequence)
+                .put(type)
+                .putLong(timestamp)
+                .putLong(orderId)
+                .put((byte) (buy ? 1 : 0))
+                .putLong(quantity)
+                .putLong(price)
+                .putLong(commission);
+        putString(buffer, userId);
+        putString(buffer, stockCode);
+        putString(buffer, stockName);
+    }
+
+    static LedgerEvent decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        byte type = buffer.get();
+        if (type != DEPOSIT && type != FILL) {
+            throw new IllegalArgumentException("알 수 없는 원장 이벤트 종류: " + type);
+        }
+        long timestamp = buffer.getLong();
+        long orderId = buffer.getLong();
+        boolean buy = buffer.get() != 0;
+        long quantity = buffer.getLong();
+        long price = buffer.getLong();
+        long commission = buffer.getLong();
+        String userId = getString(buffer);
+        String stockCode = getString(buffer);
+        String stockName = getString(buffer);
+        return new LedgerEvent(sequence, type, timestamp, userId, orderId, stockCode, stockName, buy, quantity, price, commission);
+    }
+
+    //풀지 않고 종류/유저 id 바이트만 비교 (체결 내역을 저널에서 찾을 때)
+    static boolean isFillOf(ByteBuffer payload, byte[] userId) {
+        if (payload.limit() < USER_ID_OFFSET + 2 || payload.get(8) != FILL) {
+            return false;
+        }
+        int length = payload.getShort(USER_ID_OFFSET) & 0xFFFF;
+        if (length != userId.length || payload.limit() < USER_ID_OFFSET + 2 + length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (payload.get(USER_ID_OFFSET + 2 + i) != userId[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int sizeOf(String value) {
+        return 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getStockName() {
+        return stockName;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    public long getCommission() {
+        return commission;
+    }
+}
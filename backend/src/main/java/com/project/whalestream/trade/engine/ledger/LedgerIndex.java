@@ -0,0 +1,124 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+//닫힌 원장 세그먼트 하나의 유저별 체결 위치 ({segment}.idx)
+//- 항목 = [유저 id 해시 long][이벤트 번호 long][세그먼트 안 위치 int], (해시, 번호) 순으로 정렬
+//- 유저 체결 조회는 세그먼트를 처음부터 읽지 않고 여기서 이분 탐색한 위치만 읽는다
+//- 해시가 겹친 다른 유저 체결은 읽는 쪽이 유저 id 를 다시 비교해서 거른다
+//원장 스레드가 기록하면서 모아두고 세그먼트를 넘길 때 임시 파일에 쓰고 이름을 바꾼다 (읽는 쪽은 다 쓴 것만 본다)
+final class LedgerIndex {
+
+    static final String EXTENSION = ".idx";
+    private static final int MAGIC = 0x574C4958;
+    private static final int HEADER = 4 + 4;
+    private static final int ENTRY = 8 + 8 + 4;
+
+    private long[] hashes = new long[1024];
+    private long[] sequences = new long[1024];
+    private int[] offsets = new int[1024];
+    private int size;
+
+    void add(String userId, long sequence, long offset) {
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            sequences = Arrays.copyOf(sequences, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        hashes[size] = hash(userId);
+        sequences[size] = sequence;
+        offsets[size] = (int) offset;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    //기록 실패로 잘라낸 만큼 되돌린다
+    void truncate(int size) {
+        this.size = size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    //번호 순으로 들어왔으므로 해시로만 안정 정렬하면 (해시, 번호) 순이 된다
+    void write(Path path) throws IOException {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER + size * ENTRY);
+        bytes.putInt(MAGIC).putInt(size);
+        for (int i : order) {
+            bytes.putLong(hashes[i]).putLong(sequences[i]).putInt(offsets[i]);
+        }
+        bytes.flip();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    //userId 체결 중 번호가 beforeSequence 보다 작은 것의 세그먼트 안 위치를 최근 것부터 (없으면 빈 배열)
+    static int[] offsetsBefore(Path path, String userId, long beforeSequence) throws IOException {
+        long hash = hash(userId);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER || mapped.getInt(0) != MAGIC) {
+                throw new IOException("원장 인덱스가 손상되었습니다: " + path);
+            }
+            int count = mapped.getInt(4);
+            //(hash, beforeSequence) 이상인 첫 항목
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long midHash = mapped.getLong(HEADER + mid * ENTRY);
+                int compare = midHash != hash ? Long.compare(midHash, hash)
+                        : Long.compare(mapped.getLong(HEADER + mid * ENTRY + 8), beforeSequence);
+                if (compare < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int end = low;
+            int start = end;
+            while (start > 0 && mapped.getLong(HEADER + (start - 1) * ENTRY) == hash) {
+                start--;
+            }
+            int[] result = new int[end - start];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = mapped.getInt(HEADER + (end - 1 - i) * ENTRY + 16);
+            }
+            return result;
+        }
+    }
+
+    //FNV-1a 64 (String.hashCode 보다 겹침이 훨씬 적다)
+    static long hash(String userId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : userId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
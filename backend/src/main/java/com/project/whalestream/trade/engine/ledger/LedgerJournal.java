@@ -0,0 +1,463 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+//원장 이벤트를 덧붙이기만 하는 세그먼트 파일 묶음
+//- 파일 이름은 첫 이벤트 번호 ({directory}/ledger-{00000000000000000001}.log), 크기가 넘치면 다음 파일로 넘어간다
+//- 레코드 = [길이 int][CRC32 int][이벤트]
+//- 기동 시 마지막 세그먼트 끝의 깨진 레코드(쓰다 죽은 것)는 잘라낸다
+//- 스냅샷에 다 들어간 세그먼트는 {directory}/archive 로 옮긴다 (체결 내역 원본, 기동 시에는 읽지 않는다)
+//  보관 기간이 지난 것은 지운다 (archiveRetentionMillis, 0 이면 계속 둔다)
+//- 닫힌 세그먼트마다 유저별 체결 위치 인덱스(LedgerIndex, .idx)를 옆에 둔다 -> 체결 내역 조회는 그 유저 레코드만 읽는다
+//원장 스레드 하나만 쓴다 (동기화 없음), 체결 내역 조회(tradesBefore)만 다른 스레드에서 읽기 전용으로 연다
+public class LedgerJournal implements Closeable {
+
+    //false 를 돌려주면 거기서 멈춘다
+    public interface TradeVisitor {
+        boolean visit(LedgerEvent trade) throws IOException;
+    }
+
+    private static final String PREFIX = "ledger-";
+    private static final String EXTENSION = ".log";
+    private static final String ARCHIVE = "archive";
+    private static final int RECORD_HEADER = 8;
+    private static final int MAX_RECORD = 1 << 20;
+
+    private final Path directory;
+    private final Path archive;
+    private final long segmentBytes;
+    private final long archiveRetentionMillis;
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel current;
+    private Path currentPath;
+    //지금 세그먼트의 유저별 체결 위치 (넘길 때 .idx 로)
+    private final LedgerIndex index = new LedgerIndex();
+    //buffer 첫 바이트가 들어갈 파일 위치
+    private long writeOffset;
+    //기록 실패 뒤 잘라내지 못한 위치 (-1 이면 없음), 다음 기록 전에 다시 잘라낸다
+    private long dirtyFrom = -1;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long lastSequence;
+
+    public LedgerJournal(Path directory, long segmentBytes, long archiveRetentionMillis) throws IOException {
+        this.directory = directory;
+        this.archive = directory.resolve(ARCHIVE);
+        this.segmentBytes = segmentBytes;
+        this.archiveRetentionMillis = archiveRetentionMillis;
+        Files.createDirectories(archive);
+    }
+
+    //afterSequence 다음 이벤트부터 순서대로 넘긴다, 마지막 이벤트 번호 반환
+    public long replay(long afterSequence, Consumer<LedgerEvent> consumer) throws IOException {
+        List<Path> segments = segments();
+        long last = afterSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            //다음 세그먼트가 이미 스냅샷 이전에서 시작하면 이 파일은 통째로 건너뛴다
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            last = replaySegment(segments.get(i), i == segments.size() - 1, afterSequence, last, consumer);
+        }
+        lastSequence = Math.max(lastSequence, last);
+        //다음 기록은 새 세그먼트로 가므로 남은 세그먼트는 전부 닫힌 것 -> 인덱스 없이 죽은 것(또는 예전 저널)은 여기서 만든다
+        for (Path segment : allSegments().values()) {
+            if (indexOf(segment) == null) {
+                buildIndex(segment);
+            }
+        }
+        return last;
+    }
+
+    private void buildIndex(Path segment) throws IOException {
+        LedgerIndex built = new LedgerIndex();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), Integer.MAX_VALUE);
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int position = 0;
+            while (position + RECORD_HEADER <= size) {
+                int length = mapped.getInt(position);
+                if (length <= 0 || length > MAX_RECORD || position + RECORD_HEADER + length > size) {
+                    break;
+                }
+                LedgerEvent event = LedgerEvent.decode(mapped.slice(position + RECORD_HEADER, length));
+                if (event.getType() == LedgerEvent.FILL) {
+                    built.add(event.getUserId(), event.getSequence(), position);
+                }
+                position += RECORD_HEADER + length;
+            }
+        }
+        built.write(indexPathOf(segment));
+    }
+
+    private long replaySegment(Path segment, boolean tail, long afterSequence, long last,
+                               Consumer<LedgerEvent> consumer) throws IOException {
+        long position = 0;
+        long size;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("원장 세그먼트가 2GB 를 넘었습니다: " + segment);
+            }
+            //레코드마다 read 를 부르지 않고 세그먼트 전체를 매핑해서 순서대로 읽는다
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            while (position + RECORD_HEADER <= size) {
+                int length = mapped.getInt((int) position);
+                int checksum = mapped.getInt((int) position + 4);
+                if (length <= 0 || length > MAX_RECORD || position + RECORD_HEADER + length > size) {
+                    break;
+                }
+                ByteBuffer payload = mapped.slice((int) position + RECORD_HEADER, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                LedgerEvent event = LedgerEvent.decode(payload);
+                if (event.getSequence() > afterSequence) {
+                    if (event.getSequence() != last + 1) {
+                        throw new IOException("원장 이벤트 번호가 이어지지 않습니다: " + last + " -> " + event.getSequence());
+                    }
+                    consumer.accept(event);
+                    last = event.getSequence();
+                }
+                position += RECORD_HEADER + length;
+            }
+        }
+        if (position < size) {
+            if (!tail) {
+                throw new IOException("원장 세그먼트가 손상되었습니다: " + segment);
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(position);
+                channel.force(true);
+            }
+        }
+        return last;
+    }
+
+    //이벤트 번호가 붙은 순서대로 덧붙인다 (fsync 가 true 면 OS 캐시까지 내린다)
+    //쓰기든 fsync 든 실패하면 이번 묶음을 통째로 잘라낸다 -> 같은 묶음을 같은 번호로 다시 써도 저널이 이어진다
+    //잘라내기까지 실패하면 위치를 기억해 두고 다음 기록 전에 다시 잘라낸다
+    public void append(List<LedgerEvent> events, boolean fsync) throws IOException {
+        if (dirtyFrom >= 0) {
+            current.truncate(dirtyFrom);
+            dirtyFrom = -1;
+        }
+        if (current == null || current.size() >= segmentBytes) {
+            roll(events.get(0).getSequence());
+        }
+        long start = current.size();
+        long previous = lastSequence;
+        int indexed = index.size();
+        try {
+            write(events, start);
+            if (fsync) {
+                sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            lastSequence = previous;
+            index.truncate(indexed);
+            dirtyFrom = start;
+            try {
+                current.truncate(start);
+                dirtyFrom = -1;
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    void sync() throws IOException {
+        current.force(false);
+    }
+
+    private void write(List<LedgerEvent> events, long start) throws IOException {
+        buffer.clear();
+        writeOffset = start;
+        for (LedgerEvent event : events) {
+            int length = event.encodedLength();
+            if (buffer.remaining() < RECORD_HEADER + length) {
+                drain();
+                if (buffer.capacity() < RECORD_HEADER + length) {
+                    buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(RECORD_HEADER + length) << 1);
+                }
+            }
+            int at = buffer.position();
+            buffer.position(at + RECORD_HEADER);
+            event.encode(buffer);
+            ByteBuffer record = buffer.duplicate();
+            record.position(at + RECORD_HEADER).limit(buffer.position());
+            crc.reset();
+            crc.update(record);
+            buffer.putInt(at, length).putInt(at + 4, (int) crc.getValue());
+            if (event.getType() == LedgerEvent.FILL) {
+                index.add(event.getUserId(), event.getSequence(), writeOffset + at);
+            }
+            lastSequence = event.getSequence();
+        }
+        drain();
+    }
+
+    //스냅샷에 다 들어간 세그먼트는 archive 로 옮긴다 (다음 세그먼트 첫 번호 <= sequence + 1)
+    //상태 복원에는 더 필요 없지만 체결 내역 원본이라 보관 기간 동안은 남긴다
+    public void archiveBefore(long sequence) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) > sequence + 1) {
+                break;
+            }
+            //같은 디렉터리 아래라 이름만 바뀐다 (읽는 쪽은 원래 자리에 없으면 archive 에서 찾는다)
+            //인덱스를 먼저 옮긴다 -> 세그먼트가 어느 쪽에 보이든 인덱스는 둘 중 한 곳에 있다
+            Path segment = segments.get(i);
+            Path segmentIndex = indexPathOf(segment);
+            if (Files.exists(segmentIndex)) {
+                Files.move(segmentIndex, archive.resolve(segmentIndex.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(segment, archive.resolve(segment.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+        }
+        pruneArchive(System.currentTimeMillis());
+    }
+
+    //마지막으로 쓴 시각이 보관 기간보다 오래된 보관 세그먼트를 지운다 (그 안의 체결은 조회/내보내기에서 빠진다)
+    private void pruneArchive(long now) throws IOException {
+        if (archiveRetentionMillis <= 0) {
+            return;
+        }
+        for (Path segment : segments(archive)) {
+            if (Files.getLastModifiedTime(segment).toMillis() >= now - archiveRetentionMillis) {
+                //이름 순 = 쓴 순서라 뒤는 더 최근
+                break;
+            }
+            Files.deleteIfExists(indexPathOf(segment));
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    //userId 의 체결 중 이벤트 번호가 beforeSequence 보다 작은 것을 최근 것부터 넘긴다 (보관 세그먼트 포함)
+    //닫힌 세그먼트는 인덱스에서 그 유저 위치만 찾아 읽고, 인덱스가 없는 지금 세그먼트(최대 segmentBytes)만 훑는다
+    //쓰는 중인 마지막 레코드는 길이/CRC 가 안 맞으면 거기서 멈춘다 (잘라내지 않는다)
+    public void tradesBefore(String userId, long beforeSequence, TradeVisitor visitor) throws IOException {
+        byte[] user = userId.getBytes(StandardCharsets.UTF_8);
+        CRC32 checksum = new CRC32();
+        List<LedgerEvent> found = new ArrayList<>();
+        for (Path segment : allSegments().descendingMap().values()) {
+            if (firstSequenceOf(segment) >= beforeSequence) {
+                continue;
+            }
+            found.clear();
+            Path segmentIndex = indexOf(segment);
+            if (segmentIndex != null) {
+                readIndexed(segment, segmentIndex, userId, beforeSequence, checksum, found);
+            } else {
+                scanTrades(segment, user, beforeSequence, checksum, found);
+            }
+            for (int i = found.size() - 1; i >= 0; i--) {
+                if (!visitor.visit(found.get(i))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    //인덱스가 준 위치의 레코드만 읽는다 (번호 순으로 found 에)
+    private void readIndexed(Path segment, Path segmentIndex, String userId, long beforeSequence, CRC32 checksum,
+                             List<LedgerEvent> found) throws IOException {
+        int[] offsets;
+        try {
+            offsets = LedgerIndex.offsetsBefore(segmentIndex, userId, beforeSequence);
+        } catch (NoSuchFileException e) {
+            //보관 기간이 지나 지워졌다
+            return;
+        }
+        if (offsets.length == 0) {
+            return;
+        }
+        try (FileChannel channel = openForRead(segment)) {
+            if (channel == null) {
+                return;
+            }
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+            for (int i = offsets.length - 1; i >= 0; i--) {
+                readFully(channel, header.clear(), offsets[i]);
+                int length = header.getInt(0);
+                if (length <= 0 || length > MAX_RECORD) {
+                    throw new IOException("원장 인덱스가 가리키는 레코드가 없습니다: " + segment + "@" + offsets[i]);
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(channel, payload, offsets[i] + RECORD_HEADER);
+                payload.flip();
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != header.getInt(4)) {
+                    throw new IOException("원장 레코드가 손상되었습니다: " + segment + "@" + offsets[i]);
+                }
+                LedgerEvent event = LedgerEvent.decode(payload);
+                //해시가 겹친 다른 유저
+                if (event.getUserId().equals(userId)) {
+                    found.add(event);
+                }
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new IOException("원장 세그먼트가 예상보다 짧습니다.");
+            }
+        }
+    }
+
+    private void scanTrades(Path segment, byte[] user, long beforeSequence, CRC32 checksum,
+                            List<LedgerEvent> found) throws IOException {
+        try (FileChannel channel = openForRead(segment)) {
+            if (channel == null) {
+                return;
+            }
+            long size = Math.min(channel.size(), Integer.MAX_VALUE);
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int position = 0;
+            while (position + RECORD_HEADER <= size) {
+                int length = mapped.getInt(position);
+                if (length <= 0 || length > MAX_RECORD || position + RECORD_HEADER + length > size) {
+                    break;
+                }
+                ByteBuffer payload = mapped.slice(position + RECORD_HEADER, length);
+                if (LedgerEvent.isFillOf(payload, user)) {
+                    checksum.reset();
+                    checksum.update(payload.duplicate());
+                    if ((int) checksum.getValue() != mapped.getInt(position + 4)) {
+                        break;
+                    }
+                    LedgerEvent event = LedgerEvent.decode(payload);
+                    if (event.getSequence() >= beforeSequence) {
+                        break;
+                    }
+                    found.add(event);
+                }
+                position += RECORD_HEADER + length;
+            }
+        }
+    }
+
+    //보관 + 지금 세그먼트를 이름(첫 번호) 순으로
+    //옮기는 중이면 양쪽 목록에 다 보일 수 있다 -> 이름으로 합친다
+    private TreeMap<String, Path> allSegments() throws IOException {
+        TreeMap<String, Path> segments = new TreeMap<>();
+        for (Path segment : segments(archive)) {
+            segments.put(segment.getFileName().toString(), segment);
+        }
+        for (Path segment : segments(directory)) {
+            segments.put(segment.getFileName().toString(), segment);
+        }
+        return segments;
+    }
+
+    //목록을 읽은 뒤에 archive 로 옮겨졌으면 거기서 연다, 그 사이 보관 기간이 지나 지워졌으면 null
+    private FileChannel openForRead(Path segment) throws IOException {
+        try {
+            return FileChannel.open(segment, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            try {
+                return FileChannel.open(archive.resolve(segment.getFileName()), StandardOpenOption.READ);
+            } catch (NoSuchFileException gone) {
+                return null;
+            }
+        }
+    }
+
+    //닫힌 세그먼트의 인덱스 (옮기는 중일 수 있어서 양쪽을 본다), 없으면 null
+    private Path indexOf(Path segment) {
+        Path name = indexPathOf(segment).getFileName();
+        for (Path dir : new Path[]{directory, archive}) {
+            Path candidate = dir.resolve(name);
+            if (Files.exists(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Path indexPathOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - EXTENSION.length()) + LedgerIndex.EXTENSION);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        writeOffset += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            current.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        seal();
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, EXTENSION));
+        //이전 기동에서 비어 있는 채로 남은 같은 이름 세그먼트에 이어 쓰게 되면 그때 만든 인덱스는 틀린다
+        Files.deleteIfExists(indexPathOf(path));
+        current = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentPath = path;
+    }
+
+    //지금 세그먼트를 닫고 인덱스를 쓴다 (인덱스 쓰기가 실패하면 다음 roll/close 에서 다시 쓴다)
+    private void seal() throws IOException {
+        if (current != null) {
+            current.force(false);
+            current.close();
+            current = null;
+        }
+        if (currentPath != null) {
+            index.write(indexPathOf(currentPath));
+            index.clear();
+            currentPath = null;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        return segments(directory);
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(EXTENSION);
+            }).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - EXTENSION.length()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        seal();
+    }
+}
@@ -0,0 +1,207 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+//특정 이벤트 번호까지 반영된 전체 계좌 상태 ({directory}/snapshot-{sequence}.bin)
+//임시 파일에 다 쓰고 fsync 후 이름을 바꾸므로 쓰다 죽어도 이전 스냅샷이 남는다
+//파일 끝에 CRC32 -> 깨진 스냅샷은 건너뛰고 그 이전 것을 쓴다
+final class LedgerSnapshot {
+
+    private static final int MAGIC = 0x574C4447;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String EXTENSION = ".bin";
+    //최근 몇 개를 남길지
+    private static final int KEEP = 2;
+
+    private final long sequence;
+    private final Map<String, Account> accounts;
+
+    private LedgerSnapshot(long sequence, Map<String, Account> accounts) {
+        this.sequence = sequence;
+        this.accounts = accounts;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Map<String, Account> getAccounts() {
+        return accounts;
+    }
+
+    static void write(Path directory, long sequence, Collection<Account> accounts) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, EXTENSION));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            out.writeInt(accounts.size());
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            for (Account account : accounts) {
+                out.writeUTF(account.getUserId());
+                out.writeLong(account.getCash());
+                out.writeLong(account.getDeposits());
+                out.writeInt(account.getPositionCount());
+                for (Position position : account.getPositions()) {
+                    out.writeUTF(position.getStockCode());
+                    out.writeUTF(position.getStockName());
+                    out.writeLong(position.getQuantity());
+                    out.writeDouble(position.getCost());
+                }
+                out.writeInt(account.getTradeCount());
+                for (LedgerEvent trade : account.getTrades()) {
+                    int length = trade.encodedLength();
+                    if (buffer.capacity() < length) {
+                        buffer = ByteBuffer.allocate(Integer.highestOneBit(length) << 1);
+                    }
+                    buffer.clear();
+                    trade.encode(buffer);
+                    out.writeInt(length);
+                    out.write(buffer.array(), 0, length);
+                }
+            }
+            out.flush();
+            //CRC 는 체크섬 스트림 바깥으로 쓴다
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = list(directory);
+        for (int i = 0; i < snapshots.size() - KEEP; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    //읽을 수 있는 가장 최근 스냅샷, 없으면 null
+    static LedgerSnapshot loadLatest(Path directory, int maxTrades) throws IOException {
+        List<Path> snapshots = list(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                return read(snapshots.get(i), maxTrades);
+            } catch (IOException | RuntimeException e) {
+                //깨진 파일은 이전 스냅샷으로 넘어간다 (그만큼 저널을 더 읽는다)
+            }
+        }
+        return null;
+    }
+
+    private static LedgerSnapshot read(Path path, int maxTrades) throws IOException {
+        long size = Files.size(path);
+        CRC32 crc = new CRC32();
+        try (InputStream file = Files.newInputStream(path)) {
+            //CRC 8바이트는 체크섬에서 빼야 하니 본문 길이만큼만 체크섬 스트림으로 읽는다
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new CheckedInputStream(new LimitedInputStream(file, size - 8), crc), 64 * 1024));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("원장 스냅샷 형식이 아닙니다: " + path);
+            }
+            long sequence = in.readLong();
+            int accountCount = in.readInt();
+            Map<String, Account> accounts = new HashMap<>(accountCount * 2);
+            byte[] bytes = new byte[1024];
+            for (int a = 0; a < accountCount; a++) {
+                Account account = new Account(in.readUTF(), maxTrades);
+                long cash = in.readLong();
+                long deposits = in.readLong();
+                int positionCount = in.readInt();
+                List<Position> positions = new ArrayList<>(positionCount);
+                for (int p = 0; p < positionCount; p++) {
+                    positions.add(new Position(in.readUTF(), in.readUTF(), in.readLong(), in.readDouble()));
+                }
+                int tradeCount = in.readInt();
+                List<LedgerEvent> trades = new ArrayList<>(tradeCount);
+                for (int t = 0; t < tradeCount; t++) {
+                    int length = in.readInt();
+                    if (bytes.length < length) {
+                        bytes = new byte[Integer.highestOneBit(length) << 1];
+                    }
+                    in.readFully(bytes, 0, length);
+                    trades.add(LedgerEvent.decode(ByteBuffer.wrap(bytes, 0, length)));
+                }
+                account.restore(cash, deposits, positions, trades);
+                accounts.put(account.getUserId(), account);
+            }
+            if (in.read() != -1) {
+                throw new IOException("원장 스냅샷 길이가 맞지 않습니다: " + path);
+            }
+            if (new DataInputStream(file).readLong() != crc.getValue()) {
+                throw new IOException("원장 스냅샷 체크섬이 맞지 않습니다: " + path);
+            }
+            return new LedgerSnapshot(sequence, accounts);
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(EXTENSION);
+            }).sorted().forEach(snapshots::add);
+        }
+        return snapshots;
+    }
+
+    //앞에서 limit 바이트까지만 읽게 막는 스트림
+    private static final class LimitedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.trade.Commission;
+import com.project.whalestream.trade.engine.matching.FillListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+//체결/입금 이벤트를 저널에 덧붙이고 메모리의 계좌 상태에 반영하는 원장
+//- 체결마다 몽고 문서를 읽고-고치고-저장하지 않는다 (저널은 순차 쓰기, 상태는 메모리)
+//- 원장 스레드 하나가 대기열을 모아서 번호 붙이기 -> 저널 기록 -> 상태 반영 순으로 처리한다
+//- 주기적으로 전체 상태를 스냅샷으로 남기고, 기동 시 마지막 스냅샷 + 그 뒤 저널만 다시 읽는다 (앞 세그먼트는 보관)
+//- 평가금액은 여기서 계산하지 않는다 (조회할 때 현재가로)
+@Slf4j
+public class PortfolioLedger implements FillListener {
+
+    private static final int MAX_BATCH = 4096;
+    //저널 기록이 실패하면 같은 묶음을 이 간격부터 두 배씩 늘려가며 다시 쓴다
+    private static final long RETRY_MIN_MILLIS = 100;
+    private static final long RETRY_MAX_MILLIS = 5_000;
+
+    private final Path directory;
+    private final LedgerJournal journal;
+    private final long initialCapital;
+    private final int maxTrades;
+    private final long snapshotIntervalMillis;
+    private final boolean fsync;
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final BlockingQueue<LedgerEvent> pending = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    //저널에 못 쓴 묶음을 다시 쓰고 있는 동안 true (health DOWN, 새 주문은 받지 않는다)
+    private volatile boolean failing;
+
+    //원장 스레드 전용
+    private long sequence;
+    private long snapshotSequence;
+    //상태까지 반영된 마지막 이벤트 번호 (조회 스레드가 저널을 읽을 때 이 번호까지만 본다)
+    private volatile long appliedSequence;
+
+    public PortfolioLedger(Path directory, long segmentBytes, long initialCapital, int maxTrades,
+                           long snapshotIntervalMillis, boolean fsync) throws IOException {
+        this(directory, segmentBytes, initialCapital, maxTrades, snapshotIntervalMillis, fsync, 0);
+    }
+
+    //archiveRetentionMillis: 보관 세그먼트를 남겨두는 기간 (0 이면 지우지 않는다)
+    public PortfolioLedger(Path directory, long segmentBytes, long initialCapital, int maxTrades,
+                           long snapshotIntervalMillis, boolean fsync, long archiveRetentionMillis) throws IOException {
+        this(directory, new LedgerJournal(directory, segmentBytes, archiveRetentionMillis), initialCapital, maxTrades,
+                snapshotIntervalMillis, fsync);
+    }
+
+    PortfolioLedger(Path directory, LedgerJournal journal, long initialCapital, int maxTrades,
+                    long snapshotIntervalMillis, boolean fsync) {
+        this.directory = directory;
+        this.journal = journal;
+        this.initialCapital = initialCapital;
+        this.maxTrades = maxTrades;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.fsync = fsync;
+        this.thread = new Thread(this::run, "portfolio-ledger");
+        this.thread.setDaemon(true);
+    }
+
+    //마지막 스냅샷 + 그 뒤 저널로 상태 복원, 다시 읽은 이벤트 수 반환 (start 전에 호출)
+    public long recover() throws IOException {
+        LedgerSnapshot snapshot = LedgerSnapshot.loadLatest(directory, maxTrades);
+        if (snapshot != null) {
+            accounts.putAll(snapshot.getAccounts());
+            snapshotSequence = snapshot.getSequence();
+        }
+        long[] replayed = new long[1];
+        sequence = journal.replay(snapshotSequence, event -> {
+            accounts.computeIfAbsent(event.getUserId(), id -> new Account(id, maxTrades)).apply(event);
+            replayed[0]++;
+        });
+        appliedSequence = sequence;
+        return replayed[0];
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    //매칭 스레드에서 호출 -> 대기열에 넣기만 한다
+    @Override
+    public void onFill(Order taker, Order maker, long price, long quantity) {
+        long now = System.currentTimeMillis();
+        record(taker, price, quantity, now);
+        //시장과 체결된 주문은 상대편이 없다
+        if (maker != null) {
+            record(maker, price, quantity, now);
+        }
+    }
+
+    private void record(Order order, long price, long quantity, long now) {
+        pending.offer(LedgerEvent.fill(order.getUserId(), order.getId(), order.getStockCode(), order.getStockName(),
+                order.isBuy(), quantity, price, Commission.of(price * quantity), now));
+    }
+
+    //거래가 없는 유저는 null
+    public PortfolioView view(String userId) {
+        Account account = accounts.get(userId);
+        return account == null ? null : account.view();
+    }
+
+    //최근 체결부터 limit 개
+    public List<LedgerEvent> recentTrades(String userId, int limit) {
+        return tradesBefore(userId, Long.MAX_VALUE, limit);
+    }
+
+    //이벤트 번호가 beforeSequence 보다 작은 체결을 최근 것부터 limit 개 (커서 페이지)
+    //메모리에 남겨둔 최근 체결로 모자라고 그보다 오래된 게 있으면 저널(보관 세그먼트 포함)에서 이어서 찾는다
+    public List<LedgerEvent> tradesBefore(String userId, long beforeSequence, int limit) {
+        Account account = accounts.get(userId);
+        if (account == null) {
+            return List.of();
+        }
+        List<LedgerEvent> trades = account.tradesBefore(beforeSequence, limit);
+        if (trades.size() >= limit || !account.isTruncated()) {
+            return trades;
+        }
+        List<LedgerEvent> result = new ArrayList<>(trades);
+        long before = trades.isEmpty() ? Math.min(beforeSequence, appliedSequence + 1)
+                : trades.get(trades.size() - 1).getSequence();
+        try {
+            journal.tradesBefore(userId, before, trade -> {
+                result.add(trade);
+                return result.size() < limit;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("체결 내역을 원장 저널에서 읽지 못했습니다.", e);
+        }
+        return result;
+    }
+
+    //남아 있는 체결 전체를 최근 것부터 (메모리에 남긴 개수와 상관없이 저널에서 바로, 내보내기용)
+    public void forEachTrade(String userId, LedgerJournal.TradeVisitor visitor) throws IOException {
+        if (!accounts.containsKey(userId)) {
+            return;
+        }
+        journal.tradesBefore(userId, appliedSequence + 1, visitor);
+    }
+
+    public long getInitialCapital() {
+        return initialCapital;
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public long getPendingCount() {
+        return pending.size();
+    }
+
+    public boolean isFailing() {
+        return failing;
+    }
+
+    private void run() {
+        List<LedgerEvent> batch = new ArrayList<>();
+        long nextSnapshot = System.currentTimeMillis() + snapshotIntervalMillis;
+        long retryMillis = RETRY_MIN_MILLIS;
+        while (running || !pending.isEmpty() || !batch.isEmpty()) {
+            try {
+                //못 쓴 묶음이 남아 있으면 새로 모으지 않고 그것부터 다시 쓴다 (체결 순서 유지)
+                if (batch.isEmpty()) {
+                    //인터럽트를 쓰면 저널 FileChannel 이 닫혀버리므로 짧게 기다리면서 running 을 본다
+                    LedgerEvent first = pending.poll(200, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        pending.drainTo(batch, MAX_BATCH - 1);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    process(batch);
+                    if (failing) {
+                        log.info("원장 기록이 다시 됩니다, 밀린 이벤트 {}건", pending.size());
+                        failing = false;
+                        retryMillis = RETRY_MIN_MILLIS;
+                    }
+                }
+                if (System.currentTimeMillis() >= nextSnapshot) {
+                    nextSnapshot = System.currentTimeMillis() + snapshotIntervalMillis;
+                    snapshot();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (batch.isEmpty()) {
+                    //저널에는 들어갔고 스냅샷/상태 반영에서 실패 -> 다음 스냅샷이나 재기동 때 저널로 맞춰진다
+                    log.error("원장 스냅샷/상태 반영 실패", e);
+                    continue;
+                }
+                //저널에 못 쓴 체결은 버리지 않는다 (버리면 잔고가 체결과 어긋난다) -> 같은 묶음을 같은 번호로 다시 쓴다
+                failing = true;
+                log.error("원장 기록 실패, 이벤트 {}건을 {}ms 뒤에 다시 씁니다.", batch.size(), retryMillis, e);
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryMillis = Math.min(retryMillis * 2, RETRY_MAX_MILLIS);
+            }
+        }
+    }
+
+    //저널에 내려간 뒤에만 batch 를 비우고 상태에 반영한다
+    //기록이 실패하면 저널이 이번 묶음을 잘라내고 sequence 도 그대로라 같은 묶음을 다시 넘기면 같은 번호가 붙는다
+    private void process(List<LedgerEvent> batch) throws IOException {
+        List<LedgerEvent> events = new ArrayList<>(batch.size() + 4);
+        long next = sequence;
+        Set<String> opened = new HashSet<>();
+        for (LedgerEvent event : batch) {
+            String userId = event.getUserId();
+            //처음 체결되는 유저는 초기 자본 입금부터 기록
+            if (!accounts.containsKey(userId) && opened.add(userId)) {
+                events.add(LedgerEvent.deposit(userId, initialCapital, event.getTimestamp()).withSequence(++next));
+            }
+            events.add(event.withSequence(++next));
+        }
+
+        journal.append(events, fsync);
+        sequence = next;
+        batch.clear();
+
+        for (LedgerEvent event : events) {
+            accounts.computeIfAbsent(event.getUserId(), id -> new Account(id, maxTrades)).apply(event);
+        }
+        appliedSequence = next;
+    }
+
+    private void snapshot() throws IOException {
+        if (sequence == snapshotSequence) {
+            return;
+        }
+        //원장 스레드만 계좌를 고치므로 여기서 읽는 상태는 sequence 시점 그대로다
+        LedgerSnapshot.write(directory, sequence, accounts.values());
+        snapshotSequence = sequence;
+        journal.archiveBefore(snapshotSequence);
+    }
+
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        if (!thread.isAlive()) {
+            snapshot();
+        }
+        journal.close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import java.util.List;
+
+//조회 시점의 포트폴리오 복사본 (평가금액은 조회하는 쪽에서 현재가로 계산)
+public final class PortfolioView {
+
+    private final String userId;
+    private final long cash;
+    private final long deposits;
+    private final List<Position> positions;
+
+    PortfolioView(String userId, long cash, long deposits, List<Position> positions) {
+        this.userId = userId;
+        this.cash = cash;
+        this.deposits = deposits;
+        this.positions = positions;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getCash() {
+        return cash;
+    }
+
+    //입금 합계 (수익률 기준금액)
+    public long getDeposits() {
+        return deposits;
+    }
+
+    public List<Position> getPositions() {
+        return positions;
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.whalestream.trade.engine.ledger;
+
+//종목 하나의 보유 상태 (수량은 음수면 공매도, cost 는 평균단가 x 수량)
+public final class Position {
+
+    private final String stockCode;
+    private String stockName;
+    private long quantity;
+    private double cost;
+
+    Position(String stockCode, String stockName, long quantity, double cost) {
+        this.stockCode = stockCode;
+        this.stockName = stockName;
+        this.quantity = quantity;
+        this.cost = cost;
+    }
+
+    //수량 증감 (매수 +, 매도 -) -> 늘리는 쪽이면 평균단가에 섞고, 줄이는 쪽이면 평균단가 그대로
+    void apply(long delta, long price, String name) {
+        if (!name.isEmpty()) {
+            stockName = name;
+        }
+        long next = quantity + delta;
+        if (quantity == 0 || Long.signum(quantity) == Long.signum(delta)) {
+            cost += (double) delta * price;
+        } else if (next == 0) {
+            cost = 0;
+        } else if (Long.signum(next) == Long.signum(quantity)) {
+            cost = cost * next / quantity;
+        } else {
+            //반대 방향으로 넘어가면 남은 수량은 이번 가격으로 새로 잡힌다
+            cost = (double) next * price;
+        }
+        quantity = next;
+    }
+
+    Position copy() {
+        return new Position(stockCode, stockName, quantity, cost);
+    }
+
+    public double getAveragePrice() {
+        return quantity == 0 ? 0 : cost / quantity;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    public String getStockName() {
+        return stockName;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+}
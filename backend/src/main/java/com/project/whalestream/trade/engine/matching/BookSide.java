@@ -0,0 +1,135 @@
+package com.project.whalestream.trade.engine.matching;
+
+import java.util.Arrays;
+
+//호가창 한쪽(매수 or 매도)의 가격 레벨 목록
+//가격 레벨을 객체로 만들지 않고 원시 배열로 들고 있고, 최우선 호가가 항상 배열 맨 끝에 오도록 정렬한다
+//-> 최우선 호가 조회/소진은 O(1), 새 가격 레벨 삽입만 배열 이동이 생긴다 (대부분 최우선 호가 근처라 짧음)
+final class BookSide {
+
+    static final int NIL = -1;
+
+    private final boolean bid;
+
+    //key 는 오름차순. 매수는 price 그대로, 매도는 -price 를 넣어서 어느 쪽이든 "끝 = 최우선"이 되게 한다
+    private long[] keys;
+    //레벨별 FIFO 큐의 처음/마지막 슬롯 (시간 우선)
+    private int[] heads;
+    private int[] tails;
+    //레벨별 잔량 합계
+    private long[] quantities;
+    private int size;
+
+    BookSide(boolean bid, int initialLevels) {
+        this.bid = bid;
+        this.keys = new long[initialLevels];
+        this.heads = new int[initialLevels];
+        this.tails = new int[initialLevels];
+        this.quantities = new long[initialLevels];
+    }
+
+    boolean isBid() {
+        return bid;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int bestLevel() {
+        return size - 1;
+    }
+
+    long price(int level) {
+        return bid ? keys[level] : -keys[level];
+    }
+
+    int head(int level) {
+        return heads[level];
+    }
+
+    void setHead(int level, int slot) {
+        heads[level] = slot;
+        if (slot == NIL) {
+            tails[level] = NIL;
+        }
+    }
+
+    int tail(int level) {
+        return tails[level];
+    }
+
+    void setTail(int level, int slot) {
+        tails[level] = slot;
+    }
+
+    long quantity(int level) {
+        return quantities[level];
+    }
+
+    void addQuantity(int level, long delta) {
+        quantities[level] += delta;
+    }
+
+    //가격에 해당하는 레벨 위치, 없으면 -(삽입위치 + 1)
+    int find(long price) {
+        return Arrays.binarySearch(keys, 0, size, bid ? price : -price);
+    }
+
+    //가격 레벨을 찾고 없으면 정렬 위치에 새로 만든다
+    int findOrInsert(long price) {
+        int index = find(price);
+        if (index >= 0) {
+            return index;
+        }
+        index = -index - 1;
+        if (size == keys.length) {
+            grow();
+        }
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(keys, index, keys, index + 1, moved);
+            System.arraycopy(heads, index, heads, index + 1, moved);
+            System.arraycopy(tails, index, tails, index + 1, moved);
+            System.arraycopy(quantities, index, quantities, index + 1, moved);
+        }
+        keys[index] = bid ? price : -price;
+        heads[index] = NIL;
+        tails[index] = NIL;
+        quantities[index] = 0;
+        size++;
+        return index;
+    }
+
+    void remove(int level) {
+        int moved = size - level - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, level + 1, keys, level, moved);
+            System.arraycopy(heads, level + 1, heads, level, moved);
+            System.arraycopy(tails, level + 1, tails, level, moved);
+            System.arraycopy(quantities, level + 1, quantities, level, moved);
+        }
+        size--;
+    }
+
+    //limit 가격으로 이 쪽 최우선 호가와 체결 가능한지 (반대편 주문 입장에서)
+    boolean crosses(long limitPrice) {
+        if (size == 0) {
+            return false;
+        }
+        long best = price(size - 1);
+        return bid ? best >= limitPrice : best <= limitPrice;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        heads = Arrays.copyOf(heads, capacity);
+        tails = Arrays.copyOf(tails, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.trade.domain.order.Order;
+
+//체결 통지
+//maker 가 null 이면 시장 체결가에 닿아서 시장과 체결된 호가창 주문 (taker 자리에 그 주문)
+//매칭 스레드에서 바로 호출되므로 구현체는 블로킹 I/O 없이 빨리 끝나야 한다 (DB 저장 같은 건 따로 넘겨서 처리)
+public interface FillListener {
+    void onFill(Order taker, Order maker, long price, long quantity);
+}
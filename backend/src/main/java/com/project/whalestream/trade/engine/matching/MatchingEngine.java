@@ -0,0 +1,118 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+//종목코드 해시로 샤드를 고르고, 주문을 해당 샤드의 매칭 스레드로 넘긴다
+//같은 종목의 주문은 항상 같은 스레드에서 순서대로 처리되므로 가격-시간 우선순위가 그대로 지켜진다
+@Slf4j
+public class MatchingEngine {
+
+    private final MatchingShard[] shards;
+    //체결 리스너는 기동 시에만 추가되고 매칭 스레드는 배열을 그대로 순회 (순회 중 할당 없음)
+    private volatile FillListener[] fillListeners = new FillListener[0];
+    //대기열이 꽉 차서 버린 시세 틱 (주문이 먼저)
+    private final LongAdder droppedTicks = new LongAdder();
+
+    public MatchingEngine(int shardCount, int queueCapacity) {
+        this(shardCount, queueCapacity, LatencyRecorder.NONE);
+    }
+
+    //fillLatency: 주문 접수 -> 즉시 체결까지 걸린 시간
+    public MatchingEngine(int shardCount, int queueCapacity, LatencyRecorder fillLatency) {
+        this(shardCount, queueCapacity, fillLatency, stockCode -> 0, 0);
+    }
+
+    //marketPrice: 종목 지금 시세 (없으면 0), 호가창으로 못 채운 시장가 잔량은 이 가격에 체결된다
+    //marketCollarBps: 시장가가 먹을 수 있는 호가의 시세 대비 한도 (사전 리스크 collar 와 같은 값)
+    public MatchingEngine(int shardCount, int queueCapacity, LatencyRecorder fillLatency,
+                          ToLongFunction<String> marketPrice, long marketCollarBps) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다.");
+        }
+        FillListener dispatcher = this::dispatchFill;
+        this.shards = new MatchingShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new MatchingShard(i, queueCapacity, dispatcher, fillLatency, marketPrice, marketCollarBps);
+        }
+    }
+
+    public void start() {
+        for (MatchingShard shard : shards) {
+            shard.start();
+        }
+    }
+
+    public synchronized void addFillListener(FillListener listener) {
+        FillListener[] next = Arrays.copyOf(fillListeners, fillListeners.length + 1);
+        next[next.length - 1] = listener;
+        fillListeners = next;
+    }
+
+    public CompletableFuture<Boolean> submit(Order order) {
+        return enqueue(OrderCommand.newOrder(order));
+    }
+
+    public CompletableFuture<Boolean> cancel(Order order) {
+        return enqueue(OrderCommand.cancel(order));
+    }
+
+    //시장 체결가를 종목 샤드로 넘긴다 -> 그 가격에 닿은 지정가 주문이 체결된다
+    //시세 수신 스레드에서 호출되므로 기다리지 않는다 (대기열이 꽉 찼으면 이번 틱은 버림, 다음 틱에서 다시 본다)
+    public void onMarketTrade(String stockCode, long price, long volume) {
+        if (!shards[shardOf(stockCode)].offer(OrderCommand.tick(stockCode, price, volume))) {
+            droppedTicks.increment();
+        }
+    }
+
+    public int shardOf(String stockCode) {
+        return (stockCode.hashCode() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int getQueueSize(int shard) {
+        return shards[shard].getQueueSize();
+    }
+
+    public long getDroppedTickCount() {
+        return droppedTicks.sum();
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (MatchingShard shard : shards) {
+            shard.shutdown();
+        }
+        for (MatchingShard shard : shards) {
+            shard.awaitTermination(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private CompletableFuture<Boolean> enqueue(OrderCommand command) {
+        if (!shards[shardOf(command.stockCode)].offer(command)) {
+            command.result.completeExceptionally(new IllegalStateException("주문이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return command.result;
+    }
+
+    private void dispatchFill(Order taker, Order maker, long price, long quantity) {
+        FillListener[] listeners = fillListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            //리스너 하나가 터져도 호가창 상태가 중간에 끊기면 안 된다
+            try {
+                listeners[i].onFill(taker, maker, price, quantity);
+            } catch (RuntimeException e) {
+                log.error("체결 리스너 실패: {} 주문 {}", taker.getStockCode(), taker.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.ToLongFunction;
+
+//종목 묶음 하나를 전담하는 단일 작성자(single-writer) 스레드
+//이 샤드에 속한 호가창은 전부 이 스레드에서만 만지기 때문에 매칭 경로에 락/DB 호출이 전혀 없다
+final class MatchingShard implements Runnable {
+
+    private static final int INITIAL_LEVELS = 64;
+    private static final int INITIAL_ORDERS = 1024;
+
+    private final int shardId;
+    private final BlockingQueue<OrderCommand> queue;
+    private final Map<String, OrderBook> books = new HashMap<>();
+    private final FillListener fillListener;
+    private final LatencyRecorder fillLatency;
+    private final ToLongFunction<String> marketPrice;
+    private final long marketCollarBps;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    MatchingShard(int shardId, int queueCapacity, FillListener fillListener, LatencyRecorder fillLatency,
+                  ToLongFunction<String> marketPrice, long marketCollarBps) {
+        this.shardId = shardId;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.fillListener = fillListener;
+        this.fillLatency = fillLatency;
+        this.marketPrice = marketPrice;
+        this.marketCollarBps = marketCollarBps;
+        this.thread = new Thread(this, "matching-shard-" + shardId);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    //대기열이 꽉 찼으면 false -> 호출한 쪽에서 거절 처리
+    boolean offer(OrderCommand command) {
+        return running && queue.offer(command);
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            OrderCommand command;
+            try {
+                command = queue.take();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+                continue;
+            }
+            process(command);
+        }
+        //종료 시점에 남은 명령은 실패 처리
+        OrderCommand left;
+        while ((left = queue.poll()) != null) {
+            if (left.result != null) {
+                left.result.completeExceptionally(new IllegalStateException("매칭 엔진이 종료되었습니다."));
+            }
+        }
+    }
+
+    private void process(OrderCommand command) {
+        try {
+            long now = System.currentTimeMillis();
+            if (command.type == OrderCommand.Type.TICK) {
+                //호가창이 없는 종목(걸린 주문이 없음)은 만들지 않고 넘긴다
+                OrderBook book = books.get(command.stockCode);
+                if (book != null && book.getRestingCount() > 0) {
+                    book.fillAtMarket(command.price, command.volume, fillListener, now);
+                }
+                return;
+            }
+            OrderBook book = bookOf(command.stockCode);
+            if (command.type == OrderCommand.Type.NEW) {
+                Order order = command.order;
+                //시장가만 시세를 본다
+                long price = order.isLimit() ? 0 : marketPrice.applyAsLong(command.stockCode);
+                book.match(order, price, marketCollarBps, fillListener, now);
+                //들어오자마자 체결된 주문만 (대기열 + 매칭), 호가창에 걸려 있다가 나중에 체결되는 건 사용자가 기다린 시간이라 뺀다
+                if (order.getFilledQuantity() > 0) {
+                    fillLatency.record(System.nanoTime() - command.acceptedAt);
+                }
+                command.result.complete(Boolean.TRUE);
+            } else {
+                command.result.complete(book.cancel(command.order, now));
+            }
+        } catch (Throwable e) {
+            //명령 하나가 실패해도 샤드 스레드는 계속 돌아야 한다
+            if (command.result != null) {
+                command.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private OrderBook bookOf(String stockCode) {
+        OrderBook book = books.get(stockCode);
+        if (book == null) {
+            book = new OrderBook(stockCode, INITIAL_LEVELS, INITIAL_ORDERS);
+            books.put(stockCode, book);
+        }
+        return book;
+    }
+
+    void shutdown() {
+        running = false;
+        thread.interrupt();
+    }
+
+    void awaitTermination(long millis) throws InterruptedException {
+        thread.join(millis);
+    }
+
+    int getShardId() {
+        return shardId;
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+}
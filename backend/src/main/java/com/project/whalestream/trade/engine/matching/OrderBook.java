@@ -0,0 +1,269 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.trade.domain.order.Order;
+
+import java.util.Arrays;
+
+//종목 하나의 호가창 (가격 우선 -> 시간 우선)
+//자기 샤드의 매칭 스레드 하나에서만 접근하기 때문에 락이 없다
+//호가창에 올라간 주문은 슬롯 배열(원시 배열 기반 이중 연결 리스트)로 관리해서 매칭 중에는 객체 할당이 없다
+public final class OrderBook {
+
+    private static final int NIL = BookSide.NIL;
+
+    private final String stockCode;
+    private final BookSide bids;
+    private final BookSide asks;
+
+    //슬롯 풀: 슬롯 번호 -> 주문, 잔량, 같은 레벨 안에서의 앞/뒤 슬롯
+    private Order[] slotOrders;
+    private long[] slotRemaining;
+    private long[] slotPrices;
+    private int[] slotNext;
+    private int[] slotPrev;
+    private int freeHead = NIL;
+    private int used;
+    private int restingCount;
+
+    public OrderBook(String stockCode, int initialLevels, int initialOrders) {
+        this.stockCode = stockCode;
+        this.bids = new BookSide(true, initialLevels);
+        this.asks = new BookSide(false, initialLevels);
+        this.slotOrders = new Order[initialOrders];
+        this.slotRemaining = new long[initialOrders];
+        this.slotPrices = new long[initialOrders];
+        this.slotNext = new int[initialOrders];
+        this.slotPrev = new int[initialOrders];
+    }
+
+    //시세 없이 (시장가 잔량은 취소)
+    public void match(Order taker, FillListener listener, long now) {
+        match(taker, 0, 0, listener, now);
+    }
+
+    //들어온 주문을 반대편 호가와 체결시키고, 남은 수량은 지정가면 호가창에 올린다
+    //시장가는 marketPrice(지금 시세, 없으면 0) 에서 collarBps 만큼 벗어난 호가까지만 먹고 남은 수량은 시세로 시장과 체결한다 (maker 는 null)
+    //-> 사전 리스크가 묶어둔 금액(시세 + collar) 안에서 체결된다, 시세가 없으면 호가창만 다 훑고 잔량은 IOC 로 취소
+    public void match(Order taker, long marketPrice, long collarBps, FillListener listener, long now) {
+        BookSide opposite = taker.isBuy() ? asks : bids;
+        long remaining = taker.getRemainingQuantity();
+        long limit = taker.isLimit() ? taker.getPrice() : collarOf(taker.isBuy(), marketPrice, collarBps);
+
+        while (remaining > 0 && !opposite.isEmpty()) {
+            int level = opposite.bestLevel();
+            long levelPrice = opposite.price(level);
+            if (limit > 0 && !opposite.crosses(limit)) {
+                break;
+            }
+
+            int slot = opposite.head(level);
+            while (slot != NIL && remaining > 0) {
+                long makerRemaining = slotRemaining[slot];
+                long quantity = Math.min(remaining, makerRemaining);
+                Order maker = slotOrders[slot];
+
+                maker.fill(quantity, levelPrice, now);
+                taker.fill(quantity, levelPrice, now);
+                listener.onFill(taker, maker, levelPrice, quantity);
+
+                remaining -= quantity;
+                makerRemaining -= quantity;
+                opposite.addQuantity(level, -quantity);
+
+                if (makerRemaining == 0) {
+                    slot = removeHead(opposite, level, slot);
+                } else {
+                    slotRemaining[slot] = makerRemaining;
+                }
+            }
+
+            if (opposite.head(level) == NIL) {
+                opposite.remove(level);
+            }
+        }
+
+        if (remaining > 0) {
+            if (taker.isLimit()) {
+                rest(taker, remaining);
+            } else if (marketPrice > 0) {
+                taker.fill(remaining, marketPrice, now);
+                listener.onFill(taker, null, marketPrice, remaining);
+            } else {
+                //시세가 없는 시장가 잔량은 IOC 로 취소
+                taker.cancel(now);
+            }
+        }
+    }
+
+    //시장가가 먹을 수 있는 가장 나쁜 호가 (매수는 위, 매도는 아래로), 시세가 없으면 0 = 제한 없음
+    private static long collarOf(boolean buy, long marketPrice, long collarBps) {
+        if (marketPrice <= 0) {
+            return 0;
+        }
+        long collar = marketPrice * collarBps / 10_000;
+        return buy ? marketPrice + collar : Math.max(1, marketPrice - collar);
+    }
+
+    //시장 체결가가 지정가를 건드린 호가창 주문을 체결시킨다 (상대 주문 없이 시장과 체결, maker 는 null)
+    //- 매수는 price >= 체결가, 매도는 price <= 체결가인 레벨만 최우선부터 훑는다 -> 안 건드린 주문은 보지 않는다
+    //  (레벨 배열이 최우선 = 끝으로 정렬돼 있어서 시작점 찾기는 O(1), 비용은 체결된 레벨/주문 수만큼)
+    //- 체결가는 틱 가격 (지정가보다 같거나 유리), 한쪽에서 채울 수 있는 수량은 틱 거래량까지 (0 이면 제한 없음)
+    //- 거래량이 모자라면 마지막 주문은 부분 체결로 남는다
+    //체결된 총 수량 반환
+    public long fillAtMarket(long tradePrice, long volume, FillListener listener, long now) {
+        long budget = volume > 0 ? volume : Long.MAX_VALUE;
+        return sweepAtMarket(bids, tradePrice, budget, listener, now) + sweepAtMarket(asks, tradePrice, budget, listener, now);
+    }
+
+    private long sweepAtMarket(BookSide side, long tradePrice, long budget, FillListener listener, long now) {
+        long left = budget;
+        while (left > 0 && !side.isEmpty()) {
+            int level = side.bestLevel();
+            long levelPrice = side.price(level);
+            if (side.isBid() ? levelPrice < tradePrice : levelPrice > tradePrice) {
+                break;
+            }
+
+            int slot = side.head(level);
+            while (slot != NIL && left > 0) {
+                Order order = slotOrders[slot];
+                long quantity = Math.min(left, slotRemaining[slot]);
+
+                order.fill(quantity, tradePrice, now);
+                listener.onFill(order, null, tradePrice, quantity);
+
+                left -= quantity;
+                side.addQuantity(level, -quantity);
+                slotRemaining[slot] -= quantity;
+                if (slotRemaining[slot] == 0) {
+                    slot = removeHead(side, level, slot);
+                }
+            }
+
+            if (side.head(level) == NIL) {
+                side.remove(level);
+            }
+        }
+        return budget - left;
+    }
+
+    //레벨 맨 앞 주문이 다 체결됐을 때 빼고 다음 슬롯 반환
+    private int removeHead(BookSide side, int level, int slot) {
+        int next = slotNext[slot];
+        if (next != NIL) {
+            slotPrev[next] = NIL;
+        }
+        side.setHead(level, next);
+        slotOrders[slot].setBookSlot(-1);
+        release(slot);
+        return next;
+    }
+
+    //호가창에 올라가 있는 주문 취소, 이미 체결/취소 되어서 없으면 false
+    public boolean cancel(Order order, long now) {
+        int slot = order.getBookSlot();
+        if (slot == NIL || slotOrders[slot] != order) {
+            return false;
+        }
+
+        BookSide side = order.isBuy() ? bids : asks;
+        int level = side.find(slotPrices[slot]);
+        int prev = slotPrev[slot];
+        int next = slotNext[slot];
+
+        if (prev != NIL) {
+            slotNext[prev] = next;
+        } else {
+            side.setHead(level, next);
+        }
+        if (next != NIL) {
+            slotPrev[next] = prev;
+        } else if (prev != NIL) {
+            side.setTail(level, prev);
+        }
+        side.addQuantity(level, -slotRemaining[slot]);
+        if (side.head(level) == NIL) {
+            side.remove(level);
+        }
+
+        order.setBookSlot(-1);
+        release(slot);
+        order.cancel(now);
+        return true;
+    }
+
+    private void rest(Order order, long remaining) {
+        BookSide side = order.isBuy() ? bids : asks;
+        int level = side.findOrInsert(order.getPrice());
+        int slot = allocate();
+
+        slotOrders[slot] = order;
+        slotRemaining[slot] = remaining;
+        slotPrices[slot] = order.getPrice();
+        slotNext[slot] = NIL;
+
+        int tail = side.tail(level);
+        slotPrev[slot] = tail;
+        if (tail == NIL) {
+            side.setHead(level, slot);
+        } else {
+            slotNext[tail] = slot;
+        }
+        side.setTail(level, slot);
+        side.addQuantity(level, remaining);
+
+        order.setBookSlot(slot);
+        restingCount++;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int slot = freeHead;
+            freeHead = slotNext[slot];
+            return slot;
+        }
+        if (used == slotOrders.length) {
+            int capacity = slotOrders.length * 2;
+            slotOrders = Arrays.copyOf(slotOrders, capacity);
+            slotRemaining = Arrays.copyOf(slotRemaining, capacity);
+            slotPrices = Arrays.copyOf(slotPrices, capacity);
+            slotNext = Arrays.copyOf(slotNext, capacity);
+            slotPrev = Arrays.copyOf(slotPrev, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int slot) {
+        slotOrders[slot] = null;
+        slotNext[slot] = freeHead;
+        freeHead = slot;
+        restingCount--;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    //호가 없으면 0
+    public long bestBid() {
+        return bids.isEmpty() ? 0 : bids.price(bids.bestLevel());
+    }
+
+    public long bestAsk() {
+        return asks.isEmpty() ? 0 : asks.price(asks.bestLevel());
+    }
+
+    public long bidQuantityAt(long price) {
+        int level = bids.find(price);
+        return level < 0 ? 0 : bids.quantity(level);
+    }
+
+    public long askQuantityAt(long price) {
+        int level = asks.find(price);
+        return level < 0 ? 0 : asks.quantity(level);
+    }
+
+    public int getRestingCount() {
+        return restingCount;
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.trade.domain.order.Order;
+
+import java.util.concurrent.CompletableFuture;
+
+//매칭 스레드로 넘기는 명령 (신규 주문 / 취소 / 시장 체결가)
+final class OrderCommand {
+
+    enum Type {
+        NEW,
+        CANCEL,
+        TICK
+    }
+
+    final Type type;
+    final String stockCode;
+    //TICK 은 null
+    final Order order;
+    //신규는 항상 true, 취소는 실제로 호가창에서 빠졌는지 (TICK 은 기다리는 쪽이 없어서 null)
+    final CompletableFuture<Boolean> result;
+    //TICK 전용: 시장 체결가 / 체결 수량
+    final long price;
+    final long volume;
+    //접수 시각 (System.nanoTime, 주문 -> 체결 지연 측정용)
+    final long acceptedAt = System.nanoTime();
+
+    private OrderCommand(Type type, String stockCode, Order order, CompletableFuture<Boolean> result, long price, long volume) {
+        this.type = type;
+        this.stockCode = stockCode;
+        this.order = order;
+        this.result = result;
+        this.price = price;
+        this.volume = volume;
+    }
+
+    static OrderCommand newOrder(Order order) {
+        return new OrderCommand(Type.NEW, order.getStockCode(), order, new CompletableFuture<>(), 0, 0);
+    }
+
+    static OrderCommand cancel(Order order) {
+        return new OrderCommand(Type.CANCEL, order.getStockCode(), order, new CompletableFuture<>(), 0, 0);
+    }
+
+    static OrderCommand tick(String stockCode, long price, long volume) {
+        return new OrderCommand(Type.TICK, stockCode, null, null, price, volume);
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.whalestream.trade.engine.risk;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.trade.Commission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//리스크 검사용 유저 한 명의 잔고 (현금 / 보유 수량 / 미체결 주문 예약분)
+//자기 스트라이프 락을 잡은 스레드만 만진다 (동기화 없음)
+final class RiskAccount {
+
+    private long cash;
+    //미체결 매수 주문에 묶인 금액 (수수료 포함)
+    private long reservedCash;
+    private final Map<String, Holding> holdings = new HashMap<>();
+    private final Map<Long, Reservation> reservations = new HashMap<>();
+
+    RiskAccount(long cash) {
+        this.cash = cash;
+    }
+
+    void hold(String stockCode, long quantity) {
+        holdings.computeIfAbsent(stockCode, code -> new Holding()).quantity += quantity;
+    }
+
+    //통과하면 예약하고 null, 모자라면 거절 사유
+    //unitPrice: 매수 한 주당 묶어둘 금액 (지정가 또는 시장가 기준가)
+    String reserve(Order order, long unitPrice) {
+        //복구된 주문은 이미 체결된 만큼 빼고 예약한다
+        long quantity = order.getRemainingQuantity();
+        if (order.isBuy()) {
+            long amount;
+            try {
+                amount = Math.multiplyExact(quantity, unitPrice);
+            } catch (ArithmeticException e) {
+                return "주문 금액이 너무 큽니다.";
+            }
+            long required = amount + Commission.of(amount);
+            if (required > cash - reservedCash) {
+                return "주문 가능 금액이 부족합니다.";
+            }
+            reservedCash += required;
+            reservations.put(order.getId(), new Reservation(order.getStockCode(), true, quantity, required));
+            return null;
+        }
+        Holding holding = holdings.get(order.getStockCode());
+        if (holding == null || quantity > holding.quantity - holding.reserved) {
+            return "매도 가능 수량이 부족합니다.";
+        }
+        holding.reserved += quantity;
+        reservations.put(order.getId(), new Reservation(order.getStockCode(), false, quantity, 0));
+        return null;
+    }
+
+    //체결: 예약분 중 체결 수량만큼을 풀고 실제 현금/수량에 반영한다
+    //매수 예약은 남은 수량 비율로 푼다 (더 싸게 체결된 차액은 주문 가능 금액으로 돌아온다)
+    //시장가 매수가 기준가보다 비싸게 체결되면 현금이 예약보다 더 빠진다 -> 주문 가능 금액이 모자라면 다음 주문이 거절된다
+    void fill(Order order, long price, long quantity) {
+        long amount = price * quantity;
+        long commission = Commission.of(amount);
+        Reservation reservation = reservations.get(order.getId());
+        Holding holding = holdings.computeIfAbsent(order.getStockCode(), code -> new Holding());
+        if (order.isBuy()) {
+            cash -= amount + commission;
+            holding.quantity += quantity;
+            if (reservation != null) {
+                long released = quantity >= reservation.quantity
+                        ? reservation.amount
+                        : reservation.amount / reservation.quantity * quantity;
+                reservation.amount -= released;
+                reservedCash -= released;
+            }
+        } else {
+            cash += amount - commission;
+            holding.quantity -= quantity;
+            if (reservation != null) {
+                holding.reserved -= Math.min(quantity, reservation.quantity);
+            }
+        }
+        if (reservation != null) {
+            reservation.quantity -= quantity;
+            if (reservation.quantity <= 0) {
+                reservations.remove(order.getId());
+                reservedCash -= reservation.amount;
+            }
+        }
+        removeIfEmpty(order.getStockCode(), holding);
+    }
+
+    //취소/시장가 잔량 취소: 남은 예약을 푼다 (이미 다 체결/해제됐으면 아무것도 안 함)
+    boolean release(long orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        if (reservation.buy) {
+            reservedCash -= reservation.amount;
+        } else {
+            Holding holding = holdings.get(reservation.stockCode);
+            if (holding != null) {
+                holding.reserved -= reservation.quantity;
+                removeIfEmpty(reservation.stockCode, holding);
+            }
+        }
+        return true;
+    }
+
+    private void removeIfEmpty(String stockCode, Holding holding) {
+        if (holding.quantity == 0 && holding.reserved == 0) {
+            holdings.remove(stockCode);
+        }
+    }
+
+    long getBuyingPower() {
+        return cash - reservedCash;
+    }
+
+    long getSellableQuantity(String stockCode) {
+        Holding holding = holdings.get(stockCode);
+        return holding == null ? 0 : Math.max(0, holding.quantity - holding.reserved);
+    }
+
+    int getReservationCount() {
+        return reservations.size();
+    }
+
+    private static final class Holding {
+        private long quantity;
+        //미체결 매도 주문에 묶인 수량
+        private long reserved;
+    }
+
+    private static final class Reservation {
+        private final String stockCode;
+        private final boolean buy;
+        //아직 체결 안 된 수량과 그만큼 묶어둔 금액 (매도는 0)
+        private long quantity;
+        private long amount;
+
+        private Reservation(String stockCode, boolean buy, long quantity, long amount) {
+            this.stockCode = stockCode;
+            this.buy = buy;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.whalestream.trade.engine.risk;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.engine.ledger.PortfolioView;
+import com.project.whalestream.trade.engine.ledger.Position;
+import com.project.whalestream.trade.engine.matching.FillListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+//주문 접수 전 잔고/보유 수량 검사 (사전 리스크)
+//- 유저별 현금/보유 수량과 미체결 주문 예약분을 메모리에 둔다 -> 접수 경로에 몽고 조회가 없다
+//- 유저 해시로 고른 스트라이프 락 하나만 잡는다
+//  -> 같은 유저의 동시 주문은 차례로 검사돼서 과매수/과매도가 안 되고, 다른 스트라이프의 유저끼리는 서로 안 막는다
+//- 접수 시 예약, 체결되면 체결분만큼 예약을 실제 현금/수량으로 바꾸고, 취소(시장가 잔량 포함)면 남은 예약을 푼다
+//- 처음 보는 유저는 원장의 메모리 상태(거래가 없으면 초기 자본)에서 시작한다
+public class RiskEngine implements FillListener {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long initialCapital;
+    //유저 원장 상태 (없으면 null)
+    private final Function<String, PortfolioView> balances;
+    //시장가 매수 기준가 (시세가 없으면 0)
+    private final ToLongFunction<String> referencePrice;
+    //시장가 매수는 기준가에 이만큼(bp) 얹어서 묶어둔다
+    private final long marketBuyCollarBps;
+    private final LatencyRecorder checkLatency;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public RiskEngine(int stripeCount, long initialCapital, Function<String, PortfolioView> balances,
+                      ToLongFunction<String> referencePrice, long marketBuyCollarBps, LatencyRecorder checkLatency) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("스트라이프 수는 1 이상이어야 합니다.");
+        }
+        //2의 거듭제곱으로 올려서 나머지 대신 마스크로 고른다
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripes.length - 1;
+        this.initialCapital = initialCapital;
+        this.balances = balances;
+        this.referencePrice = referencePrice;
+        this.marketBuyCollarBps = marketBuyCollarBps;
+        this.checkLatency = checkLatency;
+    }
+
+    //주문 가능하면 예약, 아니면 IllegalArgumentException (사유 메시지)
+    public void reserve(Order order) {
+        long started = System.nanoTime();
+        long unitPrice = 0;
+        if (order.isBuy()) {
+            unitPrice = order.isLimit() ? order.getPrice() : marketBuyPrice(order.getStockCode());
+            if (unitPrice <= 0) {
+                rejected.increment();
+                throw new IllegalArgumentException("시세가 없는 종목은 시장가로 매수할 수 없습니다.");
+            }
+        }
+        Stripe stripe = stripeOf(order.getUserId());
+        String reason;
+        synchronized (stripe) {
+            reason = stripe.account(order.getUserId()).reserve(order, unitPrice);
+        }
+        checkLatency.record(System.nanoTime() - started);
+        if (reason != null) {
+            rejected.increment();
+            throw new IllegalArgumentException(reason);
+        }
+        accepted.increment();
+    }
+
+    //취소됐거나 접수 뒤 매칭 엔진에 못 넘긴 주문의 남은 예약을 푼다
+    public void release(Order order) {
+        Stripe stripe = stripeOf(order.getUserId());
+        synchronized (stripe) {
+            RiskAccount account = stripe.accounts.get(order.getUserId());
+            if (account != null) {
+                account.release(order.getId());
+            }
+        }
+    }
+
+    //매칭 스레드에서 호출 -> 스트라이프 락만 잠깐 잡는다
+    @Override
+    public void onFill(Order taker, Order maker, long price, long quantity) {
+        apply(taker, price, quantity);
+        if (maker != null) {
+            apply(maker, price, quantity);
+        }
+    }
+
+    private void apply(Order order, long price, long quantity) {
+        Stripe stripe = stripeOf(order.getUserId());
+        synchronized (stripe) {
+            //모든 주문은 reserve 를 거치므로 체결되는 유저는 이미 올라와 있다
+            RiskAccount account = stripe.accounts.get(order.getUserId());
+            if (account != null) {
+                account.fill(order, price, quantity);
+            }
+        }
+    }
+
+    public long getBuyingPower(String userId) {
+        Stripe stripe = stripeOf(userId);
+        synchronized (stripe) {
+            return stripe.account(userId).getBuyingPower();
+        }
+    }
+
+    public long getSellableQuantity(String userId, String stockCode) {
+        Stripe stripe = stripeOf(userId);
+        synchronized (stripe) {
+            return stripe.account(userId).getSellableQuantity(stockCode);
+        }
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private long marketBuyPrice(String stockCode) {
+        long price = referencePrice.applyAsLong(stockCode);
+        return price <= 0 ? 0 : price + price * marketBuyCollarBps / 10_000;
+    }
+
+    private Stripe stripeOf(String userId) {
+        int hash = userId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private final class Stripe {
+        private final Map<String, RiskAccount> accounts = new HashMap<>();
+
+        //처음 보는 유저는 원장 메모리 상태에서 올린다 (원장도 메모리 조회라 락 안에서 불러도 짧다)
+        private RiskAccount account(String userId) {
+            RiskAccount account = accounts.get(userId);
+            if (account == null) {
+                PortfolioView view = balances.apply(userId);
+                account = new RiskAccount(view == null ? initialCapital : view.getCash());
+                if (view != null) {
+                    for (Position position : view.getPositions()) {
+                        account.hold(position.getStockCode(), position.getQuantity());
+                    }
+                }
+                accounts.put(userId, account);
+            }
+            return account;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.project.whalestream.trade.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderStatus;
+import com.project.whalestream.trade.dto.order.OrderRequestDto;
+import com.project.whalestream.trade.dto.order.OrderResponseDto;
+import com.project.whalestream.trade.engine.journal.OrderJournal;
+import com.project.whalestream.trade.engine.ledger.PortfolioLedger;
+import com.project.whalestream.trade.engine.matching.MatchingEngine;
+import com.project.whalestream.trade.engine.risk.RiskEngine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//주문 접수/조회/취소
+//주문 상태는 메모리에 있고 매칭은 MatchingEngine 샤드 스레드가 한다 -> 요청마다 몽고 왕복이 없다
+//접수 전에 RiskEngine 에서 주문 가능 금액/수량을 예약하고, 취소되면 남은 예약을 푼다
+//접수/취소는 OrderJournal 에 내린 다음에 응답한다 -> 재기동하면 열린 지정가 주문을 저널에서 다시 건다 (체결 수량은 원장에 맞춰서)
+//유저별로 maxOrdersPerUser 개를 넘으면 끝난(체결/취소) 주문부터 오래된 순으로 메모리에서 내린다 (열린 주문은 남긴다)
+@Slf4j
+@Service
+public class OrderService implements OrderServiceInterface {
+
+    private static final int MAX_ORDERS = 500;
+    //체결 기록 시각은 벽시계라 조금 거꾸로 갈 수 있다 -> 접수 시각보다 이만큼 앞까지는 읽는다
+    private static final long RECONCILE_CLOCK_SLACK_MILLIS = 60_000;
+
+    private final MatchingEngine matchingEngine;
+    private final RiskEngine riskEngine;
+    private final OrderJournal orderJournal;
+    private final PortfolioLedger portfolioLedger;
+    private final ObjectMapper objectMapper;
+    private final int maxOrdersPerUser;
+
+    private final AtomicLong orderSequence = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Order> orders = new ConcurrentHashMap<>();
+    private final Map<String, UserOrders> userOrders = new ConcurrentHashMap<>();
+
+    public OrderService(MatchingEngine matchingEngine,
+                        RiskEngine riskEngine,
+                        OrderJournal orderJournal,
+                        PortfolioLedger portfolioLedger,
+                        ObjectMapper objectMapper,
+                        @Value("${whalestream.matching.max-orders-per-user:1000}") int maxOrdersPerUser) {
+        this.matchingEngine = matchingEngine;
+        this.riskEngine = riskEngine;
+        this.orderJournal = orderJournal;
+        this.portfolioLedger = portfolioLedger;
+        this.objectMapper = objectMapper;
+        this.maxOrdersPerUser = maxOrdersPerUser;
+    }
+
+    //요청을 받기 전에 저널에서 열린 지정가 주문을 되살려 예약을 다시 잡고 호가창에 주문 번호 순으로 다시 건다
+    //시장가는 즉시 체결 아니면 취소라서 다시 내지 않는다 / 그 사이 잔고가 바뀌어 예약이 안 되면 취소
+    @PostConstruct
+    void recover() {
+        long started = System.currentTimeMillis();
+        List<Order> open = new ArrayList<>();
+        int reconciled;
+        try {
+            Collection<Order> recovered = orderJournal.recover();
+            for (Order order : recovered) {
+                OrderStatus status = order.getStatus();
+                if (order.isLimit() && (status == OrderStatus.PENDING || status == OrderStatus.PARTIALLY_FILLED)) {
+                    open.add(order);
+                }
+            }
+            reconciled = reconcile(open);
+            open.removeIf(order -> order.getStatus() == OrderStatus.FILLED);
+            open.sort(Comparator.comparingLong(Order::getId));
+            orderJournal.start(open);
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 저널을 복구하지 못했습니다.", e);
+        }
+        //재기동 직후 시각이 이전 번호보다 작아도 번호가 겹치지 않게 (압축으로 빠진 끝난 주문 번호까지)
+        long floor = orderJournal.getMaxOrderId();
+        orderSequence.updateAndGet(current -> Math.max(current, floor));
+
+        List<CompletableFuture<Boolean>> submitted = new ArrayList<>(open.size());
+        int rejected = 0;
+        for (Order order : open) {
+            register(order);
+            try {
+                riskEngine.reserve(order);
+            } catch (IllegalArgumentException e) {
+                order.cancel(System.currentTimeMillis());
+                orderJournal.cancelled(order);
+                rejected++;
+                continue;
+            }
+            submitted.add(matchingEngine.submit(order));
+        }
+        submitted.forEach(CompletableFuture::join);
+        log.info("[OrderJournal] 열린 주문 {}건 복구, 원장과 체결이 달라 고친 주문 {}건, 예약 실패로 취소 {}건 ({}ms)",
+                open.size() - rejected, reconciled, rejected, System.currentTimeMillis() - started);
+    }
+
+    //주문 저널의 체결 기록은 기다리지 않고 쓰므로 죽기 직전 체결이 원장에만 (또는 저널에만) 남을 수 있다
+    //잔고가 원장 기준이니 체결 수량/금액도 원장에 맞춘다 -> 원장에 이미 있는 체결을 다시 걸어 두 번 체결되지 않게
+    //고친 주문 수 반환 (다 체결된 것으로 나온 주문은 FILLED 가 된다)
+    private int reconcile(List<Order> open) throws IOException {
+        if (open.isEmpty()) {
+            return 0;
+        }
+        Map<Long, long[]> fills = new HashMap<>();
+        //유저별 가장 이른 접수 시각 -> 그 유저 체결은 최근 것부터 읽다가 그보다 앞이면 멈춘다
+        Map<String, Long> since = new HashMap<>();
+        for (Order order : open) {
+            fills.put(order.getId(), new long[2]);
+            since.merge(order.getUserId(), order.getCreatedAt(), Math::min);
+        }
+        for (Map.Entry<String, Long> user : since.entrySet()) {
+            long until = user.getValue() - RECONCILE_CLOCK_SLACK_MILLIS;
+            portfolioLedger.forEachTrade(user.getKey(), trade -> {
+                if (trade.getTimestamp() < until) {
+                    return false;
+                }
+                long[] filled = fills.get(trade.getOrderId());
+                if (filled != null) {
+                    filled[0] += trade.getQuantity();
+                    filled[1] += trade.getQuantity() * trade.getPrice();
+                }
+                return true;
+            });
+        }
+        int reconciled = 0;
+        long now = System.currentTimeMillis();
+        for (Order order : open) {
+            long[] filled = fills.get(order.getId());
+            if (filled[0] != order.getFilledQuantity()) {
+                log.warn("[OrderJournal] 주문 {} 체결 수량을 원장에 맞춥니다: {} -> {}",
+                        order.getId(), order.getFilledQuantity(), filled[0]);
+                order.restore(filled[0], filled[1], now);
+                reconciled++;
+            }
+        }
+        return reconciled;
+    }
+
+    @Override
+    public OrderResponseDto createOrder(OrderRequestDto orderRequestDto) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        validate(orderRequestDto);
+
+        long price = orderRequestDto.getOrderMethod() == OrderMethod.LIMIT ? orderRequestDto.getPrice() : 0L;
+        Order order = new Order(
+                orderSequence.incrementAndGet(),
+                userId,
+                orderRequestDto.getStockCode(),
+                orderRequestDto.getStockName(),
+                orderRequestDto.getOrderType(),
+                orderRequestDto.getOrderMethod(),
+                orderRequestDto.getQuantity(),
+                price,
+                System.currentTimeMillis()
+        );
+
+        //원장이 체결을 못 쓰고 있는 동안은 새 주문을 받지 않는다 (다시 쓸 체결이 더 쌓이지 않게)
+        if (portfolioLedger.isFailing()) {
+            throw new ServiceOverloadedException("체결 기록이 밀려 잠시 후 다시 시도해주세요.", 5);
+        }
+        //잔고/보유 수량이 모자라면 여기서 거절 (주문 내역에도 안 남는다)
+        riskEngine.reserve(order);
+        //저널에 내려간 뒤에만 매칭에 넘긴다 (동시에 들어온 주문들과 fsync 한 번을 나눠 쓴다)
+        try {
+            await(orderJournal.accepted(order));
+        } catch (RuntimeException e) {
+            riskEngine.release(order);
+            throw e;
+        }
+        register(order);
+
+        //매칭 스레드가 처리할 때까지만 기다린다 (체결 결과가 응답에 바로 반영됨)
+        try {
+            await(matchingEngine.submit(order));
+        } catch (RuntimeException e) {
+            riskEngine.release(order);
+            order.cancel(System.currentTimeMillis());
+            orderJournal.cancelled(order);
+            throw e;
+        }
+        //시세가 없어서 못 채운 시장가 잔량은 바로 취소된다 (저널은 기다리지 않는다, 복구 때 시장가는 어차피 다시 안 건다)
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            riskEngine.release(order);
+            orderJournal.cancelled(order);
+        }
+        return OrderResponseDto.from(order);
+    }
+
+    //before 주문 번호보다 오래된 주문을 최근 것부터 limit 개 (처음 페이지는 before 없이, 다음은 마지막 주문 id 로)
+    @Override
+    public List<OrderResponseDto> getOrders(Long before, int limit) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (limit <= 0) {
+            throw new IllegalArgumentException("조회 개수는 1 이상이어야 합니다.");
+        }
+        UserOrders mine = userOrders.get(userId);
+        if (mine == null) {
+            return List.of();
+        }
+        //내림차순 맵이라 tailMap 이 커서보다 작은 번호들
+        NavigableMap<Long, Order> page = before == null ? mine.byId : mine.byId.tailMap(before, false);
+        int size = Math.min(limit, MAX_ORDERS);
+        List<OrderResponseDto> result = new ArrayList<>(Math.min(size, 64));
+        for (Order order : page.values()) {
+            if (result.size() == size) {
+                break;
+            }
+            result.add(OrderResponseDto.from(order));
+        }
+        return result;
+    }
+
+    //전체 주문 내역을 NDJSON 으로 (리스트로 모으지 않고 한 줄씩 바로 쓴다)
+    @Override
+    public StreamingResponseBody exportOrders() {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserOrders mine = userOrders.getOrDefault(userId, new UserOrders());
+        return out -> {
+            for (Order order : mine.byId.values()) {
+                out.write(objectMapper.writeValueAsBytes(OrderResponseDto.from(order)));
+                out.write('\n');
+            }
+            out.flush();
+        };
+    }
+
+    @Override
+    public void cancelOrder(String orderId) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Order order = findOrder(orderId);
+        if (order == null || !order.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 주문입니다.");
+        }
+        if (!await(matchingEngine.cancel(order))) {
+            throw new IllegalArgumentException("이미 체결되었거나 취소된 주문입니다.");
+        }
+        riskEngine.release(order);
+        await(orderJournal.cancelled(order));
+    }
+
+    private void register(Order order) {
+        orders.put(order.getId(), order);
+        UserOrders mine = userOrders.computeIfAbsent(order.getUserId(), id -> new UserOrders());
+        if (mine.byId.put(order.getId(), order) == null && mine.size.incrementAndGet() > maxOrdersPerUser) {
+            prune(mine);
+        }
+    }
+
+    //가장 오래된 주문부터 끝난 것만 내린다 (열린 주문은 취소/체결될 수 있으니 건너뛴다)
+    private void prune(UserOrders mine) {
+        int excess = mine.size.get() - maxOrdersPerUser;
+        Iterator<Order> oldest = mine.byId.descendingMap().values().iterator();
+        while (excess > 0 && oldest.hasNext()) {
+            Order order = oldest.next();
+            OrderStatus status = order.getStatus();
+            if (status != OrderStatus.FILLED && status != OrderStatus.CANCELLED) {
+                continue;
+            }
+            //같은 유저 요청이 동시에 내려도 한 번만 센다
+            if (mine.byId.remove(order.getId(), order)) {
+                orders.remove(order.getId(), order);
+                mine.size.decrementAndGet();
+                excess--;
+            }
+        }
+    }
+
+    private Order findOrder(String orderId) {
+        try {
+            return orders.get(Long.parseLong(orderId));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void validate(OrderRequestDto dto) {
+        if (dto.getStockCode() == null || dto.getOrderType() == null || dto.getOrderMethod() == null) {
+            throw new IllegalArgumentException("종목코드, 주문 종류, 주문 방식은 필수입니다.");
+        }
+        if (dto.getQuantity() <= 0) {
+            throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다.");
+        }
+        if (dto.getOrderMethod() == OrderMethod.LIMIT && (dto.getPrice() == null || dto.getPrice() <= 0)) {
+            throw new IllegalArgumentException("지정가 주문은 가격이 필요합니다.");
+        }
+    }
+
+    //유저별 주문 (주문 번호 내림차순 = 최근 주문이 앞) -> 커서(주문 번호)부터 바로 찾아서 페이지를 자른다
+    //ConcurrentSkipListMap.size() 는 전체를 세므로 개수는 따로 든다
+    private static final class UserOrders {
+        private final NavigableMap<Long, Order> byId = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        private final AtomicInteger size = new AtomicInteger();
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
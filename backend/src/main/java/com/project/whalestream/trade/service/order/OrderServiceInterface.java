@@ -0,0 +1,14 @@
+package com.project.whalestream.trade.service.order;
+
+import com.project.whalestream.trade.dto.order.OrderRequestDto;
+import com.project.whalestream.trade.dto.order.OrderResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+public interface OrderServiceInterface {
+    OrderResponseDto createOrder(OrderRequestDto orderRequestDto);
+    List<OrderResponseDto> getOrders(Long before, int limit);
+    StreamingResponseBody exportOrders();
+    void cancelOrder(String orderId);
+}
@@ -0,0 +1,91 @@
+package com.project.whalestream.trade.service.portfolio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import com.project.whalestream.trade.dto.portfolio.HoldingDto;
+import com.project.whalestream.trade.dto.portfolio.PortfolioResponseDto;
+import com.project.whalestream.trade.dto.trade.TradeResponseDto;
+import com.project.whalestream.trade.engine.ledger.LedgerEvent;
+import com.project.whalestream.trade.engine.ledger.PortfolioLedger;
+import com.project.whalestream.trade.engine.ledger.PortfolioView;
+import com.project.whalestream.trade.engine.ledger.Position;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//포트폴리오/체결 내역 조회
+//상태는 원장(PortfolioLedger) 메모리에서 복사해 오고, 평가금액은 지금 시세로 여기서 계산한다
+@Service
+@RequiredArgsConstructor
+public class PortfolioService implements PortfolioServiceInterface {
+
+    private static final int MAX_TRADES = 500;
+
+    private final PortfolioLedger portfolioLedger;
+    private final QuoteStore quoteStore;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public PortfolioResponseDto getPortfolio() {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        PortfolioView view = portfolioLedger.view(userId);
+        if (view == null) {
+            //아직 체결이 없으면 초기 자본 그대로
+            long initialCapital = portfolioLedger.getInitialCapital();
+            return new PortfolioResponseDto(userId, userId, initialCapital, initialCapital, 0, List.of());
+        }
+
+        List<HoldingDto> holdings = new ArrayList<>(view.getPositions().size());
+        double totalValue = view.getCash();
+        for (Position position : view.getPositions()) {
+            Quote quote = quoteStore.get(position.getStockCode());
+            double averagePrice = position.getAveragePrice();
+            //시세가 아직 없으면 평균단가로 평가
+            long currentPrice = quote != null ? quote.getCurrentPrice() : Math.round(averagePrice);
+            double marketValue = (double) position.getQuantity() * currentPrice;
+            double profitLoss = marketValue - position.getCost();
+            double returnRate = position.getCost() != 0 ? profitLoss / Math.abs(position.getCost()) * 100 : 0;
+            holdings.add(new HoldingDto(position.getStockCode(), position.getStockName(), position.getQuantity(),
+                    averagePrice, currentPrice, marketValue, profitLoss, returnRate));
+            totalValue += marketValue;
+        }
+        double returnRate = view.getDeposits() > 0 ? (totalValue / view.getDeposits() - 1) * 100 : 0;
+        return new PortfolioResponseDto(userId, userId, view.getCash(), totalValue, returnRate, holdings);
+    }
+
+    //before 체결 id 보다 오래된 체결을 최근 것부터 limit 개 (처음 페이지는 before 없이, 다음은 마지막 체결 id 로)
+    @Override
+    public List<TradeResponseDto> getTrades(Long before, int limit) {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (limit <= 0) {
+            throw new IllegalArgumentException("조회 개수는 1 이상이어야 합니다.");
+        }
+        List<LedgerEvent> trades = portfolioLedger.tradesBefore(userId, before == null ? Long.MAX_VALUE : before,
+                Math.min(limit, MAX_TRADES));
+        List<TradeResponseDto> result = new ArrayList<>(trades.size());
+        for (LedgerEvent trade : trades) {
+            result.add(TradeResponseDto.from(trade));
+        }
+        return result;
+    }
+
+    //체결 내역 전체를 NDJSON 으로 (최근 것부터)
+    //메모리에 남긴 최근 체결이 아니라 원장 저널(보관 세그먼트 포함)을 한 번 훑으면서 바로 쓴다 (원장 락을 잡지 않는다)
+    @Override
+    public StreamingResponseBody exportTrades() {
+        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return out -> {
+            portfolioLedger.forEachTrade(userId, trade -> {
+                out.write(objectMapper.writeValueAsBytes(TradeResponseDto.from(trade)));
+                out.write('\n');
+                return true;
+            });
+            out.flush();
+        };
+    }
+}
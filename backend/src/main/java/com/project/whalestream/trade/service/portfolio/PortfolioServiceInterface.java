@@ -0,0 +1,13 @@
+package com.project.whalestream.trade.service.portfolio;
+
+import com.project.whalestream.trade.dto.portfolio.PortfolioResponseDto;
+import com.project.whalestream.trade.dto.trade.TradeResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+public interface PortfolioServiceInterface {
+    PortfolioResponseDto getPortfolio();
+    List<TradeResponseDto> getTrades(Long before, int limit);
+    StreamingResponseBody exportTrades();
+}
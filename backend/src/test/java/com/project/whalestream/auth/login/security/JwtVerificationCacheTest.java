@@ -0,0 +1,111 @@
+package com.project.whalestream.login.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerificationCacheTest {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(
+            "verification-cache-test-secret-key-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void 같은_토큰은_한_번만_검증하고_한_글자만_달라도_따로_검증한다() {
+        JwtVerificationCache cache = new JwtVerificationCache(new JwtTokenProvider(KEY), 100);
+        String alice = token("alice", 60_000);
+        String bob = token("bob", 60_000);
+
+        assertEquals("alice", cache.getUserId(alice));
+        assertEquals("alice", cache.getUserId(alice));
+        assertEquals("alice", cache.getUserId(alice));
+        assertEquals("bob", cache.getUserId(bob));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.size());
+
+        //서명 한 글자를 바꾼 토큰은 캐시에서 나오지 않고 다시 검증해서 실패해야 한다
+        //(마지막 글자는 base64 패딩 비트라 바꿔도 같은 서명일 수 있어서 조금 앞 글자를 바꾼다)
+        int index = alice.length() - 5;
+        String tampered = alice.substring(0, index) + (alice.charAt(index) == 'A' ? 'B' : 'A') + alice.substring(index + 1);
+        assertThrows(RuntimeException.class, () -> cache.getUserId(tampered));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void 만료된_토큰은_캐시에_있어도_만료_예외가_난다() throws Exception {
+        JwtVerificationCache cache = new JwtVerificationCache(new JwtTokenProvider(KEY), 100);
+        //exp 는 초 단위로 잘린다
+        String expiring = token("alice", 1_500);
+        assertEquals("alice", cache.getUserId(expiring));
+        assertEquals(1, cache.size());
+
+        Thread.sleep(2_600);
+        assertThrows(ExpiredJwtException.class, () -> cache.getUserId(expiring));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void 꽉_차면_곧_만료될_것부터_비우고_한도를_넘지_않는다() throws Exception {
+        int maxSize = 100;
+        JwtVerificationCache cache = new JwtVerificationCache(new JwtTokenProvider(KEY), maxSize);
+        for (int i = 0; i < 1_000; i++) {
+            cache.getUserId(token("user-" + i, 60_000 + i * 1_000L));
+            assertTrue(cache.size() <= maxSize, "size=" + cache.size());
+        }
+        assertTrue(cache.getEvictionCount() >= 900);
+
+        //여러 스레드가 동시에 넣어도 정리 중인 스레드를 기다리지 않는 대신 캐시하지 않고 넘어간다
+        int threads = 8;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                tokens.add(token("user-" + offset + "-" + i, 120_000));
+            }
+            workers.add(new Thread(() -> tokens.forEach(cache::getUserId)));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        //크기 검사와 넣기 사이에 동시에 들어온 스레드 수만큼만 넘칠 수 있다
+        assertTrue(cache.size() <= maxSize + threads, "size=" + cache.size());
+    }
+
+    @Test
+    void 크기가_0_이면_캐시하지_않고_1_이어도_정리가_된다() {
+        JwtVerificationCache disabled = new JwtVerificationCache(new JwtTokenProvider(KEY), 0);
+        String alice = token("alice", 60_000);
+        assertEquals("alice", disabled.getUserId(alice));
+        assertEquals("alice", disabled.getUserId(alice));
+        assertEquals(0, disabled.size());
+        assertEquals(2, disabled.getMissCount());
+
+        JwtVerificationCache single = new JwtVerificationCache(new JwtTokenProvider(KEY), 1);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("user-" + i, single.getUserId(token("user-" + i, 60_000)));
+            assertEquals(1, single.size());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new JwtVerificationCache(new JwtTokenProvider(KEY), -1));
+    }
+
+    private static String token(String userId, long ttlMillis) {
+        return Jwts.builder()
+                .setSubject(userId)
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.whalestream.login.security;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingPoolTest {
+
+    @Test
+    void 대기열이_꽉_차면_바로_거절하고_오래_밀린_작업은_실행하지_않는다() throws Exception {
+        PasswordHashingPool pool = new PasswordHashingPool(1, 2, 50, 3);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = pool.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        CompletableFuture<Boolean> queued1 = pool.submit(() -> true);
+        CompletableFuture<Boolean> queued2 = pool.submit(() -> true);
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class, () -> pool.submit(() -> true));
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1, pool.getRejectedCount());
+        assertEquals(2, pool.getQueueDepth());
+
+        //대기열에서 50ms 넘게 기다린 작업은 실행되지 않고 과부하로 끝난다
+        Thread.sleep(100);
+        release.countDown();
+        assertTrue(running.join());
+        CompletionException expired = assertThrows(CompletionException.class, queued1::join);
+        assertTrue(expired.getCause() instanceof ServiceOverloadedException);
+        assertThrows(CompletionException.class, queued2::join);
+        assertEquals(2, pool.getExpiredCount());
+
+        //여유가 생기면 다시 받는다
+        assertEquals("hash", pool.submit(() -> "hash").join());
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.whalestream.login.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenStoreTest {
+
+    @Test
+    void 교체된_옛_토큰이_다시_오면_세션을_끊는다() {
+        FakePersistence persistence = new FakePersistence();
+        //유예 시간 없음
+        RefreshTokenStore store = new RefreshTokenStore(persistence, 60_000, 1_000, 0);
+
+        store.issue("user", "token-1");
+        assertEquals("token-2", store.rotate("user", "token-1", "token-2"));
+        assertTrue(store.isActive("user", "token-2"));
+        assertFalse(store.isActive("user", "token-1"));
+
+        //token-1 을 훔쳐간 쪽이 재발급을 시도 -> 실패 + 정상 유저 세션도 끊긴다
+        assertNull(store.rotate("user", "token-1", "token-3"));
+        assertFalse(store.isActive("user", "token-2"));
+        assertEquals(1, store.getReuseDetectedCount());
+
+        //여러 번 바뀌어도 몽고에는 마지막 상태(로그아웃) 한 번만
+        store.flush();
+        assertEquals(1, persistence.batches.size());
+        assertTrue(persistence.stored.containsKey("user"));
+        assertNull(persistence.stored.get("user"));
+    }
+
+    @Test
+    void 동시에_같은_토큰으로_재발급하면_모두_같은_새_토큰을_받는다() throws Exception {
+        RefreshTokenStore store = new RefreshTokenStore(new FakePersistence(), 60_000, 1_000, 10_000);
+        store.issue("user", "token-1");
+
+        int threads = 8;
+        String[] results = new String[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers.add(new Thread(() -> results[index] = store.rotate("user", "token-1", "next-" + index)));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        //한 번만 바뀌고, 늦게 온 요청도 세션을 끊지 않고 그 토큰을 받는다
+        for (String result : results) {
+            assertEquals(results[0], result);
+        }
+        assertTrue(store.isActive("user", results[0]));
+        assertEquals(0, store.getReuseDetectedCount());
+        assertEquals(threads - 1, store.getGraceReissueCount());
+
+        //두 번 전 토큰은 유예 대상이 아니다 -> 재사용으로 보고 끊는다
+        assertEquals("token-3", store.rotate("user", results[0], "token-3"));
+        assertNull(store.rotate("user", "token-1", "token-4"));
+        assertFalse(store.isActive("user", "token-3"));
+        assertEquals(1, store.getReuseDetectedCount());
+    }
+
+    @Test
+    void 유예_시간이_지난_바로_전_토큰은_재사용으로_본다() throws Exception {
+        RefreshTokenStore store = new RefreshTokenStore(new FakePersistence(), 60_000, 1_000, 50);
+        store.issue("user", "token-1");
+        assertEquals("token-2", store.rotate("user", "token-1", "token-2"));
+        Thread.sleep(100);
+        assertNull(store.rotate("user", "token-1", "token-3"));
+        assertFalse(store.isActive("user", "token-2"));
+    }
+
+    @Test
+    void 메모리에_없는_유저는_필드만_한_번_읽어온다() {
+        FakePersistence persistence = new FakePersistence();
+        persistence.stored.put("user", "token-1");
+        RefreshTokenStore store = new RefreshTokenStore(persistence, 60_000, 1_000, 10_000);
+
+        assertTrue(store.isActive("user", "token-1"));
+        assertEquals("token-2", store.rotate("user", "token-1", "token-2"));
+        assertFalse(store.isActive("nobody", "token-1"));
+        assertFalse(store.isActive("nobody", "token-1"));
+        assertEquals(2, persistence.loads);
+
+        //쓰다가 실패하면 다음 flush 에 다시
+        persistence.failing = true;
+        assertThrows(IllegalStateException.class, store::flush);
+        persistence.failing = false;
+        store.flush();
+        assertEquals("token-2", persistence.stored.get("user"));
+        assertEquals(0, store.getPendingCount());
+    }
+
+    private static final class FakePersistence implements RefreshTokenStore.Persistence {
+        private final Map<String, String> stored = new HashMap<>();
+        private final List<Map<String, String>> batches = new ArrayList<>();
+        private int loads;
+        private boolean failing;
+
+        @Override
+        public String load(String userId) {
+            loads++;
+            return stored.get(userId);
+        }
+
+        @Override
+        public void write(Map<String, String> tokens) {
+            if (failing) {
+                throw new IllegalStateException("mongo down");
+            }
+            batches.add(tokens);
+            stored.putAll(tokens);
+        }
+    }
+}
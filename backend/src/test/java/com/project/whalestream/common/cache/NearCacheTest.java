@@ -0,0 +1,56 @@
+package com.project.whalestream.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+
+    @Test
+    void 한_번_읽은_값은_다시_읽지_않고_무효화하면_두_단계_모두에서_빠진다() {
+        InProcessCacheTier<String, String> tier = new InProcessCacheTier<>(60_000);
+        NearCache<String, String> cache = new NearCache<>("test", 100, 60_000, tier);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("a-1", cache.get("a", key -> key + "-" + loads.incrementAndGet()));
+        assertEquals("a-1", cache.get("a", key -> key + "-" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals("a-1", tier.get("a"));
+
+        cache.invalidate("a");
+        assertNull(tier.get("a"));
+        assertEquals("a-2", cache.get("a", key -> key + "-" + loads.incrementAndGet()));
+
+        //1차에서 밀려나도 2차에 있으면 몽고까지 가지 않는다
+        NearCache<String, String> other = new NearCache<>("other", 100, 60_000, tier);
+        assertEquals("a-2", other.get("a", key -> fail("2차 캐시에 있어야 합니다")));
+        assertEquals(1, other.getSecondTierHitCount());
+    }
+
+    @Test
+    void 읽는_도중_무효화되면_읽어온_옛_값은_캐시에_남기지_않는다() {
+        NearCache<String, String> cache = new NearCache<>("test", 100, 60_000, null);
+        assertEquals("old", cache.get("a", key -> {
+            //몽고에서 읽는 사이 쓰기가 끝나고 무효화됐다
+            cache.invalidate("a");
+            return "old";
+        }));
+        assertEquals("new", cache.get("a", key -> "new"));
+        assertNull(cache.get("missing", key -> null));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void 꽉_차면_오래된_것부터_비운다() {
+        NearCache<String, Integer> cache = new NearCache<>("test", 10, 60_000, null);
+        for (int i = 0; i < 25; i++) {
+            int value = i;
+            cache.get("k" + i, key -> value);
+        }
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.whalestream.common.execution;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestExecutorTest {
+
+    @Test
+    void 엔드포인트별_한도를_넘으면_바로_거절하고_다른_엔드포인트는_막지_않는다() throws Exception {
+        //작업 스레드로 넘어가는지 확인하려고 요청 스레드 값을 실어 보낸다
+        ThreadLocal<String> context = new ThreadLocal<>();
+        UnaryOperator<Runnable> propagator = task -> {
+            String captured = context.get();
+            return () -> {
+                context.set(captured);
+                try {
+                    task.run();
+                } finally {
+                    context.remove();
+                }
+            };
+        };
+        RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.ASYNC, 4, 16,
+                Map.of(Endpoints.PROFILE, 1), 10, 2, propagator);
+        CountDownLatch release = new CountDownLatch(1);
+
+        context.set("user-1");
+        CompletableFuture<String> slow = executor.submit(Endpoints.PROFILE, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return context.get() + "@" + Thread.currentThread().getName();
+        });
+        context.remove();
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+                () -> executor.submit(Endpoints.PROFILE, () -> "second"));
+        assertEquals(2, rejected.getRetryAfterSeconds());
+        assertEquals(1, executor.getRejectedCount(Endpoints.PROFILE));
+        assertEquals(1, executor.getInFlight(Endpoints.PROFILE));
+
+        //한도가 다른 엔드포인트는 그대로 처리된다
+        assertEquals("logout", executor.submit(Endpoints.LOGOUT, () -> "logout").join());
+
+        release.countDown();
+        assertTrue(slow.join().startsWith("user-1@request-io-"));
+        assertEquals(0, executor.getInFlight(Endpoints.PROFILE));
+        assertEquals("again", executor.submit(Endpoints.PROFILE, () -> "again").join());
+        executor.shutdown();
+    }
+
+    @Test
+    void 동기_모드는_요청_스레드에서_바로_실행하고_예외도_그대로_던진다() throws Exception {
+        RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.SYNC, 0, 0, Map.of(), 1, 1, UnaryOperator.identity());
+
+        CompletableFuture<String> done = executor.submit(Endpoints.LOGIN, () -> Thread.currentThread().getName());
+        assertTrue(done.isDone());
+        assertEquals(Thread.currentThread().getName(), done.join());
+
+        assertThrows(IllegalArgumentException.class, () -> executor.submit(Endpoints.LOGIN, () -> {
+            throw new IllegalArgumentException("아이디 혹은 비밀번호가 일치하지 않습니다");
+        }));
+        //실패해도 한도는 돌려받는다
+        assertEquals(0, executor.getInFlight(Endpoints.LOGIN));
+
+        //다른 풀에서 이어지는 일은 동기 모드여도 I/O 풀로 넘어간다
+        String worker = CompletableFuture.supplyAsync(() -> "hashed")
+                .thenCompose(hash -> executor.submitAsync(Endpoints.SIGN_UP, () -> hash + "@" + Thread.currentThread().getName()))
+                .join();
+        assertTrue(worker.startsWith("hashed@request-io-"));
+        assertEquals(0, executor.getInFlight(Endpoints.SIGN_UP));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.whalestream.common.persistence;
+
+import com.project.whalestream.common.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBufferTest {
+
+    @Test
+    void 같은_문서의_변경은_필드_단위로_합쳐서_한_번에_쓰고_쓰기_전에도_읽힌다() throws Exception {
+        List<Map<String, Map<String, Object>>> written = new ArrayList<>();
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", written::add, 60_000, 100);
+
+        buffer.set("user-1", Map.of("name", "a", "age", 20));
+        buffer.set("user-1", Map.of("name", "b"));
+        Map<String, Object> unset = new HashMap<>();
+        unset.put("email", null);
+        buffer.set("user-2", unset);
+
+        assertEquals(Map.of("name", "b", "age", 20), buffer.pending("user-1"));
+        assertNull(buffer.pending("user-3"));
+        assertTrue(written.isEmpty());
+
+        buffer.shutdown();
+        assertEquals(1, written.size());
+        assertEquals(Map.of("name", "b", "age", 20), written.get(0).get("user-1"));
+        assertTrue(written.get(0).get("user-2").containsKey("email"));
+        assertNull(buffer.pending("user-1"));
+        assertEquals(2, buffer.getWrittenDocumentCount());
+    }
+
+    @Test
+    void 쓰기가_실패하면_되돌려_놓고_그_사이_들어온_새_값은_유지한다() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        List<Map<String, Map<String, Object>>> written = new ArrayList<>();
+        WriteBehindBuffer[] holder = new WriteBehindBuffer[1];
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", updates -> {
+            if (fail.get()) {
+                //쓰는 도중 들어온 변경
+                holder[0].set("user-1", Map.of("name", "newer"));
+                throw new IllegalStateException("down");
+            }
+            written.add(updates);
+        }, 60_000, 100);
+        holder[0] = buffer;
+
+        buffer.set("user-1", Map.of("name", "older", "age", 30));
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(1, buffer.getFailureCount());
+        assertEquals(Map.of("name", "newer", "age", 30), buffer.pending("user-1"));
+
+        fail.set(false);
+        buffer.flush();
+        assertEquals(Map.of("name", "newer", "age", 30), written.get(0).get("user-1"));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void 일부만_실패하면_실패한_문서만_되돌리고_안_되는_문서는_버린다() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        List<Map<String, Map<String, Object>>> written = new ArrayList<>();
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", updates -> {
+            if (fail.get()) {
+                throw new PartialWriteException(Set.of("user-2"), Map.of("user-3", "11000 duplicate key"),
+                        new IllegalStateException("bulk"));
+            }
+            written.add(updates);
+        }, 60_000, 100);
+
+        buffer.set("user-1", Map.of("name", "a"));
+        buffer.set("user-2", Map.of("name", "b"));
+        buffer.set("user-3", Map.of("name", "c"));
+        assertThrows(PartialWriteException.class, buffer::flush);
+        assertEquals(1, buffer.getWrittenDocumentCount());
+        assertEquals(1, buffer.getDroppedCount());
+        assertNull(buffer.pending("user-1"));
+        assertNull(buffer.pending("user-3"));
+        assertEquals(Map.of("name", "b"), buffer.pending("user-2"));
+
+        fail.set(false);
+        buffer.flush();
+        assertEquals(Set.of("user-2"), written.get(0).keySet());
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void 대기_문서가_꽉_찬_채로_안_줄면_새_문서_변경은_거절한다() throws Exception {
+        //쓰기 스레드가 자리를 못 만드는 동안 (DB 가 안 되는 것처럼 스레드를 안 띄운다)
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", updates -> {
+            throw new IllegalStateException("down");
+        }, 50, 2);
+
+        buffer.set("user-1", Map.of("name", "a"));
+        buffer.set("user-2", Map.of("name", "b"));
+        //이미 대기 중인 문서는 합쳐 넣을 수 있다
+        buffer.set("user-1", Map.of("age", 20));
+        assertThrows(ServiceOverloadedException.class, () -> buffer.set("user-3", Map.of("name", "c")));
+        assertEquals(1, buffer.getRejectedCount());
+        assertEquals(2, buffer.getPendingCount());
+        assertEquals(Map.of("name", "a", "age", 20), buffer.pending("user-1"));
+        assertThrows(IllegalStateException.class, buffer::shutdown);
+    }
+
+    @Test
+    void 동시에_새_문서가_몰려도_한도를_넘지_않는다() throws Exception {
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", updates -> {
+            throw new IllegalStateException("down");
+        }, 20, 10);
+
+        int threads = 8;
+        List<Thread> workers = new ArrayList<>();
+        AtomicInteger accepted = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        buffer.set("user-" + offset + "-" + i, Map.of("name", "x"));
+                        accepted.incrementAndGet();
+                    } catch (ServiceOverloadedException ignored) {
+                        //자리가 없어서 거절
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(10, accepted.get());
+        assertEquals(10, buffer.getPendingCount());
+        assertEquals(threads * 20 - 10, buffer.getRejectedCount());
+    }
+
+    @Test
+    void 쓰는_중인_문서도_자리를_잡고_있다가_쓰기가_끝나야_돌려준다() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", updates -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail.get()) {
+                throw new IllegalStateException("down");
+            }
+        }, 200, 1);
+
+        buffer.set("user-1", Map.of("name", "a"));
+        Thread flusher = new Thread(() -> assertThrows(IllegalStateException.class, buffer::flush));
+        flusher.start();
+        writing.await();
+        //pending 은 비었지만 쓰는 중인 문서가 자리를 잡고 있다 -> 쓰기가 실패해서 되돌아오므로 새 문서는 거절
+        assertEquals(0, buffer.getPendingCount());
+        assertThrows(ServiceOverloadedException.class, () -> buffer.set("user-2", Map.of("name", "b")));
+        release.countDown();
+        flusher.join();
+        assertEquals(Map.of("name", "a"), buffer.pending("user-1"));
+
+        //쓰기가 성공하면 기다리던 새 문서가 들어온다
+        fail.set(false);
+        AtomicBoolean admitted = new AtomicBoolean();
+        Thread setter = new Thread(() -> {
+            buffer.set("user-2", Map.of("name", "b"));
+            admitted.set(true);
+        });
+        setter.start();
+        Thread.sleep(20);
+        assertFalse(admitted.get());
+        buffer.flush();
+        setter.join();
+        assertTrue(admitted.get());
+        assertEquals(Map.of("name", "b"), buffer.pending("user-2"));
+        assertNull(buffer.pending("user-1"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.whalestream.market.engine.bar;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarAggregatorTest {
+
+    //2024-01-02 09:00:00 KST
+    private static final long T0 = 1_704_153_600_000L;
+
+    @Test
+    void 구간이_끝나고_grace_가_지나면_닫힌_봉을_한_번만_넘긴다() {
+        BarAggregator aggregator = new BarAggregator(2_000, 16, 16, 16, 16);
+        List<long[]> minutes = new ArrayList<>();
+        aggregator.addListener((code, interval, start, open, high, low, close, volume) -> {
+            if (interval == BarInterval.M1) {
+                minutes.add(new long[]{start, open, high, low, close, volume});
+            }
+        });
+
+        aggregator.onTick(tick(T0 + 1_000, 100, 1));
+        aggregator.onTick(tick(T0 + 30_000, 120, 2));
+        aggregator.onTick(tick(T0 + 59_000, 90, 3));
+        //다음 분봉 시작, 아직 grace 안
+        aggregator.onTick(tick(T0 + 61_000, 95, 1));
+        assertTrue(minutes.isEmpty());
+        //grace 안에 늦게 온 틱 -> 이전 분봉에 들어가지만 종가는 더 늦은 틱 그대로
+        aggregator.onTick(tick(T0 + 58_000, 130, 4));
+        aggregator.onTick(tick(T0 + 62_000, 96, 1));
+        assertEquals(1, minutes.size());
+        assertArrayEquals(new long[]{T0, 100, 130, 90, 90, 10}, minutes.get(0));
+
+        //grace 가 지난 구간의 틱은 버린다
+        aggregator.onTick(tick(T0 + 10_000, 500, 1));
+        assertEquals(1, minutes.size());
+        assertTrue(aggregator.getLateTickCount() >= 1);
+    }
+
+    @Test
+    void 일봉은_KST_자정_기준이고_버퍼가_차면_오래된_봉을_덮어쓴다() {
+        BarAggregator aggregator = new BarAggregator(0, 4, 4, 4, 4);
+        for (int i = 0; i < 10; i++) {
+            aggregator.onTick(tick(T0 + i * 1_000L, 100 + i, 1));
+        }
+        List<Long> seconds = new ArrayList<>();
+        assertEquals(4, aggregator.recent("005930", BarInterval.S1, 100,
+                (code, interval, start, open, high, low, close, volume) -> seconds.add(close)));
+        assertEquals(List.of(106L, 107L, 108L, 109L), seconds);
+
+        long[] day = new long[1];
+        aggregator.recent("005930", BarInterval.D1, 1, (code, interval, start, open, high, low, close, volume) -> day[0] = start);
+        //09:00 KST 의 일봉 시작은 같은 날 00:00 KST
+        assertEquals(T0 - 9 * 3_600_000L, day[0]);
+    }
+
+    @Test
+    void 빈_구간에_늦게_온_틱은_사이에_끼워_넣는다() {
+        BarAggregator aggregator = new BarAggregator(5_000, 8, 8, 8, 8);
+        aggregator.onTick(tick(T0, 100, 1));
+        aggregator.onTick(tick(T0 + 3_000, 103, 1));
+        aggregator.onTick(tick(T0 + 1_500, 101, 1));
+        List<Long> starts = new ArrayList<>();
+        aggregator.recent("005930", BarInterval.S1, 10, (code, interval, start, open, high, low, close, volume) -> starts.add(start));
+        assertEquals(List.of(T0, T0 + 1_000, T0 + 3_000), starts);
+    }
+
+    @Test
+    void 시가는_먼저_도착한_틱이_아니라_가장_이른_시각의_틱이다() {
+        BarAggregator aggregator = new BarAggregator(5_000, 8, 8, 8, 8);
+        aggregator.onTick(tick(T0 + 20_000, 110, 1));
+        //같은 분봉 안에서 순서가 뒤바뀌어 도착
+        aggregator.onTick(tick(T0 + 5_000, 100, 1));
+        aggregator.onTick(tick(T0 + 10_000, 105, 1));
+        long[] bar = new long[2];
+        aggregator.recent("005930", BarInterval.M1, 1, (code, interval, start, open, high, low, close, volume) -> {
+            bar[0] = open;
+            bar[1] = close;
+        });
+        assertEquals(100, bar[0]);
+        assertEquals(110, bar[1]);
+    }
+
+    @Test
+    void 지금보다_너무_미래인_틱은_버리고_워터마크를_올리지_않는다() {
+        long[] now = {T0};
+        BarAggregator aggregator = new BarAggregator(2_000, 60_000, () -> now[0], 8, 8, 8, 8);
+        List<Long> closed = new ArrayList<>();
+        aggregator.addListener((code, interval, start, open, high, low, close, volume) -> {
+            if (interval == BarInterval.M1) {
+                closed.add(start);
+            }
+        });
+
+        aggregator.onTick(tick(T0 + 1_000, 100, 1));
+        //시각이 하루 뒤로 찍힌 틱 하나
+        aggregator.onTick(tick(T0 + 86_400_000L, 999, 1));
+        assertEquals(1, aggregator.getFutureTickCount());
+        //워터마크가 안 뛰었으니 지금 분봉은 아직 열려 있고 계속 틱을 받는다
+        aggregator.onTick(tick(T0 + 30_000, 101, 1));
+        assertTrue(closed.isEmpty());
+        assertEquals(0, aggregator.getLateTickCount());
+
+        now[0] = T0 + 70_000;
+        aggregator.onTick(tick(T0 + 65_000, 102, 1));
+        assertEquals(List.of(T0), closed);
+    }
+
+    private static MarketTick tick(long timestamp, long price, long volume) {
+        return new MarketTick("005930", "삼성전자", price, volume, timestamp);
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.whalestream.market.engine.barstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarFileTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void 블록_경계를_넘는_구간도_순서대로_읽는다() throws IOException {
+        for (boolean compressed : new boolean[]{false, true}) {
+            Path dir = Files.createTempDirectory("bars");
+            try (BarFile file = BarFile.open("005930", dir.resolve("005930.bars"), 64, compressed, 100)) {
+                for (int i = 0; i < 1000; i++) {
+                    file.append(i * MINUTE, 70_000 + i, 70_100 + i, 69_900 + i, 70_050.5 + i, 10 + i);
+                }
+
+                List<Long> timestamps = new ArrayList<>();
+                List<Double> closes = new ArrayList<>();
+                long count = file.scan(100 * MINUTE, 900 * MINUTE, (t, o, h, l, c, v) -> {
+                    timestamps.add(t);
+                    closes.add(c);
+                });
+                assertEquals(800, count);
+                assertEquals(100 * MINUTE, (long) timestamps.get(0));
+                assertEquals(899 * MINUTE, (long) timestamps.get(799));
+                assertEquals(70_050.5 + 100, closes.get(0), 1e-9);
+                assertEquals(1000, file.size());
+            }
+        }
+    }
+
+    @Test
+    void 다시_열면_덜_찬_블록까지_복구한다() throws IOException {
+        Path path = Files.createTempDirectory("bars").resolve("000660.bars");
+        try (BarFile file = BarFile.open("000660", path, 64, true, 100)) {
+            for (int i = 0; i < 100; i++) {
+                file.append(i * MINUTE, 100, 101, 99, 100 + i, 1);
+            }
+        }
+
+        try (BarFile file = BarFile.open("000660", path, 64, true, 100)) {
+            assertEquals(100, file.size());
+            assertEquals(99 * MINUTE, file.getLastTimestamp());
+            assertThrows(IllegalArgumentException.class, () -> file.append(99 * MINUTE, 1, 1, 1, 1, 1));
+
+            for (int i = 100; i < 200; i++) {
+                file.append(i * MINUTE, 100, 101, 99, 100 + i, 1);
+            }
+            double[] last = new double[1];
+            assertEquals(200, file.scan(0, Long.MAX_VALUE, (t, o, h, l, c, v) -> last[0] = c));
+            assertEquals(299, last[0], 1e-9);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.whalestream.market.engine.fanout;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflatingSessionTest {
+
+    @Test
+    void 전송_차례가_오기_전에_들어온_같은_종목_틱은_최신_것_하나만_보낸다() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingWriter writer = new RecordingWriter();
+        ConflatingSession session = new ConflatingSession("s1", executor, writer);
+
+        session.offer(tick("005930", 70_000));
+        session.offer(tick("005930", 70_100));
+        session.offer(tick("000660", 120_000));
+        session.offer(tick("005930", 70_200));
+        //세션당 전송 작업은 하나만 올라간다
+        assertEquals(1, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(2, writer.ticks.size());
+        assertEquals(70_200, priceOf(writer.ticks, "005930"));
+        assertEquals(120_000, priceOf(writer.ticks, "000660"));
+        assertEquals(1, writer.flushes);
+        assertEquals(2, session.getSentTickCount());
+        assertEquals(2, session.getConflatedTickCount());
+    }
+
+    @Test
+    void 보내는_도중에_들어온_틱은_같은_작업에서_이어서_보낸다() {
+        ManualExecutor executor = new ManualExecutor();
+        List<MarketTick> written = new ArrayList<>();
+        ConflatingSession[] holder = new ConflatingSession[1];
+        ConflatingSession session = new ConflatingSession("s1", executor, tick -> {
+            written.add(tick);
+            //첫 전송 중에 새 틱이 들어온다 -> 새 작업을 올리지 않고 지금 작업이 이어서 보낸다
+            if (written.size() == 1) {
+                holder[0].offer(tick("005930", 70_500));
+            }
+        });
+        holder[0] = session;
+
+        session.offer(tick("005930", 70_000));
+        executor.runAll();
+        assertEquals(1, executor.executed);
+        assertEquals(2, written.size());
+        assertEquals(70_500, written.get(1).getPrice());
+
+        //다 보낸 뒤에 들어온 틱은 새 작업으로
+        session.offer(tick("005930", 71_000));
+        assertEquals(1, executor.tasks.size());
+    }
+
+    @Test
+    void 전송이_실패하면_세션을_닫고_더_받지_않는다() {
+        ManualExecutor executor = new ManualExecutor();
+        int[] failures = new int[1];
+        ConflatingSession session = new ConflatingSession("s1", executor, tick -> {
+            throw new IOException("stalled client");
+        });
+        session.setOnFailure(() -> failures[0]++);
+
+        session.offer(tick("005930", 70_000));
+        session.offer(tick("000660", 120_000));
+        executor.runAll();
+        assertTrue(session.isClosed());
+        assertEquals(1, failures[0]);
+        assertEquals(0, session.getSentTickCount());
+
+        //닫힌 세션은 틱을 쌓지도, 작업을 올리지도 않는다
+        session.offer(tick("005930", 70_100));
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    private static long priceOf(List<MarketTick> ticks, String stockCode) {
+        return ticks.stream().filter(tick -> tick.getStockCode().equals(stockCode)).findFirst().orElseThrow().getPrice();
+    }
+
+    private static MarketTick tick(String stockCode, long price) {
+        return new MarketTick(stockCode, stockCode, price, 1, 1_700_000_000_000L);
+    }
+
+    //테스트 스레드에서 직접 돌리는 executor
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private int executed;
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                executed++;
+                task.run();
+            }
+        }
+    }
+
+    private static final class RecordingWriter implements TickWriter {
+        private final List<MarketTick> ticks = new ArrayList<>();
+        private int flushes;
+
+        @Override
+        public void write(MarketTick tick) {
+            ticks.add(tick);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.whalestream.market.engine.quote;
+
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteStoreTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void 목록은_처음_들어온_순서이고_이전에_받은_목록은_바뀌지_않는다() {
+        QuoteStore store = new QuoteStore();
+        store.onTick(tick("005930", 70_000, T0));
+        store.onTick(tick("000660", 120_000, T0));
+        List<Quote> before = store.getAll();
+
+        store.onTick(tick("005930", 70_500, T0 + 1_000));
+        store.onTick(tick("035420", 200_000, T0 + 1_000));
+        List<Quote> after = store.getAll();
+
+        assertEquals(2, before.size());
+        assertEquals(70_000, before.get(0).getCurrentPrice());
+        assertEquals(3, after.size());
+        assertEquals("005930", after.get(0).getStockCode());
+        assertEquals(70_500, after.get(0).getCurrentPrice());
+        assertEquals("035420", after.get(2).getStockCode());
+        assertSame(after.get(0), store.get("005930"));
+        assertNull(store.get("999999"));
+        assertEquals(4, store.getVersion());
+    }
+
+    private static MarketTick tick(String stockCode, long price, long timestamp) {
+        return new MarketTick(stockCode, stockCode, price, 1, timestamp);
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.whalestream.market.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import com.project.whalestream.market.engine.bar.BarAggregator;
+import com.project.whalestream.market.engine.quote.QuoteStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataServiceTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void 시세가_바뀌지_않으면_직렬화해둔_목록을_그대로_준다() {
+        QuoteStore store = new QuoteStore();
+        store.onTick(tick("005930", 70_000));
+        MarketDataService service = service(store, 0);
+
+        byte[] first = service.getStockListJson();
+        assertTrue(json(first).contains("\"currentPrice\":70000"));
+        assertSame(first, service.getStockListJson());
+
+        store.onTick(tick("005930", 70_500));
+        byte[] rebuilt = service.getStockListJson();
+        assertNotSame(first, rebuilt);
+        assertTrue(json(rebuilt).contains("\"currentPrice\":70500"));
+        assertSame(rebuilt, service.getStockListJson());
+    }
+
+    @Test
+    void 최소_간격이_지나기_전에는_바뀌어도_직전_목록을_준다() {
+        QuoteStore store = new QuoteStore();
+        store.onTick(tick("005930", 70_000));
+        MarketDataService service = service(store, 60_000);
+
+        //생성자에서 만든 목록을 간격 동안 그대로 준다 (그 사이 틱은 다음 재생성 때 반영)
+        byte[] first = service.getStockListJson();
+        assertTrue(json(first).contains("\"currentPrice\":70000"));
+        store.onTick(tick("005930", 70_500));
+        store.onTick(tick("000660", 120_000));
+        assertSame(first, service.getStockListJson());
+        assertFalse(json(first).contains("000660"));
+    }
+
+    private static MarketDataService service(QuoteStore store, long rebuildIntervalMillis) {
+        return new MarketDataService(store, new BarAggregator(2_000, 10, 10, 10, 10), new ObjectMapper(), rebuildIntervalMillis);
+    }
+
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MarketTick tick(String stockCode, long price) {
+        return new MarketTick(stockCode, stockCode, price, 1, T0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.whalestream.market.simulator;
+
+import com.project.whalestream.market.domain.tick.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketSimulatorTest {
+
+    @Test
+    void 녹화_파일을_최대_속도로_순서대로_재생한다() throws Exception {
+        Path file = Files.createTempFile("ticks", ".csv");
+        Files.writeString(file, """
+                timestamp,stockCode,stockName,price,volume
+                1700000000000,005930,삼성전자,70000,10
+                1700000001000,000660,SK하이닉스,120000,3
+
+                1700000002000,005930,삼성전자,70100,5
+                """, StandardCharsets.UTF_8);
+
+        List<MarketTick> received = Collections.synchronizedList(new ArrayList<>());
+        MarketSimulator simulator = new MarketSimulator(new TickFileSource(file), received::add, 0, 0, false, 0, () -> "");
+        simulator.start();
+        simulator.awaitFinished(5000);
+
+        assertTrue(simulator.isFinished());
+        assertEquals(3, simulator.getEmittedCount());
+        assertEquals(List.of(70_000L, 120_000L, 70_100L), received.stream().map(MarketTick::getPrice).toList());
+        assertEquals(1_700_000_001_000L, received.get(1).getTimestamp());
+        assertEquals("SK하이닉스", received.get(1).getStockName());
+        Files.delete(file);
+    }
+
+    @Test
+    void 배속_재생은_틱_시각_간격을_줄여서_지킨다() throws Exception {
+        Path file = Files.createTempFile("ticks", ".csv");
+        Files.writeString(file, "1700000000000,005930,삼성전자,70000,1\n1700000002000,005930,삼성전자,70100,1\n");
+
+        List<MarketTick> received = Collections.synchronizedList(new ArrayList<>());
+        MarketSimulator simulator = new MarketSimulator(new TickFileSource(file), received::add, 0, 10, true, 0, () -> "");
+        long startedAt = System.currentTimeMillis();
+        simulator.start();
+        simulator.awaitFinished(5000);
+
+        //2초 간격을 10배속 -> 200ms
+        long elapsed = System.currentTimeMillis() - startedAt;
+        assertTrue(elapsed >= 190, "elapsed " + elapsed);
+        assertEquals(2, received.size());
+        //rebase -> 보낸 시각
+        assertTrue(received.get(0).getTimestamp() >= startedAt);
+        Files.delete(file);
+    }
+
+    @Test
+    void 합성_틱은_seed_가_같으면_같은_가격열이고_가격은_양수다() {
+        for (SyntheticTickSource.Model model : SyntheticTickSource.Model.values()) {
+            SyntheticTickSource a = new SyntheticTickSource(8, model, 0.05, 7);
+            SyntheticTickSource b = new SyntheticTickSource(8, model, 0.05, 7);
+            for (int i = 0; i < 100_000; i++) {
+                MarketTick x = a.next();
+                MarketTick y = b.next();
+                assertEquals(x.getStockCode(), y.getStockCode());
+                assertEquals(x.getPrice(), y.getPrice());
+                assertTrue(x.getPrice() >= 1);
+                assertEquals(String.format("SIM%04d", i % 8 + 1), x.getStockCode());
+            }
+        }
+    }
+}
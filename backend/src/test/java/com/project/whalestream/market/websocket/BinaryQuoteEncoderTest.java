@@ -0,0 +1,105 @@
+package com.project.whalestream.market.websocket;
+
+import com.project.whalestream.market.domain.quote.Quote;
+import com.project.whalestream.market.domain.tick.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryQuoteEncoderTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void 처음엔_이름과_전체_필드를_보내고_다음부터는_바뀐_필드만_보낸다() {
+        BinaryQuoteEncoder encoder = new BinaryQuoteEncoder();
+        Decoder decoder = new Decoder();
+        assertEquals(0, encoder.intern("005930"));
+
+        Quote first = Quote.first(new MarketTick("005930", "삼성전자", 70_000, 10, T0));
+        encoder.append(first);
+        byte[] frame = encoder.drain();
+        decoder.read(frame);
+        assertEquals("삼성전자", decoder.names.get("005930"));
+        assertEquals(70_000, decoder.field("005930", 0));
+        assertEquals(T0, decoder.field("005930", 8));
+
+        Quote second = first.apply(new MarketTick("005930", "삼성전자", 70_100, 5, T0 + 1000));
+        encoder.append(second);
+        byte[] delta = encoder.drain();
+        decoder.read(delta);
+        assertEquals(70_100, decoder.field("005930", 0));
+        assertEquals(100, decoder.field("005930", 1));
+        assertEquals(Math.round(second.getChangeRate() * BinaryQuoteEncoder.RATE_SCALE), decoder.field("005930", 2));
+        assertEquals(15, decoder.field("005930", 3));
+        assertEquals(70_100, decoder.field("005930", 4));
+        assertEquals(70_000, decoder.field("005930", 5));
+        //이름 없이 변경분만 -> 전체 프레임보다 훨씬 작다
+        assertTrue(delta.length < frame.length / 2, "delta " + delta.length + " / full " + frame.length);
+
+        //같은 스냅샷은 다시 보내지 않는다
+        encoder.append(second);
+        assertEquals(0, encoder.size());
+    }
+
+    //테스트용 디코더 (클라이언트가 할 일)
+    private static final class Decoder {
+        private final Map<Integer, String> codes = new HashMap<>();
+        private final Map<String, String> names = new HashMap<>();
+        private final Map<String, long[]> values = new HashMap<>();
+        private byte[] frame;
+        private int position;
+
+        void read(byte[] frame) {
+            this.frame = frame;
+            this.position = 0;
+            while (position < frame.length) {
+                int type = (int) varint();
+                int id = (int) varint();
+                if (type == BinaryQuoteEncoder.DEFINE) {
+                    String code = string();
+                    codes.put(id, code);
+                    names.put(code, string());
+                    values.putIfAbsent(code, new long[BinaryQuoteEncoder.FIELD_COUNT]);
+                } else {
+                    assertEquals(BinaryQuoteEncoder.UPDATE, type);
+                    long[] fields = values.get(codes.get(id));
+                    int mask = (int) varint();
+                    for (int i = 0; i < BinaryQuoteEncoder.FIELD_COUNT; i++) {
+                        if ((mask & (1 << i)) != 0) {
+                            long zigzag = varint();
+                            fields[i] += (zigzag >>> 1) ^ -(zigzag & 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        long field(String code, int index) {
+            return values.get(code)[index];
+        }
+
+        private long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = frame[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private String string() {
+            int length = (int) varint();
+            String value = new String(frame, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
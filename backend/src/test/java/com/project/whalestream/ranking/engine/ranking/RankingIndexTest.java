@@ -0,0 +1,68 @@
+package com.project.whalestream.ranking.engine.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingIndexTest {
+
+    @Test
+    void 점수를_바꿔도_정렬된_목록과_순위가_같다() {
+        Random random = new Random(7);
+        RankingIndex index = new RankingIndex();
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String id = "user" + i;
+            //동점이 꽤 나오도록 정수 구간으로
+            double score = random.nextInt(200) - 100;
+            scores.put(id, score);
+            index.insert(id, score);
+        }
+        //절반은 점수 변경, 일부는 삭제
+        for (int i = 0; i < 1000; i++) {
+            String id = "user" + random.nextInt(2000);
+            Double old = scores.get(id);
+            if (old == null) {
+                continue;
+            }
+            assertTrue(index.remove(id, old));
+            if (i % 5 == 0) {
+                scores.remove(id);
+            } else {
+                double score = random.nextInt(200) - 100;
+                scores.put(id, score);
+                index.insert(id, score);
+            }
+        }
+
+        List<Map.Entry<String, Double>> expected = new ArrayList<>(scores.entrySet());
+        expected.sort(Comparator.<Map.Entry<String, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+        assertEquals(expected.size(), index.size());
+
+        for (int i = 0; i < expected.size(); i += 37) {
+            Map.Entry<String, Double> entry = expected.get(i);
+            assertEquals(i + 1, index.rankOf(entry.getKey(), entry.getValue()));
+        }
+
+        List<String> page = new ArrayList<>();
+        index.page(100, 50, (rank, id, score) -> {
+            assertEquals(101 + page.size(), rank);
+            page.add(id);
+        });
+        assertEquals(50, page.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(expected.get(100 + i).getKey(), page.get(i));
+        }
+
+        assertEquals(0, index.rankOf("nobody", 0));
+        assertFalse(index.remove("nobody", 0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.whalestream.strategy.engine.backtest;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestEngineTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private final BacktestEngine engine = new BacktestEngine();
+
+    @Test
+    void 이동평균_조건으로_진입하고_청산한다() {
+        //100 -> 109 상승 후 급락
+        PriceSeries series = series(100, 101, 102, 103, 104, 105, 106, 107, 108, 109, 95, 94, 93);
+        StrategySpec spec = new StrategySpec(
+                Map.of(IndicatorType.MA, Map.of("period", 3.0)),
+                List.of(new SignalCondition("PRICE", ComparisonOperator.GTE, 102, false),
+                        new SignalCondition("MA", ComparisonOperator.LT, 104, false)),
+                List.of(new SignalCondition("PRICE", ComparisonOperator.GTE, 109, false),
+                        new SignalCondition("PRICE", ComparisonOperator.LTE, 90, true)));
+
+        BacktestReport report = engine.run(series, spec, 10_000);
+
+        //102 에 98주 매수, 109 에 전량 매도
+        double buy = 98 * 102 * (1 + BacktestEngine.COMMISSION_RATE);
+        double sell = 98 * 109 * (1 - BacktestEngine.COMMISSION_RATE);
+        assertEquals(1, report.getTotalTrades());
+        assertEquals(1, report.getProfitableTrades());
+        assertEquals(10_000 - buy + sell, report.getFinalValue(), 1e-6);
+        assertEquals(100.0, report.getWinRate(), 1e-9);
+        assertEquals(series.length(), report.getDays());
+        assertTrue(report.getMaxDrawdownRate() <= 0);
+    }
+
+    @Test
+    void 조건이_없으면_매매하지_않는다() {
+        PriceSeries series = series(100, 90, 80);
+        BacktestReport report = engine.run(series, new StrategySpec(Map.of(), List.of(), List.of()), 1_000);
+        assertEquals(0, report.getTotalTrades());
+        assertEquals(1_000, report.getFinalValue(), 1e-9);
+        assertEquals(0, report.getSharpeRatio(), 1e-9);
+    }
+
+    @Test
+    void 지원하지_않는_지표는_예외() {
+        PriceSeries series = series(100, 101);
+        StrategySpec spec = new StrategySpec(Map.of(),
+                List.of(new SignalCondition("STOCHASTIC", ComparisonOperator.GT, 1, false)), List.of());
+        assertThrows(IllegalArgumentException.class, () -> engine.run(series, spec, 1_000));
+    }
+
+    private static PriceSeries series(double... closes) {
+        PriceSeries.Builder builder = PriceSeries.builder("005930", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.add(i * DAY, closes[i], closes[i], closes[i], closes[i], 1000);
+        }
+        return builder.build();
+    }
+}
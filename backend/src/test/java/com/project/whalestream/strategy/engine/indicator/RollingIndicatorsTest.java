@@ -0,0 +1,81 @@
+package com.project.whalestream.strategy.engine.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingIndicatorsTest {
+
+    private static final int LENGTH = 500;
+
+    private final double[] closes = randomWalk(LENGTH);
+
+    @Test
+    void 롤링_계산은_배치_계산과_같다() {
+        double[] expected = new double[LENGTH];
+        double[] unused1 = new double[LENGTH];
+        double[] unused2 = new double[LENGTH];
+        double[] unused3 = new double[LENGTH];
+
+        Indicators.sma(closes, LENGTH, 20, expected);
+        assertSameSeries(expected, RollingIndicators.create(IndicatorType.MA, Map.of()));
+
+        Indicators.rsi(closes, LENGTH, 14, expected);
+        assertSameSeries(expected, RollingIndicators.create(IndicatorType.RSI, Map.of()));
+
+        Indicators.macd(closes, LENGTH, 5, 13, 9, expected, unused1, unused2);
+        assertSameSeries(expected, RollingIndicators.create(IndicatorType.MACD, Map.of("fastPeriod", 5.0, "slowPeriod", 13.0)));
+
+        Indicators.bollinger(closes, LENGTH, 20, 2, unused1, unused2, unused3, expected);
+        assertSameSeries(expected, RollingIndicators.create(IndicatorType.BOLLINGER_BANDS, Map.of()));
+    }
+
+    @Test
+    void 캐시는_메모리_한도를_넘으면_오래된_것부터_뺀다() {
+        IndicatorCache cache = new IndicatorCache(8_000);
+        IndicatorSeries first = series();
+        IndicatorSeries second = series();
+        cache.put("A|MA|", first);
+        cache.put("B|MA|", second);
+        assertSame(first, cache.get("A|MA|"));
+
+        //A 를 방금 읽었으므로 B 가 빠진다
+        cache.put("C|MA|", series());
+        assertNull(cache.get("B|MA|"));
+        assertNotNull(cache.get("A|MA|"));
+        assertTrue(cache.getTotalBytes() <= 8_000);
+    }
+
+    private IndicatorSeries series() {
+        IndicatorSeries series = new IndicatorSeries(new RollingSma(5), 0, 128);
+        for (int i = 0; i < 100; i++) {
+            series.append(i, closes[i]);
+        }
+        return series;
+    }
+
+    private void assertSameSeries(double[] expected, RollingIndicator indicator) {
+        for (int i = 0; i < LENGTH; i++) {
+            double actual = indicator.next(closes[i]);
+            if (Double.isNaN(expected[i])) {
+                assertTrue(Double.isNaN(actual), "index " + i);
+            } else {
+                assertEquals(expected[i], actual, 1e-6);
+            }
+        }
+    }
+
+    private static double[] randomWalk(int length) {
+        Random random = new Random(42);
+        double[] values = new double[length];
+        double price = 70_000;
+        for (int i = 0; i < length; i++) {
+            price = Math.max(1_000, price + random.nextGaussian() * 700);
+            values[i] = price;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.whalestream.strategy.engine.sweep;
+
+import com.project.whalestream.market.engine.history.PriceSeries;
+import com.project.whalestream.strategy.engine.backtest.BacktestEngine;
+import com.project.whalestream.strategy.engine.backtest.ComparisonOperator;
+import com.project.whalestream.strategy.engine.backtest.SignalCondition;
+import com.project.whalestream.strategy.engine.backtest.StrategySpec;
+import com.project.whalestream.strategy.engine.indicator.IndicatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepRunnerTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Test
+    void 그리드_조합은_모든_축의_곱이다() {
+        Map<String, List<Double>> axes = new LinkedHashMap<>();
+        axes.put("MA.period", List.of(3.0, 5.0));
+        axes.put("entry.0", List.of(100.0, 101.0, 102.0));
+        ParameterGrid grid = new ParameterGrid(axes);
+
+        List<Map<String, Double>> combinations = grid.combinations();
+        assertEquals(6, grid.size());
+        assertEquals(6, combinations.size());
+        assertEquals(Map.of("MA.period", 3.0, "entry.0", 100.0), combinations.get(0));
+        assertEquals(Map.of("MA.period", 5.0, "entry.0", 102.0), combinations.get(5));
+    }
+
+    @Test
+    void 모든_실행_결과가_단건_백테스트와_같다() throws Exception {
+        BacktestEngine engine = new BacktestEngine();
+        ParameterSweepRunner runner = new ParameterSweepRunner(engine, 4);
+        Map<String, PriceSeries> seriesByCode = new LinkedHashMap<>();
+        seriesByCode.put("005930", series(100, 101, 102, 103, 104, 105, 106, 107, 108, 109, 95, 94, 93));
+        seriesByCode.put("000660", series(50, 49, 48, 52, 55, 60, 58, 57, 61, 65, 40, 41, 42));
+        StrategySpec base = new StrategySpec(
+                Map.of(IndicatorType.MA, Map.of("period", 3.0)),
+                List.of(new SignalCondition("PRICE", ComparisonOperator.GTE, 102, false)),
+                List.of(new SignalCondition("PRICE", ComparisonOperator.LTE, 95, false)));
+        Map<String, List<Double>> axes = new LinkedHashMap<>();
+        axes.put("MA.period", List.of(2.0, 3.0, 4.0));
+        axes.put("entry.0", List.of(48.0, 102.0));
+        axes.put("exit.0", List.of(41.0, 95.0));
+        List<Map<String, Double>> combinations = new ParameterGrid(axes).combinations();
+
+        CountDownLatch done = new CountDownLatch(1);
+        SweepJob job = runner.start("sweep-1", "user", seriesByCode, base, combinations, 10_000);
+        job.subscribe(new SweepListener() {
+            @Override
+            public void onResult(SweepJob job, SweepResult result) {
+            }
+
+            @Override
+            public void onFinish(SweepJob job) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        runner.shutdown();
+
+        assertEquals(SweepJob.Status.COMPLETED, job.getStatus());
+        assertEquals(24, job.getCompletedRuns());
+        assertEquals(0, job.getFailedRuns());
+        for (SweepResult result : job.getResults()) {
+            StrategySpec spec = ParameterGrid.apply(base, result.getParameters());
+            double expected = engine.run(seriesByCode.get(result.getStockCode()), spec, 10_000).getFinalValue();
+            assertEquals(expected, result.getReport().getFinalValue(), 1e-9);
+        }
+    }
+
+    @Test
+    void 잘못된_스윕_키는_시작_전에_거절한다() {
+        ParameterSweepRunner runner = new ParameterSweepRunner(new BacktestEngine(), 1);
+        StrategySpec base = new StrategySpec(Map.of(), List.of(), List.of());
+        assertThrows(IllegalArgumentException.class, () -> runner.start("sweep-2", "user",
+                Map.of("005930", series(100, 101)), base, List.of(Map.of("entry.0", 1.0)), 1_000));
+    }
+
+    private static PriceSeries series(double... closes) {
+        PriceSeries.Builder builder = PriceSeries.builder("005930", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.add(i * DAY, closes[i], closes[i], closes[i], closes[i], 1000);
+        }
+        return builder.build();
+    }
+}
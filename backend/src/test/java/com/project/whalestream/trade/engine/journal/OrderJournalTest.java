@@ -0,0 +1,227 @@
+package com.project.whalestream.trade.engine.journal;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderStatus;
+import com.project.whalestream.trade.domain.order.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderJournalTest {
+
+    @Test
+    void 접수_체결_취소를_다시_읽으면_같은_주문_상태가_된다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        OrderJournal journal = open(dir, 1 << 20, 0);
+        journal.start(List.of());
+
+        Order buy = order(1, "buyer", OrderType.BUY, OrderMethod.LIMIT, 10, 70_000);
+        Order sell = order(2, "seller", OrderType.SELL, OrderMethod.LIMIT, 4, 70_000);
+        Order cancelled = order(3, "buyer", OrderType.BUY, OrderMethod.LIMIT, 5, 60_000);
+        journal.accepted(buy).join();
+        journal.accepted(sell).join();
+        journal.accepted(cancelled).join();
+        journal.onFill(sell, buy, 70_000, 4);
+        cancelled.cancel(cancelled.getCreatedAt() + 1);
+        journal.cancelled(cancelled).join();
+        journal.shutdown();
+
+        Map<Long, Order> recovered = byId(open(dir, 1 << 20, 0).recover());
+        assertEquals(3, recovered.size());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, recovered.get(1L).getStatus());
+        assertEquals(6, recovered.get(1L).getRemainingQuantity());
+        assertEquals(70_000, recovered.get(1L).getFilledPrice(), 1e-9);
+        assertEquals(OrderStatus.FILLED, recovered.get(2L).getStatus());
+        assertEquals(OrderStatus.CANCELLED, recovered.get(3L).getStatus());
+        assertEquals("buyer", recovered.get(3L).getUserId());
+        assertEquals(60_000, recovered.get(3L).getPrice());
+    }
+
+    @Test
+    void 동시에_들어온_기록은_fsync_한번으로_묶인다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        OrderJournal journal = open(dir, 1 << 20, 5_000);
+        journal.start(List.of());
+
+        int threads = 8;
+        int perThread = 200;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            workers.add(new Thread(() -> {
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (int i = 1; i <= perThread; i++) {
+                    futures.add(journal.accepted(order(offset + i, "u" + offset, OrderType.BUY, OrderMethod.LIMIT, 1, 1_000)));
+                }
+                futures.forEach(CompletableFuture::join);
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, journal.getRecordCount());
+        assertTrue(journal.getBatchCount() < threads * perThread / 10, "batches=" + journal.getBatchCount());
+        journal.shutdown();
+        assertEquals(threads * perThread, open(dir, 1 << 20, 0).recover().size());
+    }
+
+    @Test
+    void 재기동하면_열린_주문만_새_세그먼트에_남는다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        //작은 세그먼트 -> 여러 파일로 넘어간다
+        OrderJournal journal = open(dir, 1024, 0);
+        journal.start(List.of());
+        for (int i = 1; i <= 40; i++) {
+            journal.accepted(order(i, "user", OrderType.SELL, OrderMethod.LIMIT, 10, 1_000)).join();
+        }
+        for (int i = 1; i <= 40; i++) {
+            Order maker = order(i, "user", OrderType.SELL, OrderMethod.LIMIT, 10, 1_000);
+            //홀수는 전부, 짝수는 일부만 체결
+            journal.onFill(order(1000 + i, "taker", OrderType.BUY, OrderMethod.MARKET, 10, 0), maker, 1_000, i % 2 == 1 ? 10 : 3);
+        }
+        journal.shutdown();
+        assertTrue(segmentCount(dir) > 1);
+
+        journal = open(dir, 1024, 0);
+        List<Order> open = journal.recover().stream().filter(order -> order.getStatus() != OrderStatus.FILLED).toList();
+        assertEquals(20, open.size());
+        journal.start(open);
+        journal.shutdown();
+
+        Map<Long, Order> recovered = byId(open(dir, 1024, 0).recover());
+        assertEquals(20, recovered.size());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, recovered.get(2L).getStatus());
+        assertEquals(7, recovered.get(2L).getRemainingQuantity());
+        assertEquals(1_000, recovered.get(2L).getFilledPrice(), 1e-9);
+        assertNull(recovered.get(1L));
+    }
+
+    @Test
+    void 마지막_레코드가_깨져있으면_버리고_이어쓴다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        OrderJournal journal = open(dir, 1 << 20, 0);
+        journal.start(List.of());
+        journal.accepted(order(1, "buyer", OrderType.BUY, OrderMethod.LIMIT, 10, 70_000)).join();
+        journal.accepted(order(2, "buyer", OrderType.BUY, OrderMethod.LIMIT, 10, 70_000)).join();
+        journal.shutdown();
+
+        //두 번째 주문 레코드 CRC 를 망가뜨린다 (쓰다 죽은 것처럼, 맨 앞은 번호 상한 레코드)
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            int position = 0;
+            for (int skip = 0; skip < 2; skip++) {
+                channel.read(header.clear(), position);
+                position += 8 + header.flip().getInt();
+            }
+            channel.write(ByteBuffer.allocate(4).putInt(0, 12345), position + 4);
+        }
+
+        journal = open(dir, 1 << 20, 0);
+        Collection<Order> recovered = journal.recover();
+        assertEquals(1, recovered.size());
+        journal.start(recovered);
+        journal.accepted(order(3, "buyer", OrderType.BUY, OrderMethod.LIMIT, 10, 70_000)).join();
+        journal.shutdown();
+
+        Map<Long, Order> reopened = byId(open(dir, 1 << 20, 0).recover());
+        assertEquals(2, reopened.size());
+        assertNotNull(reopened.get(1L));
+        assertNotNull(reopened.get(3L));
+    }
+
+    @Test
+    void 끝난_주문이_압축으로_빠져도_가장_큰_주문_번호는_남는다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        OrderJournal journal = open(dir, 1 << 20, 0);
+        journal.start(List.of());
+        Order open = order(5, "user", OrderType.BUY, OrderMethod.LIMIT, 10, 1_000);
+        Order filled = order(9, "user", OrderType.SELL, OrderMethod.LIMIT, 10, 1_000);
+        journal.accepted(open).join();
+        journal.accepted(filled).join();
+        journal.onFill(order(100, "taker", OrderType.BUY, OrderMethod.MARKET, 10, 0), filled, 1_000, 10);
+        journal.shutdown();
+
+        //두 번 재기동 (압축 두 번) -> 9 번 주문은 없어도 번호 상한은 9
+        for (int restart = 0; restart < 2; restart++) {
+            journal = open(dir, 1 << 20, 0);
+            List<Order> remaining = journal.recover().stream().filter(order -> order.getStatus() != OrderStatus.FILLED).toList();
+            assertEquals(1, remaining.size());
+            //시장가 주문 100 은 접수 기록이 없으니 상한에 안 들어간다
+            assertEquals(9, journal.getMaxOrderId());
+            journal.start(remaining);
+            journal.shutdown();
+        }
+    }
+
+    @Test
+    void 묶음이_세그먼트를_넘어가도_전부_남는다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        //세그먼트 하나에 10건 남짓 -> 한 묶음이 여러 세그먼트로 나뉜다
+        OrderJournal journal = open(dir, 1024, 20_000);
+        journal.start(List.of());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            futures.add(journal.accepted(order(i, "user", OrderType.BUY, OrderMethod.LIMIT, 1, 1_000)));
+        }
+        futures.forEach(CompletableFuture::join);
+        assertEquals(100, journal.getRecordCount());
+        assertEquals(0, journal.getFailureCount());
+        journal.shutdown();
+        assertTrue(segmentCount(dir) > 5);
+        assertEquals(100, open(dir, 1024, 0).recover().size());
+    }
+
+    @Test
+    void 닫을_때_못_쓴_기록은_거절한다() throws Exception {
+        Path dir = Files.createTempDirectory("orders");
+        //저널 스레드를 띄우지 않았으니 아무도 쓰지 않는다
+        OrderJournal journal = open(dir, 1 << 20, 0);
+        CompletableFuture<Void> waiting = journal.accepted(order(1, "user", OrderType.BUY, OrderMethod.LIMIT, 1, 1_000));
+        journal.shutdown();
+        assertTrue(waiting.isCompletedExceptionally());
+        assertEquals(0, journal.getPendingCount());
+        assertTrue(journal.accepted(order(2, "user", OrderType.BUY, OrderMethod.LIMIT, 1, 1_000)).isCompletedExceptionally());
+    }
+
+    private static OrderJournal open(Path dir, int segmentBytes, long windowMicros) throws IOException {
+        return new OrderJournal(dir, segmentBytes, windowMicros, 4096, true, LatencyRecorder.NONE);
+    }
+
+    private static Order order(long id, String userId, OrderType type, OrderMethod method, long quantity, long price) {
+        return new Order(id, userId, "005930", "삼성전자", type, method, quantity, price, 1_700_000_000_000L + id);
+    }
+
+    private static Map<Long, Order> byId(Collection<Order> orders) {
+        Map<Long, Order> byId = new HashMap<>();
+        orders.forEach(order -> byId.put(order.getId(), order));
+        return byId;
+    }
+
+    private static long segmentCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
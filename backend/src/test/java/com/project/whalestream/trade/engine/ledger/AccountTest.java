@@ -0,0 +1,30 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountTest {
+
+    @Test
+    void 커서_이전_체결을_최근_것부터_주고_오래된_것은_밀려난다() {
+        Account account = new Account("u", 5);
+        for (long sequence = 1; sequence <= 8; sequence++) {
+            account.apply(LedgerEvent.fill("u", sequence, "005930", "삼성전자", true, 1, 70_000, 0, 0).withSequence(sequence * 10));
+        }
+
+        //최대 5개만 남는다 (40 ~ 80)
+        assertEquals(5, account.getTradeCount());
+        assertEquals(40, account.getTrades().get(0).getSequence());
+
+        List<LedgerEvent> first = account.tradesBefore(Long.MAX_VALUE, 2);
+        assertEquals(List.of(80L, 70L), first.stream().map(LedgerEvent::getSequence).toList());
+        List<LedgerEvent> second = account.tradesBefore(first.get(1).getSequence(), 2);
+        assertEquals(List.of(60L, 50L), second.stream().map(LedgerEvent::getSequence).toList());
+        //커서가 저장된 번호 사이여도 그보다 작은 것부터
+        assertEquals(List.of(40L), account.tradesBefore(45, 10).stream().map(LedgerEvent::getSequence).toList());
+        assertTrue(account.tradesBefore(40, 10).isEmpty());
+    }
+}
@@ -0,0 +1,338 @@
+package com.project.whalestream.trade.engine.ledger;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioLedgerTest {
+
+    private static final long CAPITAL = 10_000_000L;
+
+    @Test
+    void 스냅샷과_저널로_재시작해도_같은_상태가_된다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+
+        PortfolioLedger ledger = open(dir, 1024);
+        ledger.onFill(order(1, "buyer", OrderType.BUY), order(2, "seller", OrderType.SELL), 70_000, 10);
+        ledger.onFill(order(3, "seller", OrderType.SELL), order(1, "buyer", OrderType.BUY), 80_000, 10);
+        ledger.onFill(order(4, "buyer", OrderType.SELL), order(5, "other", OrderType.BUY), 90_000, 5);
+        ledger.shutdown();
+
+        //스냅샷 뒤에 쌓인 저널까지 다시 읽는다
+        ledger = open(dir, 1024);
+        ledger.onFill(order(6, "buyer", OrderType.SELL), order(7, "other", OrderType.BUY), 100_000, 5);
+        awaitTrades(ledger, "buyer", 4);
+        PortfolioView before = ledger.view("buyer");
+        //스냅샷 없이 죽은 것처럼 스레드만 세우고 다시 연다
+        ledger = open(dir, 1024);
+
+        PortfolioView after = ledger.view("buyer");
+        assertEquals(before.getCash(), after.getCash());
+        assertEquals(CAPITAL, after.getDeposits());
+        assertEquals(10, after.getPositions().get(0).getQuantity());
+        assertEquals(75_000, after.getPositions().get(0).getAveragePrice(), 1e-9);
+        long expectedCash = CAPITAL - 700_000 - 105 - 800_000 - 120 + 450_000 - 67 + 500_000 - 75;
+        assertEquals(expectedCash, after.getCash());
+
+        List<LedgerEvent> trades = ledger.recentTrades("buyer", 10);
+        assertEquals(4, trades.size());
+        assertEquals(6, trades.get(0).getOrderId());
+        assertEquals(-(700_000 + 105), trades.get(3).getCashDelta());
+        assertNull(ledger.view("nobody"));
+    }
+
+    @Test
+    void 마지막_레코드가_깨져있으면_잘라내고_이어쓴다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        PortfolioLedger ledger = open(dir, 1L << 20);
+        ledger.onFill(order(1, "buyer", OrderType.BUY), order(2, "seller", OrderType.SELL), 70_000, 10);
+        awaitTrades(ledger, "buyer", 1);
+        awaitTrades(ledger, "seller", 1);
+
+        //쓰다 죽은 것처럼 마지막 세그먼트 끝에 쓰레기를 붙인다
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        ledger = open(dir, 1L << 20);
+        assertEquals(1, ledger.recentTrades("buyer", 10).size());
+        ledger.onFill(order(3, "buyer", OrderType.BUY), order(4, "seller", OrderType.SELL), 70_000, 10);
+        awaitTrades(ledger, "buyer", 2);
+
+        ledger = open(dir, 1L << 20);
+        assertEquals(2, ledger.recentTrades("buyer", 10).size());
+        assertEquals(20, ledger.view("buyer").getPositions().get(0).getQuantity());
+    }
+
+    @Test
+    void 스냅샷에_들어간_세그먼트는_지우지_않고_보관한다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        //작은 세그먼트 -> 여러 파일로 넘어간다
+        PortfolioLedger ledger = open(dir, 256);
+        for (int i = 0; i < 30; i++) {
+            ledger.onFill(order(i * 2 + 1, "buyer", OrderType.BUY), order(i * 2 + 2, "seller", OrderType.SELL), 70_000, 1);
+            awaitTrades(ledger, "buyer", i + 1);
+        }
+        ledger.shutdown();
+
+        Path archive = dir.resolve("archive");
+        assertTrue(logCount(archive) > 0);
+        //입금 2건 + 체결 60건이 보관분과 남은 세그먼트에 빠짐없이 나뉘어 있다
+        long events = 0;
+        for (Path segmentDir : List.of(dir, archive)) {
+            try (Stream<Path> files = Files.list(segmentDir)) {
+                for (Path segment : files.filter(p -> p.getFileName().toString().endsWith(".log")).toList()) {
+                    events += recordCount(segment);
+                }
+            }
+        }
+        assertEquals(62, events);
+
+        //재시작은 스냅샷 + 남은 세그먼트만으로
+        ledger = open(dir, 256);
+        assertEquals(30, ledger.recentTrades("buyer", 100).size());
+        assertEquals(30, ledger.view("buyer").getPositions().get(0).getQuantity());
+    }
+
+    @Test
+    void 메모리에서_밀려난_체결도_저널과_보관분에서_이어서_찾는다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        //유저별로 최근 5건만 메모리에
+        PortfolioLedger ledger = new PortfolioLedger(dir, 256, CAPITAL, 5, 3_600_000L, false);
+        ledger.recover();
+        ledger.start();
+        //세그먼트는 묶음 단위로 넘어가므로 한 건씩 기다려서 여러 파일로 나눈다
+        for (int i = 0; i < 20; i++) {
+            ledger.onFill(order(i + 1, "buyer", OrderType.BUY), order(1_000 + i, "seller", OrderType.SELL), 70_000, 1);
+            awaitTrades(ledger, "seller", i + 1);
+        }
+        //스냅샷 -> 앞 세그먼트는 archive 로
+        ledger.shutdown();
+        assertTrue(logCount(dir.resolve("archive")) > 0);
+
+        ledger = new PortfolioLedger(dir, 256, CAPITAL, 5, 3_600_000L, false);
+        ledger.recover();
+        ledger.start();
+        for (int i = 20; i < 25; i++) {
+            ledger.onFill(order(i + 1, "buyer", OrderType.BUY), order(1_000 + i, "seller", OrderType.SELL), 70_000, 1);
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ledger.recentTrades("buyer", 1).get(0).getOrderId() != 25 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        //커서로 끝까지 넘기면 25건 전부, 최근 것부터, 다른 유저 체결은 섞이지 않는다
+        List<Long> orderIds = new ArrayList<>();
+        long before = Long.MAX_VALUE;
+        List<LedgerEvent> page;
+        while (!(page = ledger.tradesBefore("buyer", before, 7)).isEmpty()) {
+            assertTrue(page.size() <= 7);
+            page.forEach(trade -> orderIds.add(trade.getOrderId()));
+            before = page.get(page.size() - 1).getSequence();
+        }
+        assertEquals(25, orderIds.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(25 - i, (long) orderIds.get(i));
+        }
+
+        List<Long> exported = new ArrayList<>();
+        ledger.forEachTrade("buyer", trade -> exported.add(trade.getOrderId()));
+        assertEquals(orderIds, exported);
+        //중간에 멈출 수 있다
+        List<Long> firstThree = new ArrayList<>();
+        ledger.forEachTrade("seller", trade -> firstThree.add(trade.getOrderId()) && firstThree.size() < 3);
+        assertEquals(List.of(1_024L, 1_023L, 1_022L), firstThree);
+        ledger.shutdown();
+    }
+
+    @Test
+    void 닫힌_세그먼트는_인덱스로_찾고_없으면_기동할_때_다시_만든다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        PortfolioLedger ledger = open(dir, 256);
+        for (int i = 0; i < 20; i++) {
+            ledger.onFill(order(i + 1, "buyer", OrderType.BUY), order(1_000 + i, "seller", OrderType.SELL), 70_000, 1);
+            awaitTrades(ledger, "seller", i + 1);
+        }
+        ledger.shutdown();
+        //닫힌 세그먼트마다 인덱스가 옆에 있다
+        Path archive = dir.resolve("archive");
+        for (Path segmentDir : List.of(dir, archive)) {
+            assertEquals(logCount(segmentDir), fileCount(segmentDir, ".idx"));
+        }
+
+        //인덱스가 빠져 있으면 기동할 때 다시 만든다
+        try (Stream<Path> files = Files.list(archive)) {
+            for (Path index : files.filter(p -> p.getFileName().toString().endsWith(".idx")).toList()) {
+                Files.delete(index);
+            }
+        }
+        ledger = open(dir, 256);
+        assertEquals(logCount(archive), fileCount(archive, ".idx"));
+
+        List<Long> orderIds = new ArrayList<>();
+        long before = Long.MAX_VALUE;
+        List<LedgerEvent> page;
+        while (!(page = ledger.tradesBefore("seller", before, 6)).isEmpty()) {
+            page.forEach(trade -> orderIds.add(trade.getOrderId()));
+            before = page.get(page.size() - 1).getSequence();
+        }
+        assertEquals(20, orderIds.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1_019L - i, (long) orderIds.get(i));
+        }
+        ledger.shutdown();
+    }
+
+    @Test
+    void 보관_기간이_지난_세그먼트는_지운다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        PortfolioLedger ledger = open(dir, 256);
+        for (int i = 0; i < 10; i++) {
+            ledger.onFill(order(i + 1, "buyer", OrderType.BUY), order(1_000 + i, "seller", OrderType.SELL), 70_000, 1);
+            awaitTrades(ledger, "seller", i + 1);
+        }
+        ledger.shutdown();
+        Path archive = dir.resolve("archive");
+        long archived = logCount(archive);
+        assertTrue(archived > 0);
+        //보관분을 30일 전에 쓴 것으로
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30));
+        try (Stream<Path> files = Files.list(archive)) {
+            for (Path segment : files.filter(p -> p.getFileName().toString().endsWith(".log")).toList()) {
+                Files.setLastModifiedTime(segment, old);
+            }
+        }
+
+        //보관 7일 -> 다음 스냅샷에서 지워진다
+        ledger = new PortfolioLedger(dir, 256, CAPITAL, 100, 3_600_000L, false, TimeUnit.DAYS.toMillis(7));
+        ledger.recover();
+        ledger.start();
+        ledger.onFill(order(11, "buyer", OrderType.BUY), order(1_010, "seller", OrderType.SELL), 70_000, 1);
+        awaitTrades(ledger, "seller", 11);
+        ledger.shutdown();
+        try (Stream<Path> files = Files.list(archive)) {
+            assertTrue(files.noneMatch(p -> {
+                try {
+                    return Files.getLastModifiedTime(p).equals(old);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        assertEquals(logCount(archive), fileCount(archive, ".idx"));
+
+        //잔고는 스냅샷 기준이라 그대로, 체결 내역은 남은 만큼만
+        ledger = open(dir, 256);
+        assertEquals(11, ledger.recentTrades("seller", 100).size());
+        List<Long> exported = new ArrayList<>();
+        ledger.forEachTrade("seller", trade -> exported.add(trade.getOrderId()));
+        assertTrue(exported.size() < 11, "trades=" + exported.size());
+        ledger.shutdown();
+    }
+
+    @Test
+    void 저널_기록이_실패하면_버리지_않고_같은_번호로_다시_쓴다() throws Exception {
+        Path dir = Files.createTempDirectory("ledger");
+        AtomicInteger failures = new AtomicInteger(1);
+        //쓰기는 끝났는데 fsync 에서 실패한 것처럼 (저널이 잘라내야 번호가 안 겹친다)
+        LedgerJournal journal = new LedgerJournal(dir, 1 << 20, 0) {
+            @Override
+            void sync() throws IOException {
+                if (failures.get() > 0) {
+                    throw new IOException("디스크 오류");
+                }
+                super.sync();
+            }
+        };
+        PortfolioLedger ledger = new PortfolioLedger(dir, journal, CAPITAL, 100, 3_600_000L, true);
+        ledger.recover();
+        ledger.start();
+        ledger.onFill(order(1, "buyer", OrderType.BUY), order(2, "seller", OrderType.SELL), 70_000, 10);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!ledger.isFailing() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(ledger.isFailing());
+        assertTrue(ledger.recentTrades("buyer", 10).isEmpty());
+
+        //다시 되면 밀린 체결까지 순서대로 반영된다
+        ledger.onFill(order(3, "buyer", OrderType.BUY), order(4, "seller", OrderType.SELL), 71_000, 5);
+        failures.set(0);
+        awaitTrades(ledger, "buyer", 2);
+        assertFalse(ledger.isFailing());
+        assertEquals(List.of(3L, 1L), ledger.recentTrades("buyer", 10).stream().map(LedgerEvent::getOrderId).toList());
+        ledger.shutdown();
+
+        //실패한 기록이 저널에 남았으면 번호가 겹쳐서 스냅샷 없이 재생할 때 깨진다 (세그먼트 하나라 보관으로 안 옮겨졌다)
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path snapshot : files.filter(p -> p.getFileName().toString().startsWith("snapshot-")).toList()) {
+                Files.delete(snapshot);
+            }
+        }
+        ledger = open(dir, 1 << 20);
+        assertEquals(15, ledger.view("buyer").getPositions().get(0).getQuantity());
+        ledger.shutdown();
+    }
+
+    private static long fileCount(Path dir, String extension) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(extension)).count();
+        }
+    }
+
+    private static long logCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private static long recordCount(Path segment) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        long count = 0;
+        while (bytes.remaining() >= 8) {
+            int length = bytes.getInt();
+            bytes.position(bytes.position() + 4 + length);
+            count++;
+        }
+        return count;
+    }
+
+    private static PortfolioLedger open(Path dir, long segmentBytes) throws IOException {
+        PortfolioLedger ledger = new PortfolioLedger(dir, segmentBytes, CAPITAL, 100, 3_600_000L, false);
+        ledger.recover();
+        ledger.start();
+        return ledger;
+    }
+
+    private static void awaitTrades(PortfolioLedger ledger, String userId, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ledger.recentTrades(userId, 100).size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static Order order(long id, String userId, OrderType type) {
+        return new Order(id, userId, "005930", "삼성전자", type, OrderMethod.LIMIT, 10, 70_000, 0);
+    }
+}
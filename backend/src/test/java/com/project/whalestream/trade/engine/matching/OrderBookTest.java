@@ -0,0 +1,167 @@
+package com.project.whalestream.trade.engine.matching;
+
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderStatus;
+import com.project.whalestream.trade.domain.order.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+    private final OrderBook book = new OrderBook("005930", 2, 2);
+    private final List<long[]> fills = new ArrayList<>();
+    private final FillListener listener = (taker, maker, price, quantity) ->
+            fills.add(new long[]{taker.getId(), maker == null ? 0 : maker.getId(), price, quantity});
+    private long sequence;
+
+    @Test
+    void 가격_우선_후_시간_우선으로_체결된다() {
+        Order first = limit(OrderType.SELL, 10, 70000);
+        Order better = limit(OrderType.SELL, 10, 69900);
+        Order second = limit(OrderType.SELL, 10, 70000);
+        book.match(first, listener, 0);
+        book.match(better, listener, 0);
+        book.match(second, listener, 0);
+
+        Order buy = limit(OrderType.BUY, 25, 70000);
+        book.match(buy, listener, 1);
+
+        assertEquals(3, fills.size());
+        assertArrayEquals(new long[]{buy.getId(), better.getId(), 69900, 10}, fills.get(0));
+        assertArrayEquals(new long[]{buy.getId(), first.getId(), 70000, 10}, fills.get(1));
+        assertArrayEquals(new long[]{buy.getId(), second.getId(), 70000, 5}, fills.get(2));
+        assertEquals(OrderStatus.FILLED, buy.getStatus());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, second.getStatus());
+        assertEquals(5, book.askQuantityAt(70000));
+        assertEquals(70000, book.bestAsk());
+        assertEquals(0, book.bestBid());
+    }
+
+    @Test
+    void 지정가_잔량은_호가창에_남고_시장가_잔량은_취소된다() {
+        book.match(limit(OrderType.BUY, 5, 69000), listener, 0);
+        Order partial = limit(OrderType.SELL, 8, 69000);
+        book.match(partial, listener, 0);
+        assertEquals(OrderStatus.PARTIALLY_FILLED, partial.getStatus());
+        assertEquals(69000, book.bestAsk());
+        assertEquals(3, book.askQuantityAt(69000));
+
+        Order market = market(OrderType.BUY, 10);
+        book.match(market, listener, 1);
+        assertEquals(OrderStatus.CANCELLED, market.getStatus());
+        assertEquals(3, market.getFilledQuantity());
+        assertEquals(0, book.getRestingCount());
+    }
+
+    @Test
+    void 호가창이_비어도_시장가_매수는_현재가로_체결된다() {
+        Order market = market(OrderType.BUY, 10);
+        book.match(market, 70000, 500, listener, 1);
+
+        assertEquals(OrderStatus.FILLED, market.getStatus());
+        assertEquals(1, fills.size());
+        assertArrayEquals(new long[]{market.getId(), 0, 70000, 10}, fills.get(0));
+        assertEquals(0, book.getRestingCount());
+    }
+
+    @Test
+    void 시장가는_collar_안의_호가까지만_먹고_나머지는_현재가로_체결된다() {
+        Order near = limit(OrderType.SELL, 4, 70100);
+        Order far = limit(OrderType.SELL, 10, 80000);
+        book.match(near, listener, 0);
+        book.match(far, listener, 0);
+
+        //현재가 70000 + 5% = 73500 까지만
+        Order market = market(OrderType.BUY, 10);
+        book.match(market, 70000, 500, listener, 1);
+        assertEquals(OrderStatus.FILLED, market.getStatus());
+        assertArrayEquals(new long[]{market.getId(), near.getId(), 70100, 4}, fills.get(0));
+        assertArrayEquals(new long[]{market.getId(), 0, 70000, 6}, fills.get(1));
+        assertEquals(OrderStatus.PENDING, far.getStatus());
+        assertEquals(80000, book.bestAsk());
+
+        //매도는 아래로 같은 한도
+        Order bid = limit(OrderType.BUY, 3, 60000);
+        book.match(bid, listener, 2);
+        Order sell = market(OrderType.SELL, 3);
+        book.match(sell, 70000, 500, listener, 3);
+        assertArrayEquals(new long[]{sell.getId(), 0, 70000, 3}, fills.get(2));
+        assertEquals(OrderStatus.PENDING, bid.getStatus());
+    }
+
+    @Test
+    void 취소하면_레벨에서_빠지고_슬롯이_재사용된다() {
+        Order a = limit(OrderType.BUY, 1, 100);
+        Order b = limit(OrderType.BUY, 2, 100);
+        Order c = limit(OrderType.BUY, 3, 100);
+        book.match(a, listener, 0);
+        book.match(b, listener, 0);
+        book.match(c, listener, 0);
+
+        assertTrue(book.cancel(b, 1));
+        assertFalse(book.cancel(b, 1));
+        assertEquals(OrderStatus.CANCELLED, b.getStatus());
+        assertEquals(4, book.bidQuantityAt(100));
+
+        Order sell = limit(OrderType.SELL, 4, 100);
+        book.match(sell, listener, 2);
+        assertEquals(a.getId(), fills.get(0)[1]);
+        assertEquals(c.getId(), fills.get(1)[1]);
+        assertEquals(0, book.bestBid());
+
+        //비어있는 슬롯/레벨 재사용
+        for (int i = 0; i < 50; i++) {
+            book.match(limit(OrderType.BUY, 1, 90 + i % 7), listener, 3);
+        }
+        assertEquals(50, book.getRestingCount());
+        assertEquals(96, book.bestBid());
+    }
+
+    @Test
+    void 시장_체결가에_닿은_지정가만_거래량만큼_체결되고_나머지는_부분_체결로_남는다() {
+        List<long[]> marketFills = new ArrayList<>();
+        FillListener market = (order, maker, price, quantity) -> {
+            assertNull(maker);
+            marketFills.add(new long[]{order.getId(), price, quantity});
+        };
+        Order high = limit(OrderType.BUY, 5, 70100);
+        Order touched = limit(OrderType.BUY, 5, 70000);
+        Order below = limit(OrderType.BUY, 5, 69900);
+        Order ask = limit(OrderType.SELL, 5, 70500);
+        book.match(high, listener, 0);
+        book.match(touched, listener, 0);
+        book.match(below, listener, 0);
+        book.match(ask, listener, 0);
+
+        assertEquals(8, book.fillAtMarket(70000, 8, market, 1));
+        assertEquals(2, marketFills.size());
+        assertArrayEquals(new long[]{high.getId(), 70000, 5}, marketFills.get(0));
+        assertArrayEquals(new long[]{touched.getId(), 70000, 3}, marketFills.get(1));
+        assertEquals(OrderStatus.FILLED, high.getStatus());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, touched.getStatus());
+        assertEquals(70000, book.bestBid());
+        assertEquals(2, book.bidQuantityAt(70000));
+        assertEquals(OrderStatus.PENDING, below.getStatus());
+        assertEquals(OrderStatus.PENDING, ask.getStatus());
+
+        //부분 체결된 주문도 취소할 수 있고, 매도는 체결가가 올라와야 체결된다
+        assertTrue(book.cancel(touched, 2));
+        assertEquals(0, book.fillAtMarket(70400, 0, market, 3));
+        assertEquals(5, book.fillAtMarket(70600, 0, market, 4));
+        assertEquals(OrderStatus.FILLED, ask.getStatus());
+        assertEquals(1, book.getRestingCount());
+    }
+
+    private Order market(OrderType type, long quantity) {
+        return new Order(++sequence, "u" + sequence, "005930", "삼성전자", type, OrderMethod.MARKET, quantity, 0, 0);
+    }
+
+    private Order limit(OrderType type, long quantity, long price) {
+        return new Order(++sequence, "u" + sequence, "005930", "삼성전자", type, OrderMethod.LIMIT, quantity, price, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.whalestream.trade.engine.risk;
+
+import com.project.whalestream.common.metrics.LatencyRecorder;
+import com.project.whalestream.trade.domain.order.Order;
+import com.project.whalestream.trade.domain.order.OrderMethod;
+import com.project.whalestream.trade.domain.order.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskEngineTest {
+
+    private static final long CAPITAL = 1_000_000L;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void 주문_가능_금액을_넘는_매수는_거절하고_예약은_체결과_취소로_풀린다() {
+        RiskEngine risk = engine(0);
+
+        //10주 x 50,000 = 500,000 + 수수료 75
+        Order first = order("u1", OrderType.BUY, OrderMethod.LIMIT, 10, 50_000);
+        risk.reserve(first);
+        assertEquals(CAPITAL - 500_075, risk.getBuyingPower("u1"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> risk.reserve(order("u1", OrderType.BUY, OrderMethod.LIMIT, 10, 50_000)));
+        assertEquals("주문 가능 금액이 부족합니다.", e.getMessage());
+
+        //4주를 더 싸게 체결 -> 예약 4/10 이 풀리고 실제 금액만 빠진다
+        risk.onFill(first, null, 40_000, 4);
+        assertEquals(CAPITAL - 160_024 - (500_075 - 500_075 / 10 * 4), risk.getBuyingPower("u1"));
+        assertEquals(4, risk.getSellableQuantity("u1", "005930"));
+
+        //남은 6주 취소
+        risk.release(first);
+        assertEquals(CAPITAL - 160_024, risk.getBuyingPower("u1"));
+        assertEquals(1, risk.getRejectedCount());
+    }
+
+    @Test
+    void 보유_수량보다_많이_팔_수_없고_시세가_없으면_시장가_매수를_거절한다() {
+        RiskEngine risk = engine(0);
+        assertThrows(IllegalArgumentException.class,
+                () -> risk.reserve(order("u2", OrderType.SELL, OrderMethod.LIMIT, 1, 50_000)));
+        assertThrows(IllegalArgumentException.class,
+                () -> risk.reserve(order("u2", OrderType.BUY, OrderMethod.MARKET, 1, 0)));
+
+        Order buy = order("u2", OrderType.BUY, OrderMethod.LIMIT, 3, 10_000);
+        risk.reserve(buy);
+        risk.onFill(buy, null, 10_000, 3);
+        Order sell = order("u2", OrderType.SELL, OrderMethod.LIMIT, 2, 11_000);
+        risk.reserve(sell);
+        assertEquals(1, risk.getSellableQuantity("u2", "005930"));
+        assertThrows(IllegalArgumentException.class,
+                () -> risk.reserve(order("u2", OrderType.SELL, OrderMethod.MARKET, 2, 0)));
+    }
+
+    @Test
+    void 같은_유저가_동시에_몰아서_팔아도_보유_수량까지만_접수된다() throws Exception {
+        RiskEngine risk = engine(70_000);
+        Order buy = order("burst", OrderType.BUY, OrderMethod.MARKET, 10, 0);
+        risk.reserve(buy);
+        risk.onFill(buy, null, 70_000, 10);
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        risk.reserve(order("burst", OrderType.SELL, OrderMethod.MARKET, 1, 0));
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        //보유 수량 초과
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, accepted.get());
+        assertEquals(0, risk.getSellableQuantity("burst", "005930"));
+    }
+
+    private RiskEngine engine(long referencePrice) {
+        return new RiskEngine(16, CAPITAL, userId -> null, stockCode -> referencePrice, 500, LatencyRecorder.NONE);
+    }
+
+    private Order order(String userId, OrderType type, OrderMethod method, long quantity, long price) {
+        return new Order(ids.incrementAndGet(), userId, "005930", "삼성전자", type, method, quantity, price, 0);
+    }
+}
@@ -5,9 +5,9 @@ export interface LoginRequest {
   password: string;
 }
 
+// Refresh 토큰은 HttpOnly 쿠키로만 오간다 (응답 본문에 없음)
 export interface LoginResponse {
   accessToken: string;
-  refreshToken: string;
   userId: string;
 }
 
@@ -16,15 +16,12 @@ export const authService = {
     // 데모 계정 처리 (백엔드 구현 전까지)
     if (credentials.userId === 'demo' && credentials.password === 'demo123') {
       const demoToken = 'demo-access-token-' + Date.now();
-      const demoRefreshToken = 'demo-refresh-token-' + Date.now();
       
       localStorage.setItem('accessToken', demoToken);
-      localStorage.setItem('refreshToken', demoRefreshToken);
       localStorage.setItem('userId', 'demo');
       
       return {
         accessToken: demoToken,
-        refreshToken: demoRefreshToken,
         userId: 'demo',
       };
     }
@@ -32,28 +29,24 @@ export const authService = {
     // 실제 백엔드 API 호출
     try {
       const response = await apiClient.post('/auth/login', credentials);
-      const { accessToken, refreshToken, userId } = response.data;
+      const { accessToken, userId } = response.data;
       
-      // 토큰 저장
+      // 토큰 저장 (Refresh 토큰은 브라우저가 쿠키로 들고 있다)
       localStorage.setItem('accessToken', accessToken);
-      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('userId', userId);
       
-      return { accessToken, refreshToken, userId };
+      return { accessToken, userId };
     } catch (error: any) {
       // 네트워크 에러나 404 에러 시 데모 모드로 처리
       if (error.code === 'ERR_NETWORK' || error.response?.status === 404) {
         if (credentials.userId === 'demo' && credentials.password === 'demo123') {
           const demoToken = 'demo-access-token-' + Date.now();
-          const demoRefreshToken = 'demo-refresh-token-' + Date.now();
           
           localStorage.setItem('accessToken', demoToken);
-          localStorage.setItem('refreshToken', demoRefreshToken);
           localStorage.setItem('userId', 'demo');
           
           return {
             accessToken: demoToken,
-            refreshToken: demoRefreshToken,
             userId: 'demo',
           };
         }
@@ -64,6 +57,7 @@ export const authService = {
 
   logout: () => {
     localStorage.removeItem('accessToken');
+    // 예전 버전이 저장해 둔 값 정리
     localStorage.removeItem('refreshToken');
     localStorage.removeItem('userId');
   },
@@ -0,0 +1,84 @@
+import axios, { AxiosError } from 'axios';
+import type { AxiosAdapter, InternalAxiosRequestConfig } from 'axios';
+import { beforeEach, describe, expect, it, vi } from 'vitest';
+
+// 브라우저 대신: localStorage 는 메모리, 쿠키는 withCredentials 요청에만 실리는 jar 하나
+const storage = new Map<string, string>();
+vi.stubGlobal('localStorage', {
+  getItem: (key: string) => storage.get(key) ?? null,
+  setItem: (key: string, value: string) => storage.set(key, String(value)),
+  removeItem: (key: string) => storage.delete(key),
+});
+vi.stubGlobal('window', { location: { href: '' } });
+
+// 백엔드 흉내: 재발급마다 Refresh 토큰을 바꿔서 Set-Cookie 로만 주고, 옛 토큰이 오면 401
+let cookie = 'refresh-0';
+let issued = 0;
+let validAccessToken = '';
+const reissueCalls: string[] = [];
+
+const respond = (config: InternalAxiosRequestConfig, status: number, data: unknown) => {
+  const response = { data, status, statusText: String(status), headers: {}, config };
+  if (status >= 400) {
+    return Promise.reject(new AxiosError('failed', 'ERR_BAD_REQUEST', config, null, response));
+  }
+  return Promise.resolve(response);
+};
+
+const adapter: AxiosAdapter = async (config) => {
+  if (config.url === '/auth/reissue') {
+    const sent = config.withCredentials ? cookie : '';
+    reissueCalls.push(sent);
+    // 재발급이 끝나기 전에 다른 요청들의 401 이 먼저 도착하게
+    await new Promise((resolve) => setTimeout(resolve, 10));
+    if (sent !== `refresh-${issued}`) {
+      return respond(config, 401, { message: 'RefreshToken이 일치하지 않습니다.' });
+    }
+    issued++;
+    cookie = `refresh-${issued}`;
+    validAccessToken = `access-${issued}`;
+    return respond(config, 200, { accessToken: validAccessToken });
+  }
+  const authorization = String(config.headers?.Authorization ?? '');
+  return authorization === `Bearer ${validAccessToken}`
+    ? respond(config, 200, { ok: true })
+    : respond(config, 401, { message: '만료된 토큰입니다.' });
+};
+
+// api.ts 의 인스턴스들이 만들어지기 전에 바꿔 끼운다
+axios.defaults.adapter = adapter;
+const { default: apiClient } = await import('./api');
+
+describe('api reissue', () => {
+  beforeEach(() => {
+    storage.clear();
+    cookie = 'refresh-0';
+    issued = 0;
+    validAccessToken = '';
+    reissueCalls.length = 0;
+  });
+
+  it('연달아 두 번 재발급해도 쿠키로 바뀐 Refresh 토큰을 쓴다', async () => {
+    storage.set('accessToken', 'expired');
+
+    await expect(apiClient.get('/portfolio')).resolves.toMatchObject({ status: 200 });
+    expect(storage.get('accessToken')).toBe('access-1');
+
+    // Access 토큰이 또 만료 -> 두 번째 재발급은 첫 재발급이 바꿔 준 쿠키로
+    validAccessToken = 'access-expired';
+    await expect(apiClient.get('/portfolio')).resolves.toMatchObject({ status: 200 });
+    expect(storage.get('accessToken')).toBe('access-2');
+
+    expect(reissueCalls).toEqual(['refresh-0', 'refresh-1']);
+    expect(storage.has('refreshToken')).toBe(false);
+  });
+
+  it('동시에 만료된 요청들은 재발급 한 번을 같이 기다린다', async () => {
+    storage.set('accessToken', 'expired');
+
+    const results = await Promise.all([apiClient.get('/a'), apiClient.get('/b'), apiClient.get('/c')]);
+
+    expect(results.map((result) => result.status)).toEqual([200, 200, 200]);
+    expect(reissueCalls).toEqual(['refresh-0']);
+  });
+});
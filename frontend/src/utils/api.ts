@@ -2,13 +2,22 @@ import axios from 'axios';
 
 export const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080';
 
+// Refresh 토큰은 백엔드가 HttpOnly 쿠키로만 주고받는다 (JS 에서 읽거나 저장하지 않는다)
+// -> 로그인 응답의 Set-Cookie 를 받고 재발급 요청에 쿠키가 실리도록 withCredentials
 const apiClient = axios.create({
   baseURL: API_BASE_URL,
+  withCredentials: true,
   headers: {
     'Content-Type': 'application/json',
   },
 });
 
+// 재발급 전용 (apiClient 의 401 처리를 다시 타지 않게)
+const authClient = axios.create({
+  baseURL: API_BASE_URL,
+  withCredentials: true,
+});
+
 // Request interceptor - JWT 토큰 추가
 apiClient.interceptors.request.use(
   (config) => {
@@ -23,30 +32,43 @@ apiClient.interceptors.request.use(
   }
 );
 
+// 진행 중인 재발급 (동시에 401 을 받은 요청들은 이걸 같이 기다린다)
+let reissuing: Promise<string> | null = null;
+
+// 응답 본문은 Access 토큰만, 교체된 Refresh 토큰은 Set-Cookie 로 브라우저가 바꿔 끼운다
+const reissue = (): Promise<string> => {
+  if (!reissuing) {
+    reissuing = authClient
+      .post('/auth/reissue')
+      .then((response) => {
+        const { accessToken } = response.data;
+        localStorage.setItem('accessToken', accessToken);
+        return accessToken as string;
+      })
+      .finally(() => {
+        reissuing = null;
+      });
+  }
+  return reissuing;
+};
+
 // Response interceptor - 토큰 만료 처리
 apiClient.interceptors.response.use(
   (response) => response,
   async (error) => {
-    if (error.response?.status === 401) {
-      // 토큰 만료 시 리프레시 토큰으로 재발급 시도
-      const refreshToken = localStorage.getItem('refreshToken');
-      if (refreshToken) {
-        try {
-          const response = await axios.post(`${API_BASE_URL}/auth/reissue`, {
-            refreshToken,
-          });
-          const { accessToken, refreshToken: newRefreshToken } = response.data;
-          localStorage.setItem('accessToken', accessToken);
-          localStorage.setItem('refreshToken', newRefreshToken);
-          // 원래 요청 재시도
-          error.config.headers.Authorization = `Bearer ${accessToken}`;
-          return apiClient.request(error.config);
-        } catch (refreshError) {
-          // 리프레시 실패 시 로그인 페이지로 리다이렉트
-          localStorage.removeItem('accessToken');
-          localStorage.removeItem('refreshToken');
-          window.location.href = '/login';
-        }
+    // 재발급 뒤 다시 보낸 요청이 또 401 이면 더 시도하지 않는다
+    if (error.response?.status === 401 && error.config && !error.config._retried) {
+      // 토큰 만료 시 쿠키의 리프레시 토큰으로 재발급 시도 (한 번만 보내고 같이 기다린다, 옛 토큰을 두 번 쓰면 세션이 끊긴다)
+      try {
+        const accessToken = await reissue();
+        // 원래 요청 재시도
+        error.config._retried = true;
+        error.config.headers.Authorization = `Bearer ${accessToken}`;
+        return apiClient.request(error.config);
+      } catch {
+        // 리프레시 실패 시 로그인 페이지로 리다이렉트
+        localStorage.removeItem('accessToken');
+        window.location.href = '/login';
       }
     }
     return Promise.reject(error);
@@ -54,4 +76,3 @@ apiClient.interceptors.response.use(
 );
 
 export default apiClient;
-